@@ -0,0 +1,68 @@
+package benchmark;
+
+import common.buildup.BuildUp;
+import common.buildup.BuildUpStream;
+import common.datastore.MinoOperationWithKey;
+import core.action.reachable.LockedReachable;
+import core.field.Field;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.srs.MinoRotation;
+import helper.EasyPath;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import searcher.pack.separable_mino.SeparableMino;
+import searcher.pack.task.Result;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildUpBenchmark {
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 4;
+
+    @Param({Fixtures.PERFECT_4_7, Fixtures.PERFECT_4_10})
+    private String fumen;
+
+    private Field field;
+    private List<List<MinoOperationWithKey>> solutions;
+    private LockedReachable reachable;
+
+    @Setup(Level.Trial)
+    public void setup() throws ExecutionException, InterruptedException {
+        this.field = Fixtures.loadField(fumen, HEIGHT);
+
+        // パフェ手順を列挙して、組み立ての対象にする
+        List<Result> results = new EasyPath().calculate(field, WIDTH, HEIGHT);
+        this.solutions = results.stream()
+                .map(result -> result.getMemento()
+                        .getSeparableMinoStream(WIDTH)
+                        .map(SeparableMino::toMinoOperationWithKey)
+                        .collect(Collectors.toList())
+                )
+                .collect(Collectors.toList());
+
+        this.reachable = new LockedReachable(new MinoFactory(), new MinoShifter(), MinoRotation.create(), HEIGHT);
+    }
+
+    @Benchmark
+    public void existsValidBuildPattern(Blackhole blackhole) {
+        for (List<MinoOperationWithKey> operations : solutions)
+            blackhole.consume(BuildUp.existsValidBuildPattern(field, operations, HEIGHT, reachable));
+    }
+
+    @Benchmark
+    public void buildUpStream(Blackhole blackhole) {
+        BuildUpStream buildUpStream = new BuildUpStream(reachable, HEIGHT);
+        for (List<MinoOperationWithKey> operations : solutions)
+            blackhole.consume(buildUpStream.existsValidBuildPattern(field, operations).count());
+    }
+}
@@ -0,0 +1,67 @@
+package benchmark;
+
+import common.datastore.action.Action;
+import core.action.candidate.*;
+import core.field.Field;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CandidateBenchmark {
+    private static final int HEIGHT = 4;
+
+    @Param({"locked", "locked-flood-fill", "harddrop", "softdrop-t-only", "srs-and-180", "rotate", "t-spin-or-harddrop"})
+    private String type;
+
+    @Param({Fixtures.PERFECT_4_7, Fixtures.ROUGH_4})
+    private String fumen;
+
+    private Candidate<Action> candidate;
+    private Field field;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.candidate = createCandidate(type);
+        this.field = Fixtures.loadField(fumen, HEIGHT);
+    }
+
+    private Candidate<Action> createCandidate(String type) {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        switch (type) {
+            case "locked":
+                return new LockedCandidate(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "locked-flood-fill":
+                return new LockedFloodFillCandidate(minoFactory, minoShifter, minoRotation);
+            case "harddrop":
+                return new HarddropCandidate(minoFactory, minoShifter);
+            case "softdrop-t-only":
+                return new SoftdropTOnlyCandidate(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "srs-and-180":
+                return new SRSAnd180Candidate(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "rotate":
+                return new RotateCandidate(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "t-spin-or-harddrop":
+                return new TSpinOrHarddropCandidate(minoFactory, minoShifter, minoRotation, HEIGHT, 1);
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        for (Piece piece : Piece.values())
+            blackhole.consume(candidate.search(field, piece, HEIGHT));
+    }
+}
@@ -0,0 +1,60 @@
+package benchmark;
+
+import common.datastore.action.Action;
+import common.SyntaxException;
+import common.datastore.blocks.LongPieces;
+import common.pattern.LoadedPatternGenerator;
+import core.action.candidate.LockedCandidate;
+import core.field.Field;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.srs.MinoRotation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import searcher.checker.CheckerUsingHold;
+import searcher.common.validator.PerfectValidator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckerBenchmark {
+    private static final int HEIGHT = 4;
+    private static final int MAX_DEPTH = 7;
+    private static final int PATTERN_SIZE = 100;
+
+    private Field field;
+    private List<LongPieces> patterns;
+    private CheckerUsingHold<Action> checker;
+    private LockedCandidate candidate;
+
+    @Setup(Level.Trial)
+    public void setup() throws SyntaxException {
+        this.field = Fixtures.loadField(Fixtures.PERFECT_4_7, HEIGHT);
+
+        // 先頭から固定の件数だけ使う
+        LoadedPatternGenerator generator = new LoadedPatternGenerator("*p7");
+        this.patterns = generator.blocksStream()
+                .map(LongPieces::new)
+                .limit(PATTERN_SIZE)
+                .collect(Collectors.toList());
+
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        this.checker = new CheckerUsingHold<>(minoFactory, new PerfectValidator());
+        this.candidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, HEIGHT);
+    }
+
+    @Benchmark
+    public void check(Blackhole blackhole) {
+        for (LongPieces pieces : patterns)
+            blackhole.consume(checker.check(field, pieces, candidate, HEIGHT, MAX_DEPTH));
+    }
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import common.SyntaxException;
+import common.datastore.blocks.LongPieces;
+import common.pattern.LoadedPatternGenerator;
+import common.tree.ConcurrentVisitedTree;
+import core.mino.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 複数スレッドから同時に登録・参照したときのスループット
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentVisitedTreeBenchmark {
+    private List<List<Piece>> patterns;
+    private ConcurrentVisitedTree tree;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private int index;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            // スレッドごとに異なる位置から始める
+            this.index = COUNTER.getAndIncrement() * 997;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() throws SyntaxException {
+        LoadedPatternGenerator generator = new LoadedPatternGenerator("*p7");
+        this.patterns = generator.blocksStream()
+                .map(LongPieces::new)
+                .map(LongPieces::getPieces)
+                .collect(Collectors.toList());
+        this.tree = new ConcurrentVisitedTree();
+    }
+
+    @Benchmark
+    public void setAndGet(Cursor cursor, Blackhole blackhole) {
+        int index = cursor.index++ % patterns.size();
+        List<Piece> pieces = patterns.get(index);
+        tree.set(index % 2 == 0, pieces);
+        blackhole.consume(tree.isSucceed(pieces));
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import core.srs.Rotate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldBenchmark {
+    @Param({"small", "middle", "large"})
+    private String type;
+
+    private Field field;
+    private Field filled;
+    private Mino mino;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Field base = Fixtures.loadField(Fixtures.ROUGH_4, 4);
+        this.field = createField(type, base);
+
+        // 下の2ラインがそろったフィールド
+        this.filled = createField(type, base);
+        for (int y = 0; y < 2; y++)
+            for (int x = 0; x < 10; x++)
+                filled.setBlock(x, y);
+
+        this.mino = new MinoFactory().create(Piece.T, Rotate.Spawn);
+    }
+
+    private Field createField(String type, Field base) {
+        Field field = createEmptyField(type);
+        for (int y = 0; y < 4; y++)
+            for (int x = 0; x < 10; x++)
+                if (!base.isEmpty(x, y))
+                    field.setBlock(x, y);
+        return field;
+    }
+
+    private Field createEmptyField(String type) {
+        switch (type) {
+            case "small":
+                return FieldFactory.createSmallField();
+            case "middle":
+                return FieldFactory.createMiddleField();
+            case "large":
+                return FieldFactory.createLargeField();
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    @Benchmark
+    public void canPut(Blackhole blackhole) {
+        for (int y = 0; y < 4; y++)
+            for (int x = 1; x < 9; x++)
+                blackhole.consume(field.canPut(mino, x, y));
+    }
+
+    @Benchmark
+    public int clearLine() {
+        Field freeze = filled.freeze();
+        return freeze.clearLine();
+    }
+}
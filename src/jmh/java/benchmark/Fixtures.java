@@ -0,0 +1,41 @@
+package benchmark;
+
+import common.tetfu.Tetfu;
+import common.tetfu.TetfuPage;
+import common.tetfu.common.ColorConverter;
+import core.field.Field;
+import core.mino.MinoFactory;
+import entry.common.field.FieldData;
+import exceptions.FinderParseException;
+
+import java.util.List;
+
+/**
+ * ベンチマークで使用する固定の地形
+ * 結果を比較できるように、内容は変更しないこと
+ */
+public class Fixtures {
+    // 7ミノでパフェできる4ライン
+    public static final String PERFECT_4_7 = "v115@9gF8DeG8CeH8BeG8CeA8JeAgH";
+
+    // 10ミノでパフェできる4ライン
+    public static final String PERFECT_4_10 = "v115@9gF8DeF8DeF8DeF8NeAgH";
+
+    // 凸凹のある4ライン
+    public static final String ROUGH_4 = "v115@DhD8GeC8EeE8FeD8JeAgH";
+
+    // 空の地形
+    public static final String EMPTY = "v115@vhAAgH";
+
+    public static Field loadField(String fumen, int height) {
+        String data = Tetfu.removePrefixData(Tetfu.removeDomainData(fumen));
+        Tetfu tetfu = new Tetfu(new MinoFactory(), new ColorConverter());
+        try {
+            List<TetfuPage> pages = tetfu.decode(data);
+            FieldData fieldData = new FieldData(pages.get(0).getField());
+            return fieldData.toField(height);
+        } catch (FinderParseException e) {
+            throw new IllegalStateException("Invalid fixture: " + fumen, e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package benchmark;
+
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.Mino;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+import core.srs.RotateDirection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KickBenchmark {
+    private static final int HEIGHT = 4;
+    private static final int FIELD_WIDTH = 10;
+
+    // compiled: MinoRotationの事前にまとめたキック, patterns: オフセットを順にcanPutで確認する
+    @Param({"compiled", "patterns"})
+    private String type;
+
+    @Param({"small", "middle", "large"})
+    private String fieldType;
+
+    private MinoRotation minoRotation;
+    private Field field;
+    private List<Mino> befores;
+    private List<Mino> afters;
+    private List<int[]> positions;
+    private List<RotateDirection> directions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.minoRotation = MinoRotation.create();
+        this.field = createField(fieldType, Fixtures.loadField(Fixtures.ROUGH_4, HEIGHT));
+
+        // フィールドに置けるすべての位置から、すべての方向に回転させる
+        this.befores = new ArrayList<>();
+        this.afters = new ArrayList<>();
+        this.positions = new ArrayList<>();
+        this.directions = new ArrayList<>();
+        for (Piece piece : Piece.values()) {
+            for (Rotate rotate : Rotate.values()) {
+                Mino before = new Mino(piece, rotate);
+                for (int y = -before.getMinY(); y < HEIGHT + 2; y++) {
+                    for (int x = -before.getMinX(); x < FIELD_WIDTH - before.getMaxX(); x++) {
+                        if (!field.canPut(before, x, y))
+                            continue;
+
+                        for (RotateDirection direction : RotateDirection.values()) {
+                            befores.add(before);
+                            afters.add(new Mino(piece, rotate.get(direction)));
+                            positions.add(new int[]{x, y});
+                            directions.add(direction);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private Field createField(String type, Field base) {
+        Field field = createEmptyField(type);
+        for (int y = 0; y < HEIGHT; y++)
+            for (int x = 0; x < FIELD_WIDTH; x++)
+                if (!base.isEmpty(x, y))
+                    field.setBlock(x, y);
+        return field;
+    }
+
+    private Field createEmptyField(String type) {
+        switch (type) {
+            case "small":
+                return FieldFactory.createSmallField();
+            case "middle":
+                return FieldFactory.createMiddleField();
+            case "large":
+                return FieldFactory.createLargeField();
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    @Benchmark
+    public void getKicks(Blackhole blackhole) {
+        boolean isCompiled = "compiled".equals(type);
+        for (int index = 0; index < befores.size(); index++) {
+            Mino before = befores.get(index);
+            Mino after = afters.get(index);
+            int[] position = positions.get(index);
+            RotateDirection direction = directions.get(index);
+            if (isCompiled) {
+                blackhole.consume(minoRotation.getKicks(field, before, after, position[0], position[1], direction));
+            } else {
+                blackhole.consume(getKicksByPatterns(before, after, position[0], position[1], direction));
+            }
+        }
+    }
+
+    // 事前にまとめる前の実装と同じ手順
+    private int[] getKicksByPatterns(Mino before, Mino after, int x, int y, RotateDirection direction) {
+        int[][] offsets = minoRotation.getPatternsFrom(before, direction);
+        int minX = -after.getMinX();
+        int maxX = FIELD_WIDTH - after.getMaxX();
+        int minY = -after.getMinY();
+        for (int[] offset : offsets) {
+            int toX = x + offset[0];
+            int toY = y + offset[1];
+            if (minX <= toX && toX < maxX && minY <= toY && field.canPut(after, toX, toY))
+                return offset;
+        }
+        return null;
+    }
+}
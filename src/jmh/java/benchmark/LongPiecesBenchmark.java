@@ -0,0 +1,49 @@
+package benchmark;
+
+import common.SyntaxException;
+import common.datastore.blocks.LongPieces;
+import common.pattern.LoadedPatternGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongPiecesBenchmark {
+    private List<LongPieces> pieces;
+    private HashSet<LongPieces> pieceSet;
+
+    @Setup(Level.Trial)
+    public void setup() throws SyntaxException {
+        LoadedPatternGenerator generator = new LoadedPatternGenerator("*p7");
+        this.pieces = generator.blocksStream()
+                .map(LongPieces::new)
+                .collect(Collectors.toList());
+        this.pieceSet = new HashSet<>(pieces);
+    }
+
+    @Benchmark
+    public void hashCode(Blackhole blackhole) {
+        for (LongPieces piece : pieces)
+            blackhole.consume(piece.hashCode());
+    }
+
+    @Benchmark
+    public HashSet<LongPieces> addAll() {
+        return new HashSet<>(pieces);
+    }
+
+    @Benchmark
+    public void contains(Blackhole blackhole) {
+        for (LongPieces piece : pieces)
+            blackhole.consume(pieceSet.contains(piece));
+    }
+}
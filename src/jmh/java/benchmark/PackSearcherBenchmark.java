@@ -0,0 +1,39 @@
+package benchmark;
+
+import core.field.Field;
+import helper.EasyPath;
+import org.openjdk.jmh.annotations.*;
+import searcher.pack.task.Result;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PackSearcherBenchmark {
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 4;
+
+    @Param({Fixtures.PERFECT_4_7, Fixtures.PERFECT_4_10})
+    private String fumen;
+
+    private Field field;
+    private EasyPath easyPath;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.field = Fixtures.loadField(fumen, HEIGHT);
+        this.easyPath = new EasyPath();
+    }
+
+    // 基本パターンの計算も含めて、PerfectPackSearcher.toList を実行する
+    @Benchmark
+    public List<Result> toList() throws ExecutionException, InterruptedException {
+        return easyPath.calculate(field, WIDTH, HEIGHT);
+    }
+}
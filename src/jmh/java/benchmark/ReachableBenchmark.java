@@ -0,0 +1,93 @@
+package benchmark;
+
+import common.datastore.action.Action;
+import core.action.candidate.HarddropCandidate;
+import core.action.candidate.LockedCandidate;
+import core.action.reachable.*;
+import core.field.Field;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReachableBenchmark {
+    private static final int HEIGHT = 4;
+
+    @Param({"locked", "locked-flood-fill", "harddrop", "softdrop-t-only", "srs-and-180", "rotate", "t-spin-or-harddrop"})
+    private String type;
+
+    @Param({Fixtures.PERFECT_4_7, Fixtures.ROUGH_4})
+    private String fumen;
+
+    private Reachable reachable;
+    private Field field;
+    private List<Mino> minos;
+    private List<Action> actions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+
+        this.reachable = createReachable(type, minoFactory, minoShifter, minoRotation);
+        this.field = Fixtures.loadField(fumen, HEIGHT);
+
+        // ソフトドロップで置ける位置のうち、ハードドロップでは置けない位置も含めて確認する
+        LockedCandidate candidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, HEIGHT);
+        HarddropCandidate harddropCandidate = new HarddropCandidate(minoFactory, minoShifter);
+        this.minos = new ArrayList<>();
+        this.actions = new ArrayList<>();
+        for (Piece piece : Piece.values()) {
+            for (Action action : candidate.search(field, piece, HEIGHT)) {
+                minos.add(minoFactory.create(piece, action.getRotate()));
+                actions.add(action);
+            }
+            for (Action action : harddropCandidate.search(field, piece, HEIGHT)) {
+                minos.add(minoFactory.create(piece, action.getRotate()));
+                actions.add(action);
+            }
+        }
+    }
+
+    private Reachable createReachable(String type, MinoFactory minoFactory, MinoShifter minoShifter, MinoRotation minoRotation) {
+        switch (type) {
+            case "locked":
+                return new LockedReachable(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "locked-flood-fill":
+                return new LockedFloodFillReachable(minoFactory, minoShifter, minoRotation);
+            case "harddrop":
+                return new HarddropReachable(minoFactory, minoShifter, HEIGHT);
+            case "softdrop-t-only":
+                return new SoftdropTOnlyReachable(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "srs-and-180":
+                return new SRSAnd180Reachable(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "rotate":
+                return new RotateReachable(minoFactory, minoShifter, minoRotation, HEIGHT);
+            case "t-spin-or-harddrop":
+                return new TSpinOrHarddropReachable(minoFactory, minoShifter, minoRotation, HEIGHT, 1);
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    @Benchmark
+    public void checks(Blackhole blackhole) {
+        for (int index = 0; index < actions.size(); index++) {
+            Action action = actions.get(index);
+            blackhole.consume(reachable.checks(field, minos.get(index), action.getX(), action.getY(), HEIGHT));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package common;
 
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import common.datastore.blocks.Pieces;
 import common.order.OrderLookup;
 import common.order.StackOrder;
@@ -11,20 +12,21 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 // Holdも含めた有効ミノ順を全て列挙し、保存しておくためのpool
+// ミノ順が多くなるため、LongPiecesをlongのまま保持する
 public class ValidPiecesPool {
     private final boolean isHoldReduced;
 
     // Holdも考慮した全ての有効ミノ順
     // 11ミノパターン指定でHoldありの場合、10ミノ・11ミノともに含まれる
-    private final HashSet<LongPieces> validPieces;
+    private final LongPiecesSet validPieces;
 
     // Holdも考慮したパターンから生成される全ての有効ミノ順
     // 11ミノパターン指定でHoldありの場合、11ミノのみ含まれる
-    private final HashSet<LongPieces> allPieces;
+    private final LongPiecesSet allPieces;
 
     // 指定されたそのままのパターン
     // 11ミノパターン指定でHoldありの場合、11ミノのみ含まれる
-    private final HashSet<LongPieces> allSpecifiedPieces;
+    private final LongPiecesSet allSpecifiedPieces;
 
     public ValidPiecesPool(PatternGenerator blocksGenerator, int maxDepth, boolean isUsingHold) {
         this.allSpecifiedPieces = getAllSpecifiedPieces(blocksGenerator, maxDepth, isUsingHold);
@@ -37,7 +39,7 @@ public class ValidPiecesPool {
         return isUsingHold && maxDepth < blocksGenerator.getDepth();
     }
 
-    private HashSet<LongPieces> getAllSpecifiedPieces(PatternGenerator blocksGenerator, int maxDepth, boolean isUsingHold) {
+    private LongPiecesSet getAllSpecifiedPieces(PatternGenerator blocksGenerator, int maxDepth, boolean isUsingHold) {
         if (isUsingHold) {
             // ホールドあり
             if (maxDepth + 1 < blocksGenerator.getDepth()) {
@@ -59,7 +61,7 @@ public class ValidPiecesPool {
         }
     }
 
-    private HashSet<LongPieces> getAllPieces(PatternGenerator blocksGenerator, int maxDepth, boolean isUsingHold) {
+    private LongPiecesSet getAllPieces(PatternGenerator blocksGenerator, int maxDepth, boolean isUsingHold) {
         if (isUsingHold) {
             // ホールドあり
             if (maxDepth < blocksGenerator.getDepth()) {
@@ -81,7 +83,7 @@ public class ValidPiecesPool {
         }
     }
 
-    private HashSet<LongPieces> getValidPieces(PatternGenerator blocksGenerator, HashSet<LongPieces> allPieces, int maxDepth, boolean isHoldReduced) {
+    private LongPiecesSet getValidPieces(PatternGenerator blocksGenerator, LongPiecesSet allPieces, int maxDepth, boolean isHoldReduced) {
         if (isHoldReduced) {
             // パフェ時に使用ミノが少なくなるケースのため改めて専用のSetを作る
             return toReducedHashSetWithHold(blocksGenerator.blocksStream(), maxDepth);
@@ -90,7 +92,7 @@ public class ValidPiecesPool {
         }
     }
 
-    private HashSet<LongPieces> toReducedHashSetWithHold(Stream<? extends Pieces> blocksStream, int maxDepth) {
+    private LongPiecesSet toReducedHashSetWithHold(Stream<? extends Pieces> blocksStream, int maxDepth) {
         return blocksStream.parallel()
                 .map(Pieces::getPieces)
                 .flatMap(blocks -> OrderLookup.forwardBlocks(blocks, maxDepth).stream())
@@ -99,37 +101,37 @@ public class ValidPiecesPool {
                 .map(StackOrder::toList)
                 .map(blocks -> blocks.subList(0, maxDepth))
                 .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .collect(Collectors.toCollection(LongPiecesSet::new));
     }
 
-    private HashSet<LongPieces> toReducedHashSetWithoutHold(Stream<? extends Pieces> blocksStream, int maxDepth) {
+    private LongPiecesSet toReducedHashSetWithoutHold(Stream<? extends Pieces> blocksStream, int maxDepth) {
         return blocksStream.parallel()
                 .map(Pieces::getPieces)
                 .map(blocks -> blocks.subList(0, maxDepth))
                 .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .collect(Collectors.toCollection(LongPiecesSet::new));
     }
 
-    private HashSet<LongPieces> toDirectHashSet(Stream<? extends Pieces> blocksStream) {
+    private LongPiecesSet toDirectHashSet(Stream<? extends Pieces> blocksStream) {
         return blocksStream.parallel()
                 .map(Pieces::getPieces)
                 .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .collect(Collectors.toCollection(LongPiecesSet::new));
     }
 
     public boolean isHoldReduced() {
         return isHoldReduced;
     }
 
-    public HashSet<LongPieces> getValidPieces() {
+    public LongPiecesSet getValidPieces() {
         return validPieces;
     }
 
-    public HashSet<LongPieces> getAllPieces() {
+    public LongPiecesSet getAllPieces() {
         return allPieces;
     }
 
-    public HashSet<LongPieces> getAllSpecifiedPieces() {
+    public LongPiecesSet getAllSpecifiedPieces() {
         return allSpecifiedPieces;
     }
 }
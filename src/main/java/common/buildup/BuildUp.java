@@ -8,6 +8,7 @@ import core.field.Field;
 import core.field.KeyOperators;
 import core.mino.Mino;
 import core.mino.Piece;
+import lib.Metrics;
 import searcher.spins.spin.Spin;
 
 import java.util.*;
@@ -58,25 +59,45 @@ public class BuildUp {
     }
 
     public static boolean existsValidBuildPatternDirectly(Field fieldOrigin, LinkedList<MinoOperationWithKey> operationWithKeys, int height, Reachable reachable) {
-        operationWithKeys.sort((o1, o2) -> {
-            int compare = Integer.compare(o1.getY(), o2.getY());
-            if (compare != 0)
-                return compare;
-            return Long.compare(o1.getNeedDeletedKey(), o2.getNeedDeletedKey());
-        });
-        return existsValidBuildPatternRecursive(fieldOrigin.freeze(height), operationWithKeys, height, reachable);
+        return existsValidBuildPatternWithMemo(fieldOrigin, operationWithKeys, height, reachable);
     }
 
-    private static boolean existsValidBuildPatternRecursive(Field field, LinkedList<MinoOperationWithKey> operationWithKeys, int height, Reachable reachable) {
+    // 組み立てられる手順が存在するか確認
+    // 置いたoperationsの組み合わせが同じとき、置いた順番によらずフィールドは同じになる
+    // そのため、失敗した組み合わせを記録して、別の順番で同じ組み合わせになったときは探索を省略する
+    // 組み合わせはlongのビットで表すため、operationsが64個以上のときは IllegalArgumentException
+    public static boolean existsValidBuildPatternWithMemo(Field fieldOrigin, List<? extends MinoOperationWithKey> operationWithKeys, int height, Reachable reachable) {
+        MinoOperationWithKey[] keys = operationWithKeys.toArray(new MinoOperationWithKey[0]);
+        Arrays.sort(keys, BuildUpMemo.KEY_COMPARATOR);
+
+        if (keys.length == 0)
+            return false;
+
+        BuildUpMemo memo = new BuildUpMemo(keys.length);
+        return existsValidBuildPatternRecursive(fieldOrigin.freeze(height), keys, 0L, memo, height, reachable);
+    }
+
+    private static boolean existsValidBuildPatternRecursive(Field field, MinoOperationWithKey[] keys, long placedMask, BuildUpMemo memo, int height, Reachable reachable) {
+        Metrics.increment(Metrics.Counter.BuildUpNodes);
+
         long deleteKey = field.clearLineReturnKey();
 
-        for (int index = 0; index < operationWithKeys.size(); index++) {
-            MinoOperationWithKey key = operationWithKeys.remove(index);
+        for (int index = 0; index < keys.length; index++) {
+            long bit = 1L << index;
+            if ((placedMask & bit) != 0L)
+                continue;
+
+            MinoOperationWithKey key = keys[index];
 
             long needDeletedKey = key.getNeedDeletedKey();
             if ((deleteKey & needDeletedKey) != needDeletedKey) {
                 // 必要な列が消えていない
-                operationWithKeys.add(index, key);
+                continue;
+            }
+
+            long nextMask = placedMask | bit;
+            if (memo.isFailed(nextMask)) {
+                // 別の順番ですでに失敗している組み合わせ
                 continue;
             }
 
@@ -89,19 +110,19 @@ public class BuildUp {
             int y = originalY - deletedLines;
 
             if (field.isOnGround(mino, x, y) && field.canPut(mino, x, y) && reachable.checks(field, mino, x, y, height - mino.getMinY())) {
-                if (operationWithKeys.isEmpty())
+                if (memo.isFilled(nextMask))
                     return true;
 
                 Field nextField = field.freeze(height);
                 nextField.put(mino, x, y);
                 nextField.insertBlackLineWithKey(deleteKey);
 
-                boolean exists = existsValidBuildPatternRecursive(nextField, operationWithKeys, height, reachable);
+                boolean exists = existsValidBuildPatternRecursive(nextField, keys, nextMask, memo, height, reachable);
                 if (exists)
                     return true;
-            }
 
-            operationWithKeys.add(index, key);
+                memo.failed(nextMask);
+            }
         }
 
         field.insertBlackLineWithKey(deleteKey);
@@ -121,6 +142,8 @@ public class BuildUp {
     }
 
     private static boolean existsValidBuildPatternRecursiveWithoutKey(Field field, LinkedList<MinoOperation> operations, int height, Reachable reachable) {
+        Metrics.increment(Metrics.Counter.BuildUpNodes);
+
         long deleteKey = field.clearLineReturnKey();
 
         for (int index = 0; index < operations.size(); index++) {
@@ -216,6 +239,8 @@ public class BuildUp {
     }
 
     private static boolean existsValidByOrder(Field field, EnumMap<Piece, LinkedList<MinoOperationWithKey>> eachBlocks, List<Piece> pieces, int height, Reachable reachable, int depth, int maxDepth) {
+        Metrics.increment(Metrics.Counter.BuildUpNodes);
+
         long deleteKey = field.clearLineReturnKey();
         Piece piece = pieces.get(depth);
         LinkedList<MinoOperationWithKey> operationWithKeys = eachBlocks.get(piece);
@@ -276,6 +301,8 @@ public class BuildUp {
     }
 
     private static boolean existsValidByOrderWithHold(Field field, EnumMap<Piece, LinkedList<MinoOperationWithKey>> eachBlocks, List<Piece> pieces, int height, Reachable reachable, int maxDepth, int depth, Piece hold) {
+        Metrics.increment(Metrics.Counter.BuildUpNodes);
+
         long deleteKey = field.clearLineReturnKey();
 
         Piece piece = depth < pieces.size() ? pieces.get(depth) : null;
@@ -0,0 +1,41 @@
+package common.buildup;
+
+import common.datastore.MinoOperationWithKey;
+
+import java.util.Comparator;
+import java.util.HashSet;
+
+/**
+ * 置き終わったoperationsの組み合わせをビットで表し、失敗した組み合わせを記録する
+ * マルチスレッド非対応
+ */
+class BuildUpMemo {
+    static final Comparator<MinoOperationWithKey> KEY_COMPARATOR = (o1, o2) -> {
+        int compare = Integer.compare(o1.getY(), o2.getY());
+        if (compare != 0)
+            return compare;
+        return Long.compare(o1.getNeedDeletedKey(), o2.getNeedDeletedKey());
+    };
+
+    private final long filledMask;
+    private final HashSet<Long> failedMasks = new HashSet<>();
+
+    // 組み合わせをlongのビットで表すため、operationsは63個まで
+    BuildUpMemo(int size) {
+        if (size <= 0 || Long.SIZE <= size)
+            throw new IllegalArgumentException("Size of operations should be 1 to " + (Long.SIZE - 1) + ": size=" + size);
+        this.filledMask = (1L << size) - 1L;
+    }
+
+    boolean isFilled(long mask) {
+        return mask == filledMask;
+    }
+
+    boolean isFailed(long mask) {
+        return failedMasks.contains(mask);
+    }
+
+    void failed(long mask) {
+        failedMasks.add(mask);
+    }
+}
@@ -5,9 +5,10 @@ import core.action.reachable.Reachable;
 import core.field.Field;
 import core.field.KeyOperators;
 import core.mino.Mino;
+import lib.Metrics;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Stream;
@@ -16,16 +17,9 @@ import java.util.stream.Stream;
  * マルチスレッド非対応
  */
 public class BuildUpStream {
-    private static final Comparator<MinoOperationWithKey> KEY_COMPARATOR = (o1, o2) -> {
-        int compare = Integer.compare(o1.getY(), o2.getY());
-        if (compare != 0)
-            return compare;
-        return Long.compare(o1.getNeedDeletedKey(), o2.getNeedDeletedKey());
-    };
-
     private final Reachable reachable;
     private final int height;
-    private LinkedList<MinoOperationWithKey> currentOperations = new LinkedList<>();
+    private MinoOperationWithKey[] currentOperations = new MinoOperationWithKey[0];
     private Stream.Builder<List<MinoOperationWithKey>> solutions = Stream.builder();
 
     public BuildUpStream(Reachable reachable, int height) {
@@ -40,50 +34,74 @@ public class BuildUpStream {
     }
 
     public Stream<List<MinoOperationWithKey>> existsValidBuildPatternDirectly(Field fieldOrigin, LinkedList<MinoOperationWithKey> operationWithKeys) {
-        operationWithKeys.sort(KEY_COMPARATOR);
-        this.currentOperations = new LinkedList<>();
+        MinoOperationWithKey[] keys = operationWithKeys.toArray(new MinoOperationWithKey[0]);
+        Arrays.sort(keys, BuildUpMemo.KEY_COMPARATOR);
+
+        this.currentOperations = new MinoOperationWithKey[keys.length];
         this.solutions = Stream.builder();
-        existsValidBuildPatternRecursive(fieldOrigin.freeze(height), operationWithKeys);
+
+        if (0 < keys.length) {
+            BuildUpMemo memo = new BuildUpMemo(keys.length);
+            existsValidBuildPatternRecursive(fieldOrigin.freeze(height), keys, 0L, 0, memo);
+        }
+
         return solutions.build();
     }
 
-    private void existsValidBuildPatternRecursive(Field field, LinkedList<MinoOperationWithKey> operationWithKeys) {
+    // 解がひとつ以上見つかったとき true を返却
+    // 置いた組み合わせが同じならフィールドも同じになるため、解がなかった組み合わせを記録して探索を省略する
+    private boolean existsValidBuildPatternRecursive(Field field, MinoOperationWithKey[] keys, long placedMask, int depth, BuildUpMemo memo) {
+        Metrics.increment(Metrics.Counter.BuildUpNodes);
+
         long deleteKey = field.clearLineReturnKey();
 
-        for (int index = 0; index < operationWithKeys.size(); index++) {
-            MinoOperationWithKey key = operationWithKeys.remove(index);
-            this.currentOperations.addLast(key);
+        boolean found = false;
+        for (int index = 0; index < keys.length; index++) {
+            long bit = 1L << index;
+            if ((placedMask & bit) != 0L)
+                continue;
 
-            // 必要な列が消えているかチェック
+            MinoOperationWithKey key = keys[index];
+
+            // 必要な列が消えているかチェック
             long needDeletedKey = key.getNeedDeletedKey();
-            if ((deleteKey & needDeletedKey) == needDeletedKey) {
-
-                // すでに下のラインが消えているときは、その分スライドさせる
-                int originalY = key.getY();
-                int deletedLines = Long.bitCount(KeyOperators.getMaskForKeyBelowY(originalY) & deleteKey);
-
-                Mino mino = key.getMino();
-                int x = key.getX();
-                int y = originalY - deletedLines;
-
-                if (field.isOnGround(mino, x, y) && field.canPut(mino, x, y) && reachable.checks(field, mino, x, y, height)) {
-                    if (operationWithKeys.isEmpty()) {
-                        // 解をみつけたとき
-                        solutions.accept(new ArrayList<>(currentOperations));
-                    } else {
-                        Field nextField = field.freeze(height);
-                        nextField.put(mino, x, y);
-                        nextField.insertBlackLineWithKey(deleteKey);
-
-                        existsValidBuildPatternRecursive(nextField, operationWithKeys);
-                    }
+            if ((deleteKey & needDeletedKey) != needDeletedKey)
+                continue;
+
+            // 別の順番ですでに解がなかった組み合わせ
+            long nextMask = placedMask | bit;
+            if (memo.isFailed(nextMask))
+                continue;
+
+            // すでに下のラインが消えているときは、その分スライドさせる
+            int originalY = key.getY();
+            int deletedLines = Long.bitCount(KeyOperators.getMaskForKeyBelowY(originalY) & deleteKey);
+
+            Mino mino = key.getMino();
+            int x = key.getX();
+            int y = originalY - deletedLines;
+
+            if (field.isOnGround(mino, x, y) && field.canPut(mino, x, y) && reachable.checks(field, mino, x, y, height)) {
+                currentOperations[depth] = key;
+
+                if (memo.isFilled(nextMask)) {
+                    // 解をみつけたとき
+                    solutions.accept(new ArrayList<>(Arrays.asList(currentOperations)));
+                    found = true;
+                } else {
+                    Field nextField = field.freeze(height);
+                    nextField.put(mino, x, y);
+                    nextField.insertBlackLineWithKey(deleteKey);
+
+                    if (existsValidBuildPatternRecursive(nextField, keys, nextMask, depth + 1, memo))
+                        found = true;
+                    else
+                        memo.failed(nextMask);
                 }
             }
-
-            this.currentOperations.removeLast();
-            operationWithKeys.add(index, key);
         }
 
         field.insertBlackLineWithKey(deleteKey);
+        return found;
     }
 }
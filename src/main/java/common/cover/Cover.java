@@ -5,6 +5,8 @@ import common.datastore.MinoOperationWithKey;
 import core.field.Field;
 import core.mino.Piece;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -14,4 +16,30 @@ public interface Cover {
     boolean canBuild(Field field, Stream<? extends MinoOperationWithKey> operations, List<Piece> pieces, int height, ReachableForCover reachable, int maxDepth);
 
     boolean canBuildWithHold(Field field, Stream<MinoOperationWithKey> operations, List<Piece> pieces, int height, ReachableForCover reachable, int maxDepth);
+
+    // 複数のミノ順をまとめてチェックする。結果はpiecesListと同じ順番で返却する
+    // 探索で参照されるのは先頭maxDepthミノまでのため、同じ先頭を持つミノ順の結果は使いまわす
+    default boolean[] canBuildAll(Field field, List<MinoOperationWithKey> operations, List<? extends List<Piece>> piecesList, int height, ReachableForCover reachable, int maxDepth) {
+        HashMap<List<Piece>, Boolean> memo = new HashMap<>();
+        boolean[] results = new boolean[piecesList.size()];
+        for (int index = 0; index < results.length; index++) {
+            List<Piece> pieces = piecesList.get(index);
+            List<Piece> key = new ArrayList<>(pieces.subList(0, Math.min(pieces.size(), maxDepth)));
+            results[index] = memo.computeIfAbsent(key, k -> canBuild(field, operations.stream(), pieces, height, reachable, maxDepth));
+        }
+        return results;
+    }
+
+    // 複数のミノ順をまとめてチェックする。結果はpiecesListと同じ順番で返却する
+    // ホールドありのときは、先頭maxDepth+1ミノまでが同じミノ順の結果を使いまわす
+    default boolean[] canBuildAllWithHold(Field field, List<MinoOperationWithKey> operations, List<? extends List<Piece>> piecesList, int height, ReachableForCover reachable, int maxDepth) {
+        HashMap<List<Piece>, Boolean> memo = new HashMap<>();
+        boolean[] results = new boolean[piecesList.size()];
+        for (int index = 0; index < results.length; index++) {
+            List<Piece> pieces = piecesList.get(index);
+            List<Piece> key = new ArrayList<>(pieces.subList(0, Math.min(pieces.size(), maxDepth + 1)));
+            results[index] = memo.computeIfAbsent(key, k -> canBuildWithHold(field, operations.stream(), pieces, height, reachable, maxDepth));
+        }
+        return results;
+    }
 }
@@ -145,4 +145,24 @@ public class NormalCover implements Cover {
 
         return false;
     }
+
+    @Override
+    public boolean[] canBuildAll(Field field, List<MinoOperationWithKey> operations, List<? extends List<Piece>> piecesList, int height, ReachableForCover reachable, int maxDepth) {
+        if (maxDepth <= 0 || NormalCoverTrie.MAX_OPERATIONS < operations.size()) {
+            return Cover.super.canBuildAll(field, operations, piecesList, height, reachable, maxDepth);
+        }
+
+        NormalCoverTrie trie = new NormalCoverTrie(field, operations, height, reachable, maxDepth);
+        return trie.check(piecesList, false);
+    }
+
+    @Override
+    public boolean[] canBuildAllWithHold(Field field, List<MinoOperationWithKey> operations, List<? extends List<Piece>> piecesList, int height, ReachableForCover reachable, int maxDepth) {
+        if (maxDepth <= 0 || NormalCoverTrie.MAX_OPERATIONS < operations.size()) {
+            return Cover.super.canBuildAllWithHold(field, operations, piecesList, height, reachable, maxDepth);
+        }
+
+        NormalCoverTrie trie = new NormalCoverTrie(field, operations, height, reachable, maxDepth);
+        return trie.check(piecesList, true);
+    }
 }
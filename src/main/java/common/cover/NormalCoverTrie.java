@@ -0,0 +1,264 @@
+package common.cover;
+
+import common.cover.reachable.ReachableForCover;
+import common.datastore.MinoOperationWithKey;
+import core.field.Field;
+import core.field.KeyOperators;
+import core.mino.Mino;
+import core.mino.Piece;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+// NormalCoverの探索を、複数のミノ順でまとめて行う
+// ミノ順をソートしてトライ木の順にたどり、共通する先頭までに到達できる状態は1度だけ展開する
+// 状態は (置いたミノの集合, ホールド) で決まるため、同じ状態に複数の手順で到達しても1つにまとめる
+class NormalCoverTrie {
+    // 状態のキーにホールドを含めるため、使用できるミノ数に制限がある
+    static final int MAX_OPERATIONS = 60;
+
+    private static class State {
+        private final long usedMask;
+        private final Piece hold;
+        private final Field field;
+
+        private State(long usedMask, Piece hold, Field field) {
+            this.usedMask = usedMask;
+            this.hold = hold;
+            this.field = field;
+        }
+    }
+
+    private final Field initField;
+    private final List<MinoOperationWithKey> operations;
+    private final int[][] indexesEachPiece;
+    private final int height;
+    private final ReachableForCover reachable;
+    private final int maxDepth;
+
+    NormalCoverTrie(Field field, List<MinoOperationWithKey> operations, int height, ReachableForCover reachable, int maxDepth) {
+        assert 0 < maxDepth && operations.size() <= MAX_OPERATIONS;
+        this.initField = field.freeze(height);
+        this.operations = operations;
+        this.indexesEachPiece = createIndexesEachPiece(operations);
+        this.height = height;
+        this.reachable = reachable;
+        this.maxDepth = maxDepth;
+    }
+
+    private static int[][] createIndexesEachPiece(List<MinoOperationWithKey> operations) {
+        int[][] indexes = new int[Piece.getSize()][];
+        for (Piece piece : Piece.values()) {
+            indexes[piece.getNumber()] = new int[0];
+        }
+
+        for (int index = 0; index < operations.size(); index++) {
+            int number = operations.get(index).getPiece().getNumber();
+            int[] current = indexes[number];
+            int[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = index;
+            indexes[number] = next;
+        }
+
+        return indexes;
+    }
+
+    boolean[] check(List<? extends List<Piece>> piecesList, boolean isUsingHold) {
+        boolean[] results = new boolean[piecesList.size()];
+
+        // ミノ数が足りないミノ順は組み立てられない
+        List<List<Piece>> targets = new ArrayList<>();
+        List<Integer> targetIndexes = new ArrayList<>();
+        for (int index = 0; index < piecesList.size(); index++) {
+            List<Piece> pieces = piecesList.get(index);
+            if (maxDepth <= pieces.size()) {
+                targets.add(pieces);
+                targetIndexes.add(index);
+            }
+        }
+
+        if (targets.isEmpty()) {
+            return results;
+        }
+
+        // トライ木の順にたどるため、ミノ順でソートする
+        int limit = isUsingHold ? maxDepth + 1 : maxDepth;
+        Integer[] sorted = new Integer[targets.size()];
+        for (int index = 0; index < sorted.length; index++) {
+            sorted[index] = index;
+        }
+        Arrays.sort(sorted, (a, b) -> compare(targets.get(a), targets.get(b), limit));
+
+        boolean[] successes = new boolean[targets.size()];
+        if (isUsingHold) {
+            walkFirstHold(targets, sorted, successes);
+        } else {
+            State first = new State(0L, null, initField);
+            walk(targets, sorted, 0, sorted.length, 0, Collections.singletonList(first), successes);
+        }
+
+        for (int index = 0; index < successes.length; index++) {
+            results[targetIndexes.get(index)] = successes[index];
+        }
+
+        return results;
+    }
+
+    private int compare(List<Piece> a, List<Piece> b, int limit) {
+        int size = Math.min(Math.min(a.size(), b.size()), limit);
+        for (int index = 0; index < size; index++) {
+            int compare = Integer.compare(a.get(index).getNumber(), b.get(index).getNumber());
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return Integer.compare(Math.min(a.size(), limit), Math.min(b.size(), limit));
+    }
+
+    private Piece getPiece(List<Piece> pieces, int depth) {
+        return depth < pieces.size() ? pieces.get(depth) : null;
+    }
+
+    // 同じミノが続く範囲の終わりを返却する
+    private int findGroupEnd(List<List<Piece>> targets, Integer[] sorted, int from, int to, int depth) {
+        Piece piece = getPiece(targets.get(sorted[from]), depth);
+        int end = from + 1;
+        while (end < to && getPiece(targets.get(sorted[end]), depth) == piece) {
+            end++;
+        }
+        return end;
+    }
+
+    private void markAll(Integer[] sorted, int from, int to, boolean[] successes, boolean success) {
+        for (int index = from; index < to; index++) {
+            successes[sorted[index]] = success;
+        }
+    }
+
+    // ホールドなし
+    private void walk(List<List<Piece>> targets, Integer[] sorted, int from, int to, int depth, Collection<State> states, boolean[] successes) {
+        boolean isLast = depth == maxDepth - 1;
+
+        for (int start = from; start < to; ) {
+            int end = findGroupEnd(targets, sorted, start, to, depth);
+            Piece piece = getPiece(targets.get(sorted[start]), depth);
+            assert piece != null;
+
+            HashMap<Long, State> nexts = new HashMap<>();
+            for (State state : states) {
+                if (put(state, piece, state.hold, depth, maxDepth - depth, isLast, nexts)) {
+                    break;
+                }
+            }
+
+            if (isLast || nexts.isEmpty()) {
+                markAll(sorted, start, end, successes, !nexts.isEmpty());
+            } else {
+                walk(targets, sorted, start, end, depth + 1, nexts.values(), successes);
+            }
+
+            start = end;
+        }
+    }
+
+    // ホールドあり: 1ミノ目はホールドに入る
+    private void walkFirstHold(List<List<Piece>> targets, Integer[] sorted, boolean[] successes) {
+        for (int start = 0; start < sorted.length; ) {
+            int end = findGroupEnd(targets, sorted, start, sorted.length, 0);
+            Piece hold = getPiece(targets.get(sorted[start]), 0);
+
+            State first = new State(0L, hold, initField);
+            walkWithHold(targets, sorted, start, end, 1, Collections.singletonList(first), successes);
+
+            start = end;
+        }
+    }
+
+    private void walkWithHold(List<List<Piece>> targets, Integer[] sorted, int from, int to, int depth, Collection<State> states, boolean[] successes) {
+        boolean isLast = depth == maxDepth;
+
+        for (int start = from; start < to; ) {
+            int end = findGroupEnd(targets, sorted, start, to, depth);
+            Piece current = getPiece(targets.get(sorted[start]), depth);
+
+            HashMap<Long, State> nexts = new HashMap<>();
+            for (State state : states) {
+                // ホールドを使う
+                if (state.hold != null && put(state, state.hold, current, depth, maxDepth - depth + 1, isLast, nexts)) {
+                    break;
+                }
+
+                // ツモを使う
+                if (current != null && put(state, current, state.hold, depth, maxDepth - depth + 1, isLast, nexts)) {
+                    break;
+                }
+            }
+
+            if (isLast || nexts.isEmpty()) {
+                markAll(sorted, start, end, successes, !nexts.isEmpty());
+            } else {
+                walkWithHold(targets, sorted, start, end, depth + 1, nexts.values(), successes);
+            }
+
+            start = end;
+        }
+    }
+
+    // usePieceを置いた次の状態をnextsに追加する
+    // isLastのときは、ひとつでも置ければtrueを返却する
+    private boolean put(State state, Piece usePiece, Piece nextHold, int depth, int remainingDepth, boolean isLast, HashMap<Long, State> nexts) {
+        Field field = state.field.freeze(height);
+        long deleteKey = field.clearLineReturnKey();
+
+        for (int index : indexesEachPiece[usePiece.getNumber()]) {
+            long bit = 1L << index;
+            if ((state.usedMask & bit) != 0L) {
+                continue;
+            }
+
+            long nextMask = state.usedMask | bit;
+            long stateKey = (nextMask << 3) | (nextHold != null ? nextHold.getNumber() : 7);
+            if (nexts.containsKey(stateKey)) {
+                // すでに同じ状態に到達している
+                continue;
+            }
+
+            MinoOperationWithKey key = operations.get(index);
+
+            long needDeletedKey = key.getNeedDeletedKey();
+            if ((deleteKey & needDeletedKey) != needDeletedKey) {
+                // 必要な列が消えていない
+                continue;
+            }
+
+            // すでに下のラインが消えているときは、その分スライドさせる
+            int originalY = key.getY();
+            int deletedLines = Long.bitCount(KeyOperators.getMaskForKeyBelowY(originalY) & deleteKey);
+
+            Mino mino = key.getMino();
+            int x = key.getX();
+            int y = originalY - deletedLines;
+
+            if (field.isOnGround(mino, x, y) && field.canPut(mino, x, y) && reachable.checks(field, mino, x, y, height - mino.getMinY(), remainingDepth)) {
+                Field nextField = null;
+                if (!isLast) {
+                    nextField = field.freeze(height);
+                    nextField.put(mino, x, y);
+                    nextField.insertBlackLineWithKey(deleteKey);
+                }
+
+                nexts.put(stateKey, new State(nextMask, nextHold, nextField));
+
+                if (isLast) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
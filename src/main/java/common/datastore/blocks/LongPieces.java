@@ -10,7 +10,8 @@ import java.util.stream.Stream;
 
 // max <= 22であること
 public class LongPieces implements Pieces, Comparable<LongPieces> {
-    private static final long[] SCALE = new long[22];
+    // LongPiecesSetのキーで、長さを表す最上位の桁にも使うため、1つ多く用意する
+    private static final long[] SCALE = new long[23];
 
     static {
         for (int index = 0; index < SCALE.length; index++)
@@ -32,7 +33,8 @@ public class LongPieces implements Pieces, Comparable<LongPieces> {
         return value;
     }
 
-    private static long getScale(int index) {
+    // index番目のミノの桁。getLong() の値から、並び替えたミノ列を組み立てるときにも使う
+    public static long getScale(int index) {
         return SCALE[index];
     }
 
@@ -53,6 +55,30 @@ public class LongPieces implements Pieces, Comparable<LongPieces> {
         return (int) (pieces ^ (pieces >>> 32));
     }
 
+    // 長さの異なるミノ順を区別するため、最上位の桁 (7^max) に1を加えた値をキーにする
+    // キーは 7^max 以上 2*7^max 未満となり、0にはならない
+    static long toKey(LongPieces pieces) {
+        return toKey(pieces.pieces, pieces.max);
+    }
+
+    static long toKey(long pieces, int max) {
+        return pieces + SCALE[max];
+    }
+
+    static LongPieces fromKey(long key) {
+        assert 0L < key;
+        int max = 0;
+        while (max + 1 < SCALE.length && SCALE[max + 1] <= key)
+            max += 1;
+        return new LongPieces(key - SCALE[max], max);
+    }
+
+    // getLong() の値と長さから復元する
+    public static LongPieces fromLong(long pieces, int max) {
+        assert 0 <= max && max <= 22;
+        return new LongPieces(pieces, max);
+    }
+
     private final long pieces;
     private final int max;
 
@@ -61,6 +87,11 @@ public class LongPieces implements Pieces, Comparable<LongPieces> {
         this.max = 0;
     }
 
+    private LongPieces(long pieces, int max) {
+        this.pieces = pieces;
+        this.max = max;
+    }
+
     public LongPieces(List<Piece> pieces) {
         assert pieces.size() <= 22;
         this.pieces = parse(0L, pieces, 0);
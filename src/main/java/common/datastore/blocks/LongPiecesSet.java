@@ -0,0 +1,268 @@
+package common.datastore.blocks;
+
+import core.mino.Piece;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * LongPiecesを、ミノ順を表すlongだけで保持するSet
+ * オープンアドレス法 (線形探索) のため、要素ごとにオブジェクトをつくらない
+ * 取り出すときは、その都度LongPiecesをつくって返す
+ * スレッドセーフではない。つくり終えたあとに、複数のスレッドから読むだけなら問題ない
+ */
+public class LongPiecesSet extends AbstractSet<LongPieces> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long EMPTY = 0L;
+
+    // キーは0にならないため、0を空きとして使う
+    private long[] keys;
+    private int mask;
+    private int size = 0;
+    private int threshold;
+
+    public LongPiecesSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongPiecesSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public LongPiecesSet(Collection<? extends Pieces> collection) {
+        this(collection.size());
+        for (Pieces pieces : collection)
+            add(pieces);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        // 使用率が3/4を超えないようにする
+        long required = Math.max(DEFAULT_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+        if (MAX_CAPACITY <= required)
+            return MAX_CAPACITY;
+        return Integer.highestOneBit((int) (required - 1)) << 1;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.threshold = capacity / 4 * 3;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    // LongPiecesに変換できないときは、空を表す0を返す
+    private static long toKey(Object o) {
+        if (o instanceof LongPieces)
+            return LongPieces.toKey((LongPieces) o);
+
+        if (o instanceof Pieces) {
+            Pieces pieces = (Pieces) o;
+            Piece[] array = pieces.getPieceArray();
+            if (array.length <= 22)
+                return LongPieces.toKey(new LongPieces(array));
+        }
+
+        return EMPTY;
+    }
+
+    public boolean add(Pieces pieces) {
+        long key = toKey(pieces);
+        if (key == EMPTY)
+            throw new IllegalArgumentException("Pieces should be 22 or less: " + pieces);
+        return addKey(key);
+    }
+
+    @Override
+    public boolean add(LongPieces pieces) {
+        return addKey(LongPieces.toKey(pieces));
+    }
+
+    // LongPiecesをつくらずに、getLong() の値と長さで追加する
+    public boolean addLong(long pieces, int max) {
+        return addKey(LongPieces.toKey(pieces, max));
+    }
+
+    private boolean addKey(long key) {
+        int index = indexOf(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key)
+                return false;
+
+            if (current == EMPTY)
+                break;
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        size += 1;
+
+        if (threshold < size)
+            rehash();
+
+        return true;
+    }
+
+    private void rehash() {
+        long[] old = this.keys;
+        if (MAX_CAPACITY <= old.length)
+            throw new IllegalStateException("LongPiecesSet is full");
+
+        allocate(old.length << 1);
+        for (long key : old) {
+            if (key == EMPTY)
+                continue;
+
+            int index = indexOf(key);
+            while (keys[index] != EMPTY)
+                index = (index + 1) & mask;
+            keys[index] = key;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        long key = toKey(o);
+        return key != EMPTY && containsKey(key);
+    }
+
+    public boolean containsLong(long pieces, int max) {
+        return containsKey(LongPieces.toKey(pieces, max));
+    }
+
+    private boolean containsKey(long key) {
+        int index = indexOf(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key)
+                return true;
+
+            if (current == EMPTY)
+                return false;
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> collection) {
+        if (!(collection instanceof LongPiecesSet))
+            return super.containsAll(collection);
+
+        // キーのまま比べる
+        for (long key : ((LongPiecesSet) collection).keys)
+            if (key != EMPTY && !containsKey(key))
+                return false;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long key = toKey(o);
+        if (key == EMPTY)
+            return false;
+
+        int index = indexOf(key);
+        while (true) {
+            long current = keys[index];
+            if (current == EMPTY)
+                return false;
+
+            if (current == key)
+                break;
+
+            index = (index + 1) & mask;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    // 後ろに続くキーを詰めて、探索が途切れないようにする
+    private void removeAt(int index) {
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = indexOf(keys[next]);
+            // homeがholeより後ろ (循環を考慮) にあるキーは動かせない
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        size -= 1;
+    }
+
+    @Override
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<LongPieces> iterator() {
+        return new Iterator<LongPieces>() {
+            // 空きの直後から1周する
+            // 削除でキーを詰めるときは空きをまたがないため、まだ返していないキーが返したキーの位置より前に移ることはない
+            private final int start = findEmpty();
+            private int count = 0;
+            private int last = -1;
+
+            private int findEmpty() {
+                // 使用率が3/4を超えないため、空きは必ずある
+                int index = 0;
+                while (keys[index] != EMPTY)
+                    index += 1;
+                return index;
+            }
+
+            private int toIndex(int count) {
+                return (start + 1 + count) & mask;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (count < keys.length && keys[toIndex(count)] == EMPTY)
+                    count += 1;
+                return count < keys.length;
+            }
+
+            @Override
+            public LongPieces next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                last = toIndex(count);
+                count += 1;
+                return LongPieces.fromKey(keys[last]);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0)
+                    throw new IllegalStateException();
+
+                removeAt(last);
+                last = -1;
+
+                // 詰められたキーが入っているかもしれないため、同じ位置をもう一度確認する
+                count -= 1;
+            }
+        };
+    }
+}
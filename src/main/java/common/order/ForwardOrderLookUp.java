@@ -2,19 +2,22 @@ package common.order;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 // 指定したミノ列からホールドを利用して並び替えられるミノ列をすべて列挙
 public class ForwardOrderLookUp {
-    private final List<List<Integer>> indexesList;
+    private final OrderIndexTable table;
+    private final int fromDepth;
 
     public ForwardOrderLookUp(int toDepth, int fromDepth) {
         this(toDepth, toDepth < fromDepth);
     }
 
     public ForwardOrderLookUp(int toDepth, boolean isOverBlock) {
-        this.indexesList = forward(toDepth, isOverBlock);
+        this.table = new OrderIndexTable(forward(toDepth, isOverBlock));
+        this.fromDepth = isOverBlock ? toDepth + 1 : toDepth;
     }
 
     private List<List<Integer>> forward(int toDepth, boolean isOverBlock) {
@@ -72,9 +75,20 @@ public class ForwardOrderLookUp {
     }
 
     public <T> Stream<Stream<T>> parse(List<T> pieces) {
-        assert 1 <= indexesList.get(0).size() && indexesList.get(0).size() <= pieces.size();
+        assert 1 <= table.getWidth() && table.getWidth() <= pieces.size();
+        return table.parse(pieces, null);
+    }
+
+    /**
+     * parseと同じミノ列を、LongPiecesの表現のまま列挙する
+     * @param pieces   LongPieces.getLong() の値。長さは、toDepthを超えるときはtoDepth+1、それ以外はtoDepth
+     * @param consumer 並び替えたミノ列。長さはtoDepth
+     */
+    public void parse(long pieces, LongConsumer consumer) {
+        table.forEachLong(pieces, fromDepth, consumer);
+    }
 
-        return indexesList.stream()
-                .map(indexes -> indexes.stream().map(index -> index != -1 ? pieces.get(index) : null));
+    public int getToDepth() {
+        return table.getWidth();
     }
 }
@@ -0,0 +1,87 @@
+package common.order;
+
+import common.datastore.blocks.LongPieces;
+import core.mino.Piece;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// 並び替えたミノ列を、元のミノ列のインデックスで表した表
+// 1行がひとつの並び替えを表し、1次元のbyte配列にまとめて保持する
+// インデックスが-1の位置は、ホールドによって元のミノ列にないミノが入る
+class OrderIndexTable {
+    private static final int NULL_INDEX = -1;
+    // LongPieces で表せるミノ列の長さ
+    private static final int MAX_WIDTH = 22;
+
+    private final byte[] indexes;
+    // 行ごとに、-1の位置の桁を足し合わせたもの。-1がないときは0
+    private final long[] nullScales;
+    private final int width;
+    private final int size;
+
+    OrderIndexTable(List<List<Integer>> indexesList) {
+        assert !indexesList.isEmpty();
+        this.width = indexesList.get(0).size();
+        this.size = indexesList.size();
+        assert width <= MAX_WIDTH;
+
+        this.indexes = new byte[size * width];
+        this.nullScales = new long[size];
+        for (int row = 0; row < size; row++) {
+            List<Integer> indexes = indexesList.get(row);
+            assert indexes.size() == width;
+
+            long nullScale = 0L;
+            for (int column = 0; column < width; column++) {
+                int index = indexes.get(column);
+                if (index == NULL_INDEX)
+                    nullScale += LongPieces.getScale(column);
+                this.indexes[row * width + column] = (byte) index;
+            }
+            this.nullScales[row] = nullScale;
+        }
+    }
+
+    <T> Stream<Stream<T>> parse(List<T> pieces, T nullPiece) {
+        return IntStream.range(0, size)
+                .mapToObj(row -> IntStream.range(row * width, (row + 1) * width)
+                        .mapToObj(cell -> indexes[cell] != NULL_INDEX ? pieces.get(indexes[cell]) : nullPiece));
+    }
+
+    // piecesは LongPieces.getLong() と同じ表現で、長さはlength
+    // 並び替えた結果も同じ表現で渡す。-1の位置は、同じミノで埋めてすべてのミノに展開する
+    void forEachLong(long pieces, int length, LongConsumer consumer) {
+        // 先に1ミノずつ取り出しておく
+        int[] numbers = new int[length];
+        for (int index = 0; index < length; index++) {
+            numbers[index] = (int) (pieces % Piece.getSize());
+            pieces /= Piece.getSize();
+        }
+        assert pieces == 0L;
+
+        for (int row = 0; row < size; row++) {
+            int offset = row * width;
+            long value = 0L;
+            for (int column = 0; column < width; column++) {
+                int index = indexes[offset + column];
+                if (index != NULL_INDEX)
+                    value += numbers[index] * LongPieces.getScale(column);
+            }
+
+            long nullScale = nullScales[row];
+            if (nullScale == 0L) {
+                consumer.accept(value);
+            } else {
+                for (int number = 0; number < Piece.getSize(); number++)
+                    consumer.accept(value + number * nullScale);
+            }
+        }
+    }
+
+    int getWidth() {
+        return width;
+    }
+}
@@ -4,13 +4,15 @@ import core.mino.Piece;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 // 「あるミノ列」からホールドを利用して指定したミノ列にできるとき、その「あるミノ列」をすべて逆算して列挙
 public class ReverseOrderLookUp {
-    private final List<List<Integer>> indexesList;
+    private final OrderIndexTable table;
+    private final int toDepth;
     private final boolean containsNull;
 
     /**
@@ -18,7 +20,8 @@ public class ReverseOrderLookUp {
      * @param fromDepth 元のミノ列の長さ（ホールド前のミノ列）
      */
     public ReverseOrderLookUp(int toDepth, int fromDepth) {
-        this.indexesList = reverse(toDepth, fromDepth);
+        this.table = new OrderIndexTable(reverse(toDepth, fromDepth));
+        this.toDepth = toDepth;
         this.containsNull = toDepth < fromDepth;
     }
 
@@ -60,17 +63,29 @@ public class ReverseOrderLookUp {
     }
 
     private <T> Stream<Stream<T>> parse(List<T> pieces, T nullPiece) {
-        assert pieces.size() <= indexesList.get(0).size();
-        return indexesList.stream()
-                .map(indexes -> indexes.stream().map(index -> index != -1 ? pieces.get(index) : nullPiece));
+        assert pieces.size() <= table.getWidth();
+        return table.parse(pieces, nullPiece);
     }
 
     public Stream<Stream<Piece>> parseAndExpand(List<Piece> pieces) {
-        assert pieces.size() <= indexesList.get(0).size();
+        assert pieces.size() <= table.getWidth();
         if (containsNull) {
             return Piece.valueList().stream().flatMap(piece -> parse(pieces, piece));
         } else {
             return parse(pieces);
         }
     }
+
+    /**
+     * parseAndExpandと同じミノ列を、LongPiecesの表現のまま列挙する
+     * @param pieces   LongPieces.getLong() の値。長さはtoDepth
+     * @param consumer 逆算したミノ列。長さはfromDepth
+     */
+    public void parseAndExpand(long pieces, LongConsumer consumer) {
+        table.forEachLong(pieces, toDepth, consumer);
+    }
+
+    public int getFromDepth() {
+        return table.getWidth();
+    }
 }
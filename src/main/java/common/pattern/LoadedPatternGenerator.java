@@ -58,6 +58,10 @@ public class LoadedPatternGenerator implements PatternGenerator {
         }
     }
 
+    List<PatternInterpreter> getInterpreters() {
+        return interpreters;
+    }
+
     @Override
     public int getDepth() {
         if (interpreters.isEmpty())
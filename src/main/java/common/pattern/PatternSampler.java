@@ -0,0 +1,167 @@
+package common.pattern;
+
+import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.Pieces;
+import core.mino.Piece;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * パターンからミノ列をランダムに1つ選ぶ
+ * ミノ列は列挙せず、パターンの要素ごとに順列を選ぶ
+ * sample は重複するミノ列を列挙される回数分の重みで選び、sampleDistinct は重複を除いたミノ列から同じ確率で選ぶ
+ */
+public class PatternSampler {
+    // 要素の順列を、先頭のミノが最上位の桁になるように7進数で表したもの
+    // 同じ先頭をもつ順列が連続するように並べておく
+    private static class ElementCodes {
+        private final long[] codes;
+        private final int length;
+
+        private ElementCodes(List<List<Piece>> permutations, int length) {
+            long[] codes = new long[permutations.size()];
+            for (int index = 0; index < codes.length; index++) {
+                long code = 0L;
+                for (Piece piece : permutations.get(index))
+                    code = code * Piece.getSize() + piece.getNumber();
+                codes[index] = code;
+            }
+            Arrays.sort(codes);
+            this.codes = codes;
+            this.length = length;
+        }
+
+        private int size() {
+            return codes.length;
+        }
+
+        private void addPieces(int index, List<Piece> pieces) {
+            long code = codes[index];
+            for (int position = length - 1; 0 <= position; position--) {
+                long scale = LongPieces.getScale(position);
+                pieces.add(Piece.getBlock((int) (code / scale)));
+                code %= scale;
+            }
+        }
+
+        // 先頭がpieces[from, to)と一致する順列の数
+        private int countPrefix(List<Piece> pieces, int from, int to) {
+            long prefix = 0L;
+            for (int index = from; index < to; index++)
+                prefix = prefix * Piece.getSize() + pieces.get(index).getNumber();
+
+            long scale = LongPieces.getScale(length - (to - from));
+            return lowerBound(prefix * scale + scale) - lowerBound(prefix * scale);
+        }
+
+        private int lowerBound(long code) {
+            int low = 0;
+            int high = codes.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (codes[middle] < code)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+    }
+
+    private final List<List<ElementCodes>> codesEachPattern;
+    private final double[] cumulativeSizes;
+    private final int depth;
+
+    public PatternSampler(LoadedPatternGenerator generator) {
+        List<List<ElementCodes>> codesEachPattern = new ArrayList<>();
+        List<PatternInterpreter> interpreters = generator.getInterpreters();
+        double[] cumulativeSizes = new double[interpreters.size()];
+        double total = 0.0;
+        for (int index = 0; index < interpreters.size(); index++) {
+            List<ElementCodes> codesEachElement = new ArrayList<>();
+            double size = 1.0;
+            for (Element element : interpreters.get(index).getElements()) {
+                List<List<Piece>> permutations = new ArrayList<>();
+                for (Pieces pieces : element.getPermutationBlocks())
+                    permutations.add(pieces.getPieces());
+                ElementCodes codes = new ElementCodes(permutations, element.getPopCount());
+                codesEachElement.add(codes);
+                size *= codes.size();
+            }
+
+            codesEachPattern.add(codesEachElement);
+            total += size;
+            cumulativeSizes[index] = total;
+        }
+
+        this.codesEachPattern = codesEachPattern;
+        this.cumulativeSizes = cumulativeSizes;
+        this.depth = generator.getDepth();
+    }
+
+    // 重複を含めた、列挙されるミノ列の数
+    public double getSize() {
+        return cumulativeSizes.length != 0 ? cumulativeSizes[cumulativeSizes.length - 1] : 0.0;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    // 重複を含めて列挙したときと同じ確率で選ぶ
+    public List<Piece> sample(Random random) {
+        double size = getSize();
+        assert 0.0 < size;
+
+        // ミノ列の数に比例した確率で、パターンの行を選ぶ
+        double value = random.nextDouble() * size;
+        int patternIndex = 0;
+        while (patternIndex < cumulativeSizes.length - 1 && cumulativeSizes[patternIndex] <= value)
+            patternIndex += 1;
+
+        // 要素ごとに、順列をひとつ選ぶ
+        List<Piece> pieces = new ArrayList<>(depth);
+        for (ElementCodes codes : codesEachPattern.get(patternIndex))
+            codes.addPieces(random.nextInt(codes.size()), pieces);
+        return pieces;
+    }
+
+    // 先頭からlength個に切り詰めたミノ列から、重複を除いて同じ確率で選ぶ
+    // 列挙したミノ列を切り詰めて重複を除いたときと同じ集合になる
+    // 重複を含めて選んだあと、同じミノ列が列挙される回数の逆数の確率で採用する
+    public List<Piece> sampleDistinct(Random random, int length) {
+        int size = Math.min(length, depth);
+        while (true) {
+            List<Piece> pieces = sample(random).subList(0, size);
+            double count = countPrefix(pieces);
+            assert 1.0 <= count;
+            if (random.nextDouble() * count < 1.0)
+                return new ArrayList<>(pieces);
+        }
+    }
+
+    // 先頭がpiecesと一致する、重複を含めたミノ列の数
+    double countPrefix(List<Piece> pieces) {
+        double total = 0.0;
+        for (List<ElementCodes> codesEachElement : codesEachPattern) {
+            double count = 1.0;
+            int position = 0;
+            for (ElementCodes codes : codesEachElement) {
+                if (pieces.size() <= position) {
+                    count *= codes.size();
+                } else {
+                    int to = Math.min(pieces.size(), position + codes.length);
+                    count *= codes.countPrefix(pieces, position, to);
+                    if (count == 0.0)
+                        break;
+                }
+                position += codes.length;
+            }
+            total += count;
+        }
+        return total;
+    }
+}
@@ -43,6 +43,10 @@ public class TetfuTable {
         return String.valueOf(ENCODE_TABLE.get(value));
     }
 
+    public static char encodeDataChar(int value) {
+        return ENCODE_TABLE.get(value);
+    }
+
     static int decodeData(char c) {
         return ENCODE_TABLE.indexOf(c);
     }
@@ -0,0 +1,196 @@
+package common.tetfu.encorder;
+
+import common.datastore.MinoOperationWithKey;
+import common.tetfu.TetfuTable;
+import common.tetfu.common.ColorConverter;
+import common.tetfu.common.ColorType;
+import core.field.Field;
+import core.field.KeyOperators;
+import core.mino.Mino;
+import core.mino.Piece;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static common.tetfu.Tetfu.*;
+import static common.tetfu.TetfuTable.COMMENT_TABLE_SIZE;
+import static common.tetfu.TetfuTable.ENCODE_TABLE_SIZE;
+
+/**
+ * 同じ初期フィールドに対して、ミノを置いた1ページのテト譜を繰り返しエンコードする
+ * 初期フィールドの変換は1度だけ行い、作業用の配列は使い回す
+ * 出力はOneFumenParserと同じ
+ * マルチスレッド非対応。スレッドごとにインスタンスを作成すること
+ */
+public class BatchFumenEncoder {
+    private static final int EMPTY_DIFF = 8;
+
+    private final ColorConverter colorConverter;
+    private final Field initField;
+    private final int maxClearLine;
+
+    // テト譜のフィールドの並び (上の行から順、最後にせり上がり) で、ブロックの色を保持する
+    private final int[] initCells;
+    private final int[] cells;
+
+    // temporary変数
+    private int[] values = new int[256];
+    private int size = 0;
+    private final StringBuilder builder = new StringBuilder();
+
+    public BatchFumenEncoder(ColorConverter colorConverter, Field initField, int maxClearLine) {
+        this.colorConverter = colorConverter;
+        this.initField = initField.freeze();
+        this.maxClearLine = maxClearLine;
+        this.initCells = createInitCells(initField, maxClearLine);
+        this.cells = new int[TETFU_FIELD_BLOCKS];
+    }
+
+    private static int[] createInitCells(Field initField, int maxClearLine) {
+        int[] cells = new int[TETFU_FIELD_BLOCKS];
+        int gray = ColorType.Gray.getNumber();
+        for (int y = 0; y < Math.min(maxClearLine, TETFU_FIELD_TOP); y++)
+            for (int x = 0; x < TETFU_FIELD_WIDTH; x++)
+                if (!initField.isEmpty(x, y))
+                    cells[toIndex(x, y)] = gray;
+        return cells;
+    }
+
+    private static int toIndex(int x, int y) {
+        return (TETFU_FIELD_TOP - y - 1) * TETFU_FIELD_WIDTH + x;
+    }
+
+    // 同じ初期フィールド・高さでエンコードできるか
+    public boolean isSameInit(Field field, int maxClearLine) {
+        return this.maxClearLine == maxClearLine && initField.equals(field);
+    }
+
+    public String encode(List<? extends MinoOperationWithKey> operations, String comment) {
+        System.arraycopy(initCells, 0, cells, 0, initCells.length);
+
+        // OneFumenParserと同じく、ミノの種類の順に塗る
+        for (Piece piece : Piece.values()) {
+            int colorNumber = colorConverter.parseToColorType(piece).getNumber();
+            for (MinoOperationWithKey operation : operations) {
+                if (operation.getPiece() == piece)
+                    fill(operation, colorNumber);
+            }
+        }
+
+        size = 0;
+        encodeField();
+        encodeAction(TetfuTable.escape(comment));
+        return toFumen();
+    }
+
+    private void fill(MinoOperationWithKey operation, int colorNumber) {
+        Mino mino = operation.getMino();
+        long needDeletedKey = operation.getNeedDeletedKey();
+        for (int[] position : mino.getPositions()) {
+            int x = operation.getX() + position[0];
+            int y = toInsertedY(needDeletedKey, operation.getY() + position[1]);
+            if (y < maxClearLine && y < TETFU_FIELD_TOP)
+                cells[toIndex(x, y)] = colorNumber;
+        }
+    }
+
+    // 消去されるラインを挿入したあとのyに変換する
+    private int toInsertedY(long needDeletedKey, int y) {
+        if (needDeletedKey == 0L)
+            return y;
+
+        int count = 0;
+        for (int insertedY = 0; ; insertedY++) {
+            if ((needDeletedKey & KeyOperators.getDeleteBitKey(insertedY)) != 0L)
+                continue;
+            if (count == y)
+                return insertedY;
+            count += 1;
+        }
+    }
+
+    // 前のフィールドは空のため、差分はブロックの色そのものになる
+    private void encodeField() {
+        boolean isChanged = false;
+        int prevDiff = cells[0] + EMPTY_DIFF;
+        int counter = -1;
+        for (int cell : cells) {
+            int diff = cell + EMPTY_DIFF;
+            if (diff != prevDiff) {
+                push(prevDiff * TETFU_FIELD_BLOCKS + counter, 2);
+                counter = 0;
+                prevDiff = diff;
+                isChanged = true;
+            } else {
+                counter += 1;
+            }
+        }
+        push(prevDiff * TETFU_FIELD_BLOCKS + counter, 2);
+
+        // 変化がないときは、リピートを開始する
+        if (!isChanged)
+            pushRaw(0);
+    }
+
+    // 1ページ目のため、ロック・カラーのみが有効
+    private void encodeAction(String escapedComment) {
+        boolean isComment = !escapedComment.isEmpty();
+
+        int value = 0;  // !isLock
+        value *= 2;
+        value += isComment ? 1 : 0;
+        value *= 2;
+        value += 1;  // isColor
+        value *= 2;  // isMirror
+        value *= 2;  // isBlockUp
+        value *= TETFU_FIELD_BLOCKS;
+        value += toIndex(0, 22);  // ミノがないときの座標
+        value *= 4;
+        value *= 8;
+        value += ColorType.Empty.getNumber();
+        push(value, 3);
+
+        if (isComment)
+            encodeComment(escapedComment);
+    }
+
+    private void encodeComment(String escapedComment) {
+        int commentLength = Math.min(escapedComment.length(), 4095);
+        push(commentLength, 2);
+
+        for (int index = 0; index < commentLength; index += 4) {
+            int value = 0;
+            int base = 1;
+            for (int count = 0; count < 4 && index + count < commentLength; count++) {
+                char c = escapedComment.charAt(index + count);
+                value += TetfuTable.encodeCommentChar(c) * base;
+                base *= COMMENT_TABLE_SIZE;
+            }
+            push(value, 5);
+        }
+    }
+
+    private void push(int value, int splitCount) {
+        int current = value;
+        for (int count = 0; count < splitCount; count++) {
+            pushRaw(current % ENCODE_TABLE_SIZE);
+            current /= ENCODE_TABLE_SIZE;
+        }
+    }
+
+    private void pushRaw(int value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, values.length * 2);
+        values[size++] = value;
+    }
+
+    private String toFumen() {
+        builder.setLength(0);
+        for (int index = 0; index < size; index++) {
+            builder.append(TetfuTable.encodeDataChar(values[index]));
+            if (index % 47 == 41)
+                builder.append('?');
+        }
+        return builder.toString();
+    }
+}
@@ -2,85 +2,74 @@ package common.tree;
 
 import core.mino.Piece;
 
-import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * マルチスレッド対応
+ * ロックは使わず、子の要素は CAS で追加する
+ */
 public class ConcurrentVisitedTree {
     public static final short NO_RESULT = -1;
     public static final short SUCCEED = 0;
     public static final short FAILED = 1;
 
+    private static final int PIECE_SIZE = Piece.getSize();
+
     private static class Element {
-        private final EnumMap<Piece, Element> current = new EnumMap<>(Piece.class);
-        private int isSucceed = NO_RESULT;
-
-        private void success(List<Piece> pieces, int depth) {
-            if (depth < pieces.size()) {
-                Piece currentPiece = pieces.get(depth);
-                if (currentPiece != null) {
-                    Element element = current.computeIfAbsent(currentPiece, k -> new Element());
-                    element.success(pieces, depth + 1);
-                } else {
-                    for (Piece piece : Piece.values()) {
-                        Element element = current.computeIfAbsent(piece, k -> new Element());
-                        element.success(pieces, depth + 1);
-                    }
-                }
-            } else {
-                isSucceed = SUCCEED;
-            }
-        }
+        private final AtomicReferenceArray<Element> children = new AtomicReferenceArray<>(PIECE_SIZE);
+        private volatile int isSucceed = NO_RESULT;
 
-        private void fail(List<Piece> pieces, int depth) {
-            if (depth < pieces.size()) {
-                Piece currentPiece = pieces.get(depth);
-                if (currentPiece != null) {
-                    Element element = current.computeIfAbsent(currentPiece, k -> new Element());
-                    element.fail(pieces, depth + 1);
-                } else {
-                    for (Piece piece : Piece.values()) {
-                        Element element = current.computeIfAbsent(piece, k -> new Element());
-                        element.fail(pieces, depth + 1);
-                    }
-                }
-            } else {
-                isSucceed = FAILED;
-            }
+        private Element getOrCreate(int number) {
+            Element element = children.get(number);
+            if (element != null)
+                return element;
+
+            Element newElement = new Element();
+            if (children.compareAndSet(number, null, newElement))
+                return newElement;
+
+            // 他のスレッドが先に追加したとき
+            return children.get(number);
         }
 
-        private boolean isVisited(List<Piece> pieces, int depth) {
-            Piece piece = pieces.get(depth);
-            if (depth + 1 < pieces.size()) {
-                return current.containsKey(piece) && current.get(piece).isVisited(pieces, depth + 1);
-            } else {
-                return current.containsKey(piece);
+        private void set(List<Piece> pieces, int depth, int result) {
+            Element current = this;
+            for (int index = depth, size = pieces.size(); index < size; index++) {
+                Piece piece = pieces.get(index);
+                if (piece == null) {
+                    // すべてのミノに分岐する
+                    for (int number = 0; number < PIECE_SIZE; number++)
+                        current.getOrCreate(number).set(pieces, index + 1, result);
+                    return;
+                }
+                current = current.getOrCreate(piece.getNumber());
             }
+            current.isSucceed = result;
         }
 
-        private int isSucceed(List<Piece> pieces, int depth) {
-            if (pieces.size() <= depth)
-                return isSucceed;
+        private int isSucceed(List<Piece> pieces) {
+            Element current = this;
+            for (Piece piece : pieces) {
+                if (piece == null)
+                    return NO_RESULT;
 
-            Piece piece = pieces.get(depth);
-            if (!current.containsKey(piece))
-                return NO_RESULT;
-
-            return current.get(piece).isSucceed(pieces, depth + 1);
+                current = current.children.get(piece.getNumber());
+                if (current == null)
+                    return NO_RESULT;
+            }
+            return current.isSucceed;
         }
     }
 
     private final Element rootElement = new Element();
 
     public void success(List<Piece> pieces) {
-        synchronized (rootElement) {
-            rootElement.success(pieces, 0);
-        }
+        rootElement.set(pieces, 0, SUCCEED);
     }
 
     public void fail(List<Piece> pieces) {
-        synchronized (rootElement) {
-            rootElement.fail(pieces, 0);
-        }
+        rootElement.set(pieces, 0, FAILED);
     }
 
     public void set(boolean result, List<Piece> pieces) {
@@ -91,8 +80,6 @@ public class ConcurrentVisitedTree {
     }
 
     public int isSucceed(List<Piece> pieces) {
-        synchronized (rootElement) {
-            return rootElement.isSucceed(pieces, 0);
-        }
+        return rootElement.isSucceed(pieces);
     }
 }
@@ -0,0 +1,29 @@
+package concurrent;
+
+import core.action.cache.CandidateCache;
+import core.action.candidate.CachedCandidate;
+import core.action.candidate.Candidate;
+
+// 他の *CandidateThreadLocal をラップして、すべてのスレッドで同じ CandidateCache を共有する
+public class CachedCandidateThreadLocal<T> extends ThreadLocal<CachedCandidate<T>> {
+    private final ThreadLocal<? extends Candidate<T>> candidateThreadLocal;
+    private final CandidateCache<T> cache;
+
+    public CachedCandidateThreadLocal(ThreadLocal<? extends Candidate<T>> candidateThreadLocal) {
+        this(candidateThreadLocal, new CandidateCache<>());
+    }
+
+    public CachedCandidateThreadLocal(ThreadLocal<? extends Candidate<T>> candidateThreadLocal, CandidateCache<T> cache) {
+        this.candidateThreadLocal = candidateThreadLocal;
+        this.cache = cache;
+    }
+
+    @Override
+    protected CachedCandidate<T> initialValue() {
+        return new CachedCandidate<>(candidateThreadLocal.get(), cache);
+    }
+
+    public CandidateCache<T> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,16 @@
+package concurrent;
+
+import core.action.candidate.LockedFloodFillCandidate;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.srs.MinoRotation;
+
+public class LockedFloodFillCandidateThreadLocal extends ThreadLocal<LockedFloodFillCandidate> {
+    @Override
+    protected LockedFloodFillCandidate initialValue() {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        return new LockedFloodFillCandidate(minoFactory, minoShifter, minoRotation);
+    }
+}
@@ -0,0 +1,61 @@
+package concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * serveコマンドで同じプロセスを使い続けるとき、スレッド数ごとのExecutorを共有する
+ * 有効にしていないときは保持せず、これまでどおり毎回つくって release() で終了させる
+ * serveが終わるときは disable() で無効に戻し、保持したExecutorも終了させる
+ */
+public class ResidentExecutors {
+    private static volatile boolean isEnabled = false;
+
+    private static final ConcurrentHashMap<Integer, ForkJoinPool> forkJoinPools = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, ExecutorService> fixedThreadPools = new ConcurrentHashMap<>();
+
+    public static void enable() {
+        isEnabled = true;
+    }
+
+    public static void disable() {
+        isEnabled = false;
+        forkJoinPools.values().forEach(ExecutorService::shutdown);
+        forkJoinPools.clear();
+        fixedThreadPools.values().forEach(ExecutorService::shutdown);
+        fixedThreadPools.clear();
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public static ForkJoinPool getForkJoinPool() {
+        return getForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public static ForkJoinPool getForkJoinPool(int parallelism) {
+        if (!isEnabled)
+            return new ForkJoinPool(parallelism);
+        return forkJoinPools.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    public static ExecutorService getFixedThreadPool(int threadCount) {
+        if (!isEnabled)
+            return Executors.newFixedThreadPool(threadCount);
+        return fixedThreadPools.computeIfAbsent(threadCount, Executors::newFixedThreadPool);
+    }
+
+    // 使い終わったExecutorを返す。共有しているものは終了させない
+    public static void release(ExecutorService executorService) {
+        if (executorService == null)
+            return;
+
+        if (forkJoinPools.containsValue(executorService) || fixedThreadPools.containsValue(executorService))
+            return;
+
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,24 @@
+package concurrent.checker;
+
+import common.datastore.action.Action;
+import core.mino.MinoFactory;
+import searcher.checker.Checker;
+import searcher.checker.MemorizedCheckerUsingHold;
+import searcher.checker.TranspositionTable;
+import searcher.common.validator.PerfectValidator;
+
+// すべてのスレッドで同じ TranspositionTable を共有する
+public class MemorizedCheckerUsingHoldThreadLocal<T extends Action> extends ThreadLocal<Checker<T>> {
+    private final TranspositionTable table;
+
+    public MemorizedCheckerUsingHoldThreadLocal(TranspositionTable table) {
+        this.table = table;
+    }
+
+    @Override
+    protected Checker<T> initialValue() {
+        MinoFactory minoFactory = new MinoFactory();
+        PerfectValidator validator = new PerfectValidator();
+        return new MemorizedCheckerUsingHold<>(minoFactory, validator, table);
+    }
+}
@@ -0,0 +1,108 @@
+package concurrent.checker.invoker.prefix;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 要素のまとまりと局面ごとに、失敗したツモ順を記録する表
+// 複数のスレッドから共有できるように、キーのハッシュごとにロックを分割している
+// 容量を超えたときは、各ストライプ内で最も長く使われていないものから捨てる。捨てた局面は再び探索する
+class FailedTable {
+    private static final int DEFAULT_CAPACITY = 1 << 18;
+    private static final int STRIPE_COUNT = 64;
+
+    private static class Key {
+        private final SuffixNode node;
+        private final State state;
+        private final int hashCode;
+
+        private Key(SuffixNode node, State state) {
+            this.node = node;
+            this.state = state;
+            this.hashCode = 31 * System.identityHashCode(node) + state.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return node == key.node && state.equals(key.state);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Stripe extends LinkedHashMap<Key, BitSet> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BitSet> eldest) {
+            return capacity < size();
+        }
+    }
+
+    private final Stripe[] stripes;
+
+    FailedTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    FailedTable(int capacity) {
+        assert 0 < capacity;
+        int stripeCapacity = Math.max(1, capacity / STRIPE_COUNT);
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int index = 0; index < STRIPE_COUNT; index++)
+            stripes[index] = new Stripe(stripeCapacity);
+    }
+
+    private Stripe getStripe(Key key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPE_COUNT - 1)];
+    }
+
+    // 記録されていないときは null を返却。返却したBitSetは変更しない
+    BitSet get(SuffixNode node, State state) {
+        Key key = new Key(node, state);
+        Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    // 記録したBitSetは変更しない
+    void put(SuffixNode node, State state, BitSet bits) {
+        Key key = new Key(node, state);
+        Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            BitSet prev = stripe.get(key);
+            if (prev != null) {
+                BitSet merged = (BitSet) prev.clone();
+                merged.or(bits);
+                bits = merged;
+            }
+            stripe.put(key, bits);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
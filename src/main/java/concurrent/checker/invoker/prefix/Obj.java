@@ -0,0 +1,25 @@
+package concurrent.checker.invoker.prefix;
+
+import common.datastore.action.Action;
+import core.action.candidate.Candidate;
+import core.mino.MinoFactory;
+import searcher.common.validator.Validator;
+
+class Obj {
+    final MinoFactory minoFactory;
+    final ThreadLocal<? extends Candidate<Action>> candidateThreadLocal;
+    final Validator validator;
+    final int maxDepth;
+    final int forkDepth;
+    final PrefixElement root;
+    final FailedTable failedTable = new FailedTable();
+
+    Obj(MinoFactory minoFactory, ThreadLocal<? extends Candidate<Action>> candidateThreadLocal, Validator validator, int maxDepth, int forkDepth, PrefixElement root) {
+        this.minoFactory = minoFactory;
+        this.candidateThreadLocal = candidateThreadLocal;
+        this.validator = validator;
+        this.maxDepth = maxDepth;
+        this.forkDepth = forkDepth;
+        this.root = root;
+    }
+}
@@ -0,0 +1,120 @@
+package concurrent.checker.invoker.prefix;
+
+import common.datastore.Pair;
+import common.datastore.action.Action;
+import common.datastore.blocks.Pieces;
+import common.tree.AnalyzeTree;
+import concurrent.checker.invoker.ConcurrentCheckerInvoker;
+import core.action.candidate.Candidate;
+import core.field.Field;
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import exceptions.FinderExecuteException;
+import searcher.common.validator.PerfectValidator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ツモ順の先頭部分をまとめた木をたどって、すべてのツモ順を1度の探索で確認する
+ * 局面ごとに深さ優先で探索し、要素以下のツモ順がすべて成功したら打ち切る
+ * 成功したときは、置いた順番からホールドで並び替えられるツモ順もまとめて成功とする
+ * 残りのツモ順が同じ要素はまとめて、局面ごとに失敗したツモ順を先頭が異なるツモ順でも使い回す
+ * 木の上位の要素は ForkJoinPool で分割して探索する
+ */
+public class PrefixCheckerUsingHoldInvoker implements ConcurrentCheckerInvoker {
+    private static final int DEFAULT_FORK_DEPTH = 2;
+
+    private final ForkJoinPool forkJoinPool;
+    private final MinoFactory minoFactory;
+    private final ThreadLocal<? extends Candidate<Action>> candidateThreadLocal;
+    private final int forkDepth;
+
+    /**
+     * Pass null to ForkJoinPool if executing on single thread
+     */
+    public PrefixCheckerUsingHoldInvoker(ForkJoinPool forkJoinPool, MinoFactory minoFactory, ThreadLocal<? extends Candidate<Action>> candidateThreadLocal) {
+        this(forkJoinPool, minoFactory, candidateThreadLocal, DEFAULT_FORK_DEPTH);
+    }
+
+    public PrefixCheckerUsingHoldInvoker(ForkJoinPool forkJoinPool, MinoFactory minoFactory, ThreadLocal<? extends Candidate<Action>> candidateThreadLocal, int forkDepth) {
+        this.forkJoinPool = forkJoinPool;
+        this.minoFactory = minoFactory;
+        this.candidateThreadLocal = candidateThreadLocal;
+        this.forkDepth = forkDepth;
+    }
+
+    @Override
+    public List<Pair<Pieces, Boolean>> search(Field field, List<Pieces> searchingPieces, int maxClearLine, int maxDepth) throws FinderExecuteException {
+        PrefixElement root = run(field, searchingPieces, maxClearLine, maxDepth);
+
+        ArrayList<Pair<Pieces, Boolean>> pairs = new ArrayList<>();
+        for (Pieces pieces : searchingPieces)
+            pairs.add(new Pair<>(pieces, root.get(pieces.getPieces()).isSucceed()));
+        return pairs;
+    }
+
+    // 探索結果のツリーを直接つくる
+    public AnalyzeTree searchTree(Field field, Collection<? extends Pieces> searchingPieces, int maxClearLine, int maxDepth) throws FinderExecuteException {
+        PrefixElement root = run(field, searchingPieces, maxClearLine, maxDepth);
+
+        AnalyzeTree tree = new AnalyzeTree();
+        for (Pieces pieces : searchingPieces) {
+            List<Piece> pieceList = pieces.getPieces();
+            tree.set(root.get(pieceList).isSucceed(), pieceList);
+        }
+        return tree;
+    }
+
+    private PrefixElement run(Field field, Collection<? extends Pieces> searchingPieces, int maxClearLine, int maxDepth) throws FinderExecuteException {
+        // ツモ順の木をつくり、残りのツモ順が同じ要素をまとめる
+        PrefixElement root = new PrefixElement();
+        for (Pieces pieces : searchingPieces)
+            root.add(pieces.getPieces());
+        SuffixNode.create(root);
+
+        Field freeze = field.freeze(maxClearLine);
+        int deleteLine = freeze.clearLine();
+
+        PerfectValidator validator = new PerfectValidator();
+        Obj obj = new Obj(minoFactory, candidateThreadLocal, validator, maxDepth, forkDepth, root);
+        boolean isForkable = forkJoinPool != null;
+
+        // 最初のミノはホールドに入れた状態からはじめる
+        List<Task> tasks = new ArrayList<>();
+        List<PrefixElement> children = new ArrayList<>();
+        for (Piece piece : Piece.values()) {
+            PrefixElement child = root.getChild(piece);
+            if (child == null)
+                continue;
+
+            State state = new State(freeze, piece, maxClearLine - deleteLine);
+            int sequenceCount = child.getNode().getSequenceCount();
+            BitSet targets = new BitSet(sequenceCount);
+            targets.set(0, sequenceCount);
+            tasks.add(new Task(obj, child, state, targets, isForkable, new Piece[maxDepth]));
+            children.add(child);
+        }
+
+        try {
+            if (isForkable)
+                forkJoinPool.submit(() -> ForkJoinTask.invokeAll(tasks)).get();
+
+            // 他のツモ順から記録された分とあわせる
+            for (int index = 0; index < tasks.size(); index++) {
+                Task task = tasks.get(index);
+                BitSet succeed = isForkable ? task.get() : task.compute();
+                children.get(index).success(succeed);
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new FinderExecuteException(e);
+        }
+
+        return root;
+    }
+}
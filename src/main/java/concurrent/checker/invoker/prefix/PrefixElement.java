@@ -0,0 +1,157 @@
+package concurrent.checker.invoker.prefix;
+
+import core.mino.Piece;
+
+import java.util.BitSet;
+import java.util.List;
+
+// ツモ順の先頭から共通部分をまとめた木の要素
+// 成功したツモ順は、要素以下のツモ順の番号で記録する。番号の割り当ては SuffixNode と同じ
+class PrefixElement {
+    private final PrefixElement parent;
+    private final Piece piece;
+    private final PrefixElement[] children = new PrefixElement[Piece.getSize()];
+    private final int depth;
+    private int terminalCount = 0;
+    private SuffixNode node = null;
+    private final BitSet solved = new BitSet();
+
+    PrefixElement() {
+        this(null, null, 0);
+    }
+
+    private PrefixElement(PrefixElement parent, Piece piece, int depth) {
+        this.parent = parent;
+        this.piece = piece;
+        this.depth = depth;
+    }
+
+    void add(List<Piece> pieces) {
+        PrefixElement current = this;
+        for (Piece piece : pieces) {
+            int number = piece.getNumber();
+            if (current.children[number] == null)
+                current.children[number] = new PrefixElement(current, piece, current.depth + 1);
+            current = current.children[number];
+        }
+        current.terminalCount += 1;
+    }
+
+    PrefixElement get(List<Piece> pieces) {
+        PrefixElement current = this;
+        for (Piece piece : pieces) {
+            current = current.getChild(piece);
+            if (current == null)
+                return null;
+        }
+        return current;
+    }
+
+    PrefixElement getChild(Piece piece) {
+        return children[piece.getNumber()];
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    boolean isTerminal() {
+        return 0 < terminalCount;
+    }
+
+    SuffixNode getNode() {
+        return node;
+    }
+
+    void setNode(SuffixNode node) {
+        this.node = node;
+    }
+
+    boolean isSucceed() {
+        assert isTerminal();
+        synchronized (this) {
+            return solved.get(0);
+        }
+    }
+
+    boolean isSolved(int index) {
+        synchronized (this) {
+            return solved.get(index);
+        }
+    }
+
+    // 成功済みのツモ順を除く
+    void removeSolved(BitSet targets) {
+        synchronized (this) {
+            targets.andNot(solved);
+        }
+    }
+
+    // 要素以下の番号で、成功したツモ順を記録する
+    void success(BitSet succeed) {
+        success(succeed, 0);
+    }
+
+    private void success(BitSet succeed, int offset) {
+        if (isTerminal() && succeed.get(offset))
+            successTerminal();
+
+        for (Piece piece : Piece.values()) {
+            PrefixElement child = getChild(piece);
+            if (child == null)
+                continue;
+
+            int childOffset = offset + node.getChildOffset(piece);
+            int next = succeed.nextSetBit(childOffset);
+            if (0 <= next && next < childOffset + child.node.getSequenceCount())
+                child.success(succeed, childOffset);
+        }
+    }
+
+    // ミノ列で始まるツモ順をすべて成功とする。nullはすべてのミノを表す
+    void success(List<Piece> pieces) {
+        if (pieces.isEmpty()) {
+            successAll();
+            return;
+        }
+
+        Piece head = pieces.get(0);
+        List<Piece> tail = pieces.subList(1, pieces.size());
+        if (head != null) {
+            PrefixElement child = getChild(head);
+            if (child != null)
+                child.success(tail);
+        } else {
+            for (PrefixElement child : children)
+                if (child != null)
+                    child.success(tail);
+        }
+    }
+
+    private void successAll() {
+        if (isTerminal())
+            successTerminal();
+
+        for (PrefixElement child : children)
+            if (child != null)
+                child.successAll();
+    }
+
+    // 終端から親へ、それぞれの要素での番号を記録する
+    // すでに記録されていれば、それより上の要素も記録済みか、記録している途中
+    private void successTerminal() {
+        int index = 0;
+        PrefixElement current = this;
+        while (current != null) {
+            synchronized (current) {
+                if (current.solved.get(index))
+                    return;
+                current.solved.set(index);
+            }
+
+            if (current.parent != null)
+                index += current.parent.node.getChildOffset(current.piece);
+            current = current.parent;
+        }
+    }
+}
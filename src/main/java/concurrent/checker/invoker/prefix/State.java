@@ -0,0 +1,32 @@
+package concurrent.checker.invoker.prefix;
+
+import core.field.Field;
+import core.mino.Piece;
+
+// 同じ深さでは、地形とホールドが同じであれば消去できるライン数も同じになる
+class State {
+    final Field field;
+    final Piece hold;
+    final int maxClearLine;
+
+    State(Field field, Piece hold, int maxClearLine) {
+        this.field = field;
+        this.hold = hold;
+        this.maxClearLine = maxClearLine;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        State state = (State) o;
+        return hold == state.hold && field.equals(state.field);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hold != null ? hold.hashCode() : 0;
+        result = 31 * result + field.hashCode();
+        return result;
+    }
+}
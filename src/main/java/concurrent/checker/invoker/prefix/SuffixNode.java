@@ -0,0 +1,76 @@
+package concurrent.checker.invoker.prefix;
+
+import core.mino.Piece;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 残りのツモ順が同じ要素をまとめたもの
+// 先頭が異なっていても、同じ局面から残りのツモ順で成功するかは変わらないため、探索結果を共有できる
+// 失敗したツモ順は、容量を決めた FailedTable に局面と合わせて記録する
+// 要素以下のツモ順には、終端 (この要素で終わるツモ順) を0番目、その後に子の要素のツモ順を順番に割り当てる
+// 成功したツモ順は記録しない。成功するたびに置いた順番を得て、ホールドで並び替えられるツモ順もまとめて成功とするため
+class SuffixNode {
+    static SuffixNode create(PrefixElement element) {
+        return create(element, new HashMap<>());
+    }
+
+    private static SuffixNode create(PrefixElement element, Map<List<Object>, SuffixNode> nodes) {
+        SuffixNode[] children = new SuffixNode[Piece.getSize()];
+        List<Object> signature = new ArrayList<>();
+        signature.add(element.getDepth());
+        signature.add(element.isTerminal());
+        for (Piece piece : Piece.values()) {
+            PrefixElement child = element.getChild(piece);
+            if (child != null)
+                children[piece.getNumber()] = create(child, nodes);
+            signature.add(children[piece.getNumber()]);
+        }
+
+        SuffixNode node = nodes.computeIfAbsent(signature, key -> new SuffixNode(element.getDepth(), element.isTerminal(), children));
+        element.setNode(node);
+        return node;
+    }
+
+    private final int depth;
+    private final boolean isTerminal;
+    private final SuffixNode[] children;
+    private final int[] childOffsets = new int[Piece.getSize()];
+    private final int sequenceCount;
+
+    private SuffixNode(int depth, boolean isTerminal, SuffixNode[] children) {
+        this.depth = depth;
+        this.isTerminal = isTerminal;
+        this.children = children;
+
+        int count = isTerminal ? 1 : 0;
+        for (int index = 0; index < children.length; index++) {
+            childOffsets[index] = count;
+            if (children[index] != null)
+                count += children[index].sequenceCount;
+        }
+        this.sequenceCount = count;
+    }
+
+    SuffixNode getChild(Piece piece) {
+        return children[piece.getNumber()];
+    }
+
+    int getChildOffset(Piece piece) {
+        return childOffsets[piece.getNumber()];
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    boolean isTerminal() {
+        return isTerminal;
+    }
+
+    int getSequenceCount() {
+        return sequenceCount;
+    }
+}
@@ -0,0 +1,183 @@
+package concurrent.checker.invoker.prefix;
+
+import common.datastore.action.Action;
+import common.order.OrderLookup;
+import common.order.StackOrder;
+import core.action.candidate.Candidate;
+import core.field.Field;
+import core.mino.Mino;
+import core.mino.Piece;
+import lib.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// 局面から、要素以下のまだ成功していないツモ順を深さ優先で探索して、成功したツモ順を返却する
+// 探索するツモ順がすべて成功した時点で、その要素の探索を打ち切る
+// 木の上位の要素では、次の局面ごとにタスクを分割する
+class Task extends RecursiveTask<BitSet> {
+    private static final long serialVersionUID = 1L;
+
+    private final Obj obj;
+    private final PrefixElement element;
+    private final State state;
+    private final BitSet targets;
+    private final boolean isForkable;
+
+    // これまでに置いたミノ。要素の深さより1つ少ない数だけ入っている
+    private final Piece[] placed;
+
+    Task(Obj obj, PrefixElement element, State state, BitSet targets, boolean isForkable, Piece[] placed) {
+        this.obj = obj;
+        this.element = element;
+        this.state = state;
+        this.targets = targets;
+        this.isForkable = isForkable;
+        this.placed = placed;
+    }
+
+    @Override
+    protected BitSet compute() {
+        return search(element, state, targets, isForkable);
+    }
+
+    // targets: 探索するツモ順。返却するBitSetには、targets以外のツモ順が含まれることもある
+    private BitSet search(PrefixElement element, State state, BitSet targets, boolean isForkable) {
+        SuffixNode node = element.getNode();
+
+        // 成功済みと、この局面から失敗するとわかっているツモ順は除く
+        BitSet rest = (BitSet) targets.clone();
+        element.removeSolved(rest);
+        BitSet failed = obj.failedTable.get(node, state);
+        if (failed != null)
+            rest.andNot(failed);
+        if (rest.isEmpty())
+            return new BitSet();
+
+        // 要素の深さ = これまでに引いたミノの数。置いたミノの数は1つ少ない
+        int depth = node.getDepth();
+        boolean isLast = depth == obj.maxDepth;
+        Candidate<Action> candidate = obj.candidateThreadLocal.get();
+
+        BitSet succeed = new BitSet(node.getSequenceCount());
+
+        // ホールドのミノはどの子の要素でも置くため、置ける場所は1度だけ探索する
+        EnumMap<Piece, Set<Action>> actionsMap = new EnumMap<>(Piece.class);
+
+        // ツモ順の終端: 残りはホールドのミノだけ
+        if (node.isTerminal() && rest.get(0) && depth <= obj.maxDepth && state.hold != null) {
+            if (expand(candidate, actionsMap, state, depth, state.hold, null, isLast, null, null, null, false, null))
+                succeed.set(0);
+        }
+
+        for (Piece drawn : Piece.values()) {
+            PrefixElement child = element.getChild(drawn);
+            if (child == null)
+                continue;
+
+            int offset = node.getChildOffset(drawn);
+            int sequenceCount = child.getNode().getSequenceCount();
+            BitSet childTargets = rest.get(offset, offset + sequenceCount);
+            if (childTargets.isEmpty())
+                continue;
+
+            BitSet childSucceed = new BitSet(sequenceCount);
+            List<Task> tasks = isForkable ? new ArrayList<>() : null;
+
+            Piece hold = state.hold;
+            if (expand(candidate, actionsMap, state, depth, drawn, hold, isLast, child, childTargets, childSucceed, isForkable, tasks)
+                    || (drawn != hold && !isSolved(child, childTargets, childSucceed) && expand(candidate, actionsMap, state, depth, hold, drawn, isLast, child, childTargets, childSucceed, isForkable, tasks))) {
+                childSucceed.set(0, sequenceCount);
+            } else if (tasks != null && !tasks.isEmpty()) {
+                for (Task task : ForkJoinTask.invokeAll(tasks))
+                    childSucceed.or(task.join());
+            }
+
+            for (int index = childSucceed.nextSetBit(0); 0 <= index; index = childSucceed.nextSetBit(index + 1))
+                succeed.set(offset + index);
+        }
+
+        // 途中で他から成功とされたツモ順は、探索を打ち切っていることがあるため記録しない
+        BitSet newFailed = (BitSet) rest.clone();
+        newFailed.andNot(succeed);
+        element.removeSolved(newFailed);
+        if (!newFailed.isEmpty())
+            obj.failedTable.put(node, state, newFailed);
+
+        return succeed;
+    }
+
+    private boolean isSolved(PrefixElement element, BitSet targets, BitSet succeed) {
+        BitSet rest = (BitSet) targets.clone();
+        rest.andNot(succeed);
+        element.removeSolved(rest);
+        return rest.isEmpty();
+    }
+
+    // 条件を満たしたときは true を返却。それ以外は次の局面から子の要素を探索して、成功したツモ順を記録する
+    private boolean expand(Candidate<Action> candidate, EnumMap<Piece, Set<Action>> actionsMap, State state, int depth, Piece piece, Piece nextHold, boolean isLast, PrefixElement child, BitSet childTargets, BitSet childSucceed, boolean isForkable, List<Task> tasks) {
+        if (piece == null)
+            return false;
+
+        Field currentField = state.field;
+        int max = state.maxClearLine;
+        Metrics.increment(Metrics.Counter.ExpandedOrders);
+
+        Set<Action> actions = actionsMap.get(piece);
+        if (actions == null) {
+            long start = Metrics.startTimer();
+            actions = candidate.search(currentField, piece, max);
+            Metrics.searched(start, actions.size());
+            actionsMap.put(piece, actions);
+        }
+
+        placed[depth - 1] = piece;
+
+        for (Action action : actions) {
+            Field field = currentField.freeze(max);
+            Mino mino = obj.minoFactory.create(piece, action.getRotate());
+            field.put(mino, action.getX(), action.getY());
+            int clearLine = field.clearLine();
+            int maxClearLine = max - clearLine;
+
+            if (!obj.validator.validate(field, maxClearLine))
+                continue;
+
+            if (obj.validator.satisfies(field, maxClearLine)) {
+                success(depth, nextHold);
+                return true;
+            }
+
+            if (isLast || child == null)
+                continue;
+
+            State next = new State(field, nextHold, maxClearLine);
+            if (isForkable) {
+                // 子の要素が浅いうちは、さらに分割できる
+                tasks.add(new Task(obj, child, next, childTargets, child.getDepth() < obj.forkDepth, placed.clone()));
+            } else {
+                BitSet targets = (BitSet) childTargets.clone();
+                targets.andNot(childSucceed);
+                childSucceed.or(search(child, next, targets, false));
+                if (isSolved(child, childTargets, childSucceed))
+                    return false;
+            }
+        }
+
+        return false;
+    }
+
+    // 置いたミノの順番は、ホールドで並び替えられる他のツモ順でも同じようにつくれるため、まとめて成功とする
+    private void success(int depth, Piece lastHold) {
+        List<Piece> pieces = Arrays.asList(placed).subList(0, depth);
+        int reverseMaxDepth = lastHold != null ? depth + 1 : depth;
+        for (StackOrder<Piece> order : OrderLookup.reverseBlocks(pieces, reverseMaxDepth))
+            obj.root.success(order.toList());
+    }
+}
@@ -6,27 +6,41 @@ import common.datastore.Pair;
 import core.field.Field;
 import core.mino.Piece;
 import searcher.checkmate.Checkmate;
+import searcher.checkmate.CheckmateFrontier;
 import common.datastore.Result;
 import common.datastore.action.Action;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
+/**
+ * ツモ順の先頭部分をまとめた木をたどって、すべてのツモ順を探索する
+ * 共通する先頭部分までの局面は1度だけ展開し、木の上位の要素は ForkJoinPool で分割して探索する
+ * 空いたスレッドは残りのタスクを盗むため、最後の結果が出るまでコアを使い続けられる
+ */
 public class ConcurrentCheckmateCommonInvoker {
-    private final ExecutorService executorService;
+    private static final int DEFAULT_FORK_DEPTH = 3;
+
+    private final ForkJoinPool forkJoinPool;
     private final ThreadLocal<Candidate<Action>> candidateThreadLocal;
     private final ThreadLocal<Checkmate<Action>> checkmateThreadLocal;
-    private final int taskSplitCount;
+    private final int forkDepth;
+
+    /**
+     * Pass null to ForkJoinPool if executing on single thread
+     */
+    public ConcurrentCheckmateCommonInvoker(ForkJoinPool forkJoinPool, ThreadLocal<Candidate<Action>> candidateThreadLocal, ThreadLocal<Checkmate<Action>> checkmateThreadLocal) {
+        this(forkJoinPool, candidateThreadLocal, checkmateThreadLocal, DEFAULT_FORK_DEPTH);
+    }
 
-    public ConcurrentCheckmateCommonInvoker(ExecutorService executorService, ThreadLocal<Candidate<Action>> candidateThreadLocal, ThreadLocal<Checkmate<Action>> checkmateThreadLocal, int taskSplitCount) {
-        this.executorService = executorService;
+    public ConcurrentCheckmateCommonInvoker(ForkJoinPool forkJoinPool, ThreadLocal<Candidate<Action>> candidateThreadLocal, ThreadLocal<Checkmate<Action>> checkmateThreadLocal, int forkDepth) {
+        this.forkJoinPool = forkJoinPool;
         this.candidateThreadLocal = candidateThreadLocal;
         this.checkmateThreadLocal = checkmateThreadLocal;
-        this.taskSplitCount = taskSplitCount;
+        this.forkDepth = forkDepth;
     }
 
     public List<Pair<List<Piece>, List<Result>>> search(Field field, List<List<Piece>> searchingPieces, int maxClearLine, int maxDepth) throws ExecutionException, InterruptedException {
@@ -36,27 +50,28 @@ public class ConcurrentCheckmateCommonInvoker {
                 .sorted()
                 .collect(Collectors.toList());
 
-        int size = sortedPieces.size();
+        // ツモ順の木をつくる
+        PrefixElement root = new PrefixElement(0);
+        for (ReadOnlyListPieces pieces : sortedPieces)
+            root.add(pieces.getPieces());
 
-        Obj obj = new Obj(field, maxClearLine, maxDepth, candidateThreadLocal, checkmateThreadLocal);
+        Obj obj = new Obj(candidateThreadLocal, checkmateThreadLocal, forkDepth);
+        CheckmateFrontier frontier = checkmateThreadLocal.get().start(field, maxClearLine, maxDepth);
 
-        ArrayList<Task> tasks = new ArrayList<>();
-        int lastIndex = 0;
-        for (int count = 0; count < taskSplitCount; count++) {
-            int toIndex = (int) (size * ((double) (count + 1) / taskSplitCount));
-            List<ReadOnlyListPieces> subPieces = sortedPieces.subList(lastIndex, toIndex);
-            tasks.add(new Task(obj, subPieces));
-            lastIndex = toIndex;
-        }
-        List<Future<List<Pair<List<Piece>, List<Result>>>>> futures = executorService.invokeAll(tasks);
+        boolean isForkable = forkJoinPool != null;
+        Task task = new Task(obj, root, frontier, isForkable);
+        if (isForkable)
+            forkJoinPool.submit(task).get();
+        else
+            task.compute();
 
         List<Pair<List<Piece>, List<Result>>> results = new ArrayList<>();
-        for (Future<List<Pair<List<Piece>, List<Result>>>> future : futures) {
-            List<Pair<List<Piece>, List<Result>>> pairs = future.get();
-            results.addAll(pairs);
+        for (ReadOnlyListPieces pieces : sortedPieces) {
+            List<Piece> pieceList = pieces.getPieces();
+            PrefixElement element = root.get(pieceList);
+            results.add(new Pair<>(pieceList, new ArrayList<>(element.getResults())));
         }
 
         return results;
     }
 }
-
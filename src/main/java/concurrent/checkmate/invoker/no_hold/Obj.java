@@ -1,22 +1,17 @@
 package concurrent.checkmate.invoker.no_hold;
 
 import core.action.candidate.Candidate;
-import core.field.Field;
 import searcher.checkmate.Checkmate;
 import common.datastore.action.Action;
 
 class Obj {
-    final Field field;
-    final int maxClearLine;
-    final int maxDepth;
     final ThreadLocal<Candidate<Action>> candidateThreadLocal;
     final ThreadLocal<Checkmate<Action>> checkmateThreadLocal;
+    final int forkDepth;
 
-    Obj(Field field, int maxClearLine, int maxDepth, ThreadLocal<Candidate<Action>> candidateThreadLocal, ThreadLocal<Checkmate<Action>> checkmateThreadLocal) {
-        this.field = field;
-        this.maxClearLine = maxClearLine;
-        this.maxDepth = maxDepth;
+    Obj(ThreadLocal<Candidate<Action>> candidateThreadLocal, ThreadLocal<Checkmate<Action>> checkmateThreadLocal, int forkDepth) {
         this.candidateThreadLocal = candidateThreadLocal;
         this.checkmateThreadLocal = checkmateThreadLocal;
+        this.forkDepth = forkDepth;
     }
 }
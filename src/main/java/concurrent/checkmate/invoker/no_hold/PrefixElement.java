@@ -0,0 +1,59 @@
+package concurrent.checkmate.invoker.no_hold;
+
+import common.datastore.Result;
+import core.mino.Piece;
+
+import java.util.List;
+
+// ツモ順の先頭から共通部分をまとめた木の要素
+class PrefixElement {
+    private final PrefixElement[] children = new PrefixElement[Piece.getSize()];
+    private final int depth;
+    private boolean isTerminal = false;
+    private volatile List<Result> results = null;
+
+    PrefixElement(int depth) {
+        this.depth = depth;
+    }
+
+    void add(List<Piece> pieces) {
+        PrefixElement current = this;
+        for (Piece piece : pieces) {
+            int number = piece.getNumber();
+            if (current.children[number] == null)
+                current.children[number] = new PrefixElement(current.depth + 1);
+            current = current.children[number];
+        }
+        current.isTerminal = true;
+    }
+
+    PrefixElement get(List<Piece> pieces) {
+        PrefixElement current = this;
+        for (Piece piece : pieces) {
+            current = current.children[piece.getNumber()];
+            assert current != null;
+        }
+        return current;
+    }
+
+    PrefixElement getChild(Piece piece) {
+        return children[piece.getNumber()];
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    boolean isTerminal() {
+        return isTerminal;
+    }
+
+    List<Result> getResults() {
+        assert results != null;
+        return results;
+    }
+
+    void setResults(List<Result> results) {
+        this.results = results;
+    }
+}
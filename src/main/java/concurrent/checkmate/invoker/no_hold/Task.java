@@ -1,39 +1,59 @@
 package concurrent.checkmate.invoker.no_hold;
 
-import common.datastore.blocks.ReadOnlyListPieces;
 import core.action.candidate.Candidate;
-import common.datastore.Pair;
 import core.mino.Piece;
 import searcher.checkmate.Checkmate;
-import common.datastore.Result;
+import searcher.checkmate.CheckmateFrontier;
 import common.datastore.action.Action;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// 要素までのツモ順で展開した局面から、子の要素の局面を展開する
+// 展開した局面は変更されないため、子のタスクは他のスレッドでそのまま続きを探索できる
+class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
 
-class Task implements Callable<List<Pair<List<Piece>, List<Result>>>> {
     private final Obj obj;
-    private final List<ReadOnlyListPieces> targets;
+    private final PrefixElement element;
+    private final CheckmateFrontier frontier;
+    private final boolean isForkable;
 
-    Task(Obj obj, List<ReadOnlyListPieces> targets) {
+    Task(Obj obj, PrefixElement element, CheckmateFrontier frontier, boolean isForkable) {
         this.obj = obj;
-        this.targets = targets;
+        this.element = element;
+        this.frontier = frontier;
+        this.isForkable = isForkable;
     }
 
     @Override
-    public List<Pair<List<Piece>, List<Result>>> call() throws Exception {
+    protected void compute() {
         Checkmate<Action> checkmate = obj.checkmateThreadLocal.get();
         Candidate<Action> candidate = obj.candidateThreadLocal.get();
 
-        // 探索
-        List<Pair<List<Piece>, List<Result>>> allResults = new ArrayList<>();
-        for (ReadOnlyListPieces piece : targets) {
-            List<Piece> pieces = piece.getPieces();
-            List<Result> results = checkmate.search(obj.field, pieces, candidate, obj.maxClearLine, obj.maxDepth);
-            allResults.add(new Pair<>(pieces, results));
+        // ツモ順の終端: 残りのミノで探索を終える
+        if (element.isTerminal())
+            element.setResults(checkmate.finish(frontier, candidate));
+
+        List<Task> tasks = new ArrayList<>();
+        for (Piece drawn : Piece.values()) {
+            PrefixElement child = element.getChild(drawn);
+            if (child == null)
+                continue;
+
+            CheckmateFrontier next = checkmate.next(frontier, candidate, drawn);
+
+            boolean isForkableChild = isForkable && child.getDepth() < obj.forkDepth;
+            Task task = new Task(obj, child, next, isForkableChild);
+            if (isForkable)
+                tasks.add(task);
+            else
+                task.compute();
         }
 
-        return allResults;
+        if (!tasks.isEmpty())
+            ForkJoinTask.invokeAll(tasks);
     }
 }
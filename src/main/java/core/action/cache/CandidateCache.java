@@ -0,0 +1,143 @@
+package core.action.cache;
+
+import core.field.Field;
+import core.mino.Piece;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 地形ごとに、ミノを置ける場所の一覧を記録する
+ * 複数のスレッドから共有できるように、キーのハッシュごとにロックを分割している
+ * 容量を超えたときは、各ストライプ内で最も長く使われていないものから捨てる
+ */
+public class CandidateCache<T> {
+    private static final int DEFAULT_CAPACITY = 1 << 14;
+    private static final int STRIPE_COUNT = 32;
+
+    private static class Key {
+        private final long[] boards;
+        private final int meta;
+        private final int hashCode;
+
+        private Key(Field field, Piece piece, int validHeight) {
+            int boardCount = field.getBoardCount();
+            long[] boards = new long[boardCount];
+            long value = piece.getNumber() + 7L * validHeight;
+            for (int index = 0; index < boardCount; index++) {
+                boards[index] = field.getBoard(index);
+                value = value * 31L + boards[index];
+            }
+            this.boards = boards;
+            this.meta = piece.getNumber() | (validHeight << 3);
+            this.hashCode = (int) (value ^ (value >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return meta == key.meta && Arrays.equals(boards, key.boards);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Stripe<T> extends LinkedHashMap<Key, Set<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Set<T>> eldest) {
+            return capacity < size();
+        }
+    }
+
+    private final Stripe<T>[] stripes;
+    private final LongAdder hitCounter = new LongAdder();
+    private final LongAdder missCounter = new LongAdder();
+
+    public CandidateCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CandidateCache(int capacity) {
+        assert 0 < capacity;
+        int stripeCapacity = Math.max(1, capacity / STRIPE_COUNT);
+        this.stripes = newStripes(STRIPE_COUNT);
+        for (int index = 0; index < STRIPE_COUNT; index++)
+            stripes[index] = new Stripe<>(stripeCapacity);
+    }
+
+    // ジェネリクスの配列は直接つくれないため、ワイルドカードの配列をキャストする
+    @SuppressWarnings("unchecked")
+    private static <T> Stripe<T>[] newStripes(int count) {
+        return (Stripe<T>[]) new Stripe<?>[count];
+    }
+
+    private Stripe<T> getStripe(Key key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPE_COUNT - 1)];
+    }
+
+    // 記録されていないときは null を返却
+    public Set<T> get(Field field, Piece piece, int validHeight) {
+        Key key = new Key(field, piece, validHeight);
+        Stripe<T> stripe = getStripe(key);
+        Set<T> actions;
+        synchronized (stripe) {
+            actions = stripe.get(key);
+        }
+
+        if (actions != null)
+            hitCounter.increment();
+        else
+            missCounter.increment();
+
+        return actions;
+    }
+
+    // 記録した一覧は変更できなくなる
+    public Set<T> put(Field field, Piece piece, int validHeight, Set<T> actions) {
+        Key key = new Key(field, piece, validHeight);
+        Set<T> unmodifiable = Collections.unmodifiableSet(actions);
+        Stripe<T> stripe = getStripe(key);
+        synchronized (stripe) {
+            stripe.put(key, unmodifiable);
+        }
+        return unmodifiable;
+    }
+
+    public long getHitCount() {
+        return hitCounter.sum();
+    }
+
+    public long getMissCount() {
+        return missCounter.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
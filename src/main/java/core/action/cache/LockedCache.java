@@ -2,6 +2,7 @@ package core.action.cache;
 
 import core.action.cache.memory.*;
 import core.srs.Rotate;
+import lib.Metrics;
 
 import java.util.EnumMap;
 
@@ -9,6 +10,10 @@ public class LockedCache {
     private final EnumMap<Rotate, Memory> visitedMap = new EnumMap<>(Rotate.class);
     private final EnumMap<Rotate, Memory> foundMap = new EnumMap<>(Rotate.class);
 
+    // マスごとに '--stats' のフラグを確認しないように、探索の間は数えておくだけにする
+    private long hitCount = 0L;
+    private long missCount = 0L;
+
     public LockedCache(int height) {
         for (Rotate rotate : Rotate.values()) {
             visitedMap.put(rotate, createMemory(height));
@@ -38,7 +43,12 @@ public class LockedCache {
     }
 
     public boolean isVisit(int x, int y, Rotate rotate) {
-        return visitedMap.get(rotate).get(x, y);
+        boolean isVisit = visitedMap.get(rotate).get(x, y);
+        if (isVisit)
+            hitCount += 1;
+        else
+            missCount += 1;
+        return isVisit;
     }
 
     public void found(int x, int y, Rotate rotate) {
@@ -49,6 +59,14 @@ public class LockedCache {
         return foundMap.get(rotate).get(x, y);
     }
 
+    // 探索の終わりに、数えておいたヒット数とミス数を記録する
+    public void recordMetrics() {
+        Metrics.add(Metrics.Counter.LockedCacheHits, hitCount);
+        Metrics.add(Metrics.Counter.LockedCacheMisses, missCount);
+        hitCount = 0L;
+        missCount = 0L;
+    }
+
     public void resetTrail() {
         for (Memory memory : visitedMap.values())
             memory.clear();
@@ -1,34 +1,49 @@
 package core.action.cache;
 
-import core.neighbor.Neighbor;
-
-import java.util.HashSet;
+import java.util.Arrays;
 
+// NeighborGraphの番号ごとに、訪問済み・到達済みを記録する
+// 記録した世代の番号と比較することで、配列を毎回クリアせずにリセットする
 public class LockedNeighborCache {
-    private final HashSet<Neighbor> isVisited = new HashSet<>();
-    private final HashSet<Neighbor> isPassed = new HashSet<>();
+    private final int[] visitedStamps;
+    private final int[] foundStamps;
+    private int visitedStamp = 1;
+    private int foundStamp = 1;
+
+    public LockedNeighborCache(int size) {
+        this.visitedStamps = new int[size];
+        this.foundStamps = new int[size];
+    }
 
     public void clear() {
-        isPassed.clear();
+        foundStamp += 1;
+        if (foundStamp == 0) {
+            Arrays.fill(foundStamps, 0);
+            foundStamp = 1;
+        }
     }
 
-    public void visit(Neighbor neighbor) {
-        isVisited.add(neighbor);
+    public void visit(int index) {
+        visitedStamps[index] = visitedStamp;
     }
 
-    public boolean isVisited(Neighbor neighbor) {
-        return isVisited.contains(neighbor);
+    public boolean isVisited(int index) {
+        return visitedStamps[index] == visitedStamp;
     }
 
-    public void found(Neighbor neighbor) {
-        isPassed.add(neighbor);
+    public void found(int index) {
+        foundStamps[index] = foundStamp;
     }
 
-    public boolean isFound(Neighbor neighbor) {
-        return isPassed.contains(neighbor);
+    public boolean isFound(int index) {
+        return foundStamps[index] == foundStamp;
     }
 
     public void resetTrail() {
-        isVisited.clear();
+        visitedStamp += 1;
+        if (visitedStamp == 0) {
+            Arrays.fill(visitedStamps, 0);
+            visitedStamp = 1;
+        }
     }
 }
@@ -0,0 +1,32 @@
+package core.action.candidate;
+
+import core.action.cache.CandidateCache;
+import core.field.Field;
+import core.mino.Piece;
+
+import java.util.Set;
+
+/**
+ * 探索結果を CandidateCache に記録して、同じ地形・ミノでは再利用する
+ * 返却する Set は変更できない
+ * マルチスレッド非対応（CandidateCache は共有可能）
+ */
+public class CachedCandidate<T> implements Candidate<T> {
+    private final Candidate<T> candidate;
+    private final CandidateCache<T> cache;
+
+    public CachedCandidate(Candidate<T> candidate, CandidateCache<T> cache) {
+        this.candidate = candidate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Set<T> search(Field field, Piece piece, int validHeight) {
+        Set<T> cached = cache.get(field, piece, validHeight);
+        if (cached != null)
+            return cached;
+
+        Set<T> actions = candidate.search(field, piece, validHeight);
+        return cache.put(field, piece, validHeight, actions);
+    }
+}
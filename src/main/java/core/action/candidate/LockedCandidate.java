@@ -58,6 +58,7 @@ public class LockedCandidate implements Candidate<Action> {
             }
         }
 
+        lockedCache.recordMetrics();
         return actions;
     }
 
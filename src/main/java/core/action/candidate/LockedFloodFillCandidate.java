@@ -0,0 +1,55 @@
+package core.action.candidate;
+
+import common.datastore.action.Action;
+import core.action.flood.LockedFloodFill;
+import core.field.Field;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * LockedCandidateと同じ結果を、行ごとのビットマスクで一度にまとめて計算する
+ * マルチスレッド非対応
+ */
+public class LockedFloodFillCandidate implements Candidate<Action> {
+    private static final int FIELD_WIDTH = 10;
+
+    private final MinoFactory minoFactory;
+    private final MinoShifter minoShifter;
+    private final LockedFloodFill floodFill;
+
+    public LockedFloodFillCandidate(MinoFactory minoFactory, MinoShifter minoShifter, MinoRotation minoRotation) {
+        this.minoFactory = minoFactory;
+        this.minoShifter = minoShifter;
+        this.floodFill = new LockedFloodFill(minoFactory, minoRotation);
+    }
+
+    @Override
+    public Set<Action> search(Field field, Piece piece, int validHeight) {
+        floodFill.fill(field, piece, validHeight);
+
+        HashSet<Action> actions = new HashSet<>();
+
+        for (Rotate rotate : Rotate.values()) {
+            Mino mino = minoFactory.create(piece, rotate);
+            for (int y = validHeight - mino.getMaxY() - 1; -mino.getMinY() <= y; y--) {
+                int row = floodFill.getLandingRow(rotate, y);
+                while (row != 0) {
+                    int x = Integer.numberOfTrailingZeros(row);
+                    row &= row - 1;
+                    assert x < FIELD_WIDTH;
+                    Action action = minoShifter.createTransformedAction(piece, rotate, x, y);
+                    actions.add(action);
+                }
+            }
+        }
+
+        return actions;
+    }
+}
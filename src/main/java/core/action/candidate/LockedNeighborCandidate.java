@@ -8,7 +8,7 @@ import core.mino.MinoFactory;
 import core.mino.MinoShifter;
 import core.mino.Piece;
 import core.neighbor.Neighbor;
-import core.neighbor.Neighbors;
+import core.neighbor.NeighborGraph;
 import core.neighbor.OriginalPiece;
 import core.neighbor.OriginalPieceFactory;
 import core.srs.MinoRotation;
@@ -20,13 +20,14 @@ import java.util.Set;
 
 /**
  * マルチスレッド非対応
+ * NeighborGraphは読み込みのみのため、複数のインスタンスで共有できる
  */
 public class LockedNeighborCandidate implements Candidate<Neighbor> {
     private static final int FIELD_WIDTH = 10;
 
     private final MinoFactory minoFactory;
 
-    private final Neighbors neighbors;
+    private final NeighborGraph graph;
     private final MinoShifter minoShifter;
 
     // temporary変数
@@ -34,10 +35,14 @@ public class LockedNeighborCandidate implements Candidate<Neighbor> {
     private final LockedNeighborCache cache;
 
     public LockedNeighborCandidate(MinoFactory minoFactory, MinoShifter minoShifter, MinoRotation minoRotation, OriginalPieceFactory pieceFactory) {
+        this(minoFactory, minoShifter, NeighborGraph.create(minoFactory, minoRotation, pieceFactory));
+    }
+
+    public LockedNeighborCandidate(MinoFactory minoFactory, MinoShifter minoShifter, NeighborGraph graph) {
         this.minoFactory = minoFactory;
         this.minoShifter = minoShifter;
-        this.neighbors = new Neighbors(minoFactory, minoRotation, pieceFactory);
-        this.cache = new LockedNeighborCache();
+        this.graph = graph;
+        this.cache = new LockedNeighborCache(graph.size());
     }
 
     @Override
@@ -54,9 +59,9 @@ public class LockedNeighborCandidate implements Candidate<Neighbor> {
             Mino mino = minoFactory.create(piece, rotate);
             for (int x = -mino.getMinX(); x < FIELD_WIDTH - mino.getMaxX(); x++) {
                 for (int y = -mino.getMinY(); y < validHeight - mino.getMaxY(); y++) {
-                    Neighbor neighbor = neighbors.get(piece, rotate, x, y);
-                    if (field.canPut(neighbor.getPiece()) && field.isOnGround(mino, x, y)) {
-                        loop(results, neighbor);
+                    int index = graph.getIndex(piece, rotate, x, y);
+                    if (field.canPut(graph.getPiece(index)) && field.isOnGround(mino, x, y)) {
+                        loop(results, index);
                     }
                 }
             }
@@ -65,26 +70,26 @@ public class LockedNeighborCandidate implements Candidate<Neighbor> {
         return results;
     }
 
-    private void loop(HashSet<Neighbor> results, Neighbor neighbor) {
+    private void loop(HashSet<Neighbor> results, int index) {
         cache.resetTrail();
 
-        if (check(neighbor)) {
-            results.add(neighbor);
+        if (check(index)) {
+            results.add(graph.getNeighbor(index));
         } else {
-            OriginalPiece piece = neighbor.getPiece();
+            OriginalPiece piece = graph.getPiece(index);
             Mino mino = piece.getMino();
             Piece block = mino.getPiece();
             List<Action> actions = minoShifter.enumerateSameOtherActions(block, mino.getRotate(), piece.getX(), piece.getY());
             for (Action action : actions) {
-                Neighbor similar = neighbors.get(block, action.getRotate(), action.getX(), action.getY());
+                int similar = graph.getIndex(block, action.getRotate(), action.getX(), action.getY());
                 if (check(similar))
-                    results.add(similar);
+                    results.add(graph.getNeighbor(similar));
             }
         }
     }
 
-    private boolean check(Neighbor current) {
-        OriginalPiece piece = current.getPiece();
+    private boolean check(int current) {
+        OriginalPiece piece = graph.getPiece(current);
 
         // ハードドロップで到達できるとき
         if (field.canReachOnHarddrop(piece))
@@ -101,36 +106,35 @@ public class LockedNeighborCandidate implements Candidate<Neighbor> {
         cache.visit(current);
 
         // 上と左右に移動
-        List<Neighbor> nextMovesSources = current.getNextMovesSources();
-        for (Neighbor next : nextMovesSources) {
-            OriginalPiece nextPiece = next.getPiece();
-            if (field.canPut(nextPiece) && check(next)) {
+        NeighborGraph.Edges movesSources = graph.getMovesSources();
+        for (int position = movesSources.begin(current), end = movesSources.end(current); position < end; position++) {
+            int next = movesSources.get(position);
+            if (field.canPut(graph.getPiece(next)) && check(next)) {
                 cache.found(current);
                 return true;
             }
         }
 
         // 左回転でくる可能性がある場所を移動
-        if (checkLeftRotation(current))
+        if (checkRotation(current, graph.getLeftRotateSources(), graph.getLeftRotateDestinations()))
             return true;
 
         // 右回転でくる可能性がある場所を移動
-        if (checkRightRotation(current))
+        if (checkRotation(current, graph.getRightRotateSources(), graph.getRightRotateDestinations()))
             return true;
 
         return false;
     }
 
-    private boolean checkLeftRotation(Neighbor current) {
-        List<Neighbor> nextLeftRotateSources = current.getNextLeftRotateSources();
-        for (Neighbor source : nextLeftRotateSources) {
-            if (!field.canPut(source.getPiece()))
+    private boolean checkRotation(int current, NeighborGraph.Edges sources, NeighborGraph.Edges destinations) {
+        for (int position = sources.begin(current), end = sources.end(current); position < end; position++) {
+            int source = sources.get(position);
+            if (!field.canPut(graph.getPiece(source)))
                 continue;
 
             // もう一度回して戻ってくるか
-            List<Neighbor> destinations = source.getNextLeftRotateDestinations();
-            Neighbor destination = getDestination(destinations);
-            if (current.equals(destination) && check(source)) {
+            int destination = getDestination(destinations, source);
+            if (current == destination && check(source)) {
                 cache.found(current);
                 return true;
             }
@@ -138,27 +142,12 @@ public class LockedNeighborCandidate implements Candidate<Neighbor> {
         return false;
     }
 
-    private boolean checkRightRotation(Neighbor current) {
-        List<Neighbor> nextRightRotateSources = current.getNextRightRotateSources();
-        for (Neighbor source : nextRightRotateSources) {
-            if (!field.canPut(source.getPiece()))
-                continue;
-
-            // もう一度回して戻ってくるか
-            List<Neighbor> destinations = source.getNextRightRotateDestinations();
-            Neighbor destination = getDestination(destinations);
-            if (current.equals(destination) && check(source)) {
-                cache.found(current);
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private Neighbor getDestination(List<Neighbor> destinations) {
-        for (Neighbor destination : destinations)
-            if (field.canPut(destination.getPiece()))
+    private int getDestination(NeighborGraph.Edges destinations, int source) {
+        for (int position = destinations.begin(source), end = destinations.end(source); position < end; position++) {
+            int destination = destinations.get(position);
+            if (field.canPut(graph.getPiece(destination)))
                 return destination;
-        return Neighbor.EMPTY_NEIGHBOR;
+        }
+        return NeighborGraph.NONE;
     }
 }
@@ -58,6 +58,7 @@ public class RotateCandidate implements Candidate<Action> {
             }
         }
 
+        lockedCache.recordMetrics();
         return actions;
     }
 
@@ -58,6 +58,7 @@ public class SRSAnd180Candidate implements Candidate<Action> {
             }
         }
 
+        lockedCache.recordMetrics();
         return actions;
     }
 
@@ -79,6 +79,7 @@ public class TSpinOrHarddropCandidate implements Candidate<Action> {
             }
         }
 
+        lockedCache.recordMetrics();
         return actions;
     }
 
@@ -0,0 +1,239 @@
+package core.action.flood;
+
+import core.field.Field;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+
+/**
+ * ソフトドロップ・左右移動・左右回転でたどりつける位置を、行ごとのビットマスクでまとめて計算する
+ * 1行は10bitで、x列目のビットはミノの中心がxにあることを表す
+ * 移動は行全体のシフト、回転はキックの順番にマスクを適用して計算する
+ * マルチスレッド非対応
+ */
+public class LockedFloodFill {
+    private static final int FIELD_WIDTH = 10;
+    private static final int ROW_MASK = (1 << FIELD_WIDTH) - 1;
+    private static final int BOARD_HEIGHT = 6;
+    private static final int ROTATE_SIZE = Rotate.values().length;
+
+    private final MinoFactory minoFactory;
+
+    // [piece][from rotate][kick][dx, dy]
+    private final int[][][][] rightKicks;
+    private final int[][][][] leftKicks;
+    private final int maxKickY;
+
+    // temporary変数
+    private int[] emptyRows = new int[0];
+    private int[][] puttable = new int[ROTATE_SIZE][0];
+    private int[][] reachable = new int[ROTATE_SIZE][0];
+    private int[] remaining = new int[0];
+    private int rowCount = 0;
+    private int appearY = 0;
+    private Piece piece = null;
+
+    public LockedFloodFill(MinoFactory minoFactory, MinoRotation minoRotation) {
+        this.minoFactory = minoFactory;
+
+        int pieceSize = Piece.getSize();
+        this.rightKicks = new int[pieceSize][ROTATE_SIZE][][];
+        this.leftKicks = new int[pieceSize][ROTATE_SIZE][][];
+
+        int maxKickY = 0;
+        for (Piece piece : Piece.values()) {
+            for (Rotate rotate : Rotate.values()) {
+                Mino mino = minoFactory.create(piece, rotate);
+                int[][] right = minoRotation.getRightPatternsFrom(mino);
+                int[][] left = minoRotation.getLeftPatternsFrom(mino);
+                rightKicks[piece.getNumber()][rotate.getNumber()] = right;
+                leftKicks[piece.getNumber()][rotate.getNumber()] = left;
+
+                for (int[] kick : right)
+                    maxKickY = Math.max(maxKickY, Math.abs(kick[1]));
+                for (int[] kick : left)
+                    maxKickY = Math.max(maxKickY, Math.abs(kick[1]));
+            }
+        }
+        this.maxKickY = maxKickY;
+    }
+
+    // validHeight 以上にミノの中心が届いたとき、出現位置からたどりつけるとみなす
+    public void fill(Field field, Piece piece, int validHeight) {
+        this.piece = piece;
+        this.appearY = validHeight;
+
+        // フィールドより上はすべて空白で、回転で出入りする範囲も含める
+        int boardTop = field.getBoardCount() * BOARD_HEIGHT;
+        this.rowCount = Math.max(validHeight + maxKickY, boardTop + 3) + 1;
+        prepare(rowCount);
+
+        for (int y = 0; y < rowCount; y++)
+            emptyRows[y] = y < boardTop ? ~getRow(field, y) & ROW_MASK : ROW_MASK;
+
+        for (Rotate rotate : Rotate.values())
+            initRotate(piece, rotate);
+
+        // 変化がなくなるまで、移動と回転をくりかえす
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int rotate = 0; rotate < ROTATE_SIZE; rotate++)
+                changed |= move(rotate);
+
+            for (int rotate = 0; rotate < ROTATE_SIZE; rotate++) {
+                changed |= rotate(rotate, (rotate + 1) % ROTATE_SIZE, rightKicks[piece.getNumber()][rotate]);
+                changed |= rotate(rotate, (rotate + ROTATE_SIZE - 1) % ROTATE_SIZE, leftKicks[piece.getNumber()][rotate]);
+            }
+        }
+    }
+
+    private void prepare(int rowCount) {
+        if (emptyRows.length < rowCount) {
+            this.emptyRows = new int[rowCount];
+            this.remaining = new int[rowCount];
+            this.puttable = new int[ROTATE_SIZE][rowCount];
+            this.reachable = new int[ROTATE_SIZE][rowCount];
+        }
+    }
+
+    private int getRow(Field field, int y) {
+        long board = field.getBoard(y / BOARD_HEIGHT);
+        return (int) (board >>> ((y % BOARD_HEIGHT) * FIELD_WIDTH)) & ROW_MASK;
+    }
+
+    // ミノを置ける位置と、最初からたどりつける位置を計算する
+    private void initRotate(Piece piece, Rotate rotate) {
+        Mino mino = minoFactory.create(piece, rotate);
+        int[][] positions = mino.getPositions();
+        int[] puttable = this.puttable[rotate.getNumber()];
+        int[] reachable = this.reachable[rotate.getNumber()];
+
+        for (int y = 0; y < rowCount; y++) {
+            int row = ROW_MASK;
+            for (int[] position : positions) {
+                int blockY = y + position[1];
+                int empty = blockY < 0 ? 0 : emptyRows[Math.min(blockY, rowCount - 1)];
+                row &= toOrigin(empty, position[0]);
+            }
+            puttable[y] = row;
+        }
+
+        // 上からハードドロップでたどりつける位置
+        int harddrop = ROW_MASK;
+        for (int y = rowCount - 1; 0 <= y; y--) {
+            harddrop &= puttable[y];
+            reachable[y] = appearY <= y ? puttable[y] : harddrop;
+        }
+    }
+
+    // 各ブロックの位置が空いている行から、ミノの中心を置ける位置に変換する
+    private static int toOrigin(int row, int dx) {
+        return 0 <= dx ? row >>> dx : (row << -dx) & ROW_MASK;
+    }
+
+    // ミノの中心を移動する
+    private static int shift(int row, int dx) {
+        return 0 <= dx ? (row << dx) & ROW_MASK : row >>> -dx;
+    }
+
+    private int getPuttable(int[] puttable, int y) {
+        if (y < 0)
+            return 0;
+        return puttable[Math.min(y, rowCount - 1)];
+    }
+
+    // 上から順に、ソフトドロップと左右移動を行う
+    private boolean move(int rotate) {
+        int[] puttable = this.puttable[rotate];
+        int[] reachable = this.reachable[rotate];
+
+        boolean changed = false;
+        for (int y = rowCount - 1; 0 <= y; y--) {
+            int before = reachable[y];
+            int row = before;
+
+            // 上の行から下に移動
+            if (y + 1 < appearY && y + 1 < rowCount)
+                row |= reachable[y + 1] & puttable[y];
+
+            // 左右に移動
+            int mask = puttable[y];
+            while (true) {
+                int next = row | (((row << 1) | (row >>> 1)) & mask);
+                if (next == row)
+                    break;
+                row = next;
+            }
+
+            if (row != before) {
+                reachable[y] = row;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // 最初に成功したキックで回転する
+    private boolean rotate(int from, int to, int[][] kicks) {
+        int[] fromReachable = this.reachable[from];
+        int[] toPuttable = this.puttable[to];
+        int[] toReachable = this.reachable[to];
+
+        System.arraycopy(fromReachable, 0, remaining, 0, rowCount);
+
+        boolean changed = false;
+        for (int[] kick : kicks) {
+            int dx = kick[0];
+            int dy = kick[1];
+            for (int y = 0; y < rowCount; y++) {
+                int source = remaining[y];
+                if (source == 0)
+                    continue;
+
+                int toY = y + dy;
+                int fits = toOrigin(getPuttable(toPuttable, toY), dx);
+                int rotated = source & fits;
+                if (rotated == 0)
+                    continue;
+
+                remaining[y] = source & ~fits;
+
+                if (toY < rowCount) {
+                    int next = toReachable[toY] | shift(rotated, dx);
+                    if (next != toReachable[toY]) {
+                        toReachable[toY] = next;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    public Piece getPiece() {
+        return piece;
+    }
+
+    public int getAppearY() {
+        return appearY;
+    }
+
+    public boolean isReachable(Rotate rotate, int x, int y) {
+        if (y < 0 || x < 0 || FIELD_WIDTH <= x)
+            return false;
+        if (rowCount <= y)
+            return true;
+        return (reachable[rotate.getNumber()][y] & (1 << x)) != 0;
+    }
+
+    // ミノを置くことができ、接着できる位置のうち、たどりつける位置のビットマスクを返却
+    public int getLandingRow(Rotate rotate, int y) {
+        assert 0 <= y && y < rowCount;
+        int[] puttable = this.puttable[rotate.getNumber()];
+        int below = 0 < y ? puttable[y - 1] : 0;
+        return reachable[rotate.getNumber()][y] & puttable[y] & ~below;
+    }
+}
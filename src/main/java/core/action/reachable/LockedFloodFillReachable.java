@@ -0,0 +1,78 @@
+package core.action.reachable;
+
+import common.datastore.action.Action;
+import core.action.flood.LockedFloodFill;
+import core.field.Field;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LockedReachableと同じ結果を、行ごとのビットマスクで計算する
+ * 同じフィールド・ミノ・高さで続けて呼び出されたときは、前回の計算結果を再利用する
+ * マルチスレッド非対応
+ */
+public class LockedFloodFillReachable implements Reachable {
+    private final MinoShifter minoShifter;
+    private final LockedFloodFill floodFill;
+
+    // temporary変数
+    private long[] lastBoards = null;
+    private Piece lastPiece = null;
+    private int lastValidHeight = -1;
+
+    public LockedFloodFillReachable(MinoFactory minoFactory, MinoShifter minoShifter, MinoRotation minoRotation) {
+        this.minoShifter = minoShifter;
+        this.floodFill = new LockedFloodFill(minoFactory, minoRotation);
+    }
+
+    @Override
+    public boolean checks(Field field, Mino mino, int x, int y, int validHeight) {
+        assert field.canPut(mino, x, y);
+
+        // 一番上までたどり着いたとき
+        if (validHeight <= y)
+            return true;
+
+        Piece piece = mino.getPiece();
+        Rotate rotate = mino.getRotate();
+
+        prepare(field, piece, validHeight);
+
+        if (floodFill.isReachable(rotate, x, y))
+            return true;
+
+        List<Action> actions = minoShifter.enumerateSameOtherActions(piece, rotate, x, y);
+        for (Action action : actions)
+            if (floodFill.isReachable(action.getRotate(), action.getX(), action.getY()))
+                return true;
+
+        return false;
+    }
+
+    private void prepare(Field field, Piece piece, int validHeight) {
+        long[] boards = toBoards(field);
+        if (piece == lastPiece && validHeight == lastValidHeight && Arrays.equals(boards, lastBoards))
+            return;
+
+        floodFill.fill(field, piece, validHeight);
+
+        this.lastBoards = boards;
+        this.lastPiece = piece;
+        this.lastValidHeight = validHeight;
+    }
+
+    private long[] toBoards(Field field) {
+        int boardCount = field.getBoardCount();
+        long[] boards = new long[boardCount];
+        for (int index = 0; index < boardCount; index++)
+            boards[index] = field.getBoard(index);
+        return boards;
+    }
+}
@@ -0,0 +1,154 @@
+package core.neighbor;
+
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Neighborsの隣接関係を、番号の配列 (CSR形式) で表現する
+ * 構築後は変更されないため、複数のスレッドで共有できる
+ */
+public class NeighborGraph {
+    public static final int NONE = -1;
+
+    private static final int FIELD_WIDTH = 10;
+
+    /**
+     * 番号ごとの隣接先
+     * begin(index) <= position < end(index) の範囲の get(position) が隣接先の番号
+     */
+    public static class Edges {
+        private final int[] offsets;
+        private final int[] targets;
+
+        private Edges(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        public int begin(int index) {
+            return offsets[index];
+        }
+
+        public int end(int index) {
+            return offsets[index + 1];
+        }
+
+        public int get(int position) {
+            return targets[position];
+        }
+    }
+
+    public static NeighborGraph create(MinoFactory minoFactory, MinoRotation minoRotation, OriginalPieceFactory pieceFactory) {
+        Neighbors neighbors = new Neighbors(minoFactory, minoRotation, pieceFactory);
+        return new NeighborGraph(neighbors);
+    }
+
+    private final int maxHeight;
+    private final int[] indexes;
+    private final OriginalPiece[] pieces;
+
+    private final Edges movesSources;
+    private final Edges leftRotateSources;
+    private final Edges rightRotateSources;
+    private final Edges leftRotateDestinations;
+    private final Edges rightRotateDestinations;
+
+    NeighborGraph(Neighbors source) {
+        // 構築に使ったNeighborは保持せず、番号の配列だけを残す
+        List<Neighbor> all = source.getAll();
+        int maxHeight = source.getMaxHeight();
+
+        Neighbor[] neighbors = all.toArray(new Neighbor[0]);
+        OriginalPiece[] pieces = new OriginalPiece[neighbors.length];
+
+        HashMap<Neighbor, Integer> numbers = new HashMap<>();
+        int[] indexes = new int[Piece.getSize() * Rotate.getSize() * maxHeight * FIELD_WIDTH];
+        Arrays.fill(indexes, NONE);
+        for (int index = 0; index < neighbors.length; index++) {
+            Neighbor neighbor = neighbors[index];
+            OriginalPiece piece = neighbor.getPiece();
+            pieces[index] = piece;
+            numbers.put(neighbor, index);
+            indexes[toKey(piece.getPiece(), piece.getRotate(), piece.getX(), piece.getY(), maxHeight)] = index;
+        }
+
+        this.maxHeight = maxHeight;
+        this.indexes = indexes;
+        this.pieces = pieces;
+        this.movesSources = createEdges(neighbors, numbers, Neighbor::getNextMovesSources);
+        this.leftRotateSources = createEdges(neighbors, numbers, Neighbor::getNextLeftRotateSources);
+        this.rightRotateSources = createEdges(neighbors, numbers, Neighbor::getNextRightRotateSources);
+        this.leftRotateDestinations = createEdges(neighbors, numbers, Neighbor::getNextLeftRotateDestinations);
+        this.rightRotateDestinations = createEdges(neighbors, numbers, Neighbor::getNextRightRotateDestinations);
+    }
+
+    private static int toKey(Piece piece, Rotate rotate, int x, int y, int maxHeight) {
+        return ((piece.getNumber() * Rotate.getSize() + rotate.getNumber()) * maxHeight + y) * FIELD_WIDTH + x;
+    }
+
+    private static Edges createEdges(Neighbor[] neighbors, HashMap<Neighbor, Integer> numbers, Function<Neighbor, List<Neighbor>> next) {
+        int[] offsets = new int[neighbors.length + 1];
+        for (int index = 0; index < neighbors.length; index++)
+            offsets[index + 1] = offsets[index] + next.apply(neighbors[index]).size();
+
+        // 隣接先の順序は、元のリストの順序を保つ
+        int[] targets = new int[offsets[neighbors.length]];
+        for (int index = 0; index < neighbors.length; index++) {
+            int position = offsets[index];
+            for (Neighbor neighbor : next.apply(neighbors[index]))
+                targets[position++] = numbers.get(neighbor);
+        }
+
+        return new Edges(offsets, targets);
+    }
+
+    public int getIndex(Piece piece, Rotate rotate, int x, int y) {
+        int index = indexes[toKey(piece, rotate, x, y, maxHeight)];
+        assert index != NONE;
+        return index;
+    }
+
+    public OriginalPiece getPiece(int index) {
+        return pieces[index];
+    }
+
+    // 隣接先をもたないNeighborを返却する。Neighborはピースで比較される
+    public Neighbor getNeighbor(int index) {
+        return new Neighbor(pieces[index]);
+    }
+
+    public int size() {
+        return pieces.length;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    public Edges getMovesSources() {
+        return movesSources;
+    }
+
+    public Edges getLeftRotateSources() {
+        return leftRotateSources;
+    }
+
+    public Edges getRightRotateSources() {
+        return rightRotateSources;
+    }
+
+    public Edges getLeftRotateDestinations() {
+        return leftRotateDestinations;
+    }
+
+    public Edges getRightRotateDestinations() {
+        return rightRotateDestinations;
+    }
+}
@@ -8,6 +8,7 @@ import core.srs.Rotate;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public class Neighbors {
     private static final int FIELD_WIDTH = 10;
@@ -119,6 +120,18 @@ public class Neighbors {
         return neighbor;
     }
 
+    // 有効なすべてのNeighborを、ミノ・回転・y・xの順に返却する
+    List<Neighbor> getAll() {
+        ArrayList<Neighbor> all = new ArrayList<>();
+        for (Neighbor[][][] eachBlocks : neighbors)
+            for (Neighbor[][] eachRotate : eachBlocks)
+                for (Neighbor[] eachY : eachRotate)
+                    for (Neighbor current : eachY)
+                        if (current != null)
+                            all.add(current);
+        return all;
+    }
+
     public int getMaxHeight() {
         return maxHeight;
     }
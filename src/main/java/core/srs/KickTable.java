@@ -0,0 +1,130 @@
+package core.srs;
+
+import core.field.Field;
+import core.mino.Mino;
+
+// 1つの (ミノ, 回転前の向き, 回転方向) のキックを、フラットな配列にまとめたもの
+// 回転後のミノのマスクは、基準位置からのスライド量だけで各オフセットの位置に移動できる
+class KickTable {
+    private static final int FIELD_WIDTH = 10;
+
+    // マスクの基準位置。ミノのブロックがはみ出さない位置であればよい
+    private static final int REFERENCE_X = 4;
+    private static final int REFERENCE_Y = 2;
+
+    // SmallField・MiddleFieldの高さと、MiddleFieldのボードの境界
+    private static final int SMALL_FIELD_HEIGHT = 6;
+    private static final int MIDDLE_FIELD_HEIGHT = 12;
+    private static final int MIDDLE_FIELD_BORDER_Y = 6;
+
+    private final Mino after;
+    private final int[][] offsets;
+    private final long mask;
+    private final int minY;
+    private final int maxY;
+    private final int[] slides;
+    private final int[] minXs;
+    private final int[] maxXs;
+    private final int[] minYs;
+
+    KickTable(Mino after, Pattern pattern) {
+        int[][] offsets = pattern.getOffsets();
+        int size = offsets.length;
+
+        int[] slides = new int[size];
+        int[] minXs = new int[size];
+        int[] maxXs = new int[size];
+        int[] minYs = new int[size];
+        for (int index = 0; index < size; index++) {
+            int offsetX = offsets[index][0];
+            int offsetY = offsets[index][1];
+            slides[index] = offsetX + offsetY * FIELD_WIDTH;
+
+            // 回転前のxで判定できるように、範囲をオフセット分ずらしておく
+            minXs[index] = -after.getMinX() - offsetX;
+            maxXs[index] = FIELD_WIDTH - after.getMaxX() - offsetX;
+            minYs[index] = -after.getMinY() - offsetY;
+        }
+
+        this.after = after;
+        this.offsets = offsets;
+        this.mask = after.getMask(REFERENCE_X, REFERENCE_Y);
+        this.minY = after.getMinY();
+        this.maxY = after.getMaxY();
+        this.slides = slides;
+        this.minXs = minXs;
+        this.maxXs = maxXs;
+        this.minYs = minYs;
+    }
+
+    int[][] getOffsets() {
+        return offsets;
+    }
+
+    int[] getKicks(Field field, int x, int y) {
+        switch (field.getBoardCount()) {
+            case 1:
+                return getKicksOnSmall(field.getBoard(0), x, y);
+            case 2:
+                return getKicksOnMiddle(field.getBoard(0), field.getBoard(1), x, y);
+            default:
+                return getKicksOnField(field, x, y);
+        }
+    }
+
+    private long slide(int slide) {
+        return 0 < slide ? mask << slide : mask >>> -slide;
+    }
+
+    private int[] getKicksOnSmall(long board, int x, int y) {
+        int baseSlide = x - REFERENCE_X + (y - REFERENCE_Y) * FIELD_WIDTH;
+        for (int index = 0; index < slides.length; index++) {
+            if (x < minXs[index] || maxXs[index] <= x || y < minYs[index])
+                continue;
+
+            int toY = y + offsets[index][1];
+            if (SMALL_FIELD_HEIGHT + 2 <= toY || (board & slide(baseSlide + slides[index])) == 0L)
+                return offsets[index];
+        }
+        return null;
+    }
+
+    private int[] getKicksOnMiddle(long boardLow, long boardHigh, int x, int y) {
+        int baseSlide = x - REFERENCE_X + (y - REFERENCE_Y) * FIELD_WIDTH;
+        for (int index = 0; index < slides.length; index++) {
+            if (x < minXs[index] || maxXs[index] <= x || y < minYs[index])
+                continue;
+
+            int toY = y + offsets[index][1];
+            int slide = baseSlide + slides[index];
+            if (MIDDLE_FIELD_HEIGHT + 2 <= toY) {
+                return offsets[index];
+            } else if (toY + maxY < MIDDLE_FIELD_BORDER_Y) {
+                // Lowで完結
+                if ((boardLow & slide(slide)) == 0L)
+                    return offsets[index];
+            } else if (MIDDLE_FIELD_BORDER_Y <= toY + minY) {
+                // Highで完結
+                if ((boardHigh & slide(slide - MIDDLE_FIELD_BORDER_Y * FIELD_WIDTH)) == 0L)
+                    return offsets[index];
+            } else {
+                // 分割
+                if ((boardLow & slide(slide)) == 0L && (boardHigh & slide(slide - MIDDLE_FIELD_BORDER_Y * FIELD_WIDTH)) == 0L)
+                    return offsets[index];
+            }
+        }
+        return null;
+    }
+
+    private int[] getKicksOnField(Field field, int x, int y) {
+        for (int index = 0; index < slides.length; index++) {
+            if (x < minXs[index] || maxXs[index] <= x || y < minYs[index])
+                continue;
+
+            int[] offset = offsets[index];
+            if (field.canPut(after, x + offset[0], y + offset[1]))
+                return offset;
+        }
+        return null;
+    }
+}
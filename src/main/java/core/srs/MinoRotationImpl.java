@@ -7,16 +7,34 @@ import core.mino.Piece;
 import java.util.EnumMap;
 
 public class MinoRotationImpl implements MinoRotation {
-    private static final int FIELD_WIDTH = 10;
-
     private final EnumMap<Piece, EnumMap<Rotate, Pattern>> rightMap;
     private final EnumMap<Piece, EnumMap<Rotate, Pattern>> leftMap;
     private final EnumMap<Piece, EnumMap<Rotate, Pattern>> rotate180Map;
 
+    // [piece][回転前のrotate] ごとに、キックを事前にまとめたもの
+    private final KickTable[][] rightTables;
+    private final KickTable[][] leftTables;
+    private final KickTable[][] rotate180Tables;
+
     public MinoRotationImpl() {
         this.rightMap = createRightMap();
         this.leftMap = createLeftMap();
         this.rotate180Map = createRotate180Map();
+        this.rightTables = createTables(rightMap, RotateDirection.Right);
+        this.leftTables = createTables(leftMap, RotateDirection.Left);
+        this.rotate180Tables = createTables(rotate180Map, RotateDirection.Rotate180);
+    }
+
+    private KickTable[][] createTables(EnumMap<Piece, EnumMap<Rotate, Pattern>> blockMap, RotateDirection direction) {
+        KickTable[][] tables = new KickTable[Piece.getSize()][Rotate.getSize()];
+        for (Piece piece : Piece.values()) {
+            for (Rotate rotate : Rotate.values()) {
+                Mino after = new Mino(piece, rotate.get(direction));
+                Pattern pattern = blockMap.get(piece).get(rotate);
+                tables[piece.getNumber()][rotate.getNumber()] = new KickTable(after, pattern);
+            }
+        }
+        return tables;
     }
 
     private EnumMap<Piece, EnumMap<Rotate, Pattern>> createRightMap() {
@@ -150,34 +168,22 @@ public class MinoRotationImpl implements MinoRotation {
 
     @Override
     public int[] getKicksWithRightRotation(Field field, Mino before, Mino after, int x, int y) {
-        Pattern pattern = rightMap.get(before.getPiece()).get(before.getRotate());
-        return getKicks(field, x, y, after, pattern);
-    }
-
-    private int[] getKicks(Field field, int x, int y, Mino after, Pattern pattern) {
-        int[][] offsets = pattern.getOffsets();
-        int minX = -after.getMinX();
-        int maxX = FIELD_WIDTH - after.getMaxX();
-        int minY = -after.getMinY();
-        for (int[] offset : offsets) {
-            int toX = x + offset[0];
-            int toY = y + offset[1];
-            if (minX <= toX && toX < maxX && minY <= toY && field.canPut(after, toX, toY))
-                return offset;
-        }
-        return null;
+        return getTable(rightTables, before, after).getKicks(field, x, y);
+    }
+
+    private KickTable getTable(KickTable[][] tables, Mino before, Mino after) {
+        assert before.getPiece() == after.getPiece();
+        return tables[before.getPiece().getNumber()][before.getRotate().getNumber()];
     }
 
     @Override
     public int[] getKicksWithLeftRotation(Field field, Mino before, Mino after, int x, int y) {
-        Pattern pattern = leftMap.get(before.getPiece()).get(before.getRotate());
-        return getKicks(field, x, y, after, pattern);
+        return getTable(leftTables, before, after).getKicks(field, x, y);
     }
 
     @Override
     public int[] getKicksWith180Rotation(Field field, Mino before, Mino after, int x, int y) {
-        Pattern pattern = rotate180Map.get(before.getPiece()).get(before.getRotate());
-        return getKicks(field, x, y, after, pattern);
+        return getTable(rotate180Tables, before, after).getKicks(field, x, y);
     }
 
     @Override
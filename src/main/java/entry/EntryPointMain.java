@@ -20,6 +20,10 @@ import entry.ren.RenEntryPoint;
 import entry.ren.RenOptions;
 import entry.ren.RenSettingParser;
 import entry.ren.RenSettings;
+import entry.serve.ServeEntryPoint;
+import entry.serve.ServeOptions;
+import entry.serve.ServeSettingParser;
+import entry.serve.ServeSettings;
 import entry.setup.SetupEntryPoint;
 import entry.setup.SetupOptions;
 import entry.setup.SetupSettingParser;
@@ -28,6 +32,10 @@ import entry.spin.SpinEntryPoint;
 import entry.spin.SpinOptions;
 import entry.spin.SpinSettingParser;
 import entry.spin.SpinSettings;
+import entry.util.cover.CoverUtilEntryPoint;
+import entry.util.cover.CoverUtilOptions;
+import entry.util.cover.CoverUtilSettingParser;
+import entry.util.cover.CoverUtilSettings;
 import entry.util.fig.FigUtilEntryPoint;
 import entry.util.fig.FigUtilSettingParser;
 import entry.util.fig.FigUtilSettings;
@@ -41,6 +49,7 @@ import entry.util.seq.SeqUtilSettingParser;
 import entry.util.seq.SeqUtilSettings;
 import exceptions.FinderInitializeException;
 import exceptions.FinderParseException;
+import lib.Metrics;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Options;
@@ -60,11 +69,16 @@ public class EntryPointMain {
             "move",
             "spin",
             "cover",
+            "serve",
             "util fig",
             "util fumen",
             "util seq",
+            "util cover",
     };
 
+    private static final String STATS_OPTION = "--stats";
+    private static final List<String> STATS_FORMATS = Arrays.asList("text", "json");
+
     public static int main(String[] args) {
         if (args.length < 1) {
             String commands = String.join(",", COMMANDS);
@@ -83,6 +97,45 @@ public class EntryPointMain {
         // 引数リストの作成
         List<String> argsList = new ArrayList<>(Arrays.asList(args).subList(1, args.length));
 
+        // 統計の出力はすべてのコマンドで共通のため、コマンドに渡す前に取り除く
+        Optional<String> statsFormat = extractStatsFormat(argsList);
+        if (!statsFormat.isPresent())
+            return run(args, argsList);
+
+        Metrics.enable();
+        long start = Metrics.startTimer();
+        try {
+            int code = run(args, argsList);
+            Metrics.stopTimer(Metrics.Timer.Run, start);
+            outputStats(statsFormat.get());
+            return code;
+        } finally {
+            Metrics.disable();
+        }
+    }
+
+    // '--stats' または '--stats <text|json>'
+    private static Optional<String> extractStatsFormat(List<String> argsList) {
+        int index = argsList.indexOf(STATS_OPTION);
+        if (index < 0)
+            return Optional.empty();
+
+        argsList.remove(index);
+        if (index < argsList.size() && STATS_FORMATS.contains(argsList.get(index)))
+            return Optional.of(argsList.remove(index));
+        return Optional.of(STATS_FORMATS.get(0));
+    }
+
+    private static void outputStats(String format) {
+        if (format.equals("json")) {
+            System.out.println(Metrics.toJson());
+        } else {
+            for (String line : Metrics.toTextLines())
+                System.out.println(line);
+        }
+    }
+
+    private static int run(String[] args, List<String> argsList) {
         // 実行を振り分け
         EntryPoint entryPoint;
         try {
@@ -217,8 +270,10 @@ public class EntryPointMain {
                 return getCoverEntryPoint(commands);
             case "spin":
                 return getSpinEntryPoint(commands);
+            case "serve":
+                return getServeEntryPoint(commands);
             default:
-                throw new IllegalArgumentException("Invalid type: Use percent, path, util, setup, move, ren, cover, spin");
+                throw new IllegalArgumentException("Invalid type: Use percent, path, util, setup, move, ren, cover, spin, serve");
         }
     }
 
@@ -303,8 +358,20 @@ public class EntryPointMain {
                     return Optional.empty();
                 }
             }
+            case "cover": {
+                Options options = CoverUtilOptions.create();
+                CommandLineParser parser = new DefaultParser();
+                CoverUtilSettingParser settingParser = new CoverUtilSettingParser(options, parser);
+                Optional<CoverUtilSettings> settingsOptional = settingParser.parse(commands);
+                if (settingsOptional.isPresent()) {
+                    CoverUtilSettings settings = settingsOptional.get();
+                    return Optional.of(new CoverUtilEntryPoint(settings));
+                } else {
+                    return Optional.empty();
+                }
+            }
             default:
-                throw new IllegalArgumentException("util: Invalid type: Use fig or seq");
+                throw new IllegalArgumentException("util: Invalid type: Use fig, fumen, seq or cover");
         }
 
         return Optional.empty();
@@ -359,4 +426,17 @@ public class EntryPointMain {
             return Optional.empty();
         }
     }
+
+    private static Optional<EntryPoint> getServeEntryPoint(List<String> commands) throws FinderParseException {
+        Options options = ServeOptions.create();
+        CommandLineParser parser = new DefaultParser();
+        ServeSettingParser settingParser = new ServeSettingParser(options, parser);
+        Optional<ServeSettings> settingsOptional = settingParser.parse(commands);
+        if (settingsOptional.isPresent()) {
+            ServeSettings settings = settingsOptional.get();
+            return Optional.of(new ServeEntryPoint(settings));
+        } else {
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,290 @@
+package entry.cover;
+
+import common.datastore.blocks.LongPieces;
+import core.mino.Piece;
+import exceptions.FinderParseException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * coverの結果をバイナリで保存・読み込みする
+ * 結果は設定ごとに、ミノ順の数だけのビット列としてまとめて保存する
+ *
+ * フォーマット (ビッグエンディアン)
+ *   header   : magic(int) version(int) numOfParameters(int) numOfSequences(int)
+ *   labels   : [length(int) UTF-8のラベル] * numOfParameters
+ *   sequences: [LongPiecesの値(long)] * numOfSequences, [ミノ数(byte)] * numOfSequences
+ *   columns  : [結果のビット列(long) * ceil(numOfSequences / 64)] * numOfParameters
+ */
+public class CoverBinaryFile {
+    private static final int MAGIC = 0x53464356;  // "SFCV"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 4;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_PIECES = 22;  // LongPiecesに格納できるミノ数
+
+    public static void write(Path path, List<String> labels, List<LongPieces> piecesList, List<BitSet> results) throws IOException {
+        assert piecesList.size() == results.size();
+
+        int numOfParameters = labels.size();
+        int numOfSequences = piecesList.size();
+
+        // 一時ファイルに書き出してから置き換える
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+                buffer.putInt(MAGIC);
+                buffer.putInt(VERSION);
+                buffer.putInt(numOfParameters);
+                buffer.putInt(numOfSequences);
+
+                for (String label : labels) {
+                    byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+                    ensure(channel, buffer, Integer.BYTES);
+                    buffer.putInt(bytes.length);
+                    putBytes(channel, buffer, bytes);
+                }
+
+                for (LongPieces pieces : piecesList) {
+                    ensure(channel, buffer, Long.BYTES);
+                    buffer.putLong(pieces.getLong());
+                }
+
+                for (LongPieces pieces : piecesList) {
+                    ensure(channel, buffer, Byte.BYTES);
+                    buffer.put((byte) pieces.getPieces().size());
+                }
+
+                // 設定ごとに結果のビット列をつくる
+                int numOfWords = toNumOfWords(numOfSequences);
+                for (int parameterIndex = 0; parameterIndex < numOfParameters; parameterIndex++) {
+                    long[] words = new long[numOfWords];
+                    for (int sequenceIndex = 0; sequenceIndex < numOfSequences; sequenceIndex++) {
+                        if (results.get(sequenceIndex).get(parameterIndex))
+                            words[sequenceIndex >>> 6] |= 1L << sequenceIndex;
+                    }
+
+                    for (long word : words) {
+                        ensure(channel, buffer, Long.BYTES);
+                        buffer.putLong(word);
+                    }
+                }
+
+                flush(channel, buffer);
+            }
+
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush(channel, buffer);
+    }
+
+    // バッファに収まらないときは、バッファを書き出してから直接書き込む
+    private static void putBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        ensure(channel, buffer, bytes.length);
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+            return;
+        }
+
+        ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+        while (wrapped.hasRemaining())
+            channel.write(wrapped);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private static int toNumOfWords(int numOfSequences) {
+        return (numOfSequences + 63) >>> 6;
+    }
+
+    // ファイルの長さとヘッダーの件数が一致しないときは FinderParseException
+    public static CoverBinaryFile read(Path path) throws IOException, FinderParseException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            return read(buffer, path);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new FinderParseException("Broken cover binary file: path=" + path, e);
+        }
+    }
+
+    private static CoverBinaryFile read(ByteBuffer buffer, Path path) throws FinderParseException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt() != MAGIC)
+            throw new FinderParseException("Not a cover binary file: path=" + path);
+
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new FinderParseException("Unsupported cover binary version: version=" + version + ", path=" + path);
+
+        int numOfParameters = buffer.getInt();
+        int numOfSequences = buffer.getInt();
+        if (numOfParameters < 0 || numOfSequences < 0)
+            throw new FinderParseException("Invalid cover binary header: parameters=" + numOfParameters + ", sequences=" + numOfSequences + ", path=" + path);
+
+        // ラベルの長さを除いても収まらない件数は、配列をつくる前に弾く
+        if (buffer.remaining() < (long) Integer.BYTES * numOfParameters)
+            throw new FinderParseException("Cover binary file is too short: parameters=" + numOfParameters + ", path=" + path);
+
+        List<String> labels = new ArrayList<>();
+        for (int index = 0; index < numOfParameters; index++) {
+            int length = buffer.getInt();
+            if (length < 0 || buffer.remaining() < length)
+                throw new FinderParseException("Invalid cover binary label: length=" + length + ", path=" + path);
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            labels.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        int numOfWords = toNumOfWords(numOfSequences);
+        long expectedBytes = (long) (Long.BYTES + Byte.BYTES) * numOfSequences + (long) Long.BYTES * numOfWords * numOfParameters;
+        if (buffer.remaining() != expectedBytes)
+            throw new FinderParseException("Cover binary file length does not match header: expected=" + expectedBytes + ", actual=" + buffer.remaining() + ", path=" + path);
+
+        long[] keys = new long[numOfSequences];
+        buffer.asLongBuffer().get(keys);
+        buffer.position(buffer.position() + Long.BYTES * numOfSequences);
+
+        byte[] lengths = new byte[numOfSequences];
+        buffer.get(lengths);
+        for (byte length : lengths) {
+            if (length < 0 || MAX_PIECES < length)
+                throw new FinderParseException("Invalid cover binary sequence: length=" + length + ", path=" + path);
+        }
+
+        long[][] columns = new long[numOfParameters][numOfWords];
+        for (long[] column : columns) {
+            buffer.asLongBuffer().get(column);
+            buffer.position(buffer.position() + Long.BYTES * numOfWords);
+        }
+
+        return new CoverBinaryFile(labels, keys, lengths, columns);
+    }
+
+    private final List<String> labels;
+    private final long[] keys;
+    private final byte[] lengths;
+    private final long[][] columns;
+
+    private CoverBinaryFile(List<String> labels, long[] keys, byte[] lengths, long[][] columns) {
+        this.labels = labels;
+        this.keys = keys;
+        this.lengths = lengths;
+        this.columns = columns;
+    }
+
+    public List<String> getLabels() {
+        return Collections.unmodifiableList(labels);
+    }
+
+    public int getSequenceSize() {
+        return keys.length;
+    }
+
+    public List<Piece> getPieces(int sequenceIndex) {
+        // LongPiecesの値は、先頭のミノから順に7進数で格納されている
+        List<Piece> pieces = new ArrayList<>();
+        long value = keys[sequenceIndex];
+        for (int count = 0; count < lengths[sequenceIndex]; count++) {
+            pieces.add(Piece.getBlock((int) (value % 7)));
+            value = value / 7;
+        }
+        return pieces;
+    }
+
+    public boolean isSucceeded(int parameterIndex, int sequenceIndex) {
+        return (columns[parameterIndex][sequenceIndex >>> 6] & (1L << sequenceIndex)) != 0L;
+    }
+
+    public int countSucceeded(int parameterIndex) {
+        int count = 0;
+        for (long word : columns[parameterIndex])
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    // いずれかの設定で組めるミノ順の数
+    public int countOr() {
+        int count = 0;
+        for (int wordIndex = 0, size = toNumOfWords(keys.length); wordIndex < size; wordIndex++) {
+            long word = 0L;
+            for (long[] column : columns)
+                word |= column[wordIndex];
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // すべての設定で組めるミノ順の数
+    // 最後のワードの余ったビットは0で保存されているため、そのまま数えてよい
+    public int countAnd() {
+        if (columns.length == 0)
+            return keys.length;
+
+        int count = 0;
+        for (int wordIndex = 0, size = toNumOfWords(keys.length); wordIndex < size; wordIndex++) {
+            long word = -1L;
+            for (long[] column : columns)
+                word &= column[wordIndex];
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // coverコマンドが出力するCSVと同じ形式で書き出す
+    public void writeCSV(BufferedWriter writer) throws IOException {
+        writer.write("sequence,");
+        writer.write(String.join(",", labels));
+        writer.newLine();
+
+        for (int sequenceIndex = 0; sequenceIndex < keys.length; sequenceIndex++) {
+            String key = getPieces(sequenceIndex).stream().map(Piece::getName).collect(Collectors.joining());
+            writer.write(key + ",");
+
+            StringBuilder body = new StringBuilder();
+            for (int parameterIndex = 0; parameterIndex < columns.length; parameterIndex++) {
+                if (parameterIndex != 0)
+                    body.append(',');
+                body.append(isSucceeded(parameterIndex, sequenceIndex) ? 'O' : 'X');
+            }
+            writer.write(body.toString());
+
+            writer.newLine();
+        }
+    }
+}
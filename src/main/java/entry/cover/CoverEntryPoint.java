@@ -29,10 +29,12 @@ import exceptions.FinderException;
 import exceptions.FinderExecuteException;
 import exceptions.FinderInitializeException;
 import exceptions.FinderTerminateException;
+import lib.Metrics;
 import lib.Stopwatch;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
@@ -190,34 +192,48 @@ public class CoverEntryPoint implements EntryPoint {
         boolean isUsingPrioritized = settings.isUsingPriority();
 
         int parameterSize = parameters.size();
-        piecesList.forEach(pieces -> {
-            BitSet result = new BitSet(parameterSize);
 
-            List<Piece> pieceList = pieces.blockStream().collect(Collectors.toList());
-
-            for (int index = 0; index < parameterSize; index++) {
-                CoverParameter parameter = parameters.get(index);
-                List<MinoOperationWithKey> operations = parameter.getOperationList();
-                Field field = parameter.getField();
+        List<List<Piece>> pieceLists = piecesList.stream()
+                .map(pieces -> pieces.blockStream().collect(Collectors.toList()))
+                .collect(Collectors.toList());
 
-                int maxDepth = operations.size();
-                boolean success = settings.isUsingHold() ? cover.canBuildWithHold(
-                        field, operations.stream(), pieceList, height, reachableForCover, maxDepth
-                ) : cover.canBuild(
-                        field, operations.stream(), pieceList, height, reachableForCover, maxDepth
-                );
+        for (int index = 0; index < pieceLists.size(); index++) {
+            results.add(new BitSet(parameterSize));
+        }
 
-                if (success) {
-                    result.set(index);
+        // 設定ごとに、すべてのミノ順をまとめてチェックする
+        for (int parameterIndex = 0; parameterIndex < parameterSize; parameterIndex++) {
+            CoverParameter parameter = parameters.get(parameterIndex);
+            List<MinoOperationWithKey> operations = parameter.getOperationList();
+            Field field = parameter.getField();
 
-                    if (isUsingPrioritized) {
-                        break;
-                    }
+            // 優先度を使うときは、より優先度の高い設定で組めなかったミノ順だけをチェックする
+            List<Integer> targetIndexes = new ArrayList<>();
+            for (int index = 0; index < pieceLists.size(); index++) {
+                if (!isUsingPrioritized || results.get(index).isEmpty()) {
+                    targetIndexes.add(index);
                 }
             }
 
-            results.add(result);
-        });
+            List<List<Piece>> targets = targetIndexes.stream()
+                    .map(pieceLists::get)
+                    .collect(Collectors.toList());
+
+            int maxDepth = operations.size();
+            long validationStart = Metrics.startTimer();
+            boolean[] successes = settings.isUsingHold() ? cover.canBuildAllWithHold(
+                    field, operations, targets, height, reachableForCover, maxDepth
+            ) : cover.canBuildAll(
+                    field, operations, targets, height, reachableForCover, maxDepth
+            );
+            Metrics.stopTimer(Metrics.Timer.Validation, validationStart);
+
+            for (int index = 0; index < successes.length; index++) {
+                if (successes[index]) {
+                    results.get(targetIndexes.get(index)).set(parameterIndex);
+                }
+            }
+        }
 
         // Collect
         List<AtomicInteger> successCounters = IntStream.range(0, parameterSize)
@@ -290,6 +306,18 @@ public class CoverEntryPoint implements EntryPoint {
         MyFile base = new MyFile(settings.getOutputBaseFilePath());
         base.mkdirs();
 
+        long outputStart = Metrics.startTimer();
+        if (settings.getOutputFormat() == CoverOutputFormat.Binary) {
+            List<String> labels = parameters.stream().map(CoverParameter::getLabel).collect(Collectors.toList());
+            try {
+                CoverBinaryFile.write(Paths.get(settings.getOutputBaseFilePath()), labels, piecesList, results);
+            } catch (IOException e) {
+                throw new FinderExecuteException("Failed to output file", e);
+            }
+            Metrics.stopTimer(Metrics.Timer.Output, outputStart);
+            return;
+        }
+
         try (BufferedWriter bw = base.newBufferedWriter()) {
             // Header
             bw.write("sequence,");
@@ -318,6 +346,7 @@ public class CoverEntryPoint implements EntryPoint {
         } catch (IOException e) {
             throw new FinderExecuteException("Failed to output file", e);
         }
+        Metrics.stopTimer(Metrics.Timer.Output, outputStart);
     }
 
     private ReachableForCover getReachableForCover(int lastSoftdrop, int maxY) {
@@ -22,6 +22,7 @@ public enum CoverOptions {
     FieldPath(SingleArgOption.full("fp", "field-path", "path", "File path of field definition")),
     LogPath(SingleArgOption.full("lp", "log-path", "path", "File path of output log")),
     OutputBase(SingleArgOption.full("o", "output-base", "path", "Base file path of result to output")),
+    Format(SingleArgOption.full("f", "format", "csv or binary", "Format type for output")),
     ;
 
     private final OptionBuilder optionBuilder;
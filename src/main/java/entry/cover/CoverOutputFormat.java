@@ -0,0 +1,6 @@
+package entry.cover;
+
+public enum CoverOutputFormat {
+    CSV,
+    Binary,
+}
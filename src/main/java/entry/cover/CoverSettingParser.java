@@ -232,6 +232,11 @@ public class CoverSettingParser extends SettingParser<CoverSettings> {
         Optional<Integer> startingB2B = wrapper.getIntegerOption(CoverOptions.StartingB2B.optName());
         startingB2B.ifPresent(settings::setStartingB2B);
 
+        // 出力フォーマットの設定
+        Optional<String> format = wrapper.getStringOption(CoverOptions.Format.optName());
+        if (format.isPresent())
+            settings.setOutputFormat(format.get());
+
         return Optional.of(settings);
     }
 
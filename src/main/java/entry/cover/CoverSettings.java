@@ -9,9 +9,10 @@ import java.util.List;
 public class CoverSettings {
     private static final String DEFAULT_LOG_FILE_PATH = "output/last_output.txt";
     private static final String DEFAULT_OUTPUT_BASE_FILE_PATH = "output/cover.csv";
+    private static final String DEFAULT_OUTPUT_BINARY_FILE_PATH = "output/cover.bin";
 
     private String logFilePath = DEFAULT_LOG_FILE_PATH;
-    private String outputBaseFilePath = DEFAULT_OUTPUT_BASE_FILE_PATH;
+    private String outputBaseFilePath = null;
     private List<String> patterns = Collections.emptyList();
     private List<CoverParameter> parameters;
     private DropType dropType = DropType.Softdrop;
@@ -20,6 +21,7 @@ public class CoverSettings {
     private boolean isUsingPriority = false;
     private int lastSoftdrop = 0;
     private int startingB2B = 0;
+    private CoverOutputFormat outputFormat = CoverOutputFormat.CSV;
 
     // ********* Getter ************
     boolean isUsingHold() {
@@ -43,7 +45,13 @@ public class CoverSettings {
     }
 
     String getOutputBaseFilePath() {
-        return outputBaseFilePath;
+        if (outputBaseFilePath != null)
+            return outputBaseFilePath;
+        return outputFormat == CoverOutputFormat.Binary ? DEFAULT_OUTPUT_BINARY_FILE_PATH : DEFAULT_OUTPUT_BASE_FILE_PATH;
+    }
+
+    CoverOutputFormat getOutputFormat() {
+        return outputFormat;
     }
 
     DropType getDropType() {
@@ -180,4 +188,18 @@ public class CoverSettings {
     void setStartingB2B(int startingB2B) {
         this.startingB2B = startingB2B;
     }
+
+    void setOutputFormat(String format) throws FinderParseException {
+        switch (format.trim().toLowerCase()) {
+            case "csv":
+                this.outputFormat = CoverOutputFormat.CSV;
+                return;
+            case "bin":
+            case "binary":
+                this.outputFormat = CoverOutputFormat.Binary;
+                return;
+            default:
+                throw new FinderParseException("Unsupported format: format=" + format);
+        }
+    }
 }
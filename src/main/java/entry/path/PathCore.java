@@ -5,16 +5,16 @@ import common.buildup.BuildUp;
 import common.buildup.BuildUpStream;
 import common.datastore.BlockField;
 import common.datastore.MinoOperationWithKey;
-import common.datastore.Operation;
 import common.datastore.OperationWithKey;
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import common.order.ReverseOrderLookUp;
 import core.action.reachable.Reachable;
 import core.field.Field;
 import core.field.FieldFactory;
 import core.mino.Mino;
-import core.mino.Piece;
 import entry.path.output.FumenParser;
+import lib.Metrics;
 import searcher.pack.SizedBit;
 import searcher.pack.separable_mino.SeparableMino;
 import searcher.pack.task.PerfectPackSearcher;
@@ -22,10 +22,15 @@ import searcher.pack.task.Result;
 
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 class PathCore {
+    private static final int WINDOW_PER_THREAD = 2;
+
     private final PerfectPackSearcher searcher;
     private final FumenParser fumenParser;
     private final ThreadLocal<BuildUpStream> buildUpStreamThreadLocal;
@@ -50,126 +55,174 @@ class PathCore {
         this.reverseOrderLookUpSameDepth = new ReverseOrderLookUp(maxDepth, maxDepth);
     }
 
-    List<PathPair> run(Field field, SizedBit sizedBit) throws ExecutionException, InterruptedException {
-        List<Result> candidates = searcher.toList();
-        int maxClearLine = sizedBit.getHeight();
-        return candidates.parallelStream()
-                .map(result -> {
-                    LinkedList<MinoOperationWithKey> operations = result.getMemento()
-                            .getSeparableMinoStream(sizedBit.getWidth())
-                            .map(SeparableMino::toMinoOperationWithKey)
-                            .collect(Collectors.toCollection(LinkedList::new));
-
-                    // 地形の中で組むことができるoperationsをすべてリスト化する
-                    BuildUpStream buildUpStream2 = buildUpStreamThreadLocal.get();
-                    List<List<MinoOperationWithKey>> validOperaions = buildUpStream2.existsValidBuildPatternDirectly(field, operations)
-                            .collect(Collectors.toList());
-
-                    // 地形の中で組むことができるものがないときはスキップ
-                    if (validOperaions.isEmpty())
-                        return PathPair.EMPTY_PAIR;
-
-                    // 地形の中で組むことができるSetを作成
-                    HashSet<LongPieces> piecesSolution = validOperaions.stream()
-                            .map(
-                                    operationWithKeys -> operationWithKeys.stream().map(OperationWithKey::getPiece)
-                            )
-                            .map(LongPieces::new)
-                            .collect(Collectors.toCollection(HashSet::new));
-
-                    // 探索シーケンスの中で組むことができるSetを作成
-                    HashSet<LongPieces> piecesPattern = getPiecesPattern(piecesSolution);
-
-                    // 探索シーケンスの中で組むことができるものがないときはスキップ
-                    if (piecesPattern.isEmpty())
-                        return PathPair.EMPTY_PAIR;
-
-                    // 探索シーケンスの中でテト譜にするoperationsを選択する
-                    HashSet<LongPieces> validPieces = piecesPool.getValidPieces();
-                    List<MinoOperationWithKey> operationsToUrl = validOperaions.stream()
-                            .filter(o -> {
-                                return validPieces.contains(new LongPieces(o.stream().map(Operation::getPiece)));
-                            })
-                            .findFirst()
-                            .orElse(Collections.emptyList());
-
-                    // 譜面の作成
-                    String fumen = fumenParser.parse(operationsToUrl, field, maxClearLine);
-
-                    HashSet<LongPieces> validSpecifiedPatterns = getValidSpecifiedPatterns(field, operations, maxClearLine);
-
-                    return new PathPair(result, piecesSolution, piecesPattern, fumen, new ArrayList<>(operationsToUrl), validPieces, validSpecifiedPatterns);
-                })
-                .filter(pathPair -> pathPair != PathPair.EMPTY_PAIR)
-                .collect(Collectors.toList());
+    // blockField: nullのときは絞り込まない
+    List<PathPair> run(Field field, SizedBit sizedBit, BlockField blockField) throws ExecutionException, InterruptedException {
+        return stream(field, sizedBit, blockField, pathPairs -> pathPairs.collect(Collectors.toList()));
     }
 
-    List<PathPair> run(Field field, SizedBit sizedBit, BlockField blockField) throws ExecutionException, InterruptedException {
+    // PathPairをリストにまとめず、探索結果の順番どおりにconsumerへ渡す
+    // 探索結果を順に取り出して、PathPairへの変換だけを並列に行う
+    // 変換中と受け渡し待ちのPathPairは、スレッド数の2倍までに抑える
+    void run(Field field, SizedBit sizedBit, BlockField blockField, Consumer<PathPair> consumer) throws ExecutionException, InterruptedException {
         int maxClearLine = sizedBit.getHeight();
+        searcher.stream(resultStream -> {
+            int window = ForkJoinTask.getPool().getParallelism() * WINDOW_PER_THREAD;
+            Deque<ForkJoinTask<PathPair>> tasks = new ArrayDeque<>();
+            Iterator<Result> iterator = resultStream.sequential().iterator();
+            while (iterator.hasNext()) {
+                if (window <= tasks.size())
+                    accept(tasks.pollFirst().join(), consumer);
+
+                Result result = iterator.next();
+                ForkJoinTask<PathPair> task = ForkJoinTask.adapt(() -> toPathPair(field, sizedBit, maxClearLine, blockField, result));
+                task.fork();
+                tasks.addLast(task);
+            }
+
+            while (!tasks.isEmpty())
+                accept(tasks.pollFirst().join(), consumer);
+
+            return true;
+        });
+    }
 
-        List<Result> candidates = searcher.stream(resultStream -> {
-            return resultStream
-                    .filter(result -> {
-                        LinkedList<MinoOperationWithKey> operations = result.getMemento()
-                                .getSeparableMinoStream(sizedBit.getWidth())
-                                .map(SeparableMino::toMinoOperationWithKey)
-                                .collect(Collectors.toCollection(LinkedList::new));
-
-                        BlockField mergedField = new BlockField(maxClearLine);
-                        operations.forEach(operation -> {
-                            Field operationField = createField(operation, maxClearLine);
-                            mergedField.merge(operationField, operation.getPiece());
-                        });
-
-                        return mergedField.containsAll(blockField);
-                    })
-                    .collect(Collectors.toList());
+    private void accept(PathPair pathPair, Consumer<PathPair> consumer) {
+        if (pathPair != PathPair.EMPTY_PAIR)
+            consumer.accept(pathPair);
+    }
+
+    // 探索結果をリストにまとめず、見つかった順に絞り込みとPathPairへの変換を行う
+    // 組めない結果はその場で捨てるため、探索結果をすべて保持しない
+    private <T> T stream(Field field, SizedBit sizedBit, BlockField blockField, Function<Stream<PathPair>, T> callback) throws ExecutionException, InterruptedException {
+        int maxClearLine = sizedBit.getHeight();
+        return searcher.stream(resultStream -> {
+            Stream<PathPair> pathPairs = resultStream.map(result -> toPathPair(field, sizedBit, maxClearLine, blockField, result));
+            return callback.apply(pathPairs.filter(pathPair -> pathPair != PathPair.EMPTY_PAIR));
         });
+    }
 
-        return candidates.stream()
-                .map(result -> {
-                    LinkedList<MinoOperationWithKey> operations = result.getMemento()
-                            .getSeparableMinoStream(sizedBit.getWidth())
-                            .map(SeparableMino::toMinoOperationWithKey)
-                            .collect(Collectors.toCollection(LinkedList::new));
-
-                    // 地形の中で組むことができるoperationsを一つ作成
-                    BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
-                    List<MinoOperationWithKey> sampleOperations = buildUpStream.existsValidBuildPatternDirectly(field, operations)
-                            .findFirst()
-                            .orElse(Collections.emptyList());
-
-                    // 地形の中で組むことができるものがないときはスキップ
-                    if (sampleOperations.isEmpty())
-                        return PathPair.EMPTY_PAIR;
-
-                    // 地形の中で組むことができるSetを作成
-                    HashSet<LongPieces> piecesSolution = buildUpStream.existsValidBuildPatternDirectly(field, operations)
-                            .map(operationWithKeys -> operationWithKeys.stream()
-                                    .map(OperationWithKey::getPiece)
-                                    .collect(Collectors.toList())
-                            )
-                            .map(LongPieces::new)
-                            .collect(Collectors.toCollection(HashSet::new));
-
-                    // 探索シーケンスの中で組むことができるSetを作成
-                    HashSet<LongPieces> piecesPattern = getPiecesPattern(piecesSolution);
-
-                    // 探索シーケンスの中で組むことができるものがないときはスキップ
-                    if (piecesPattern.isEmpty())
-                        return PathPair.EMPTY_PAIR;
-
-                    // 譜面の作成
-                    String fumen = fumenParser.parse(sampleOperations, field, maxClearLine);
-
-                    HashSet<LongPieces> validPieces = piecesPool.getValidPieces();
-
-                    HashSet<LongPieces> validSpecifiedPatterns = getValidSpecifiedPatterns(field, operations, maxClearLine);
-
-                    return new PathPair(result, piecesSolution, piecesPattern, fumen, new ArrayList<>(sampleOperations), validPieces, validSpecifiedPatterns);
-                })
-                .filter(pathPair -> pathPair != PathPair.EMPTY_PAIR)
+    private PathPair toPathPair(Field field, SizedBit sizedBit, int maxClearLine, BlockField blockField, Result result) {
+        if (blockField == null)
+            return createPathPair(field, sizedBit, maxClearLine, result);
+
+        if (!containsAll(result, sizedBit, maxClearLine, blockField))
+            return PathPair.EMPTY_PAIR;
+
+        return createPathPairWithBlockField(field, sizedBit, maxClearLine, result);
+    }
+
+    private PathPair createPathPair(Field field, SizedBit sizedBit, int maxClearLine, Result result) {
+        LinkedList<MinoOperationWithKey> operations = result.getMemento()
+                .getSeparableMinoStream(sizedBit.getWidth())
+                .map(SeparableMino::toMinoOperationWithKey)
+                .collect(Collectors.toCollection(LinkedList::new));
+
+        // 地形の中で組むことができるoperationsをすべてリスト化する
+        BuildUpStream buildUpStream2 = buildUpStreamThreadLocal.get();
+        long buildUpStart = Metrics.startTimer();
+        List<List<MinoOperationWithKey>> validOperaions = buildUpStream2.existsValidBuildPatternDirectly(field, operations)
                 .collect(Collectors.toList());
+        Metrics.stopTimer(Metrics.Timer.BuildUp, buildUpStart);
+
+        // 地形の中で組むことができるものがないときはスキップ
+        if (validOperaions.isEmpty())
+            return PathPair.EMPTY_PAIR;
+
+        // 地形の中で組むことができるSetを作成
+        HashSet<LongPieces> piecesSolution = validOperaions.stream()
+                .map(
+                        operationWithKeys -> operationWithKeys.stream().map(OperationWithKey::getPiece)
+                )
+                .map(LongPieces::new)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        // 探索シーケンスの中で組むことができるSetを作成
+        HashSet<LongPieces> piecesPattern = getPiecesPattern(piecesSolution);
+
+        // 探索シーケンスの中で組むことができるものがないときはスキップ
+        if (piecesPattern.isEmpty())
+            return PathPair.EMPTY_PAIR;
+
+        // 探索シーケンスの中でテト譜にするoperationsを選択する
+        LongPiecesSet validPieces = piecesPool.getValidPieces();
+        List<MinoOperationWithKey> operationsToUrl = validOperaions.stream()
+                .filter(o -> validPieces.containsLong(toLong(o), o.size()))
+                .findFirst()
+                .orElse(Collections.emptyList());
+
+        // 譜面の作成
+        String fumen = fumenParser.parse(operationsToUrl, field, maxClearLine);
+
+        HashSet<LongPieces> validSpecifiedPatterns = getValidSpecifiedPatterns(field, operations, maxClearLine);
+
+        return new PathPair(piecesSolution, piecesPattern, fumen, new ArrayList<>(operationsToUrl), new ArrayList<>(validOperaions.get(0)), containsDeletedLine(operations), validPieces, validSpecifiedPatterns);
+    }
+
+    private boolean containsAll(Result result, SizedBit sizedBit, int maxClearLine, BlockField blockField) {
+        LinkedList<MinoOperationWithKey> operations = result.getMemento()
+                .getSeparableMinoStream(sizedBit.getWidth())
+                .map(SeparableMino::toMinoOperationWithKey)
+                .collect(Collectors.toCollection(LinkedList::new));
+
+        BlockField mergedField = new BlockField(maxClearLine);
+        operations.forEach(operation -> {
+            Field operationField = createField(operation, maxClearLine);
+            mergedField.merge(operationField, operation.getPiece());
+        });
+
+        return mergedField.containsAll(blockField);
+    }
+
+    private PathPair createPathPairWithBlockField(Field field, SizedBit sizedBit, int maxClearLine, Result result) {
+        LinkedList<MinoOperationWithKey> operations = result.getMemento()
+                .getSeparableMinoStream(sizedBit.getWidth())
+                .map(SeparableMino::toMinoOperationWithKey)
+                .collect(Collectors.toCollection(LinkedList::new));
+
+        // 地形の中で組むことができるoperationsを一つ作成
+        BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
+        long buildUpStart = Metrics.startTimer();
+        List<MinoOperationWithKey> sampleOperations = buildUpStream.existsValidBuildPatternDirectly(field, operations)
+                .findFirst()
+                .orElse(Collections.emptyList());
+
+        // 地形の中で組むことができるものがないときはスキップ
+        if (sampleOperations.isEmpty()) {
+            Metrics.stopTimer(Metrics.Timer.BuildUp, buildUpStart);
+            return PathPair.EMPTY_PAIR;
+        }
+
+        // 地形の中で組むことができるSetを作成
+        HashSet<LongPieces> piecesSolution = buildUpStream.existsValidBuildPatternDirectly(field, operations)
+                .map(operationWithKeys -> operationWithKeys.stream()
+                        .map(OperationWithKey::getPiece)
+                        .collect(Collectors.toList())
+                )
+                .map(LongPieces::new)
+                .collect(Collectors.toCollection(HashSet::new));
+        Metrics.stopTimer(Metrics.Timer.BuildUp, buildUpStart);
+
+        // 探索シーケンスの中で組むことができるSetを作成
+        HashSet<LongPieces> piecesPattern = getPiecesPattern(piecesSolution);
+
+        // 探索シーケンスの中で組むことができるものがないときはスキップ
+        if (piecesPattern.isEmpty())
+            return PathPair.EMPTY_PAIR;
+
+        // 譜面の作成
+        String fumen = fumenParser.parse(sampleOperations, field, maxClearLine);
+
+        LongPiecesSet validPieces = piecesPool.getValidPieces();
+
+        HashSet<LongPieces> validSpecifiedPatterns = getValidSpecifiedPatterns(field, operations, maxClearLine);
+
+        List<MinoOperationWithKey> sampleOperationList = new ArrayList<>(sampleOperations);
+        return new PathPair(piecesSolution, piecesPattern, fumen, sampleOperationList, sampleOperationList, containsDeletedLine(operations), validPieces, validSpecifiedPatterns);
+    }
+
+    private boolean containsDeletedLine(List<MinoOperationWithKey> operations) {
+        return operations.stream()
+                .anyMatch(operationWithKey -> operationWithKey.getNeedDeletedKey() != 0L);
     }
 
     private Field createField(MinoOperationWithKey key, int maxClearLine) {
@@ -180,55 +233,24 @@ class PathCore {
         return test;
     }
 
+    // LongPiecesをつくらずに、getLong() と同じ値にする
+    private long toLong(List<MinoOperationWithKey> operations) {
+        long value = 0L;
+        for (int index = 0; index < operations.size(); index++)
+            value += LongPieces.getScale(index) * operations.get(index).getPiece().getNumber();
+        return value;
+    }
+
     private HashSet<LongPieces> getPiecesPattern(HashSet<LongPieces> piecesSolution) {
-        HashSet<LongPieces> validPieces = piecesPool.getValidPieces();
-        HashSet<LongPieces> allPieces = piecesPool.getAllPieces();
+        LongPiecesSet validPieces = piecesPool.getValidPieces();
+        LongPiecesSet allPieces = piecesPool.getAllPieces();
 
         if (piecesPool.isHoldReduced()) {
             // allとvalidが異なる
-            return piecesSolution.stream()
-                    .filter(validPieces::contains)
-                    .flatMap(blocks -> {
-                        return reverseOrderLookUpReduceDepth.parse(blocks.getPieces())
-                                .map(stream -> stream.collect(Collectors.toCollection(ArrayList::new)))
-                                .flatMap(blocksWithHold -> {
-                                    int nullIndex = blocksWithHold.indexOf(null);
-                                    if (nullIndex < 0)
-                                        return Stream.of(new LongPieces(blocksWithHold));
-
-                                    Stream.Builder<LongPieces> builder = Stream.builder();
-                                    for (Piece piece : Piece.values()) {
-                                        blocksWithHold.set(nullIndex, piece);
-                                        builder.accept(new LongPieces(blocksWithHold));
-                                    }
-                                    return builder.build();
-                                });
-                    })
-                    .filter(allPieces::contains)
-                    .collect(Collectors.toCollection(HashSet::new));
+            return getPiecesPatternWithHold(piecesSolution, reverseOrderLookUpReduceDepth, validPieces, allPieces);
         } else if (isUsingHold) {
             // allとvalidが同じだが、ホールドが使える
-            return piecesSolution.stream()
-                    .filter(validPieces::contains)
-                    .flatMap(blocks -> {
-                        return reverseOrderLookUpSameDepth.parse(blocks.getPieces())
-                                .map(stream -> stream.collect(Collectors.toCollection(ArrayList::new)))
-                                .flatMap(blocksWithHold -> {
-                                    int nullIndex = blocksWithHold.indexOf(null);
-                                    if (nullIndex < 0)
-                                        return Stream.of(new LongPieces(blocksWithHold));
-
-                                    Stream.Builder<LongPieces> builder = Stream.builder();
-                                    for (Piece piece : Piece.values()) {
-                                        blocksWithHold.set(nullIndex, piece);
-                                        builder.accept(new LongPieces(blocksWithHold));
-                                    }
-                                    return builder.build();
-                                });
-                    })
-                    .filter(allPieces::contains)
-                    .collect(Collectors.toCollection(HashSet::new));
-
+            return getPiecesPatternWithHold(piecesSolution, reverseOrderLookUpSameDepth, validPieces, allPieces);
         } else {
             // allとvalidが同じで、ホールドも使えない
             // そのまま絞り込みだけ実施
@@ -238,8 +260,32 @@ class PathCore {
         }
     }
 
+    // ホールドで並び替える前のミノ順を、longのまま逆算して絞り込む
+    private HashSet<LongPieces> getPiecesPatternWithHold(HashSet<LongPieces> piecesSolution, ReverseOrderLookUp reverseOrderLookUp, LongPiecesSet validPieces, LongPiecesSet allPieces) {
+        int fromDepth = reverseOrderLookUp.getFromDepth();
+        HashSet<LongPieces> piecesPattern = new HashSet<>();
+        for (LongPieces pieces : piecesSolution) {
+            if (!validPieces.contains(pieces))
+                continue;
+
+            reverseOrderLookUp.parseAndExpand(pieces.getLong(), value -> {
+                if (allPieces.containsLong(value, fromDepth))
+                    piecesPattern.add(LongPieces.fromLong(value, fromDepth));
+            });
+        }
+        return piecesPattern;
+    }
+
     private HashSet<LongPieces> getValidSpecifiedPatterns(Field field, LinkedList<MinoOperationWithKey> operations, int maxClearLine) {
-        HashSet<LongPieces> allSpecifiedPieces = piecesPool.getAllSpecifiedPieces();
+        long start = Metrics.startTimer();
+        HashSet<LongPieces> validSpecifiedPatterns = filterValidSpecifiedPatterns(field, operations, maxClearLine);
+        Metrics.stopTimer(Metrics.Timer.Validation, start);
+        return validSpecifiedPatterns;
+    }
+
+    // パターンで指定されたミノ順のうち、その順番で組めるものに絞り込む
+    private HashSet<LongPieces> filterValidSpecifiedPatterns(Field field, LinkedList<MinoOperationWithKey> operations, int maxClearLine) {
+        LongPiecesSet allSpecifiedPieces = piecesPool.getAllSpecifiedPieces();
 
         Reachable reachable = reachableThreadLocal.get();
 
@@ -24,13 +24,18 @@ import exceptions.FinderException;
 import exceptions.FinderExecuteException;
 import exceptions.FinderInitializeException;
 import exceptions.FinderTerminateException;
+import lib.Metrics;
 import lib.Stopwatch;
 import searcher.pack.InOutPairField;
 import searcher.pack.SeparableMinos;
 import searcher.pack.SizedBit;
 import searcher.pack.calculator.BasicSolutions;
 import searcher.pack.memento.SolutionFilter;
+import searcher.pack.mino_fields.RecursiveMinoFields;
+import searcher.pack.solutions.BasicSolutionsCalculator;
+import searcher.pack.solutions.BasicSolutionsFile;
 import searcher.pack.solutions.FilterOnDemandBasicSolutions;
+import searcher.pack.solutions.MappedBasicSolutions;
 import searcher.pack.task.BasicMinoPackingHelper;
 import searcher.pack.task.Field4x10MinoPackingHelper;
 import searcher.pack.task.PerfectPackSearcher;
@@ -38,7 +43,12 @@ import searcher.pack.task.TaskResultHelper;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -186,25 +196,37 @@ public class PathEntryPoint implements EntryPoint {
         output("  -> Stopwatch start");
         output("     ... searching");
 
-        Stopwatch stopwatch2 = Stopwatch.createStartedStopwatch();
-        ValidPiecesPool validPiecesPool = createValidPiecesPool(maxDepth, patterns, isUsingHold);
-        PathCore pathCore = createPathCore(field, maxClearLine, maxDepth, minoFactory, colorConverter, sizedBit, solutionFilter, isUsingHold, basicSolutions, threadCount, validPiecesPool);
-        List<PathPair> pathPairList = run(pathCore, field, sizedBit, reservedBlocks);
-        stopwatch2.stop();
-
-        output("     ... done");
-        output("  -> Stopwatch stop : " + stopwatch2.toMessage(TimeUnit.MILLISECONDS));
+        // 見つかった順に出力できるときは、探索中に書き出してPathPairを保持しない
+        OutputType outputType = settings.getOutputType();
+        PathOutput pathOutput = createOutput(outputType, generator, maxDepth, minoFactory, colorConverter);
+        // 探索に失敗したときも閉じる。nullのときは何もしない
+        try (PathPairWriter pathPairWriter = pathOutput.openWriter(field, sizedBit).orElse(null)) {
+            Stopwatch stopwatch2 = Stopwatch.createStartedStopwatch();
+            ValidPiecesPool validPiecesPool = createValidPiecesPool(maxDepth, patterns, isUsingHold);
+            PathCore pathCore = createPathCore(field, maxClearLine, maxDepth, minoFactory, colorConverter, sizedBit, solutionFilter, isUsingHold, basicSolutions, threadCount, validPiecesPool);
+            List<PathPair> pathPairList = pathPairWriter != null
+                    ? run(pathCore, field, sizedBit, reservedBlocks, pathPairWriter)
+                    : run(pathCore, field, sizedBit, reservedBlocks);
+            stopwatch2.stop();
+
+            output("     ... done");
+            output("  -> Stopwatch stop : " + stopwatch2.toMessage(TimeUnit.MILLISECONDS));
 
-        output();
+            output();
 
-        // ========================================
+            // ========================================
 
-        output("# Output file");
-        OutputType outputType = settings.getOutputType();
-        PathOutput pathOutput = createOutput(outputType, generator, maxDepth, minoFactory, colorConverter);
-        int numOfAllPatternSequences = validPiecesPool.getAllSpecifiedPieces().size();
-        PathPairs pathPairs = new PathPairs(pathPairList, numOfAllPatternSequences);
-        pathOutput.output(pathPairs, field, sizedBit);
+            output("# Output file");
+            long outputStart = Metrics.startTimer();
+            if (pathPairWriter != null) {
+                pathPairWriter.finish();
+            } else {
+                int numOfAllPatternSequences = validPiecesPool.getAllSpecifiedPieces().size();
+                PathPairs pathPairs = new PathPairs(pathPairList, numOfAllPatternSequences);
+                pathOutput.output(pathPairs, field, sizedBit);
+            }
+            Metrics.stopTimer(Metrics.Timer.Output, outputStart);
+        }
 
         output();
 
@@ -238,7 +260,13 @@ public class PathEntryPoint implements EntryPoint {
 
     private BasicSolutions calculateBasicSolutions(Field field, MinoFactory minoFactory, MinoShifter minoShifter, SizedBit sizedBit, SolutionFilter solutionFilter) throws FinderInitializeException {
         // ミノのリストを作成する
-        SeparableMinos separableMinos = SeparableMinos.createSeparableMinos(minoFactory, minoShifter, sizedBit);
+        SeparableMinos separableMinos = ResidentBasicSolutions.getSeparableMinos(minoFactory, minoShifter, sizedBit);
+
+        // 基本パターンをファイルから読み込む
+        if (settings.isUsingSolutionsCache()) {
+            Map<ColumnField, RecursiveMinoFields> solutions = loadBasicSolutions(separableMinos, sizedBit);
+            return new MappedBasicSolutions(solutions, solutionFilter);
+        }
 
         // 基本パターンを計算
         int cachedMinBit = settings.getCachedMinBit();
@@ -247,6 +275,38 @@ public class PathEntryPoint implements EntryPoint {
         return new FilterOnDemandBasicSolutions(separableMinos, sizedBit, maxOuterBoard, predicate, solutionFilter);
     }
 
+    private Map<ColumnField, RecursiveMinoFields> loadBasicSolutions(SeparableMinos separableMinos, SizedBit sizedBit) throws FinderInitializeException {
+        BasicSolutionsFile file = new BasicSolutionsFile(Paths.get(settings.getSolutionsCachePath()));
+
+        try {
+            // serveコマンドで、すでに読み込んでいるときは再利用する
+            Optional<Map<ColumnField, RecursiveMinoFields>> resident = ResidentBasicSolutions.getSolutions(file.getPath(), sizedBit);
+            if (resident.isPresent()) {
+                output("     ... reuse resident solutions of " + file.getPath());
+                return resident.get();
+            }
+
+            Optional<Map<ColumnField, RecursiveMinoFields>> cached = file.read(separableMinos, sizedBit);
+            if (cached.isPresent()) {
+                output("     ... load from " + file.getPath());
+                ResidentBasicSolutions.putSolutions(file.getPath(), sizedBit, cached.get());
+                return cached.get();
+            }
+
+            // キャッシュがないときは、すべて計算してから保存する
+            BasicSolutionsCalculator calculator = new BasicSolutionsCalculator(separableMinos, sizedBit);
+            Map<ColumnField, RecursiveMinoFields> solutions = calculator.calculate();
+            file.write(solutions, separableMinos, sizedBit);
+            output("     ... save to " + file.getPath());
+            ResidentBasicSolutions.putSolutions(file.getPath(), sizedBit, solutions);
+            return solutions;
+        } catch (IOException e) {
+            throw new FinderInitializeException("Failed to use basic solutions cache: path=" + file.getPath(), e);
+        } catch (FinderExecuteException e) {
+            throw new FinderInitializeException(e);
+        }
+    }
+
     private Predicate<ColumnField> createPredicate(int cachedMinBit) throws FinderInitializeException {
         if (cachedMinBit == 0)
             return columnField -> true;
@@ -310,15 +370,31 @@ public class PathEntryPoint implements EntryPoint {
 
     private List<PathPair> run(PathCore pathCore, Field field, SizedBit sizedBit, BlockField blockField) throws FinderExecuteException {
         try {
-            if (blockField == null)
-                return pathCore.run(field, sizedBit);
-            else
-                return pathCore.run(field, sizedBit, blockField);
+            return pathCore.run(field, sizedBit, blockField);
         } catch (InterruptedException | ExecutionException e) {
             throw new FinderExecuteException(e);
         }
     }
 
+    // 書き出したPathPairは保持しないため、空のリストを返す
+    private List<PathPair> run(PathCore pathCore, Field field, SizedBit sizedBit, BlockField blockField, PathPairWriter writer) throws FinderExecuteException {
+        try {
+            pathCore.run(field, sizedBit, blockField, pathPair -> {
+                long start = Metrics.startTimer();
+                writer.write(pathPair);
+                Metrics.stopTimer(Metrics.Timer.Output, start);
+            });
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            // 書き出しは探索のスレッドで行うため、失敗は ExecutionException に包まれて届く
+            if (e.getCause() instanceof UncheckedIOException)
+                throw new FinderExecuteException("Failed to output file", e.getCause().getCause());
+            throw new FinderExecuteException(e);
+        } catch (InterruptedException e) {
+            throw new FinderExecuteException(e);
+        }
+    }
+
     private PathOutput createOutput(OutputType outputType, PatternGenerator generator, int maxDepth, MinoFactory minoFactory, ColorConverter colorConverter) throws FinderExecuteException, FinderInitializeException {
         switch (outputType) {
             case CSV:
@@ -25,7 +25,8 @@ public enum PathOptions {
     LogPath(SingleArgOption.full("lp", "log-path", "path", "File path of output log")),
     OutputBase(SingleArgOption.full("o", "output-base", "path", "Base file path of result to output")),
     Threads(SingleArgOption.full("th", "threads", "number", "Specify number of used thread")),
-    CachedBit(SingleArgOption.full("cb", "cached-bit", "int", "Minimum bit of cached basic solution used by inner algorithm")),;
+    CachedBit(SingleArgOption.full("cb", "cached-bit", "int", "Minimum bit of cached basic solution used by inner algorithm")),
+    SolutionsCachePath(SingleArgOption.full("sc", "solutions-cache", "path", "File path to save and reuse basic solutions")),;
 
     private final OptionBuilder optionBuilder;
 
@@ -4,8 +4,8 @@ import common.datastore.MinoOperationWithKey;
 import common.datastore.OperationWithKey;
 import common.datastore.PieceCounter;
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import core.mino.Piece;
-import searcher.pack.task.Result;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -15,43 +15,35 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class PathPair implements HaveSet<LongPieces> {
-    static final PathPair EMPTY_PAIR = new PathPair(null, new HashSet<>(), null, "", Collections.emptyList(), new HashSet<>(), new HashSet<>());
+    static final PathPair EMPTY_PAIR = new PathPair(new HashSet<>(), null, "", Collections.emptyList(), Collections.emptyList(), false, new LongPiecesSet(), new HashSet<>());
 
-    private final Result result;
+    // 探索結果 (Result) は保持しない。手順を取り出した後は、途中の状態をたどる必要がないため
     private final HashSet<LongPieces> piecesSolution;
     private final HashSet<LongPieces> piecesPattern;
     private final String fumen;
     private final List<MinoOperationWithKey> sampleOperations;
+    private final List<MinoOperationWithKey> buildOperations;
     private final boolean deletedLine;
-    private final HashSet<LongPieces> validPieces;
+    private final LongPiecesSet validPieces;
 
     private final HashSet<LongPieces> validSpecifiedPatterns;
 
-    public PathPair(Result result, HashSet<LongPieces> piecesSolution, HashSet<LongPieces> piecesPattern, String fumen, List<MinoOperationWithKey> sampleOperations, HashSet<LongPieces> validPieces, HashSet<LongPieces> validSpecifiedPatterns) {
-        this.result = result;
+    public PathPair(HashSet<LongPieces> piecesSolution, HashSet<LongPieces> piecesPattern, String fumen, List<MinoOperationWithKey> sampleOperations, List<MinoOperationWithKey> buildOperations, boolean deletedLine, LongPiecesSet validPieces, HashSet<LongPieces> validSpecifiedPatterns) {
         this.piecesSolution = piecesSolution;
         this.piecesPattern = piecesPattern;
         this.fumen = fumen;
         this.sampleOperations = sampleOperations;
-        this.deletedLine = result != null && containsDeletedLine();
+        this.buildOperations = buildOperations;
+        this.deletedLine = deletedLine;
         this.validPieces = validPieces;
         this.validSpecifiedPatterns = validSpecifiedPatterns;
     }
 
-    private boolean containsDeletedLine() {
-        return result.getMemento().getRawOperationsStream()
-                .anyMatch(operationWithKey -> operationWithKey.getNeedDeletedKey() != 0L);
-    }
-
     @Override
     public Set<LongPieces> getSet(boolean specified_only) {
         return specified_only ? blocksHashSetForSpecified() : blocksHashSetForPattern();
     }
 
-    public Result getResult() {
-        return result;
-    }
-
     public String getFumen() {
         return fumen;
     }
@@ -92,6 +84,11 @@ public class PathPair implements HaveSet<LongPieces> {
         return sampleOperations;
     }
 
+    // 地形の中で組むことができる手順のうち、最初に見つかったもの (パターンには依存しない)
+    public List<MinoOperationWithKey> getBuildOperations() {
+        return buildOperations;
+    }
+
     public String getUsingBlockName() {
         return sampleOperations.stream()
                 .map(OperationWithKey::getPiece)
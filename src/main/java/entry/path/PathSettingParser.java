@@ -136,6 +136,9 @@ public class PathSettingParser extends SettingParser<PathSettings> {
         Optional<Integer> cachedMinBit = wrapper.getIntegerOption(PathOptions.CachedBit.optName());
         cachedMinBit.ifPresent(settings::setCachedMinBit);
 
+        Optional<String> solutionsCachePath = wrapper.getStringOption(PathOptions.SolutionsCachePath.optName());
+        solutionsCachePath.ifPresent(settings::setSolutionsCachePath);
+
         // ログファイルの設定
         Optional<String> logFilePath = wrapper.getStringOption(PathOptions.LogPath.optName());
         logFilePath.ifPresent(settings::setLogFilePath);
@@ -27,6 +27,7 @@ public class PathSettings {
     private OutputType outputType = OutputType.HTML;
     private boolean isSplit = false;
     private int cachedMinBit = 0;
+    private String solutionsCachePath = null;
     private BlockField reservedBlock = null;
     private boolean isReserved = false;
     private DropType dropType = DropType.Softdrop;
@@ -78,6 +79,14 @@ public class PathSettings {
         return cachedMinBit;
     }
 
+    String getSolutionsCachePath() {
+        return solutionsCachePath;
+    }
+
+    boolean isUsingSolutionsCache() {
+        return solutionsCachePath != null;
+    }
+
     BlockField getReservedBlock() {
         return reservedBlock;
     }
@@ -214,6 +223,10 @@ public class PathSettings {
         this.cachedMinBit = minBit;
     }
 
+    void setSolutionsCachePath(String path) {
+        this.solutionsCachePath = path;
+    }
+
     void setReserved(Boolean isReversed) {
         this.isReserved = isReversed;
     }
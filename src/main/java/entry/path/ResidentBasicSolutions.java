@@ -0,0 +1,71 @@
+package entry.path;
+
+import core.column_field.ColumnField;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import searcher.pack.SeparableMinos;
+import searcher.pack.SizedBit;
+import searcher.pack.mino_fields.RecursiveMinoFields;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * serveコマンドで同じプロセスを使い続けるとき、SizedBitごとの計算結果をプロセス内に保持する
+ * 有効にしていないときは保持せず、これまでどおり毎回計算する
+ * serveが終わるときは disable() で無効に戻し、保持した結果も捨てる
+ */
+public class ResidentBasicSolutions {
+    private static volatile boolean isEnabled = false;
+
+    private static final ConcurrentHashMap<String, SeparableMinos> separableMinosMap = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Map<ColumnField, RecursiveMinoFields>> solutionsMap = new ConcurrentHashMap<>();
+
+    public static void enable() {
+        isEnabled = true;
+    }
+
+    public static void disable() {
+        isEnabled = false;
+        separableMinosMap.clear();
+        solutionsMap.clear();
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    private static String toKey(SizedBit sizedBit) {
+        return sizedBit.getWidth() + "x" + sizedBit.getHeight();
+    }
+
+    // ファイルが置き換えられたときに古い結果を使わないように、更新日時とサイズもキーに含める
+    private static String toKey(Path path, SizedBit sizedBit) throws IOException {
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+        return path.toAbsolutePath().normalize() + "@" + toKey(sizedBit) + "@" + lastModified + "@" + size;
+    }
+
+    // SeparableMinosはフィールドによらず、SizedBitだけで決まる
+    static SeparableMinos getSeparableMinos(MinoFactory minoFactory, MinoShifter minoShifter, SizedBit sizedBit) {
+        if (!isEnabled)
+            return SeparableMinos.createSeparableMinos(minoFactory, minoShifter, sizedBit);
+        return separableMinosMap.computeIfAbsent(toKey(sizedBit), key -> SeparableMinos.createSeparableMinos(minoFactory, minoShifter, sizedBit));
+    }
+
+    // ファイルから読み込んだ基本パターン。フィルターをかける前のものを保持する
+    static Optional<Map<ColumnField, RecursiveMinoFields>> getSolutions(Path path, SizedBit sizedBit) throws IOException {
+        if (!isEnabled || !Files.isRegularFile(path))
+            return Optional.empty();
+        return Optional.ofNullable(solutionsMap.get(toKey(path, sizedBit)));
+    }
+
+    static void putSolutions(Path path, SizedBit sizedBit, Map<ColumnField, RecursiveMinoFields> solutions) throws IOException {
+        if (isEnabled)
+            solutionsMap.put(toKey(path, sizedBit), solutions);
+    }
+}
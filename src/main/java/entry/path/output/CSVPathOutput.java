@@ -1,6 +1,5 @@
 package entry.path.output;
 
-import common.buildup.BuildUpStream;
 import common.datastore.MinoOperationWithKey;
 import common.datastore.Operations;
 import common.datastore.blocks.LongPieces;
@@ -11,16 +10,13 @@ import entry.path.*;
 import exceptions.FinderExecuteException;
 import exceptions.FinderInitializeException;
 import searcher.pack.SizedBit;
-import searcher.pack.separable_mino.SeparableMino;
-import searcher.pack.task.Result;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 public class CSVPathOutput implements PathOutput {
     private static final String FILE_EXTENSION = ".csv";
@@ -74,6 +70,55 @@ public class CSVPathOutput implements PathOutput {
         return path.substring(0, pointIndex);
     }
 
+    // 少ないパターンでカバーできるパスを求めるときは、すべての結果が必要になる
+    @Override
+    public Optional<PathPairWriter> openWriter(Field field, SizedBit sizedBit) throws FinderExecuteException {
+        PathLayer pathLayer = settings.getPathLayer();
+        if (pathLayer.contains(PathLayer.Minimal) || !pathLayer.contains(PathLayer.Unique))
+            return Optional.empty();
+
+        BufferedWriter writer;
+        try {
+            writer = outputUniqueFile.newBufferedWriter();
+        } catch (IOException e) {
+            throw new FinderExecuteException("Failed to output file", e);
+        }
+
+        return Optional.of(new PathPairWriter() {
+            private int count = 0;
+
+            @Override
+            public void write(PathPair pathPair) {
+                try {
+                    writer.write(toOperationLine(field, pathPair, sizedBit));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count += 1;
+            }
+
+            @Override
+            public void finish() throws FinderExecuteException {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new FinderExecuteException("Failed to output file", e);
+                }
+                outputLog("Found path [unique] = " + count);
+            }
+
+            @Override
+            public void close() throws FinderExecuteException {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    throw new FinderExecuteException("Failed to output file", e);
+                }
+            }
+        });
+    }
+
     @Override
     public void output(PathPairs pathPairs, Field field, SizedBit sizedBit) throws FinderExecuteException {
         List<PathPair> pathPairList = pathPairs.getUniquePathPairList();
@@ -99,28 +144,9 @@ public class CSVPathOutput implements PathOutput {
     }
 
     private void outputOperationsToCSV(Field field, MyFile file, List<PathPair> pathPairs, SizedBit sizedBit) throws FinderExecuteException {
-        LockedBuildUpListUpThreadLocal threadLocal = new LockedBuildUpListUpThreadLocal(sizedBit.getHeight());
-        List<List<MinoOperationWithKey>> samples = pathPairs.parallelStream()
-                .map(resultPair -> {
-                    Result result = resultPair.getResult();
-                    LinkedList<MinoOperationWithKey> operations = result.getMemento()
-                            .getSeparableMinoStream(sizedBit.getWidth())
-                            .map(SeparableMino::toMinoOperationWithKey)
-                            .collect(Collectors.toCollection(LinkedList::new));
-
-                    BuildUpStream buildUpStream = threadLocal.get();
-
-                    return buildUpStream.existsValidBuildPatternDirectly(field, operations)
-                            .findFirst()
-                            .orElse(Collections.emptyList());
-                })
-                .collect(Collectors.toList());
-
         try (BufferedWriter writer = file.newBufferedWriter()) {
-            for (List<MinoOperationWithKey> operationWithKeys : samples) {
-                Operations operations = OperationTransform.parseToOperations(field, operationWithKeys, sizedBit.getHeight());
-                String operationLine = OperationInterpreter.parseToString(operations);
-                writer.write(operationLine);
+            for (PathPair pathPair : pathPairs) {
+                writer.write(toOperationLine(field, pathPair, sizedBit));
                 writer.newLine();
             }
             writer.flush();
@@ -128,4 +154,10 @@ public class CSVPathOutput implements PathOutput {
             throw new FinderExecuteException("Failed to output file", e);
         }
     }
+
+    private String toOperationLine(Field field, PathPair pathPair, SizedBit sizedBit) {
+        List<MinoOperationWithKey> operationWithKeys = pathPair.getBuildOperations();
+        Operations operations = OperationTransform.parseToOperations(field, operationWithKeys, sizedBit.getHeight());
+        return OperationInterpreter.parseToString(operations);
+    }
 }
@@ -4,10 +4,9 @@ import common.datastore.BlockField;
 import common.datastore.MinoOperationWithKey;
 import common.datastore.OperationWithKey;
 import common.datastore.Operations;
-import common.tetfu.Tetfu;
-import common.tetfu.TetfuElement;
 import common.tetfu.common.ColorConverter;
 import common.tetfu.common.ColorType;
+import common.tetfu.encorder.BatchFumenEncoder;
 import common.tetfu.field.ColoredField;
 import common.tetfu.field.ColoredFieldFactory;
 import core.field.Field;
@@ -16,9 +15,7 @@ import core.field.LargeField;
 import core.mino.Mino;
 import core.mino.MinoFactory;
 import core.mino.Piece;
-import core.srs.Rotate;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +23,9 @@ public class OneFumenParser implements FumenParser {
     private final MinoFactory minoFactory;
     private final ColorConverter colorConverter;
 
+    // 同じ初期フィールドが続くときは、スレッドごとにエンコーダを使い回す
+    private final ThreadLocal<BatchFumenEncoder> encoderThreadLocal = new ThreadLocal<>();
+
     public OneFumenParser(MinoFactory minoFactory, ColorConverter colorConverter) {
         this.minoFactory = minoFactory;
         this.colorConverter = colorConverter;
@@ -48,11 +48,12 @@ public class OneFumenParser implements FumenParser {
 
     public String parse(List<MinoOperationWithKey> operations, Field field, int maxClearLine, String comment) {
         // テト譜1ページを作成
-        ColoredField coloredField = parseToColoredField(operations, field, maxClearLine);
-        TetfuElement tetfuElement = new TetfuElement(coloredField, ColorType.Empty, Rotate.Reverse, 0, 0, comment);
-
-        Tetfu tetfu = new Tetfu(minoFactory, colorConverter);
-        return tetfu.encode(Collections.singletonList(tetfuElement));
+        BatchFumenEncoder encoder = encoderThreadLocal.get();
+        if (encoder == null || !encoder.isSameInit(field, maxClearLine)) {
+            encoder = new BatchFumenEncoder(colorConverter, field, maxClearLine);
+            encoderThreadLocal.set(encoder);
+        }
+        return encoder.encode(operations, comment);
     }
 
     public ColoredField parseToColoredField(List<MinoOperationWithKey> operations, Field field, int maxClearLine) {
@@ -5,6 +5,14 @@ import entry.path.PathPairs;
 import exceptions.FinderExecuteException;
 import searcher.pack.SizedBit;
 
+import java.util.Optional;
+
 public interface PathOutput {
     void output(PathPairs pathPairs, Field field, SizedBit sizedBit) throws FinderExecuteException;
+
+    // 並び替えや絞り込みをせずに出力できるときは、探索中に見つかった順に書き出す先を返す
+    // このとき、すべての結果をまとめる必要がないため output() は呼ばれない
+    default Optional<PathPairWriter> openWriter(Field field, SizedBit sizedBit) throws FinderExecuteException {
+        return Optional.empty();
+    }
 }
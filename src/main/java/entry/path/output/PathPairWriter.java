@@ -0,0 +1,17 @@
+package entry.path.output;
+
+import entry.path.PathPair;
+import exceptions.FinderExecuteException;
+
+// 探索中に見つかったPathPairを順に書き出す
+// 探索に失敗したときもファイルを閉じられるように、try-with-resourcesで使う
+public interface PathPairWriter extends AutoCloseable {
+    // 探索中に呼ばれるため、書き出しに失敗したときは UncheckedIOException を投げる
+    void write(PathPair pathPair);
+
+    // すべて書き出したあとに呼ぶ
+    void finish() throws FinderExecuteException;
+
+    @Override
+    void close() throws FinderExecuteException;
+}
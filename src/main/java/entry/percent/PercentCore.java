@@ -6,11 +6,12 @@ import common.datastore.blocks.LongPieces;
 import common.datastore.blocks.Pieces;
 import common.tree.AnalyzeTree;
 import concurrent.checker.CheckerNoHoldThreadLocal;
-import concurrent.checker.CheckerUsingHoldThreadLocal;
+import concurrent.checker.MemorizedCheckerUsingHoldThreadLocal;
 import concurrent.checker.invoker.CheckerCommonObj;
 import concurrent.checker.invoker.ConcurrentCheckerInvoker;
 import concurrent.checker.invoker.no_hold.ConcurrentCheckerNoHoldInvoker;
 import concurrent.checker.invoker.no_hold.SingleCheckerNoHoldInvoker;
+import concurrent.checker.invoker.prefix.PrefixCheckerUsingHoldInvoker;
 import concurrent.checker.invoker.using_hold.ConcurrentCheckerUsingHoldInvoker;
 import concurrent.checker.invoker.using_hold.SingleCheckerUsingHoldInvoker;
 import core.action.candidate.Candidate;
@@ -18,24 +19,39 @@ import core.action.reachable.Reachable;
 import core.field.Field;
 import core.mino.MinoFactory;
 import exceptions.FinderExecuteException;
+import searcher.checker.TranspositionTable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 class PercentCore {
     private final ConcurrentCheckerInvoker invoker;
+    private final PrefixCheckerUsingHoldInvoker prefixInvoker;
 
     private AnalyzeTree resultTree;
     private List<Pair<Pieces, Boolean>> resultPairs;
 
     PercentCore(ThreadLocal<? extends Candidate<Action>> candidateThreadLocal, boolean isUsingHold, ThreadLocal<? extends Reachable> reachableThreadLocal, MinoFactory minoFactory) {
         this.invoker = createConcurrentCheckerInvoker(null, candidateThreadLocal, isUsingHold, reachableThreadLocal, minoFactory);
+        this.prefixInvoker = null;
     }
 
     PercentCore(ExecutorService executorService, ThreadLocal<? extends Candidate<Action>> candidateThreadLocal, boolean isUsingHold, ThreadLocal<? extends Reachable> reachableThreadLocal, MinoFactory minoFactory) {
         this.invoker = createConcurrentCheckerInvoker(executorService, candidateThreadLocal, isUsingHold, reachableThreadLocal, minoFactory);
+        this.prefixInvoker = null;
+    }
+
+    /**
+     * Search with piece-prefix tree (using hold only)
+     * Pass null to ForkJoinPool if executing on single thread
+     */
+    PercentCore(ForkJoinPool forkJoinPool, ThreadLocal<? extends Candidate<Action>> candidateThreadLocal, MinoFactory minoFactory) {
+        this.invoker = null;
+        this.prefixInvoker = new PrefixCheckerUsingHoldInvoker(forkJoinPool, minoFactory, candidateThreadLocal);
     }
 
     /**
@@ -43,7 +59,9 @@ class PercentCore {
      */
     private ConcurrentCheckerInvoker createConcurrentCheckerInvoker(ExecutorService executorService, ThreadLocal<? extends Candidate<Action>> candidateThreadLocal, boolean isUsingHold, ThreadLocal<? extends Reachable> reachableThreadLocal, MinoFactory minoFactory) {
         if (isUsingHold) {
-            CheckerUsingHoldThreadLocal<Action> checkerThreadLocal = new CheckerUsingHoldThreadLocal<>();
+            // 途中の局面の探索結果は、すべてのツモ順・スレッドで共有する
+            TranspositionTable table = new TranspositionTable();
+            MemorizedCheckerUsingHoldThreadLocal<Action> checkerThreadLocal = new MemorizedCheckerUsingHoldThreadLocal<>(table);
             CheckerCommonObj commonObj = new CheckerCommonObj(minoFactory, candidateThreadLocal, checkerThreadLocal, reachableThreadLocal);
             if (executorService == null)
                 return new SingleCheckerUsingHoldInvoker(commonObj);
@@ -60,6 +78,16 @@ class PercentCore {
     void run(Field field, Set<LongPieces> searchingPiecesSet, int maxClearLine, int maxDepth) throws FinderExecuteException {
         List<Pieces> searchingPieces = new ArrayList<>(searchingPiecesSet);
 
+        if (prefixInvoker != null) {
+            // ツモ順の木から結果を直接集計する
+            AnalyzeTree tree = prefixInvoker.searchTree(field, searchingPieces, maxClearLine, maxDepth);
+            this.resultTree = tree;
+            this.resultPairs = searchingPieces.stream()
+                    .map(pieces -> new Pair<>(pieces, tree.isSucceed(pieces)))
+                    .collect(Collectors.toList());
+            return;
+        }
+
         this.resultPairs = invoker.search(field, searchingPieces, maxClearLine, maxDepth);
 
         // 最低限の探索結果を集計する
@@ -71,6 +99,13 @@ class PercentCore {
         }
     }
 
+    // 指定したツモ順だけを探索して、結果を返却する
+    List<Pair<Pieces, Boolean>> search(Field field, List<Pieces> searchingPieces, int maxClearLine, int maxDepth) throws FinderExecuteException {
+        if (prefixInvoker != null)
+            return prefixInvoker.search(field, searchingPieces, maxClearLine, maxDepth);
+        return invoker.search(field, searchingPieces, maxClearLine, maxDepth);
+    }
+
     AnalyzeTree getResultTree() {
         return resultTree;
     }
@@ -4,10 +4,13 @@ import common.datastore.Pair;
 import common.datastore.action.Action;
 import common.datastore.blocks.LongPieces;
 import common.datastore.blocks.Pieces;
+import common.pattern.LoadedPatternGenerator;
 import common.pattern.PatternGenerator;
+import common.pattern.PatternSampler;
 import common.tree.AnalyzeTree;
 import concurrent.*;
 import core.FinderConstant;
+import core.action.cache.CandidateCache;
 import core.action.candidate.Candidate;
 import core.action.reachable.Reachable;
 import core.field.Field;
@@ -22,14 +25,17 @@ import exceptions.FinderException;
 import exceptions.FinderExecuteException;
 import exceptions.FinderInitializeException;
 import exceptions.FinderTerminateException;
+import lib.Metrics;
 import lib.Stopwatch;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -103,10 +109,12 @@ public class PercentEntryPoint implements EntryPoint {
         // Setup core
         output("# Initialize / System");
 
-        ExecutorService executorService = createExecutorService();
+        boolean isUsingPrefixTree = settings.isUsingPrefixTree() && settings.isUsingHold();
+        ExecutorService executorService = createExecutorService(isUsingPrefixTree);
 
         output("Version = " + FinderConstant.VERSION);
         output("Necessary Pieces = " + maxDepth);
+        output("Prefix tree = " + (isUsingPrefixTree ? "use" : "avoid"));
 
         output();
 
@@ -127,6 +135,21 @@ public class PercentEntryPoint implements EntryPoint {
             output();
         }
 
+        if (settings.isSampling()) {
+            sample(field, generator, popCount, maxClearLine, maxDepth, isUsingPrefixTree, executorService);
+        } else {
+            searchAll(field, generator, piecesDepth, maxClearLine, maxDepth, isUsingPrefixTree, executorService);
+        }
+
+        // ========================================
+
+        output("# Finalize");
+        ResidentExecutors.release(executorService);
+
+        output("done");
+    }
+
+    private void searchAll(Field field, PatternGenerator generator, int piecesDepth, int maxClearLine, int maxDepth, boolean isUsingPrefixTree, ExecutorService executorService) throws FinderException {
         // 探索パターンの列挙
         NormalEnumeratePieces normalEnumeratePieces = new NormalEnumeratePieces(generator, maxDepth, settings.isUsingHold());
         Set<LongPieces> searchingPieces = normalEnumeratePieces.enumerate();
@@ -143,11 +166,15 @@ public class PercentEntryPoint implements EntryPoint {
         output("  -> Stopwatch start");
         Stopwatch stopwatch = Stopwatch.createStartedStopwatch();
 
-        ThreadLocal<? extends Candidate<Action>> candidateThreadLocal = createCandidateThreadLocal(settings.getDropType(), maxClearLine);
-        ThreadLocal<? extends Reachable> reachableThreadLocal = createReachableThreadLocal(settings.getDropType(), maxClearLine);
-        MinoFactory minoFactory = new MinoFactory();
-        PercentCore percentCore = new PercentCore(executorService, candidateThreadLocal, settings.isUsingHold(), reachableThreadLocal, minoFactory);
+        // 同じ地形に対するミノの置き場所は、すべてのスレッドで共有する
+        CachedCandidateThreadLocal<Action> candidateThreadLocal = getCandidateThreadLocal(maxClearLine);
+        CandidateCache<Action> candidateCache = candidateThreadLocal.getCache();
+        long hitCount = candidateCache.getHitCount();
+        long missCount = candidateCache.getMissCount();
+        PercentCore percentCore = createPercentCore(candidateThreadLocal, maxClearLine, isUsingPrefixTree, executorService);
+        long validationStart = Metrics.startTimer();
         percentCore.run(field, searchingPieces, maxClearLine, maxDepth);
+        Metrics.stopTimer(Metrics.Timer.Validation, validationStart);
 
         AnalyzeTree tree = percentCore.getResultTree();
         List<Pair<Pieces, Boolean>> resultPairs = percentCore.getResultPairs();
@@ -155,11 +182,15 @@ public class PercentEntryPoint implements EntryPoint {
         stopwatch.stop();
         output("  -> Stopwatch stop : " + stopwatch.toMessage(TimeUnit.MILLISECONDS));
 
+        // serveでキャッシュを使い回しているときも、この探索の分だけを出力する
+        output(String.format("  -> Candidate cache : hit = %d, miss = %d", candidateCache.getHitCount() - hitCount, candidateCache.getMissCount() - missCount));
+
         output();
 
         // ========================================
 
         // Output tree
+        long outputStart = Metrics.startTimer();
         output("# Output");
         output(tree.show());
 
@@ -196,18 +227,112 @@ public class PercentEntryPoint implements EntryPoint {
             outputFailedPatterns(failedPairs);
         }
 
+        output();
+        Metrics.stopTimer(Metrics.Timer.Output, outputStart);
+    }
+
+    private void sample(Field field, PatternGenerator generator, int popCount, int maxClearLine, int maxDepth, boolean isUsingPrefixTree, ExecutorService executorService) throws FinderException {
+        // ツモ順を列挙せず、パターンからランダムに選ぶ
+        if (!(generator instanceof LoadedPatternGenerator))
+            throw new FinderInitializeException("Unsupported patterns for sampling");
+
+        PatternSampler sampler = new PatternSampler((LoadedPatternGenerator) generator);
+        if (sampler.getSize() <= 0.0)
+            throw new FinderInitializeException("Should specify patterns that have one or more sequences");
+
+        double margin = settings.getSampleMargin();
+        double confidence = settings.getSampleConfidence();
+        double threshold = settings.isUsingSampleThreshold() ? settings.getSampleThreshold() : -1.0;
+
+        // 同じ結果を再現できるように、指定がないときも使ったシードを出力する
+        long seed = settings.isUsingSampleSeed() ? settings.getSampleSeed() : new Random().nextLong();
+
+        output("Sampling pattern size (duplicate) = " + String.format("%.0f", sampler.getSize()));
+        output(String.format("Sampling margin = +-%.2f%%", margin));
+        output(String.format("Sampling confidence = %.2f%%", confidence));
+        output("Sampling threshold = " + (0.0 <= threshold ? String.format("%.2f%%", threshold) : "none"));
+        output("Sampling seed = " + seed);
+
         output();
 
         // ========================================
 
-        output("# Finalize");
-        if (executorService != null)
-            executorService.shutdown();
+        // 探索を行う
+        output("# Search");
+        output("  -> Stopwatch start");
+        Stopwatch stopwatch = Stopwatch.createStartedStopwatch();
 
-        output("done");
+        // 同じ地形に対するミノの置き場所は、すべてのスレッドで共有する
+        CachedCandidateThreadLocal<Action> candidateThreadLocal = getCandidateThreadLocal(maxClearLine);
+        CandidateCache<Action> candidateCache = candidateThreadLocal.getCache();
+        long hitCount = candidateCache.getHitCount();
+        long missCount = candidateCache.getMissCount();
+        PercentCore percentCore = createPercentCore(candidateThreadLocal, maxClearLine, isUsingPrefixTree, executorService);
+
+        int failedMaxCount = settings.getFailedCount();
+        PercentSampling sampling = new PercentSampling(percentCore, sampler, confidence / 100.0, popCount, margin / 100.0, 0.0 <= threshold ? threshold / 100.0 : -1.0, new Random(seed), failedMaxCount);
+        long validationStart = Metrics.startTimer();
+        sampling.run(field, maxClearLine, maxDepth);
+        Metrics.stopTimer(Metrics.Timer.Validation, validationStart);
+
+        stopwatch.stop();
+        output("  -> Stopwatch stop : " + stopwatch.toMessage(TimeUnit.MILLISECONDS));
+
+        // serveでキャッシュを使い回しているときも、この探索の分だけを出力する
+        output(String.format("  -> Candidate cache : hit = %d, miss = %d", candidateCache.getHitCount() - hitCount, candidateCache.getMissCount() - missCount));
+
+        output();
+
+        // ========================================
+
+        // Output estimate
+        long outputStart = Metrics.startTimer();
+        output("# Output");
+        output(String.format("success = %.2f%% (%d/%d samples)", sampling.getEstimate() * 100.0, sampling.getSuccessCount(), sampling.getSampleCount()));
+        output(String.format("confidence interval (%.2f%%) = %.2f%% - %.2f%%", confidence, sampling.getLower() * 100.0, sampling.getUpper() * 100.0));
+        output("interval checks = " + sampling.getCheckCount());
+        output("stopped by " + sampling.getStopReason().getMessage());
+
+        output();
+
+        output("-------------------");
+
+        // Output failed patterns
+        // 上限を超える失敗したミノ列は、探索中に捨てている
+        List<Pieces> failedPieces = sampling.getFailedPieces();
+        if (0 < failedMaxCount) {
+            output(String.format("Fail pattern in samples (max. %d)", failedMaxCount));
+            outputFailedPieces(failedPieces);
+        } else if (failedMaxCount < 0) {
+            output("Fail pattern in samples (all)");
+            outputFailedPieces(failedPieces);
+        }
+
+        output();
+        Metrics.stopTimer(Metrics.Timer.Output, outputStart);
+    }
+
+    private PercentCore createPercentCore(CachedCandidateThreadLocal<Action> candidateThreadLocal, int maxClearLine, boolean isUsingPrefixTree, ExecutorService executorService) throws FinderInitializeException {
+        ThreadLocal<? extends Reachable> reachableThreadLocal = createReachableThreadLocal(settings.getDropType(), maxClearLine);
+        MinoFactory minoFactory = new MinoFactory();
+        return isUsingPrefixTree
+                ? new PercentCore((ForkJoinPool) executorService, candidateThreadLocal, minoFactory)
+                : new PercentCore(executorService, candidateThreadLocal, settings.isUsingHold(), reachableThreadLocal, minoFactory);
     }
 
-    private ExecutorService createExecutorService() throws FinderExecuteException {
+    private CachedCandidateThreadLocal<Action> getCandidateThreadLocal(int maxClearLine) throws FinderInitializeException {
+        // serveコマンドで、すでにつくっているときは再利用する
+        DropType dropType = settings.getDropType();
+        Optional<CachedCandidateThreadLocal<Action>> resident = ResidentCandidateCaches.get(dropType, maxClearLine);
+        if (resident.isPresent())
+            return resident.get();
+
+        CachedCandidateThreadLocal<Action> candidateThreadLocal = new CachedCandidateThreadLocal<>(createCandidateThreadLocal(dropType, maxClearLine));
+        ResidentCandidateCaches.put(dropType, maxClearLine, candidateThreadLocal);
+        return candidateThreadLocal;
+    }
+
+    private ExecutorService createExecutorService(boolean isUsingPrefixTree) throws FinderExecuteException {
         int threadCount = settings.getThreadCount();
         if (threadCount == 1) {
             // single thread
@@ -216,19 +341,26 @@ public class PercentEntryPoint implements EntryPoint {
         } else if (1 < threadCount) {
             // Specified thread count
             output("Threads = " + threadCount);
-            return Executors.newFixedThreadPool(threadCount);
+            return createExecutorService(threadCount, isUsingPrefixTree);
         } else {
             // NOT specified thread count
             int core = Runtime.getRuntime().availableProcessors();
             output("Threads = " + core);
-            return Executors.newFixedThreadPool(core);
+            return createExecutorService(core, isUsingPrefixTree);
         }
     }
 
+    private ExecutorService createExecutorService(int threadCount, boolean isUsingPrefixTree) {
+        // ツモ順の木で探索するときは、木の上位の要素ごとにタスクを分割する
+        if (isUsingPrefixTree)
+            return ResidentExecutors.getForkJoinPool(threadCount);
+        return ResidentExecutors.getFixedThreadPool(threadCount);
+    }
+
     private ThreadLocal<? extends Candidate<Action>> createCandidateThreadLocal(DropType dropType, int maxClearLine) throws FinderInitializeException {
         switch (dropType) {
             case Softdrop:
-                return new LockedCandidateThreadLocal(maxClearLine);
+                return new LockedFloodFillCandidateThreadLocal();
             case Harddrop:
                 return new HarddropCandidateThreadLocal();
             case SoftdropTOnly:
@@ -253,6 +385,14 @@ public class PercentEntryPoint implements EntryPoint {
         throw new FinderInitializeException("Unsupport droptype: droptype=" + dropType);
     }
 
+    private void outputFailedPieces(List<Pieces> failedPieces) throws FinderExecuteException {
+        for (Pieces pieces : failedPieces)
+            output(pieces.getPieces().toString());
+
+        if (failedPieces.isEmpty())
+            output("nothing");
+    }
+
     private void outputFailedPatterns(List<Pair<Pieces, Boolean>> failedPairs) throws FinderExecuteException {
         for (Pair<Pieces, Boolean> resultPair : failedPairs)
             output(resultPair.getKey().getPieces().toString());
@@ -18,6 +18,11 @@ public enum PercentOptions {
     TreeDepth(SingleArgOption.full("td", "tree-depth", "number", "Success tree depth")),
     FailedCount(SingleArgOption.full("fc", "failed-count", "number", "Max count of failed patterns when output")),
     Threads(SingleArgOption.full("th", "threads", "number", "Specify number of used thread")),
+    PrefixTree(SingleArgOption.full("pt", "prefix-tree", "yes or no", "If yes, search all patterns together along piece-prefix tree (hold only)")),
+    Sample(SingleArgOption.full("sm", "sample", "percent", "Estimate success rate by random sampling until the confidence interval is within +-percent")),
+    SampleConfidence(SingleArgOption.full("sc", "sample-confidence", "percent", "Confidence level of the interval when sampling")),
+    SampleThreshold(SingleArgOption.full("st", "sample-threshold", "percent", "Stop sampling once the success rate is provably above or below this percent")),
+    SampleSeed(SingleArgOption.full("sd", "seed", "number", "Seed of random sampling. If not specified, a random seed is used and printed")),
     FieldPath(SingleArgOption.full("fp", "field-path", "path", "File path of field definition")),
     LogPath(SingleArgOption.full("lp", "log-path", "path", "File path of output log")),;
 
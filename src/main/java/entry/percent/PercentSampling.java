@@ -0,0 +1,141 @@
+package entry.percent;
+
+import common.datastore.Pair;
+import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.Pieces;
+import common.pattern.PatternSampler;
+import core.field.Field;
+import exceptions.FinderExecuteException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+// ミノ列をランダムに選んで探索し、パフェ成功確率を推定する
+// すべて列挙するときと同じく、popCount個に切り詰めて重複を除いたミノ列から同じ確率で選ぶ
+// 信頼区間が指定した幅に収まるか、しきい値との大小が確定するまで探索を続ける
+// 確認するたびに信頼度を引き上げた区間を使うため、途中で打ち切っても全体の信頼度は保たれる
+class PercentSampling {
+    private static final int MIN_BATCH_SIZE = 256;
+    private static final int MAX_BATCH_SIZE = 1 << 16;
+
+    enum StopReason {
+        Margin("margin reached"),
+        AboveThreshold("above threshold"),
+        BelowThreshold("below threshold"),
+        ;
+
+        private final String message;
+
+        StopReason(String message) {
+            this.message = message;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+
+    private final PercentCore percentCore;
+    private final PatternSampler sampler;
+    private final double confidence;
+    private final int popCount;
+    private final double margin;
+    private final double threshold;
+    private final Random random;
+    private final int failedMaxCount;
+
+    private long successCount = 0L;
+    private long sampleCount = 0L;
+    private final LinkedHashSet<Pieces> failedPieces = new LinkedHashSet<>();
+    private StopReason stopReason = null;
+    private int checkCount = 0;
+    private SampleEstimator estimator = null;
+
+    // threshold: 負のときは、しきい値による打ち切りをしない
+    // failedMaxCount: 記録する失敗したミノ列の上限。負のときはすべて記録する
+    PercentSampling(PercentCore percentCore, PatternSampler sampler, double confidence, int popCount, double margin, double threshold, Random random, int failedMaxCount) {
+        assert 0.0 < margin;
+        this.percentCore = percentCore;
+        this.sampler = sampler;
+        this.confidence = confidence;
+        this.popCount = popCount;
+        this.margin = margin;
+        this.threshold = threshold;
+        this.random = random;
+        this.failedMaxCount = failedMaxCount;
+    }
+
+    void run(Field field, int maxClearLine, int maxDepth) throws FinderExecuteException {
+        while (stopReason == null) {
+            // 次に確認するときの区間で、必要な残りの回数だけまとめて探索する
+            checkCount += 1;
+            estimator = SampleEstimator.forCheck(confidence, checkCount);
+            long needCount = estimator.estimateCount(successCount, sampleCount, margin) - sampleCount;
+            int batchSize = (int) Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, needCount));
+
+            List<Pieces> samples = new ArrayList<>(batchSize);
+            for (int count = 0; count < batchSize; count++)
+                samples.add(new LongPieces(sampler.sampleDistinct(random, popCount)));
+
+            List<Pair<Pieces, Boolean>> results = percentCore.search(field, samples, maxClearLine, maxDepth);
+            for (Pair<Pieces, Boolean> result : results) {
+                sampleCount += 1;
+                if (result.getValue())
+                    successCount += 1;
+                else if (failedMaxCount < 0 || failedPieces.size() < failedMaxCount)
+                    failedPieces.add(result.getKey());
+            }
+
+            stopReason = checkStop();
+        }
+    }
+
+    private StopReason checkStop() {
+        if (estimator.halfWidth(successCount, sampleCount) <= margin)
+            return StopReason.Margin;
+
+        if (0.0 <= threshold) {
+            if (threshold < estimator.lower(successCount, sampleCount))
+                return StopReason.AboveThreshold;
+            if (estimator.upper(successCount, sampleCount) < threshold)
+                return StopReason.BelowThreshold;
+        }
+
+        return null;
+    }
+
+    long getSuccessCount() {
+        return successCount;
+    }
+
+    long getSampleCount() {
+        return sampleCount;
+    }
+
+    double getEstimate() {
+        return (double) successCount / sampleCount;
+    }
+
+    double getLower() {
+        return estimator.lower(successCount, sampleCount);
+    }
+
+    double getUpper() {
+        return estimator.upper(successCount, sampleCount);
+    }
+
+    // 区間を確認した回数
+    int getCheckCount() {
+        return checkCount;
+    }
+
+    StopReason getStopReason() {
+        return stopReason;
+    }
+
+    List<Pieces> getFailedPieces() {
+        return new ArrayList<>(failedPieces);
+    }
+}
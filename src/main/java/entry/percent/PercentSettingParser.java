@@ -136,6 +136,44 @@ public class PercentSettingParser extends SettingParser<PercentSettings> {
         Optional<Integer> threadCount = wrapper.getIntegerOption(PercentOptions.Threads.optName());
         threadCount.ifPresent(settings::setThreadCount);
 
+        // ツモ順の木で探索するかの設定
+        Optional<Boolean> isUsingPrefixTree = wrapper.getBoolOption(PercentOptions.PrefixTree.optName());
+        isUsingPrefixTree.ifPresent(settings::setUsingPrefixTree);
+
+        // ランダムに選んだツモ順で推定するときの設定
+        Optional<Double> sampleMargin = wrapper.getDoubleOption(PercentOptions.Sample.optName());
+        if (sampleMargin.isPresent()) {
+            double margin = sampleMargin.get();
+            if (margin <= 0.0 || 100.0 <= margin)
+                throw new FinderParseException("Sample margin should be 0 < margin < 100: margin=" + margin);
+            settings.setSampleMargin(margin);
+        }
+
+        Optional<Double> sampleConfidence = wrapper.getDoubleOption(PercentOptions.SampleConfidence.optName());
+        if (sampleConfidence.isPresent()) {
+            double confidence = sampleConfidence.get();
+            if (confidence <= 0.0 || 100.0 <= confidence)
+                throw new FinderParseException("Sample confidence should be 0 < confidence < 100: confidence=" + confidence);
+            settings.setSampleConfidence(confidence);
+        }
+
+        Optional<Double> sampleThreshold = wrapper.getDoubleOption(PercentOptions.SampleThreshold.optName());
+        if (sampleThreshold.isPresent()) {
+            double threshold = sampleThreshold.get();
+            if (threshold < 0.0 || 100.0 < threshold)
+                throw new FinderParseException("Sample threshold should be 0 <= threshold <= 100: threshold=" + threshold);
+            settings.setSampleThreshold(threshold);
+        }
+
+        Optional<String> sampleSeed = wrapper.getStringOption(PercentOptions.SampleSeed.optName());
+        if (sampleSeed.isPresent()) {
+            try {
+                settings.setSampleSeed(Long.parseLong(sampleSeed.get()));
+            } catch (NumberFormatException e) {
+                throw new FinderParseException("Cannot parse seed option: value=" + sampleSeed.get());
+            }
+        }
+
         return Optional.of(settings);
     }
 }
@@ -22,6 +22,11 @@ public class PercentSettings {
     private int treeDepth = 3;
     private int failedCount = 100;
     private int threadCount = -1;
+    private boolean isUsingPrefixTree = false;
+    private double sampleMargin = -1.0;
+    private double sampleConfidence = 95.0;
+    private double sampleThreshold = -1.0;
+    private Long sampleSeed = null;
     private DropType dropType = DropType.Softdrop;
 
     // ********* Getter ************
@@ -65,6 +70,38 @@ public class PercentSettings {
         return threadCount;
     }
 
+    boolean isUsingPrefixTree() {
+        return isUsingPrefixTree;
+    }
+
+    boolean isSampling() {
+        return 0.0 < sampleMargin;
+    }
+
+    double getSampleMargin() {
+        return sampleMargin;
+    }
+
+    double getSampleConfidence() {
+        return sampleConfidence;
+    }
+
+    boolean isUsingSampleThreshold() {
+        return 0.0 <= sampleThreshold;
+    }
+
+    double getSampleThreshold() {
+        return sampleThreshold;
+    }
+
+    boolean isUsingSampleSeed() {
+        return sampleSeed != null;
+    }
+
+    long getSampleSeed() {
+        return sampleSeed;
+    }
+
     // ********* Setter ************
     public void setMaxClearLine(int maxClearLine) {
         this.maxClearLine = maxClearLine;
@@ -111,6 +148,26 @@ public class PercentSettings {
         this.threadCount = thread;
     }
 
+    void setUsingPrefixTree(boolean isUsingPrefixTree) {
+        this.isUsingPrefixTree = isUsingPrefixTree;
+    }
+
+    void setSampleMargin(double percent) {
+        this.sampleMargin = percent;
+    }
+
+    void setSampleConfidence(double percent) {
+        this.sampleConfidence = percent;
+    }
+
+    void setSampleThreshold(double percent) {
+        this.sampleThreshold = percent;
+    }
+
+    void setSampleSeed(long seed) {
+        this.sampleSeed = seed;
+    }
+
     void setDropType(String type) throws FinderParseException {
         switch (type.trim().toLowerCase()) {
             case "soft":
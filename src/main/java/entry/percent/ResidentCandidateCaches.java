@@ -0,0 +1,47 @@
+package entry.percent;
+
+import common.datastore.action.Action;
+import concurrent.CachedCandidateThreadLocal;
+import entry.DropType;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * serveコマンドで同じプロセスを使い続けるとき、ミノの置き場所のキャッシュを落とし方と高さごとに保持する
+ * 有効にしていないときは保持せず、これまでどおり毎回つくる
+ * serveが終わるときは disable() で無効に戻し、保持したキャッシュも捨てる
+ */
+public class ResidentCandidateCaches {
+    private static volatile boolean isEnabled = false;
+
+    private static final ConcurrentHashMap<String, CachedCandidateThreadLocal<Action>> candidatesMap = new ConcurrentHashMap<>();
+
+    public static void enable() {
+        isEnabled = true;
+    }
+
+    public static void disable() {
+        isEnabled = false;
+        candidatesMap.clear();
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    private static String toKey(DropType dropType, int maxClearLine) {
+        return dropType.name() + "@" + maxClearLine;
+    }
+
+    static Optional<CachedCandidateThreadLocal<Action>> get(DropType dropType, int maxClearLine) {
+        if (!isEnabled)
+            return Optional.empty();
+        return Optional.ofNullable(candidatesMap.get(toKey(dropType, maxClearLine)));
+    }
+
+    static void put(DropType dropType, int maxClearLine, CachedCandidateThreadLocal<Action> candidateThreadLocal) {
+        if (isEnabled)
+            candidatesMap.put(toKey(dropType, maxClearLine), candidateThreadLocal);
+    }
+}
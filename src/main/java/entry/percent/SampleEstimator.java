@@ -0,0 +1,73 @@
+package entry.percent;
+
+// 成功回数と試行回数から、成功確率の信頼区間 (Wilsonのスコア区間) を求める
+class SampleEstimator {
+    // 途中で何度も区間を確認して打ち切ると、外れる確率が確認した回数だけ積み重なる
+    // k回目の確認には (1 - confidence) * 6 / (π^2 * k^2) だけを割り当て、何回確認しても合計が 1 - confidence を超えないようにする
+    static SampleEstimator forCheck(double confidence, int check) {
+        assert 0.0 < confidence && confidence < 1.0 : confidence;
+        assert 1 <= check : check;
+        double alpha = (1.0 - confidence) * 6.0 / (Math.PI * Math.PI * check * check);
+        return new SampleEstimator(1.0 - alpha);
+    }
+
+    private final double z;
+
+    SampleEstimator(double confidence) {
+        assert 0.0 < confidence && confidence < 1.0 : confidence;
+        this.z = inverseNormal(1.0 - (1.0 - confidence) / 2.0);
+    }
+
+    // 標準正規分布の累積分布関数の逆関数 (Acklamの近似式: 相対誤差 1.15e-9 以下)
+    static double inverseNormal(double p) {
+        assert 0.0 < p && p < 1.0 : p;
+
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00};
+
+        double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        } else if (p <= 1 - low) {
+            double q = p - 0.5;
+            double r = q * q;
+            return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                    / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+        } else {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+    }
+
+    private double center(long success, long count) {
+        double p = (double) success / count;
+        double z2 = z * z;
+        return (p + z2 / (2.0 * count)) / (1.0 + z2 / count);
+    }
+
+    double halfWidth(long success, long count) {
+        double p = (double) success / count;
+        double z2 = z * z;
+        return z * Math.sqrt(p * (1.0 - p) / count + z2 / (4.0 * count * count)) / (1.0 + z2 / count);
+    }
+
+    double lower(long success, long count) {
+        return Math.max(0.0, center(success, count) - halfWidth(success, count));
+    }
+
+    double upper(long success, long count) {
+        return Math.min(1.0, center(success, count) + halfWidth(success, count));
+    }
+
+    // 指定した幅に収めるために必要な試行回数の目安
+    long estimateCount(long success, long count, double margin) {
+        double p = count != 0 ? (double) success / count : 0.5;
+        double variance = Math.max(p * (1.0 - p), 1.0 / (count + 1));
+        return (long) Math.ceil(z * z * variance / (margin * margin));
+    }
+}
@@ -6,6 +6,11 @@ import common.datastore.action.Action;
 import common.datastore.blocks.Pieces;
 import common.pattern.PatternGenerator;
 import common.tetfu.common.ColorConverter;
+import concurrent.HarddropCandidateThreadLocal;
+import concurrent.LockedCandidateThreadLocal;
+import concurrent.ResidentExecutors;
+import concurrent.SRSAnd180CandidateThreadLocal;
+import concurrent.SoftdropTOnlyCandidateThreadLocal;
 import core.FinderConstant;
 import core.action.candidate.*;
 import core.field.Field;
@@ -23,9 +28,11 @@ import exceptions.FinderException;
 import exceptions.FinderExecuteException;
 import exceptions.FinderInitializeException;
 import exceptions.FinderTerminateException;
+import lib.Metrics;
 import lib.Stopwatch;
 import output.HTMLBuilder;
 import output.HTMLColumn;
+import searcher.ren.ParallelRenUsingHold;
 import searcher.ren.RenNoHold;
 import searcher.ren.RenSearcher;
 import searcher.ren.RenUsingHold;
@@ -37,6 +44,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -100,6 +109,7 @@ public class RenEntryPoint implements EntryPoint {
         output("# Initialize / User-defined");
         output("Using hold: " + (settings.isUsingHold() ? "use" : "avoid"));
         output("Drop: " + settings.getDropType().name().toLowerCase());
+        output("Threads: " + getThreadCount());
         output("Version: " + FinderConstant.VERSION);
 
         output("Searching sequence:");
@@ -121,9 +131,6 @@ public class RenEntryPoint implements EntryPoint {
         MinoShifter minoShifter = new MinoShifter();
         MinoRotation minoRotation = MinoRotation.create();
 
-        RenSearcher<Action> renSearcher = getRenSearcher(minoFactory);
-        Candidate<Action> candidate = getCandidate(minoFactory, minoShifter, minoRotation);
-
         // ========================================
 
         output("# Search");
@@ -132,7 +139,7 @@ public class RenEntryPoint implements EntryPoint {
 
         Stopwatch stopwatch = Stopwatch.createStartedStopwatch();
 
-        List<RenResult> results = renSearcher.check(field, pieceList, candidate, pieceList.size());
+        List<RenResult> results = search(field, pieceList, minoFactory, minoShifter, minoRotation);
 
         stopwatch.stop();
 
@@ -144,6 +151,7 @@ public class RenEntryPoint implements EntryPoint {
         // ========================================
 
         output("# Output");
+        long outputStart = Metrics.startTimer();
 
         // HTMLを出力
         {
@@ -189,6 +197,7 @@ public class RenEntryPoint implements EntryPoint {
                 throw new FinderExecuteException("Failed to output file", e);
             }
         }
+        Metrics.stopTimer(Metrics.Timer.Output, outputStart);
     }
 
     private static final String FILE_EXTENSION = ".html";
@@ -205,6 +214,38 @@ public class RenEntryPoint implements EntryPoint {
         return path.substring(0, pointIndex);
     }
 
+    // 複数スレッドで探索できるのはホールドありのときのみ
+    private int getThreadCount() {
+        if (!settings.isUsingHold())
+            return 1;
+
+        int threadCount = settings.getThreadCount();
+        if (threadCount <= 0)
+            return Runtime.getRuntime().availableProcessors();
+        return threadCount;
+    }
+
+    private List<RenResult> search(Field field, List<Piece> pieceList, MinoFactory minoFactory, MinoShifter minoShifter, MinoRotation minoRotation) throws FinderException {
+        int threadCount = getThreadCount();
+
+        if (threadCount == 1) {
+            RenSearcher<Action> renSearcher = getRenSearcher(minoFactory);
+            Candidate<Action> candidate = getCandidate(minoFactory, minoShifter, minoRotation);
+            return renSearcher.check(field, pieceList, candidate, pieceList.size());
+        }
+
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool(threadCount);
+        try {
+            ThreadLocal<? extends Candidate<Action>> candidateThreadLocal = getCandidateThreadLocal();
+            ParallelRenUsingHold<Action> renSearcher = new ParallelRenUsingHold<>(minoFactory, forkJoinPool, candidateThreadLocal);
+            return renSearcher.check(field, pieceList, pieceList.size());
+        } catch (InterruptedException | ExecutionException e) {
+            throw new FinderExecuteException("Failed to search", e);
+        } finally {
+            ResidentExecutors.release(forkJoinPool);
+        }
+    }
+
     private RenSearcher<Action> getRenSearcher(MinoFactory minoFactory) {
         if (settings.isUsingHold()) {
             return new RenUsingHold<>(minoFactory);
@@ -229,6 +270,22 @@ public class RenEntryPoint implements EntryPoint {
         }
     }
 
+    private ThreadLocal<? extends Candidate<Action>> getCandidateThreadLocal() throws FinderInitializeException {
+        DropType dropType = settings.getDropType();
+        switch (dropType) {
+            case Softdrop:
+                return new LockedCandidateThreadLocal(24);
+            case Harddrop:
+                return new HarddropCandidateThreadLocal();
+            case Rotation180:
+                return new SRSAnd180CandidateThreadLocal(24);
+            case SoftdropTOnly:
+                return new SoftdropTOnlyCandidateThreadLocal(24);
+            default:
+                throw new FinderInitializeException("Unsupport droptype: droptype=" + dropType);
+        }
+    }
+
     private void output() throws FinderExecuteException {
         output("");
     }
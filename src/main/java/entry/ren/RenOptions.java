@@ -16,7 +16,8 @@ public enum RenOptions {
     LogPath(SingleArgOption.full("lp", "log-path", "path", "File path of output log")),
     OutputBase(SingleArgOption.full("o", "output-base", "path", "Base file path of result to output")),
     Hold(SingleArgOption.full("H", "hold", "use or avoid", "If use hold, set 'use'. If not use hold, set 'avoid'")),
-    Drop(SingleArgOption.full("d", "drop", "hard or soft", "Specify drop")),;
+    Drop(SingleArgOption.full("d", "drop", "hard or soft", "Specify drop")),
+    Threads(SingleArgOption.full("th", "threads", "number", "Specify number of used thread")),;
 
     private final OptionBuilder optionBuilder;
 
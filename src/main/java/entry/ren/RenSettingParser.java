@@ -106,6 +106,10 @@ public class RenSettingParser extends SettingParser<RenSettings> {
             throw new FinderParseException("Unsupported format: format=" + dropType.orElse("<empty>"));
         }
 
+        // スレッド数の設定
+        Optional<Integer> threadCount = wrapper.getIntegerOption(RenOptions.Threads.optName());
+        threadCount.ifPresent(settings::setThreadCount);
+
         return Optional.of(settings);
     }
 }
@@ -18,6 +18,7 @@ public class RenSettings {
     private Field field = FieldFactory.createField(24);
     private List<String> patterns = new ArrayList<>();
     private DropType dropType = DropType.Softdrop;
+    private int threadCount = 1;
 
     // ********* Getter ************
     public boolean isUsingHold() {
@@ -48,6 +49,10 @@ public class RenSettings {
         return dropType;
     }
 
+    int getThreadCount() {
+        return threadCount;
+    }
+
     // ********* Setter ************
     void setUsingHold(Boolean isUsingHold) {
         this.isUsingHold = isUsingHold;
@@ -69,6 +74,10 @@ public class RenSettings {
         this.outputBaseFilePath = path;
     }
 
+    void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
     void setDropType(String type) throws FinderParseException {
         switch (type.trim().toLowerCase()) {
             case "soft":
@@ -1,15 +1,17 @@
 package entry.searching_pieces;
 
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import common.datastore.blocks.Pieces;
 import common.order.ForwardOrderLookUp;
 import common.pattern.PatternGenerator;
+import core.mino.Piece;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * ホールドありの組み合わせから複数のホールドなしの組み合わせに分解し、重複を取り除く
@@ -33,36 +35,41 @@ public class HoldBreakEnumeratePieces implements EnumeratePiecesCore {
         ForwardOrderLookUp forwardOrderLookUp = new ForwardOrderLookUp(maxDepth, depth);
 
         AtomicInteger counter = new AtomicInteger();
-        HashSet<LongPieces> searchingPieces = create(depth, forwardOrderLookUp, counter);
+        LongPiecesSet searchingPieces = create(depth, forwardOrderLookUp, counter);
 
         this.counter = counter.get();
         return searchingPieces;
     }
 
-    private HashSet<LongPieces> create(int depth, ForwardOrderLookUp forwardOrderLookUp, AtomicInteger counter) {
+    private LongPiecesSet create(int depth, ForwardOrderLookUp forwardOrderLookUp, AtomicInteger counter) {
         if (maxDepth < depth)
             return createOverMinos(forwardOrderLookUp, counter);
         else
             return createJustMinos(forwardOrderLookUp, counter);
     }
 
-    private HashSet<LongPieces> createJustMinos(ForwardOrderLookUp forwardOrderLookUp, AtomicInteger counter) {
-        return generator.blocksStream()
+    private LongPiecesSet createJustMinos(ForwardOrderLookUp forwardOrderLookUp, AtomicInteger counter) {
+        return collect(generator.blocksStream()
                 .peek(pieces -> counter.incrementAndGet())
-                .map(Pieces::getPieces)
-                .flatMap(forwardOrderLookUp::parse)
-                .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .map(Pieces::getPieces), forwardOrderLookUp);
     }
 
-    private HashSet<LongPieces> createOverMinos(ForwardOrderLookUp forwardOrderLookUp, AtomicInteger counter) {
-        return generator.blocksStream()
+    private LongPiecesSet createOverMinos(ForwardOrderLookUp forwardOrderLookUp, AtomicInteger counter) {
+        return collect(generator.blocksStream()
                 .peek(pieces -> counter.incrementAndGet())
                 .map(Pieces::getPieces)
-                .map(blocks -> blocks.subList(0, maxDepth + 1))  // ホールドありなので+1ミノ分使用する
-                .flatMap(forwardOrderLookUp::parse)
-                .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .map(blocks -> blocks.subList(0, maxDepth + 1)), forwardOrderLookUp);  // ホールドありなので+1ミノ分使用する
+    }
+
+    // 並び替えたミノ順は、longのまま追加する
+    private LongPiecesSet collect(Stream<List<Piece>> blocksStream, ForwardOrderLookUp forwardOrderLookUp) {
+        int toDepth = forwardOrderLookUp.getToDepth();
+        LongPiecesSet searchingPieces = new LongPiecesSet();
+        blocksStream.sequential().forEach(blocks -> {
+            long pieces = new LongPieces(blocks).getLong();
+            forwardOrderLookUp.parse(pieces, value -> searchingPieces.addLong(value, toDepth));
+        });
+        return searchingPieces;
     }
 
     @Override
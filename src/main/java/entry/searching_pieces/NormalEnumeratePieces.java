@@ -1,10 +1,10 @@
 package entry.searching_pieces;
 
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import common.datastore.blocks.Pieces;
 import common.pattern.PatternGenerator;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -30,34 +30,34 @@ public class NormalEnumeratePieces implements EnumeratePiecesCore {
         int depth = generator.getDepth();
 
         AtomicInteger counter = new AtomicInteger();
-        HashSet<LongPieces> searchingPieces = create(depth, counter);
+        LongPiecesSet searchingPieces = create(depth, counter);
 
         this.counter = counter.get();
         return searchingPieces;
     }
 
-    private HashSet<LongPieces> create(int depth, AtomicInteger counter) {
+    private LongPiecesSet create(int depth, AtomicInteger counter) {
         if (maxDepth < depth)
             return createOverMinos(counter);
         else
             return createJustMinos(counter);
     }
 
-    private HashSet<LongPieces> createJustMinos(AtomicInteger counter) {
+    private LongPiecesSet createJustMinos(AtomicInteger counter) {
         return generator.blocksStream()
                 .peek(pieces -> counter.incrementAndGet())
                 .map(Pieces::blockStream)
                 .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .collect(Collectors.toCollection(LongPiecesSet::new));
     }
 
-    private HashSet<LongPieces> createOverMinos(AtomicInteger counter) {
+    private LongPiecesSet createOverMinos(AtomicInteger counter) {
         return generator.blocksStream()
                 .peek(pieces -> counter.incrementAndGet())
                 .map(Pieces::blockStream)
                 .map(stream -> stream.limit(maxDepth))
                 .map(LongPieces::new)
-                .collect(Collectors.toCollection(HashSet::new));
+                .collect(Collectors.toCollection(LongPiecesSet::new));
     }
 
     @Override
@@ -0,0 +1,94 @@
+package entry.serve;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// 書き込まれたバイト列をUTF-8として読み、JSONの文字列の中身としてエスケープしながらWriterへ流す
+// ジョブの出力をすべて溜めずに、クライアントへ少しずつ返すために使う
+class JsonStringOutputStream extends OutputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer writer;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private boolean isFinished = false;
+
+    JsonStringOutputStream(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        bytes.put((byte) b);
+        if (!bytes.hasRemaining())
+            decode(false);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (0 < len) {
+            int size = Math.min(len, bytes.remaining());
+            bytes.put(b, off, size);
+            off += size;
+            len -= size;
+            if (!bytes.hasRemaining())
+                decode(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (isFinished)
+            return;
+        decode(false);
+        writer.flush();
+    }
+
+    // 途中で切れているバイト列も含めて、残りをすべて書き出す。Writerは閉じない
+    void finish() throws IOException {
+        if (isFinished)
+            return;
+        decode(true);
+        decoder.flush(chars);
+        drain();
+        isFinished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    // 文字の途中で切れているバイトは、次の書き込みまで残しておく
+    private void decode(boolean endOfInput) throws IOException {
+        bytes.flip();
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            drain();
+            if (!result.isOverflow())
+                break;
+        }
+        bytes.compact();
+    }
+
+    private void drain() throws IOException {
+        chars.flip();
+        if (chars.hasRemaining()) {
+            StringBuilder builder = new StringBuilder(chars.remaining() + 16);
+            while (chars.hasRemaining())
+                JsonWriter.appendEscaped(builder, chars.get());
+            writer.write(builder.toString());
+        }
+        chars.clear();
+    }
+}
@@ -0,0 +1,61 @@
+package entry.serve;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// serveコマンドの結果を、1行のJSONとして書き出す
+class JsonWriter {
+    static String toJson(Object value) {
+        if (value == null)
+            return "null";
+        if (value instanceof String)
+            return quote((String) value);
+        if (value instanceof ServeJob.JsonNumber || value instanceof Number || value instanceof Boolean)
+            return value.toString();
+        if (value instanceof List)
+            return ((List<?>) value).stream()
+                    .map(JsonWriter::toJson)
+                    .collect(Collectors.joining(",", "[", "]"));
+        if (value instanceof Map)
+            return ((Map<?, ?>) value).entrySet().stream()
+                    .map(entry -> quote(String.valueOf(entry.getKey())) + ":" + toJson(entry.getValue()))
+                    .collect(Collectors.joining(",", "{", "}"));
+        throw new IllegalArgumentException("Unsupported value: " + value.getClass());
+    }
+
+    static String quote(String str) {
+        StringBuilder builder = new StringBuilder(str.length() + 2);
+        builder.append('"');
+        for (int index = 0; index < str.length(); index++)
+            appendEscaped(builder, str.charAt(index));
+        builder.append('"');
+        return builder.toString();
+    }
+
+    // JSONの文字列の中身として、1文字をエスケープして追加する
+    static void appendEscaped(StringBuilder builder, char c) {
+        switch (c) {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            default:
+                if (c < 0x20)
+                    builder.append(String.format("\\u%04x", (int) c));
+                else
+                    builder.append(c);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package entry.serve;
+
+import concurrent.ResidentExecutors;
+import entry.EntryPoint;
+import entry.EntryPointMain;
+import entry.path.ResidentBasicSolutions;
+import entry.percent.ResidentCandidateCaches;
+import exceptions.FinderException;
+import exceptions.FinderExecuteException;
+import exceptions.FinderParseException;
+import exceptions.FinderTerminateException;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1行1ジョブのJSONを受け取り、同じプロセスで各コマンドを実行して結果を1行のJSONで返す
+ * プロセスを使い続けるため、JVMの起動やJITのウォームアップ、SizedBitごとの計算結果を使い回せる
+ * 結果: {"id": ..., "output": 標準出力, "code": 終了コード, "time": ミリ秒, "error": 標準エラー出力}
+ * 標準出力は溜めずに、実行しながら返す。そのため終了コードなどは標準出力のあとに続ける
+ */
+public class ServeEntryPoint implements EntryPoint {
+    private static final String SHUTDOWN_COMMAND = "shutdown";
+
+    private final ServeSettings settings;
+
+    // コマンドの出力を取り込むためにSystem.outを差し替えるので、ジョブは1つずつ実行する
+    private final ExecutorService jobExecutorService = Executors.newSingleThreadExecutor();
+    private final ExecutorService connectionExecutorService = Executors.newCachedThreadPool();
+
+    private final PrintStream stdout = System.out;
+    private final PrintStream stderr = System.err;
+
+    private volatile boolean isShutdown = false;
+    private volatile ServerSocket serverSocket = null;
+
+    public ServeEntryPoint(ServeSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void run() throws FinderException {
+        // 計算結果やExecutorを保持するのは、serveの間だけ
+        ResidentBasicSolutions.enable();
+        ResidentCandidateCaches.enable();
+        ResidentExecutors.enable();
+
+        try {
+            if (settings.isUsingSocket()) {
+                serveSocket(settings.getPort());
+            } else {
+                stderr.println("Serve: read jobs from stdin");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                Writer writer = new OutputStreamWriter(stdout, StandardCharsets.UTF_8);
+                serve(reader, writer);
+            }
+        } catch (IOException e) {
+            throw new FinderExecuteException("Failed to serve", e);
+        } finally {
+            ResidentBasicSolutions.disable();
+            ResidentCandidateCaches.disable();
+            ResidentExecutors.disable();
+        }
+    }
+
+    private void serveSocket(int port) throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            this.serverSocket = serverSocket;
+            stderr.println("Serve: listen on " + serverSocket.getLocalSocketAddress());
+
+            while (!isShutdown) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (SocketException e) {
+                    // shutdownでソケットが閉じられた
+                    if (isShutdown)
+                        break;
+                    throw e;
+                }
+
+                connectionExecutorService.submit(() -> {
+                    try (Socket connection = socket) {
+                        BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+                        Writer writer = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8);
+                        serve(reader, writer);
+                    } catch (IOException e) {
+                        stderr.println("Serve: connection closed: " + e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    private void serve(BufferedReader reader, Writer writer) throws IOException {
+        String line;
+        while (!isShutdown && (line = reader.readLine()) != null) {
+            if (line.trim().isEmpty())
+                continue;
+
+            execute(line, writer);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    private void execute(String line, Writer writer) throws IOException {
+        ServeJob job;
+        try {
+            job = ServeJob.parse(line);
+        } catch (FinderParseException e) {
+            writer.write(toResponse("null", "", 1, 0L, e.getMessage()));
+            return;
+        }
+
+        String command = job.getCommand();
+        if (SHUTDOWN_COMMAND.equals(command)) {
+            shutdown();
+            writer.write(toResponse(job.getIdJson(), "", 0, 0L, ""));
+            return;
+        }
+
+        if ("serve".equals(command)) {
+            writer.write(toResponse(job.getIdJson(), "", 1, 0L, "Cannot run serve in serve"));
+            return;
+        }
+
+        Future<Void> future = jobExecutorService.submit(() -> {
+            runJob(job, writer);
+            return null;
+        });
+
+        // 結果を途中まで書き出しているため、続きを書けないときは接続を閉じる
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running job");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to write result", e.getCause());
+        }
+    }
+
+    // 標準出力は、実行しながらJSONの文字列として書き出す
+    private void runJob(ServeJob job, Writer writer) throws IOException {
+        writer.write("{\"id\":" + job.getIdJson() + ",\"output\":\"");
+        JsonStringOutputStream output = new JsonStringOutputStream(writer);
+        ByteArrayOutputStream error = new ByteArrayOutputStream();
+
+        long start = System.nanoTime();
+        int code;
+        try (PrintStream outputStream = new PrintStream(output, true, "UTF-8");
+             PrintStream errorStream = new PrintStream(error, true, "UTF-8")) {
+            System.setOut(outputStream);
+            System.setErr(errorStream);
+            try {
+                code = EntryPointMain.main(job.getArgs());
+            } catch (Exception e) {
+                // コマンドの振り分けに失敗したときなど
+                errorStream.println("Error: " + e.getMessage());
+                code = 1;
+            } finally {
+                System.setOut(stdout);
+                System.setErr(stderr);
+            }
+        }
+        output.finish();
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        writer.write(String.format("\",\"code\":%d,\"time\":%d,\"error\":%s}", code, time, JsonWriter.quote(error.toString("UTF-8"))));
+    }
+
+    private String toResponse(String idJson, String output, int code, long time, String error) {
+        return String.format("{\"id\":%s,\"output\":%s,\"code\":%d,\"time\":%d,\"error\":%s}",
+                idJson, JsonWriter.quote(output), code, time, JsonWriter.quote(error));
+    }
+
+    private void shutdown() {
+        isShutdown = true;
+
+        ServerSocket serverSocket = this.serverSocket;
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                stderr.println("Serve: failed to close socket: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws FinderTerminateException {
+        jobExecutorService.shutdown();
+        connectionExecutorService.shutdownNow();
+    }
+}
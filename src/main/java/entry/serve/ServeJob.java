@@ -0,0 +1,278 @@
+package entry.serve;
+
+import exceptions.FinderParseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * serveコマンドが受け取る1行分のジョブ
+ * 例: {"id": 1, "command": "percent", "args": ["-t", "v115@...", "-p", "*p7"]}
+ * argsは空白区切りの文字列でもよい。idはそのまま結果に含めて返す
+ */
+class ServeJob {
+    static ServeJob parse(String line) throws FinderParseException {
+        Object value = new JsonReader(line).readRoot();
+        if (!(value instanceof Map))
+            throw new FinderParseException("Job should be a JSON object");
+
+        Map<?, ?> object = (Map<?, ?>) value;
+
+        Object id = object.get("id");
+        String idJson = id != null ? JsonWriter.toJson(id) : "null";
+
+        Object command = object.get("command");
+        if (!(command instanceof String) || ((String) command).trim().isEmpty())
+            throw new FinderParseException("Job should have 'command'");
+
+        List<String> args = new ArrayList<>(split((String) command));
+        Object rawArgs = object.get("args");
+        if (rawArgs instanceof String) {
+            args.addAll(split((String) rawArgs));
+        } else if (rawArgs instanceof List) {
+            for (Object arg : (List<?>) rawArgs) {
+                if (!(arg instanceof String))
+                    throw new FinderParseException("Job 'args' should be a list of strings");
+                args.add((String) arg);
+            }
+        } else if (rawArgs != null) {
+            throw new FinderParseException("Job 'args' should be a string or a list of strings");
+        }
+
+        return new ServeJob(idJson, args);
+    }
+
+    private static List<String> split(String str) {
+        String trimmed = str.trim();
+        if (trimmed.isEmpty())
+            return Collections.emptyList();
+        return Arrays.asList(trimmed.split("\\s+"));
+    }
+
+    private final String idJson;
+    private final List<String> args;
+
+    private ServeJob(String idJson, List<String> args) {
+        this.idJson = idJson;
+        this.args = args;
+    }
+
+    String getIdJson() {
+        return idJson;
+    }
+
+    String getCommand() {
+        return args.get(0);
+    }
+
+    String[] getArgs() {
+        return args.toArray(new String[0]);
+    }
+
+    // ジョブに必要な分だけを読む、最小限のJSONリーダー
+    private static class JsonReader {
+        private final String str;
+        private int index = 0;
+
+        private JsonReader(String str) {
+            this.str = str;
+        }
+
+        private Object readRoot() throws FinderParseException {
+            Object value = readValue();
+            skipWhitespace();
+            if (index != str.length())
+                throw error("Unexpected trailing characters");
+            return value;
+        }
+
+        private Object readValue() throws FinderParseException {
+            skipWhitespace();
+            if (str.length() <= index)
+                throw error("Unexpected end of JSON");
+
+            char c = str.charAt(index);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    return readLiteral("true", Boolean.TRUE);
+                case 'f':
+                    return readLiteral("false", Boolean.FALSE);
+                case 'n':
+                    return readLiteral("null", null);
+                default:
+                    if (c == '-' || ('0' <= c && c <= '9'))
+                        return readNumber();
+                    throw error("Unexpected character '" + c + "'");
+            }
+        }
+
+        private Map<String, Object> readObject() throws FinderParseException {
+            Map<String, Object> object = new LinkedHashMap<>();
+            index += 1;
+            skipWhitespace();
+            if (peek() == '}') {
+                index += 1;
+                return object;
+            }
+
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"')
+                    throw error("Expected a key");
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    index += 1;
+                } else {
+                    expect('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> readArray() throws FinderParseException {
+            List<Object> array = new ArrayList<>();
+            index += 1;
+            skipWhitespace();
+            if (peek() == ']') {
+                index += 1;
+                return array;
+            }
+
+            while (true) {
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    index += 1;
+                } else {
+                    expect(']');
+                    return array;
+                }
+            }
+        }
+
+        private String readString() throws FinderParseException {
+            index += 1;
+            StringBuilder builder = new StringBuilder();
+            while (index < str.length()) {
+                char c = str.charAt(index++);
+                if (c == '"')
+                    return builder.toString();
+
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+
+                if (str.length() <= index)
+                    break;
+
+                char escaped = str.charAt(index++);
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        builder.append(escaped);
+                        break;
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'u':
+                        if (str.length() < index + 4)
+                            throw error("Invalid unicode escape");
+                        try {
+                            builder.append((char) Integer.parseInt(str.substring(index, index + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        index += 4;
+                        break;
+                    default:
+                        throw error("Invalid escape '\\" + escaped + "'");
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        // 数値は、idとしてそのまま返せるように元の文字列で保持する
+        private JsonNumber readNumber() throws FinderParseException {
+            int start = index;
+            while (index < str.length() && "+-0123456789.eE".indexOf(str.charAt(index)) != -1)
+                index += 1;
+
+            String number = str.substring(start, index);
+            try {
+                Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                throw error("Invalid number '" + number + "'");
+            }
+            return new JsonNumber(number);
+        }
+
+        private Object readLiteral(String literal, Object value) throws FinderParseException {
+            if (!str.startsWith(literal, index))
+                throw error("Unexpected literal");
+            index += literal.length();
+            return value;
+        }
+
+        private void skipWhitespace() {
+            while (index < str.length() && Character.isWhitespace(str.charAt(index)))
+                index += 1;
+        }
+
+        private char peek() throws FinderParseException {
+            if (str.length() <= index)
+                throw error("Unexpected end of JSON");
+            return str.charAt(index);
+        }
+
+        private void expect(char c) throws FinderParseException {
+            if (peek() != c)
+                throw error("Expected '" + c + "'");
+            index += 1;
+        }
+
+        private FinderParseException error(String message) {
+            return new FinderParseException(String.format("Invalid JSON: %s [position=%d]", message, index));
+        }
+    }
+
+    static class JsonNumber {
+        private final String number;
+
+        private JsonNumber(String number) {
+            this.number = number;
+        }
+
+        @Override
+        public String toString() {
+            return number;
+        }
+    }
+}
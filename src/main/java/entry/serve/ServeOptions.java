@@ -0,0 +1,34 @@
+package entry.serve;
+
+import entry.common.option.NoArgOption;
+import entry.common.option.OptionBuilder;
+import entry.common.option.SingleArgOption;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+
+public enum ServeOptions {
+    Help(NoArgOption.full("h", "help", "Usage")),
+    Port(SingleArgOption.full("po", "port", "number", "Port on localhost to accept jobs. If omitted, read jobs from stdin")),
+    ;
+
+    private final OptionBuilder optionBuilder;
+
+    ServeOptions(OptionBuilder optionBuilder) {
+        this.optionBuilder = optionBuilder;
+    }
+
+    public String optName() {
+        return optionBuilder.getLongName();
+    }
+
+    public static Options create() {
+        Options allOptions = new Options();
+
+        for (ServeOptions options : ServeOptions.values()) {
+            Option option = options.optionBuilder.toOption();
+            allOptions.addOption(option);
+        }
+
+        return allOptions;
+    }
+}
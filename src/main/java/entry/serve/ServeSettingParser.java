@@ -0,0 +1,31 @@
+package entry.serve;
+
+import entry.CommandLineWrapper;
+import entry.common.SettingParser;
+import exceptions.FinderParseException;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.Options;
+
+import java.util.Optional;
+
+public class ServeSettingParser extends SettingParser<ServeSettings> {
+    public ServeSettingParser(Options options, CommandLineParser parser) {
+        super(options, parser);
+    }
+
+    @Override
+    protected Optional<ServeSettings> parse(CommandLineWrapper wrapper) throws FinderParseException {
+        ServeSettings settings = new ServeSettings();
+
+        // ポートの設定
+        Optional<Integer> port = wrapper.getIntegerOption(ServeOptions.Port.optName());
+        if (port.isPresent()) {
+            int value = port.get();
+            if (value < 1 || 65535 < value)
+                throw new FinderParseException("Port should be 1 <= port <= 65535: port=" + value);
+            settings.setPort(value);
+        }
+
+        return Optional.of(settings);
+    }
+}
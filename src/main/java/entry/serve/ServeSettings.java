@@ -0,0 +1,20 @@
+package entry.serve;
+
+public class ServeSettings {
+    // 0のときは、標準入力からジョブを読み込む
+    private int port = 0;
+
+    // ********* Getter ************
+    int getPort() {
+        return port;
+    }
+
+    boolean isUsingSocket() {
+        return 0 < port;
+    }
+
+    // ********* Setter ************
+    void setPort(int port) {
+        this.port = port;
+    }
+}
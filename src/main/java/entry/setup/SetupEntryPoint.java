@@ -3,7 +3,6 @@ package entry.setup;
 import common.ValidPiecesPool;
 import common.buildup.BuildUpStream;
 import common.datastore.*;
-import common.iterable.CombinationIterable;
 import common.pattern.PatternGenerator;
 import common.tetfu.common.ColorConverter;
 import concurrent.HarddropReachableThreadLocal;
@@ -41,6 +40,7 @@ import exceptions.FinderException;
 import exceptions.FinderExecuteException;
 import exceptions.FinderInitializeException;
 import exceptions.FinderTerminateException;
+import lib.Metrics;
 import lib.Stopwatch;
 import searcher.pack.InOutPairField;
 import searcher.pack.SeparableMinos;
@@ -60,9 +60,9 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 public class SetupEntryPoint implements EntryPoint {
     private static final String LINE_SEPARATOR = System.lineSeparator();
@@ -267,43 +267,20 @@ public class SetupEntryPoint implements EntryPoint {
                 .map(stream -> stream.map(SeparableMino::toMinoOperationWithKey).collect(Collectors.toList()))
                 .collect(Collectors.toList());
 
+        // 結果を変換しながらフィルタリングする
         // 必要があればローカルサーチをする
-        List<SetupTemp> tempOperations = localSearchIfNeed(notFilledField, maxHeight, generator, isLocalSearch, resultOperations, maxDepth, minoFactory, minoShifter, buildUpStreamThreadLocal, initField);
-
-        // 結果のフィルタリング
+        // 出力では地形ごとにまとめて並び替えるため、受け取った結果はすべて保持する
         SetupSolutionFilter finalFilter = filter;
         Map<BlockField, List<SetupResult>> resultMap = new HashMap<>();
-        tempOperations.stream()
-                .map(setupTemp -> {
-                    List<MinoOperationWithKey> solution = setupTemp.getSolution();
-
-                    // フィールドに変換
-                    Field field = initField.freeze(maxHeight);
-                    for (OperationWithKey operation : solution) {
-                        Field pieceField = FieldFactory.createField(maxHeight);
-                        Mino mino = minoFactory.create(operation.getPiece(), operation.getRotate());
-                        int x = operation.getX();
-                        int y = operation.getY();
-                        pieceField.put(mino, x, y);
-                        pieceField.insertWhiteLineWithKey(operation.getNeedDeletedKey());
-                        field.merge(pieceField);
-                    }
-
-                    // テストフィールドに操作を加える
-                    Field testField = field.freeze(maxHeight);
-                    for (FieldOperation operation : settings.getAddOperations())
-                        operation.operate(testField);
-
-                    testField.clearLine();
-
-                    SetupResult setupResult = new SetupResult(solution, field, testField);
-                    return new Pair<>(setupTemp.getKeyField(), setupResult);
-                })
-                .filter(pair -> finalFilter.test(pair.getValue()))
-                .forEach((pair) -> {
-                    List<SetupResult> setupResults = resultMap.computeIfAbsent(pair.getKey(), (v) -> new ArrayList<>());
-                    setupResults.add(pair.getValue());
-                });
+        localSearchIfNeed(notFilledField, maxHeight, generator, isLocalSearch, resultOperations, maxDepth, minoFactory, minoShifter, buildUpStreamThreadLocal, initField, setupTemp -> {
+            SetupResult setupResult = toSetupResult(setupTemp.getSolution(), initField, maxHeight, minoFactory);
+            if (!finalFilter.test(setupResult))
+                return Optional.empty();
+            return Optional.of(new Pair<>(setupTemp.getKeyField(), setupResult));
+        }, pair -> {
+            List<SetupResult> setupResults = resultMap.computeIfAbsent(pair.getKey(), (v) -> new ArrayList<>());
+            setupResults.add(pair.getValue());
+        });
 
         output("     Found solutions = " + resultMap.size());
         if (isLocalSearch) {
@@ -319,9 +296,11 @@ public class SetupEntryPoint implements EntryPoint {
 
         output("# Output file");
 
+        long outputStart = Metrics.startTimer();
         SetupOutput setupOutput = createOutput(settings.getOutputType(), minoFactory, colorConverter, buildUpStreamThreadLocal, oneFumenParser, setupFunctions);
         SetupResults setupResults = new SetupResults(resultMap);
         setupOutput.output(setupResults, initField, sizedBit);
+        Metrics.stopTimer(Metrics.Timer.Output, outputStart);
 
         output();
 
@@ -347,11 +326,38 @@ public class SetupEntryPoint implements EntryPoint {
         return new OneFumenParser(minoFactory, colorConverter);
     }
 
-    private List<SetupTemp> localSearchIfNeed(Field notFilledField, int maxHeight, PatternGenerator generator, boolean isLocalSearch, List<List<MinoOperationWithKey>> resultOperations, int numOfPieces, MinoFactory minoFactory, MinoShifter minoShifter, ThreadLocal<BuildUpStream> buildUpStreamThreadLocal, Field initField) throws FinderExecuteException {
+    private SetupResult toSetupResult(List<MinoOperationWithKey> solution, Field initField, int maxHeight, MinoFactory minoFactory) {
+        // フィールドに変換
+        Field field = initField.freeze(maxHeight);
+        for (OperationWithKey operation : solution) {
+            Field pieceField = FieldFactory.createField(maxHeight);
+            Mino mino = minoFactory.create(operation.getPiece(), operation.getRotate());
+            int x = operation.getX();
+            int y = operation.getY();
+            pieceField.put(mino, x, y);
+            pieceField.insertWhiteLineWithKey(operation.getNeedDeletedKey());
+            field.merge(pieceField);
+        }
+
+        // テストフィールドに操作を加える
+        Field testField = field.freeze(maxHeight);
+        for (FieldOperation operation : settings.getAddOperations())
+            operation.operate(testField);
+
+        testField.clearLine();
+
+        return new SetupResult(solution, field, testField);
+    }
+
+    private <T> void localSearchIfNeed(Field notFilledField, int maxHeight, PatternGenerator generator, boolean isLocalSearch, List<List<MinoOperationWithKey>> resultOperations, int numOfPieces, MinoFactory minoFactory, MinoShifter minoShifter, ThreadLocal<BuildUpStream> buildUpStreamThreadLocal, Field initField, Function<SetupTemp, Optional<T>> sink, Consumer<T> consumer) throws FinderExecuteException {
         if (!isLocalSearch) {
-            return resultOperations.stream()
+            resultOperations.parallelStream()
                     .map(o -> new SetupTemp(o, maxHeight))
-                    .collect(Collectors.toList());
+                    .map(sink)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .forEachOrdered(consumer);
+            return;
         }
 
         // 使っていないミノに対してローカルサーチする
@@ -371,89 +377,8 @@ public class SetupEntryPoint implements EntryPoint {
         }
 
         // 探索をさらに進める
-        return resultOperations.stream()
-                .flatMap((operationWithKeys) -> {
-                    // 必要なミノを数える
-                    PieceCounter pieceCounter = new PieceCounter(operationWithKeys.stream().map(MinoOperationWithKey::getPiece));
-                    int numOfUsedPieces = pieceCounter.getBlocks().size();
-
-                    // 必要な数以上使っている
-                    if (numOfPieces < numOfUsedPieces) {
-                        return Stream.empty();
-                    }
-
-                    // 必要な数だけ使っている
-                    if (numOfPieces == numOfUsedPieces) {
-                        return Stream.of(new SetupTemp(operationWithKeys, maxHeight));
-                    }
-
-                    // 必要な数を使っていない
-                    // フィールド作成  // すでにおかれたピース+おくことができない場所
-                    Field field = initField.freeze(maxHeight);
-                    for (MinoOperationWithKey operation : operationWithKeys) {
-                        Field pieceField = FieldFactory.createField(maxHeight);
-                        pieceField.put(operation.getMino(), operation.getX(), operation.getY());
-                        pieceField.insertWhiteLineWithKey(operation.getNeedDeletedKey());
-                        field.merge(pieceField);
-                    }
-                    field.merge(notFilledField);
-
-                    // 探索する
-                    int needNumOfPieces = numOfPieces - numOfUsedPieces;
-                    return generator.blockCountersStream()
-                            .flatMap((allUsablePieceCounter) -> {
-                                PieceCounter noUsedPieceCounter = allUsablePieceCounter.removeAndReturnNew(pieceCounter);
-
-                                // 使えるミノ組み合わせを列挙する
-                                CombinationIterable<Piece> iterable = new CombinationIterable<>(noUsedPieceCounter.getBlocks(), needNumOfPieces);
-                                return StreamSupport.stream(iterable.spliterator(), false)
-                                        .map(LinkedList::new)
-                                        .peek(blocks -> blocks.sort(Comparator.comparing(Piece::getNumber)))
-                                        .flatMap(blocks -> localSearch(operationWithKeys, field, blocks, minoEachPieceMap, maxHeight, buildUpStreamThreadLocal, initField, null, 0));
-                            })
-                            .map((solution) -> new SetupTemp(operationWithKeys, solution, maxHeight));
-                })
-                .collect(Collectors.toList());
-    }
-
-    private Stream<? extends List<MinoOperationWithKey>> localSearch(List<MinoOperationWithKey> operationWithKeys, Field field, LinkedList<Piece> pieces, EnumMap<Piece, List<FieldOperationWithKey>> minoEachPieceMap, int maxHeight, ThreadLocal<BuildUpStream> buildUpStreamThreadLocal, Field initField, Piece prev, int prevUsingIndex) {
-        Stream<? extends List<MinoOperationWithKey>> stream = Stream.empty();
-
-        Piece piece = pieces.pollFirst();
-        List<FieldOperationWithKey> minos = minoEachPieceMap.get(piece);
-        int startIndex = prev == piece ? prevUsingIndex + 1 : 0;
-        for (int index = startIndex; index < minos.size(); index++) {
-            FieldOperationWithKey fieldOperationWithKey = minos.get(index);
-            Field minoField = fieldOperationWithKey.getField();
-            if (field.canMerge(minoField)) {
-                // 次の手順
-                LinkedList<MinoOperationWithKey> newOperations = new LinkedList<>(operationWithKeys);
-                newOperations.add(fieldOperationWithKey.getOperation());
-
-                if (pieces.isEmpty()) {
-                    // 全てのPieceを使った
-
-                    // 地形の中で組むことができるoperationsを一つ作成
-                    BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
-                    Optional<List<MinoOperationWithKey>> result = buildUpStream.existsValidBuildPattern(initField, newOperations)
-                            .findFirst();
-
-                    // 地形の中で組むことができるものがあるときは結果として記録する
-                    if (result.isPresent()) {
-                        stream = Stream.concat(stream, Stream.of(result.get()));
-                    }
-                } else {
-                    // 次のフィールド
-                    Field freeze = field.freeze(maxHeight);
-                    freeze.merge(minoField);
-
-                    stream = Stream.concat(stream, localSearch(newOperations, freeze, pieces, minoEachPieceMap, maxHeight, buildUpStreamThreadLocal, initField, piece, index));
-                }
-            }
-        }
-        pieces.addFirst(piece);
-
-        return stream;
+        SetupLocalSearcher searcher = new SetupLocalSearcher(generator, minoEachPieceMap, buildUpStreamThreadLocal, initField, notFilledField, maxHeight, numOfPieces);
+        searcher.search(resultOperations, sink, consumer);
     }
 
     private SetupFunctions createSetupFunctions(boolean isCombination, PatternGenerator generator, ThreadLocal<BuildUpStream> buildUpStreamThreadLocal, Field initField, int maxDepth, boolean isUsingHold) {
@@ -487,9 +412,11 @@ public class SetupEntryPoint implements EntryPoint {
 
                         // 地形の中で組むことができるoperationsを一つ作成
                         BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
+                        long start = Metrics.startTimer();
                         List<MinoOperationWithKey> sampleOperations = buildUpStream.existsValidBuildPatternDirectly(initField, operationWithKeys)
                                 .findFirst()
                                 .orElse(Collections.emptyList());
+                        Metrics.stopTimer(Metrics.Timer.BuildUp, start);
 
                         // 地形の中で組むことができるものがないときはスキップ
                         return !sampleOperations.isEmpty();
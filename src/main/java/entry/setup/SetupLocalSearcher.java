@@ -0,0 +1,288 @@
+package entry.setup;
+
+import common.buildup.BuildUpStream;
+import common.datastore.MinoOperationWithKey;
+import common.datastore.PieceCounter;
+import common.datastore.blocks.LongPieces;
+import common.iterable.CombinationIterable;
+import common.pattern.PatternGenerator;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.Piece;
+import entry.setup.filters.SetupTemp;
+import lib.Metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * '--n-pieces' で足りないミノを、解の空いている場所に置いて探索する
+ * (フィールド, 残りのミノ) ごとにタスクを分割して、ForkJoinPoolで並列に探索する
+ * 結果は1スレッドで再帰したときと同じ順番で、解ごとに受け取り側へ渡す
+ * 探索中と受け渡し待ちの解は、スレッド数の2倍までに抑える
+ */
+class SetupLocalSearcher {
+    // 残りのミノを置ききれなかった局面を記録する上限
+    private static final int MAX_DEAD_ENDS = 1 << 20;
+
+    // 残りのミノがこの数以上のときだけ、子のタスクを分割する
+    private static final int FORK_PIECES = 2;
+
+    private static final int WINDOW_PER_THREAD = 2;
+
+    private final PatternGenerator generator;
+    private final EnumMap<Piece, List<FieldOperationWithKey>> minoEachPieceMap;
+    private final ThreadLocal<BuildUpStream> buildUpStreamThreadLocal;
+    private final Field initField;
+    private final Field notFilledField;
+    private final int maxHeight;
+    private final int numOfPieces;
+
+    // 残りのミノを1つの組み合わせも置けないとわかった局面
+    // 置けるかどうかは局面だけで決まるため、解が異なっても同じ結果になる
+    private final Set<DeadEnd> deadEnds = ConcurrentHashMap.newKeySet();
+
+    SetupLocalSearcher(PatternGenerator generator, EnumMap<Piece, List<FieldOperationWithKey>> minoEachPieceMap, ThreadLocal<BuildUpStream> buildUpStreamThreadLocal, Field initField, Field notFilledField, int maxHeight, int numOfPieces) {
+        this.generator = generator;
+        this.minoEachPieceMap = minoEachPieceMap;
+        this.buildUpStreamThreadLocal = buildUpStreamThreadLocal;
+        this.initField = initField;
+        this.notFilledField = notFilledField;
+        this.maxHeight = maxHeight;
+        this.numOfPieces = numOfPieces;
+    }
+
+    // 見つかった解は、sinkで変換してからconsumerへ渡す。sinkが空を返したときは捨てる
+    // 元の解ごとに、その解から見つかった結果だけを保持する
+    <T> void search(List<List<MinoOperationWithKey>> resultOperations, Function<SetupTemp, Optional<T>> sink, Consumer<T> consumer) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int window = pool.getParallelism() * WINDOW_PER_THREAD;
+
+        // 元の解の順番に並べて、先頭から渡す
+        Deque<SolutionTask<T>> tasks = new ArrayDeque<>();
+        for (List<MinoOperationWithKey> operationWithKeys : resultOperations) {
+            if (window <= tasks.size())
+                tasks.pollFirst().join().forEach(consumer);
+
+            SolutionTask<T> task = new SolutionTask<>(operationWithKeys, sink);
+            pool.execute(task);
+            tasks.addLast(task);
+        }
+
+        while (!tasks.isEmpty())
+            tasks.pollFirst().join().forEach(consumer);
+    }
+
+    // 記録している、残りのミノを置ききれなかった局面の数
+    int getNumOfDeadEnds() {
+        return deadEnds.size();
+    }
+
+    private static <T> List<T> joinAll(List<? extends RecursiveTask<List<T>>> tasks) {
+        ForkJoinTask.invokeAll(tasks);
+
+        List<T> results = new ArrayList<>();
+        for (RecursiveTask<List<T>> task : tasks)
+            results.addAll(task.join());
+        return results;
+    }
+
+    // 1つの解に対して、使っていないミノの組み合わせごとに探索する
+    private class SolutionTask<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<MinoOperationWithKey> operationWithKeys;
+        private final Function<SetupTemp, Optional<T>> sink;
+
+        private SolutionTask(List<MinoOperationWithKey> operationWithKeys, Function<SetupTemp, Optional<T>> sink) {
+            this.operationWithKeys = operationWithKeys;
+            this.sink = sink;
+        }
+
+        @Override
+        protected List<T> compute() {
+            // 必要なミノを数える
+            PieceCounter pieceCounter = new PieceCounter(operationWithKeys.stream().map(MinoOperationWithKey::getPiece));
+            int numOfUsedPieces = pieceCounter.getBlocks().size();
+
+            // 必要な数以上使っている
+            if (numOfPieces < numOfUsedPieces)
+                return Collections.emptyList();
+
+            // 必要な数だけ使っている
+            if (numOfPieces == numOfUsedPieces)
+                return sink.apply(new SetupTemp(operationWithKeys, maxHeight))
+                        .map(Collections::singletonList)
+                        .orElse(Collections.emptyList());
+
+            // 必要な数を使っていない
+            // フィールド作成  // すでにおかれたピース+おくことができない場所
+            Field field = initField.freeze(maxHeight);
+            for (MinoOperationWithKey operation : operationWithKeys) {
+                Field pieceField = FieldFactory.createField(maxHeight);
+                pieceField.put(operation.getMino(), operation.getX(), operation.getY());
+                pieceField.insertWhiteLineWithKey(operation.getNeedDeletedKey());
+                field.merge(pieceField);
+            }
+            field.merge(notFilledField);
+
+            // 使えるミノの組み合わせを列挙する
+            int needNumOfPieces = numOfPieces - numOfUsedPieces;
+            List<PlaceTask<T>> tasks = new ArrayList<>();
+            generator.blockCountersStream().forEach(allUsablePieceCounter -> {
+                PieceCounter noUsedPieceCounter = allUsablePieceCounter.removeAndReturnNew(pieceCounter);
+                for (List<Piece> combination : new CombinationIterable<>(noUsedPieceCounter.getBlocks(), needNumOfPieces)) {
+                    Piece[] pieces = combination.toArray(new Piece[0]);
+                    Arrays.sort(pieces, Comparator.comparing(Piece::getNumber));
+                    tasks.add(new PlaceTask<>(this, operationWithKeys, field, pieces, 0, 0));
+                }
+            });
+
+            return joinAll(tasks);
+        }
+    }
+
+    // pieces[depth] のミノを置き、残りのミノを子のタスクで置く
+    // 同じ種類のミノが続くときは、前のミノより後ろの置き場所だけを使い、同じ組み合わせを重複して探索しない
+    private class PlaceTask<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final SolutionTask<T> parent;
+        private final List<MinoOperationWithKey> operations;
+        private final Field field;
+        private final Piece[] pieces;
+        private final int depth;
+        private final int startIndex;
+
+        // 残りのミノをすべて置ける組み合わせが、1つ以上あったか
+        private boolean isPlaced = false;
+
+        private PlaceTask(SolutionTask<T> parent, List<MinoOperationWithKey> operations, Field field, Piece[] pieces, int depth, int startIndex) {
+            this.parent = parent;
+            this.operations = operations;
+            this.field = field;
+            this.pieces = pieces;
+            this.depth = depth;
+            this.startIndex = startIndex;
+        }
+
+        @Override
+        protected List<T> compute() {
+            DeadEnd deadEnd = new DeadEnd(field, pieces, depth, startIndex);
+            if (deadEnds.contains(deadEnd))
+                return Collections.emptyList();
+
+            List<T> results = depth == pieces.length - 1 ? placeLast() : placeNext();
+
+            if (!isPlaced && deadEnds.size() < MAX_DEAD_ENDS)
+                deadEnds.add(deadEnd);
+
+            return results;
+        }
+
+        // 最後のミノを置いて、地形の中で組むことができるか確認する
+        private List<T> placeLast() {
+            List<T> results = new ArrayList<>();
+            List<FieldOperationWithKey> minos = minoEachPieceMap.get(pieces[depth]);
+            for (int index = startIndex; index < minos.size(); index++) {
+                FieldOperationWithKey fieldOperationWithKey = minos.get(index);
+                if (!field.canMerge(fieldOperationWithKey.getField()))
+                    continue;
+
+                isPlaced = true;
+
+                LinkedList<MinoOperationWithKey> newOperations = new LinkedList<>(operations);
+                newOperations.add(fieldOperationWithKey.getOperation());
+
+                // 地形の中で組むことができるoperationsを一つ作成
+                BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
+                long start = Metrics.startTimer();
+                Optional<List<MinoOperationWithKey>> result = buildUpStream.existsValidBuildPattern(initField, newOperations)
+                        .findFirst();
+                Metrics.stopTimer(Metrics.Timer.BuildUp, start);
+
+                // 地形の中で組むことができるものがあるときは結果として記録する
+                result.flatMap(solution -> parent.sink.apply(new SetupTemp(parent.operationWithKeys, solution, maxHeight)))
+                        .ifPresent(results::add);
+            }
+            return results;
+        }
+
+        private List<T> placeNext() {
+            Piece piece = pieces[depth];
+            Piece next = pieces[depth + 1];
+            boolean isForkable = FORK_PIECES <= pieces.length - depth - 1;
+
+            List<PlaceTask<T>> tasks = new ArrayList<>();
+            List<T> results = new ArrayList<>();
+            List<FieldOperationWithKey> minos = minoEachPieceMap.get(piece);
+            for (int index = startIndex; index < minos.size(); index++) {
+                FieldOperationWithKey fieldOperationWithKey = minos.get(index);
+                Field minoField = fieldOperationWithKey.getField();
+                if (!field.canMerge(minoField))
+                    continue;
+
+                // 次の手順
+                List<MinoOperationWithKey> newOperations = new ArrayList<>(operations);
+                newOperations.add(fieldOperationWithKey.getOperation());
+
+                // 次のフィールド
+                Field freeze = field.freeze(maxHeight);
+                freeze.merge(minoField);
+
+                int nextStartIndex = piece == next ? index + 1 : 0;
+                PlaceTask<T> task = new PlaceTask<>(parent, newOperations, freeze, pieces, depth + 1, nextStartIndex);
+                if (isForkable) {
+                    tasks.add(task);
+                } else {
+                    results.addAll(task.compute());
+                    isPlaced |= task.isPlaced;
+                }
+            }
+
+            if (tasks.isEmpty())
+                return results;
+
+            ForkJoinTask.invokeAll(tasks);
+            for (PlaceTask<T> task : tasks) {
+                results.addAll(task.join());
+                isPlaced |= task.isPlaced;
+            }
+            return results;
+        }
+    }
+
+    private static class DeadEnd {
+        private final Field field;
+        private final long pieces;
+        private final int numOfPieces;
+        private final int startIndex;
+        private final int hashCode;
+
+        private DeadEnd(Field field, Piece[] pieces, int depth, int startIndex) {
+            this.field = field;
+            this.pieces = new LongPieces(Arrays.asList(pieces).subList(depth, pieces.length)).getLong();
+            this.numOfPieces = pieces.length - depth;
+            this.startIndex = startIndex;
+            this.hashCode = Objects.hash(field, this.pieces, numOfPieces, startIndex);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DeadEnd deadEnd = (DeadEnd) o;
+            return pieces == deadEnd.pieces && numOfPieces == deadEnd.numOfPieces && startIndex == deadEnd.startIndex && field.equals(deadEnd.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
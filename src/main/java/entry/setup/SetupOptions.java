@@ -22,7 +22,7 @@ public enum SetupOptions {
     Drop(SingleArgOption.full("d", "drop", "hard or soft", "Specify drop")),
     Exclude(SingleArgOption.full("e", "exclude", "string", "If specify, exclude some solutions")),
     Operations(ListArgOption.fullSpace("op", "operate", "operation-list", "Operate field before determining to exclude solutions")),
-    NPieces(SingleArgOption.full("np", "n-pieces", "number", "If specify N, must use N pieces")),
+    NPieces(SingleArgOption.full("np", "n-pieces", "number", "If specify N, must use N pieces. All found solutions are kept in memory until output")),
     Format(SingleArgOption.full("fo", "format", "string", "Result format type for output")),
     Split(SingleArgOption.full("s", "split", "boolean", "Split outputted tetfu page")),
     FieldPath(SingleArgOption.full("fp", "field-path", "path", "File path of field definition")),
@@ -3,10 +3,11 @@ package entry.setup.filters;
 import common.buildup.BuildUpStream;
 import common.datastore.MinoOperationWithKey;
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import core.field.Field;
 import common.ValidPiecesPool;
+import lib.Metrics;
 
-import java.util.HashSet;
 
 public class OrderFilter implements SetupSolutionFilter {
     private final ThreadLocal<BuildUpStream> buildUpStreamThreadLocal;
@@ -21,10 +22,13 @@ public class OrderFilter implements SetupSolutionFilter {
 
     @Override
     public boolean test(SetupResult result) {
-        HashSet<LongPieces> validPieces = validPiecesPool.getValidPieces();
+        LongPiecesSet validPieces = validPiecesPool.getValidPieces();
         BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
-        return buildUpStream.existsValidBuildPattern(initField, result.getSolution())
+        long start = Metrics.startTimer();
+        boolean isValid = buildUpStream.existsValidBuildPattern(initField, result.getSolution())
                 .map(operations -> new LongPieces(operations.stream().map(MinoOperationWithKey::getPiece)))
                 .anyMatch(validPieces::contains);
+        Metrics.stopTimer(Metrics.Timer.Validation, start);
+        return isValid;
     }
 }
\ No newline at end of file
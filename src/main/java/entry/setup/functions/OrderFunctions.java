@@ -3,13 +3,13 @@ package entry.setup.functions;
 import common.buildup.BuildUpStream;
 import common.datastore.MinoOperationWithKey;
 import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.LongPiecesSet;
 import core.field.Field;
 import core.mino.Piece;
 import common.ValidPiecesPool;
 import entry.setup.filters.OrderFilter;
 import entry.setup.filters.SetupSolutionFilter;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -34,7 +34,7 @@ public class OrderFunctions implements SetupFunctions {
     @Override
     public BiFunction<List<MinoOperationWithKey>, Field, String> getNaming() {
         return (operationWithKeys, field) -> {
-            HashSet<LongPieces> validPieces = validPiecesPool.getValidPieces();
+            LongPiecesSet validPieces = validPiecesPool.getValidPieces();
             BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
             Optional<LongPieces> sample = buildUpStream.existsValidBuildPattern(field, operationWithKeys)
                     .map(operations -> new LongPieces(operations.stream().map(MinoOperationWithKey::getPiece)))
@@ -82,7 +82,8 @@ public class CSVSetupOutput implements SetupOutput {
             writer.writeAndNewLine("テト譜,使用ミノ,手順数");
 
             for (List<SetupResult> results : resultMap.values()) {
-                results.stream()
+                // テト譜の作成は並列に行い、出力はソート順を保つ
+                results.parallelStream()
                         .map(setupResult -> {
                             List<MinoOperationWithKey> operationWithKeys = setupResult.getSolution();
 
@@ -91,7 +92,7 @@ public class CSVSetupOutput implements SetupOutput {
                             return new Pair<>(counter, setupResult);
                         })
                         .sorted(comparator.reversed())
-                        .forEach(pair -> {
+                        .map(pair -> {
                             Long counter = pair.getKey();
                             SetupResult setupResult = pair.getValue();
 
@@ -104,10 +105,9 @@ public class CSVSetupOutput implements SetupOutput {
                             // 名前の作成
                             String name = naming.apply(operationWithKeys, setupResult.getRawField());
 
-                            String line = String.format("http://fumen.zui.jp/?v115@%s,%s,%d", encode, name, counter);
-
-                            writer.writeAndNewLine(line);
-                        });
+                            return String.format("http://fumen.zui.jp/?v115@%s,%s,%d", encode, name, counter);
+                        })
+                        .forEachOrdered(writer::writeAndNewLine);
             }
 
             writer.flush();
@@ -34,6 +34,20 @@ import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 public class LinkSetupOutput implements SetupOutput {
+    private static class EncodedResult {
+        private final List<MinoOperationWithKey> operationWithKeys;
+        private final long counter;
+        private final String name;
+        private final String encode;
+
+        private EncodedResult(List<MinoOperationWithKey> operationWithKeys, long counter, String name, String encode) {
+            this.operationWithKeys = operationWithKeys;
+            this.counter = counter;
+            this.name = name;
+            this.encode = encode;
+        }
+    }
+
     private final MyFile outputSetupFile;
     private final SetupFunctions setupFunctions;
     private final FumenParser fumenParser;
@@ -82,7 +96,8 @@ public class LinkSetupOutput implements SetupOutput {
 
             FieldHTMLColumn column = new FieldHTMLColumn(field, maxHeight);
 
-            results.stream()
+            // テト譜の作成は並列に行い、出力はソート順を保つ
+            results.parallelStream()
                     .map(setupResult -> {
                         List<MinoOperationWithKey> operationWithKeys = setupResult.getSolution();
 
@@ -91,7 +106,7 @@ public class LinkSetupOutput implements SetupOutput {
                         return new Pair<>(counter, setupResult);
                     })
                     .sorted(comparator.reversed())
-                    .forEach(pair -> {
+                    .map(pair -> {
                         Long counter = pair.getKey();
                         SetupResult setupResult = pair.getValue();
 
@@ -101,12 +116,18 @@ public class LinkSetupOutput implements SetupOutput {
                         // 名前の作成
                         String name = naming.apply(operationWithKeys, setupResult.getRawField());
 
-                        bufferedFumenParser.add(operationWithKeys, initField, maxHeight, String.format("%d : %s", counter, name), counter);
-
                         // 譜面の作成
                         String encode = fumenParser.parse(operationWithKeys, initField, maxHeight);
 
-                        String link = String.format("<a href='http://fumen.zui.jp/?v115@%s'>%s</a> <span style='color: #999'>[%d]</span>", encode, name, counter);
+                        return new EncodedResult(operationWithKeys, counter, name, encode);
+                    })
+                    .forEachOrdered(result -> {
+                        long counter = result.counter;
+                        String name = result.name;
+
+                        bufferedFumenParser.add(result.operationWithKeys, initField, maxHeight, String.format("%d : %s", counter, name), counter);
+
+                        String link = String.format("<a href='http://fumen.zui.jp/?v115@%s'>%s</a> <span style='color: #999'>[%d]</span>", result.encode, name, counter);
                         String line = String.format("<div>%s</div>", link);
 
                         htmlBuilder.addColumn(column, line, -counter);
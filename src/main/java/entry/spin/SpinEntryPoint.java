@@ -37,6 +37,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class SpinEntryPoint implements EntryPoint {
     private static final String LINE_SEPARATOR = System.lineSeparator();
@@ -146,6 +147,18 @@ public class SpinEntryPoint implements EntryPoint {
         SecondPreSpinRunner secondPreSpinRunner = new SecondPreSpinRunner(firstPreSpinRunner, initField, pieceCounter, maxRoofNum);
         SpinRunner spinRunner = searchRoof ? new FullSpinRunner() : new NoRoofSpinRunner();
 
+        LockedReachableThreadLocal lockedReachableThreadLocal = new LockedReachableThreadLocal(minoFactory, minoShifter, minoRotation, fieldHeight);
+        SpinOutput output;
+        if (searchRoof) {
+            output = new FullSpinOutput(
+                    fumenParser, minoFactory, minoRotationDetail, lockedReachableThreadLocal, rotateReachableThreadLocal, settings.getFilterMode()
+            );
+        } else {
+            output = new NoRoofSpinOutput(
+                    fumenParser, lockedReachableThreadLocal, rotateReachableThreadLocal, settings.getFilterMode()
+            );
+        }
+
         // ========================================
 
         output("# Search");
@@ -154,7 +167,9 @@ public class SpinEntryPoint implements EntryPoint {
 
         Stopwatch stopwatch = Stopwatch.createStartedStopwatch();
 
-        List<Candidate> results = spinRunner.search(secondPreSpinRunner, requiredClearLine).collect(Collectors.toList());
+        // 探索結果はリストに溜めず、見つかった順に判定して出力する
+        Stream<? extends Candidate> candidates = spinRunner.search(secondPreSpinRunner, requiredClearLine);
+        int resultSize = output.output(base, candidates, initField, fieldHeight);
 
         stopwatch.stop();
 
@@ -166,20 +181,6 @@ public class SpinEntryPoint implements EntryPoint {
         // ========================================
 
         output("# Output");
-
-        LockedReachableThreadLocal lockedReachableThreadLocal = new LockedReachableThreadLocal(minoFactory, minoShifter, minoRotation, fieldHeight);
-        SpinOutput output;
-        if (searchRoof) {
-            output = new FullSpinOutput(
-                    fumenParser, minoFactory, minoRotationDetail, lockedReachableThreadLocal, rotateReachableThreadLocal, settings.getFilterMode()
-            );
-        } else {
-            output = new NoRoofSpinOutput(
-                    fumenParser, lockedReachableThreadLocal, rotateReachableThreadLocal, settings.getFilterMode()
-            );
-        }
-
-        int resultSize = output.output(base, results, initField, fieldHeight);
         output("Found solutions = " + resultSize);
     }
 
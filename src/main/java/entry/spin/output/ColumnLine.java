@@ -0,0 +1,28 @@
+package entry.spin.output;
+
+import output.HTMLColumn;
+
+// HTMLに追加する1行分の情報
+class ColumnLine<T extends HTMLColumn> {
+    private final T column;
+    private final String line;
+    private final int priority;
+
+    ColumnLine(T column, String line, int priority) {
+        this.column = column;
+        this.line = line;
+        this.priority = priority;
+    }
+
+    T getColumn() {
+        return column;
+    }
+
+    String getLine() {
+        return line;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+}
@@ -13,6 +13,7 @@ import core.mino.Mino;
 import core.neighbor.SimpleOriginalPiece;
 import entry.path.output.FumenParser;
 import entry.spin.FilterType;
+import lib.Metrics;
 import searcher.spins.candidates.Candidate;
 import searcher.spins.results.Result;
 
@@ -115,9 +116,11 @@ public class Formatter {
         LockedReachable lockedReachable = lockedReachableThreadLocal.get();
 
         // その解をそのまま組み立てられるか
+        long start = Metrics.startTimer();
         boolean cansBuildWithoutT = BuildUp.existsValidBuildPattern(
                 initField, operations.stream().filter(op -> !operationT.equals(op)), fieldHeight, lockedReachable
         );
+        Metrics.stopTimer(Metrics.Timer.BuildUp, start);
 
         if (!cansBuildWithoutT) {
             return SolutionType.InvalidShape;
@@ -18,6 +18,7 @@ import entry.path.output.FumenParser;
 import entry.path.output.MyFile;
 import entry.spin.FilterType;
 import exceptions.FinderExecuteException;
+import lib.Metrics;
 import output.HTMLBuilder;
 import searcher.spins.SpinCommons;
 import searcher.spins.candidates.Candidate;
@@ -29,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class FullSpinOutput implements SpinOutput {
     private final MinoFactory minoFactory;
@@ -50,18 +52,22 @@ public class FullSpinOutput implements SpinOutput {
     }
 
     @Override
-    public int output(MyFile myFile, List<Candidate> results, Field initField, int fieldHeight) throws FinderExecuteException {
+    public int output(MyFile myFile, Stream<? extends Candidate> candidates, Field initField, int fieldHeight) throws FinderExecuteException {
         HTMLBuilder<FullSpinColumn> htmlBuilder = new HTMLBuilder<>("Spin Result");
 
         // HTMLを作成する
-        for (Candidate candidate : results) {
-            add(htmlBuilder, candidate, initField, fieldHeight);
-        }
+        // 判定とテト譜の作成は並列に行い、HTMLへは探索結果の順番で追加する
+        candidates.parallel()
+                .map(candidate -> toColumnLine(candidate, initField, fieldHeight))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .forEachOrdered(columnLine -> htmlBuilder.addColumn(columnLine.getColumn(), columnLine.getLine(), columnLine.getPriority()));
 
         int size = htmlBuilder.getSize();
         htmlBuilder.addHeader(String.format("%d solutions", size));
 
         // 書き込み
+        long start = Metrics.startTimer();
         try (BufferedWriter writer = myFile.newBufferedWriter()) {
             ArrayList<FullSpinColumn> sorted = new ArrayList<>(htmlBuilder.getRegisteredColumns());
             sorted.sort(Comparator.reverseOrder());
@@ -75,11 +81,18 @@ public class FullSpinOutput implements SpinOutput {
         } catch (Exception e) {
             throw new FinderExecuteException("Failed to output file", e);
         }
+        Metrics.stopTimer(Metrics.Timer.Output, start);
 
         return size;
     }
 
-    private void add(HTMLBuilder<FullSpinColumn> htmlBuilder, Candidate candidate, Field initField, int fieldHeight) {
+    private Optional<ColumnLine<FullSpinColumn>> toColumnLine(Candidate candidate, Field initField, int fieldHeight) {
+        // 出力対象外の解は、スピンの判定をせずに除外する
+        Optional<Pair<String, Integer>> optional = formatter.get(candidate, initField, fieldHeight);
+        if (!optional.isPresent()) {
+            return Optional.empty();
+        }
+
         LockedReachable lockedReachable = lockedReachableThreadLocal.get();
 
         // Tを使って消去されるライン数
@@ -123,14 +136,9 @@ public class FullSpinOutput implements SpinOutput {
 
         assert maxSpin != null;
 
-        final int finalPriority = maxPriority;
-
-        Optional<Pair<String, Integer>> optional = formatter.get(candidate, initField, fieldHeight);
-        if (optional.isPresent()) {
-            Pair<String, Integer> aLinkSolutionPriority = optional.get();
-            FullSpinColumn column = new FullSpinColumn(maxSpin, finalPriority, getSpinString(maxSpin));
-            htmlBuilder.addColumn(column, aLinkSolutionPriority.getKey(), aLinkSolutionPriority.getValue());
-        }
+        Pair<String, Integer> aLinkSolutionPriority = optional.get();
+        FullSpinColumn column = new FullSpinColumn(maxSpin, maxPriority, getSpinString(maxSpin));
+        return Optional.of(new ColumnLine<>(column, aLinkSolutionPriority.getKey(), aLinkSolutionPriority.getValue()));
     }
 
     private List<Spin> getSpins(LockedReachable lockedReachable, Field fieldWithoutT, Operation operation, Mino before, int[][] patterns, RotateDirection direction, int maxHeight, int clearedLine) {
@@ -9,6 +9,7 @@ import entry.path.output.FumenParser;
 import entry.path.output.MyFile;
 import entry.spin.FilterType;
 import exceptions.FinderExecuteException;
+import lib.Metrics;
 import output.HTMLBuilder;
 import searcher.spins.candidates.Candidate;
 import searcher.spins.results.Result;
@@ -18,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class NoRoofSpinOutput implements SpinOutput {
     private final Formatter formatter;
@@ -32,18 +34,22 @@ public class NoRoofSpinOutput implements SpinOutput {
     }
 
     @Override
-    public int output(MyFile myFile, List<Candidate> results, Field initField, int fieldHeight) throws FinderExecuteException {
+    public int output(MyFile myFile, Stream<? extends Candidate> candidates, Field initField, int fieldHeight) throws FinderExecuteException {
         HTMLBuilder<NoRoofColumn> htmlBuilder = new HTMLBuilder<>("Spin Result");
 
         // HTMLを作成する
-        for (Candidate candidate : results) {
-            add(htmlBuilder, candidate, initField, fieldHeight);
-        }
+        // 判定とテト譜の作成は並列に行い、HTMLへは探索結果の順番で追加する
+        candidates.parallel()
+                .map(candidate -> toColumnLine(candidate, initField, fieldHeight))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .forEachOrdered(columnLine -> htmlBuilder.addColumn(columnLine.getColumn(), columnLine.getLine(), columnLine.getPriority()));
 
         int size = htmlBuilder.getSize();
         htmlBuilder.addHeader(String.format("%d solutions", size));
 
         // 書き込み
+        long start = Metrics.startTimer();
         try (BufferedWriter writer = myFile.newBufferedWriter()) {
             ArrayList<NoRoofColumn> sorted = new ArrayList<>(htmlBuilder.getRegisteredColumns());
             sorted.sort(Comparator.reverseOrder());
@@ -57,22 +63,22 @@ public class NoRoofSpinOutput implements SpinOutput {
         } catch (Exception e) {
             throw new FinderExecuteException("Failed to output file", e);
         }
+        Metrics.stopTimer(Metrics.Timer.Output, start);
 
         return size;
     }
 
-    private void add(HTMLBuilder<NoRoofColumn> htmlBuilder, Candidate candidate, Field initField, int fieldHeight) {
+    private Optional<ColumnLine<NoRoofColumn>> toColumnLine(Candidate candidate, Field initField, int fieldHeight) {
         // Tを使って消去されるライン数
         Result result = candidate.getResult();
         SimpleOriginalPiece operationT = candidate.getOperationT();
         int clearedLineOnlyT = Long.bitCount(result.getAllMergedFilledLine() & operationT.getUsingKey());
 
         Optional<Pair<String, Integer>> optional = formatter.get(candidate, initField, fieldHeight);
-        if (optional.isPresent()) {
-            Pair<String, Integer> aLinkSolutionPriority = optional.get();
+        return optional.map(aLinkSolutionPriority -> {
             NoRoofColumn column = new NoRoofColumn(clearedLineOnlyT, getSendLineString(clearedLineOnlyT));
-            htmlBuilder.addColumn(column, aLinkSolutionPriority.getKey(), aLinkSolutionPriority.getValue());
-        }
+            return new ColumnLine<>(column, aLinkSolutionPriority.getKey(), aLinkSolutionPriority.getValue());
+        });
     }
 
     private String getSendLineString(int clearedLine) {
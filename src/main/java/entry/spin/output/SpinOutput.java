@@ -5,8 +5,9 @@ import entry.path.output.MyFile;
 import exceptions.FinderExecuteException;
 import searcher.spins.candidates.Candidate;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface SpinOutput {
-    int output(MyFile myFile, List<Candidate> results, Field initField, int fieldHeight) throws FinderExecuteException;
+    // 探索結果のストリームを受け取り、解を判定しながら出力する
+    int output(MyFile myFile, Stream<? extends Candidate> candidates, Field initField, int fieldHeight) throws FinderExecuteException;
 }
@@ -0,0 +1,101 @@
+package entry.util.cover;
+
+import entry.EntryPoint;
+import entry.cover.CoverBinaryFile;
+import entry.path.output.MyFile;
+import exceptions.FinderException;
+import exceptions.FinderExecuteException;
+import exceptions.FinderTerminateException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * coverコマンドのバイナリ出力を、CSVや集計結果に変換する
+ */
+public class CoverUtilEntryPoint implements EntryPoint {
+    private final CoverUtilSettings settings;
+
+    public CoverUtilEntryPoint(CoverUtilSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void run() throws FinderException {
+        CoverBinaryFile file;
+        try {
+            file = CoverBinaryFile.read(Paths.get(settings.getInputFilePath()));
+        } catch (IOException e) {
+            throw new FinderExecuteException("Failed to read cover binary: path=" + settings.getInputFilePath(), e);
+        }
+
+        CoverUtilModes mode = settings.getCoverUtilMode();
+        switch (mode) {
+            case CSV: {
+                outputCSV(file);
+                return;
+            }
+            case Summary: {
+                outputSummary(file);
+                return;
+            }
+            default: {
+                throw new IllegalStateException("Unknown mode: " + mode);
+            }
+        }
+    }
+
+    private void outputCSV(CoverBinaryFile file) throws FinderException {
+        Optional<String> outputBaseFilePath = settings.getOutputBaseFilePath();
+        try {
+            if (outputBaseFilePath.isPresent()) {
+                MyFile base = new MyFile(outputBaseFilePath.get());
+                base.mkdirs();
+
+                try (BufferedWriter writer = base.newBufferedWriter()) {
+                    file.writeCSV(writer);
+                    writer.flush();
+                }
+            } else {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                file.writeCSV(writer);
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new FinderExecuteException("Failed to output file", e);
+        }
+    }
+
+    // coverコマンドのログと同じ形式で集計結果を表示する
+    private void outputSummary(CoverBinaryFile file) {
+        int all = file.getSequenceSize();
+        List<String> labels = file.getLabels();
+
+        System.out.println("success:");
+        for (int index = 0; index < labels.size(); index++) {
+            int success = file.countSucceeded(index);
+            System.out.println(String.format("%.2f %% [%d/%d]: %s",
+                    success * 100.0 / all, success, all, labels.get(index)
+            ));
+        }
+
+        System.out.println(">>>");
+        {
+            int i = file.countOr();
+            System.out.println(String.format("OR  = %.2f %% [%d/%d]", i * 100.0 / all, i, all));
+        }
+        {
+            int i = file.countAnd();
+            System.out.println(String.format("AND = %.2f %% [%d/%d]", i * 100.0 / all, i, all));
+        }
+    }
+
+    @Override
+    public void close() throws FinderTerminateException {
+    }
+}
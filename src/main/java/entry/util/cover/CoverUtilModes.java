@@ -0,0 +1,6 @@
+package entry.util.cover;
+
+public enum CoverUtilModes {
+    CSV,
+    Summary,
+}
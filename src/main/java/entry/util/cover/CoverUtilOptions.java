@@ -0,0 +1,36 @@
+package entry.util.cover;
+
+import entry.common.option.NoArgOption;
+import entry.common.option.OptionBuilder;
+import entry.common.option.SingleArgOption;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+
+public enum CoverUtilOptions {
+    Help(NoArgOption.full("h", "help", "Usage")),
+    Input(SingleArgOption.full("i", "input", "path", "File path of cover binary result")),
+    Mode(SingleArgOption.full("M", "mode", "csv or summary", "Specify conversion mode")),
+    OutputBase(SingleArgOption.full("o", "output-base", "path", "File path of CSV to output. If omitted, output to console")),
+    ;
+
+    private final OptionBuilder optionBuilder;
+
+    CoverUtilOptions(OptionBuilder optionBuilder) {
+        this.optionBuilder = optionBuilder;
+    }
+
+    public String optName() {
+        return optionBuilder.getLongName();
+    }
+
+    public static Options create() {
+        Options allOptions = new Options();
+
+        for (CoverUtilOptions options : CoverUtilOptions.values()) {
+            Option option = options.optionBuilder.toOption();
+            allOptions.addOption(option);
+        }
+
+        return allOptions;
+    }
+}
@@ -0,0 +1,35 @@
+package entry.util.cover;
+
+import entry.CommandLineWrapper;
+import entry.common.SettingParser;
+import exceptions.FinderParseException;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.Options;
+
+import java.util.Optional;
+
+public class CoverUtilSettingParser extends SettingParser<CoverUtilSettings> {
+    public CoverUtilSettingParser(Options options, CommandLineParser parser) {
+        super(options, parser);
+    }
+
+    @Override
+    protected Optional<CoverUtilSettings> parse(CommandLineWrapper wrapper) throws FinderParseException {
+        CoverUtilSettings settings = new CoverUtilSettings();
+
+        // 入力ファイルの設定
+        Optional<String> inputFilePath = wrapper.getStringOption(CoverUtilOptions.Input.optName());
+        inputFilePath.ifPresent(settings::setInputFilePath);
+
+        // モードの設定
+        Optional<String> modeType = wrapper.getStringOption(CoverUtilOptions.Mode.optName());
+        if (modeType.isPresent())
+            settings.setCoverUtilMode(modeType.get());
+
+        // アウトプットファイルの設定
+        Optional<String> outputBaseFilePath = wrapper.getStringOption(CoverUtilOptions.OutputBase.optName());
+        outputBaseFilePath.ifPresent(settings::setOutputBaseFilePath);
+
+        return Optional.of(settings);
+    }
+}
@@ -0,0 +1,49 @@
+package entry.util.cover;
+
+import exceptions.FinderParseException;
+
+import java.util.Optional;
+
+public class CoverUtilSettings {
+    private static final String DEFAULT_INPUT_FILE_PATH = "output/cover.bin";
+
+    private String inputFilePath = DEFAULT_INPUT_FILE_PATH;
+    private String outputBaseFilePath = null;
+    private CoverUtilModes mode = CoverUtilModes.CSV;
+
+    // ********* Getter ************
+    String getInputFilePath() {
+        return inputFilePath;
+    }
+
+    Optional<String> getOutputBaseFilePath() {
+        return Optional.ofNullable(outputBaseFilePath);
+    }
+
+    CoverUtilModes getCoverUtilMode() {
+        return mode;
+    }
+
+    // ********* Setter ************
+    void setInputFilePath(String path) {
+        this.inputFilePath = path;
+    }
+
+    void setOutputBaseFilePath(String path) {
+        this.outputBaseFilePath = path;
+    }
+
+    void setCoverUtilMode(String mode) throws FinderParseException {
+        assert mode != null;
+        switch (mode.trim().toLowerCase()) {
+            case "csv":
+                this.mode = CoverUtilModes.CSV;
+                return;
+            case "summary":
+                this.mode = CoverUtilModes.Summary;
+                return;
+            default:
+                throw new FinderParseException("Unsupported mode: mode=" + mode);
+        }
+    }
+}
@@ -40,6 +40,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -137,9 +138,9 @@ public class FigUtilEntryPoint implements EntryPoint {
         // カラーテーマの読み込み
         Properties colorThemeProperties = readProperties(settings.getColorTheme());
 
-        // generatorの準備
+        // generatorの準備 (描画するスレッドごとにつくる)
         boolean usingHold = settings.isUsingHold();
-        FigGenerator figGenerator = createFigGenerator(
+        Supplier<FigGenerator> figGeneratorSupplier = () -> createFigGenerator(
                 frameType, usingHold, minoFactory, colorConverter, colorThemeProperties
         );
 
@@ -158,7 +159,7 @@ public class FigUtilEntryPoint implements EntryPoint {
         int delay = settings.getDelay();
         boolean isInfiniteLoop = settings.getInfiniteLoop();
 
-        return new GifWriter(minoFactory, colorConverter, figGenerator, bag, nextBoxCount, delay, outputFile, isInfiniteLoop);
+        return new GifWriter(minoFactory, colorConverter, figGeneratorSupplier, bag, nextBoxCount, delay, outputFile, isInfiniteLoop);
     }
 
     private Properties readProperties(String name) throws FinderInitializeException {
@@ -259,9 +260,9 @@ public class FigUtilEntryPoint implements EntryPoint {
         // カラーテーマの読み込み
         Properties colorThemeProperties = readProperties(settings.getColorTheme());
 
-        // generatorの準備
+        // generatorの準備 (描画するスレッドごとにつくる)
         boolean usingHold = settings.isUsingHold();
-        FigGenerator figGenerator = createFigGenerator(
+        Supplier<FigGenerator> figGeneratorSupplier = () -> createFigGenerator(
                 frameType, usingHold, minoFactory, colorConverter, colorThemeProperties
         );
 
@@ -279,7 +280,7 @@ public class FigUtilEntryPoint implements EntryPoint {
         String path = String.format("%s" + File.separatorChar + "%s", getCanonicalPath(outputDirectoryFile), outputFileName);
 
         int nextBoxCount = settings.getNextBoxCount();
-        return new PngWriter(minoFactory, colorConverter, figGenerator, bag, nextBoxCount, path, startPageIndex);
+        return new PngWriter(minoFactory, colorConverter, figGeneratorSupplier, bag, nextBoxCount, path, startPageIndex);
     }
 
     private String getCanonicalPath(File file) throws FinderInitializeException {
@@ -1,5 +1,6 @@
 package entry.util.seq;
 
+import common.datastore.blocks.LongPiecesSet;
 import common.datastore.blocks.Pieces;
 import core.mino.Piece;
 
@@ -25,11 +26,13 @@ class SimplePieceOutput implements PieceOutput {
 }
 
 class DistinctPieceOutput implements PieceOutput {
+    // LongPiecesにできるミノ順はlongのまま保持し、それより長いミノ順だけをオブジェクトで保持する
+    private final LongPiecesSet longMap = new LongPiecesSet();
     private final HashSet<Pieces> map = new HashSet<>();
 
     @Override
     public void output(Pieces pieces) {
-        boolean success = map.add(pieces);
+        boolean success = pieces.getPieces().size() <= 22 ? longMap.add(pieces) : map.add(pieces);
         if (success) {
             String str = parseToString(pieces);
             System.out.println(str);
@@ -0,0 +1,158 @@
+package lib;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * '--stats' を指定したときに、探索中の処理の回数と時間を集計する
+ * 複数のスレッドから記録するため、LongAdderで集計する
+ * 無効のときは、フラグを確認するだけで何もしない
+ */
+public class Metrics {
+    public enum Counter {
+        ExpandedOrders("expanded-orders", "Expanded orders"),
+        CandidateSearches("candidate-searches", "Candidate searches"),
+        CandidateActions("candidate-actions", "Candidate actions"),
+        BuildUpNodes("build-up-nodes", "Build-up nodes"),
+        LockedCacheHits("locked-cache-hits", "Locked cache hits"),
+        LockedCacheMisses("locked-cache-misses", "Locked cache misses"),
+        BasicSolutionsHits("basic-solutions-hits", "Basic solutions hits"),
+        BasicSolutionsMisses("basic-solutions-misses", "Basic solutions misses"),
+        PackingTasks("packing-tasks", "Packing tasks"),
+        ;
+
+        private final String key;
+        private final String label;
+
+        Counter(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    public enum Timer {
+        Run("run", "Run"),
+        MoveGeneration("move-generation", "Move generation"),
+        Validation("validation", "Validation"),
+        BuildUp("build-up", "Build-up"),
+        Output("output", "Output"),
+        ;
+
+        private final String key;
+        private final String label;
+
+        Timer(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    private static final EnumMap<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private static final EnumMap<Timer, LongAdder> timerCounts = new EnumMap<>(Timer.class);
+    private static final EnumMap<Timer, LongAdder> timerNanos = new EnumMap<>(Timer.class);
+
+    static {
+        for (Counter counter : Counter.values())
+            counters.put(counter, new LongAdder());
+        for (Timer timer : Timer.values()) {
+            timerCounts.put(timer, new LongAdder());
+            timerNanos.put(timer, new LongAdder());
+        }
+    }
+
+    private static volatile boolean isEnabled = false;
+
+    // 集計を0に戻してから有効にする
+    public static void enable() {
+        reset();
+        isEnabled = true;
+    }
+
+    public static void disable() {
+        isEnabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public static void reset() {
+        for (LongAdder adder : counters.values())
+            adder.reset();
+        for (LongAdder adder : timerCounts.values())
+            adder.reset();
+        for (LongAdder adder : timerNanos.values())
+            adder.reset();
+    }
+
+    public static void increment(Counter counter) {
+        if (isEnabled)
+            counters.get(counter).increment();
+    }
+
+    public static void add(Counter counter, long value) {
+        if (isEnabled)
+            counters.get(counter).add(value);
+    }
+
+    // 無効のときは時刻を取得しない
+    public static long startTimer() {
+        return isEnabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stopTimer(Timer timer, long start) {
+        if (!isEnabled)
+            return;
+
+        timerCounts.get(timer).increment();
+        timerNanos.get(timer).add(System.nanoTime() - start);
+    }
+
+    // Candidate.searchの呼び出しを記録する
+    public static void searched(long start, int numOfActions) {
+        if (!isEnabled)
+            return;
+
+        stopTimer(Timer.MoveGeneration, start);
+        counters.get(Counter.CandidateSearches).increment();
+        counters.get(Counter.CandidateActions).add(numOfActions);
+    }
+
+    public static long get(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    public static long getCount(Timer timer) {
+        return timerCounts.get(timer).sum();
+    }
+
+    public static long getMillis(Timer timer) {
+        return TimeUnit.NANOSECONDS.toMillis(timerNanos.get(timer).sum());
+    }
+
+    // 時間は、複数のスレッドで計測した時間の合計
+    public static List<String> toTextLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Stats");
+        for (Counter counter : Counter.values())
+            lines.add(String.format("  %s: %d", counter.label, get(counter)));
+        for (Timer timer : Timer.values())
+            lines.add(String.format("  %s: %d ms [%d counts]", timer.label, getMillis(timer), getCount(timer)));
+        return lines;
+    }
+
+    public static String toJson() {
+        List<String> counterEntries = new ArrayList<>();
+        for (Counter counter : Counter.values())
+            counterEntries.add(String.format("\"%s\":%d", counter.key, get(counter)));
+
+        List<String> timerEntries = new ArrayList<>();
+        for (Timer timer : Timer.values())
+            timerEntries.add(String.format("\"%s\":{\"count\":%d,\"millis\":%d}", timer.key, getCount(timer), getMillis(timer)));
+
+        return String.format("{\"counters\":{%s},\"timers\":{%s}}", String.join(",", counterEntries), String.join(",", timerEntries));
+    }
+}
@@ -0,0 +1,139 @@
+package searcher.checker;
+
+import common.OperationHistory;
+import common.datastore.Result;
+import common.datastore.action.Action;
+import common.datastore.blocks.Pieces;
+import common.datastore.order.NormalOrder;
+import common.datastore.order.Order;
+import core.action.candidate.Candidate;
+import core.field.Field;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import lib.Metrics;
+import searcher.common.validator.Validator;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 探索済みの局面を TranspositionTable に記録しながら探索する
+ * 同じ表を共有することで、異なるツモ順の探索でも途中の局面の結果を再利用できる
+ * 成功した局面に再び到達したときも、結果の手順を得るために探索は行う（失敗した局面で枝刈りされる）
+ * マルチスレッド非対応（TranspositionTable は共有可能）
+ */
+public class MemorizedCheckerUsingHold<T extends Action> implements Checker<T> {
+    private final MinoFactory minoFactory;
+    private final Validator validator;
+    private final TranspositionTable table;
+    private final CheckerUsingHold<T> checker;
+
+    private Result result = null;
+
+    public MemorizedCheckerUsingHold(MinoFactory minoFactory, Validator validator, TranspositionTable table) {
+        this.minoFactory = minoFactory;
+        this.validator = validator;
+        this.table = table;
+        this.checker = new CheckerUsingHold<>(minoFactory, validator);
+    }
+
+    @Override
+    public boolean check(Field initField, Pieces pieces, Candidate<T> candidate, int maxClearLine, int maxDepth) {
+        return check(initField, pieces.getPieceArray(), candidate, maxClearLine, maxDepth);
+    }
+
+    @Override
+    public boolean check(Field initField, List<Piece> pieces, Candidate<T> candidate, int maxClearLine, int maxDepth) {
+        Piece[] blocks = new Piece[pieces.size()];
+        return check(initField, pieces.toArray(blocks), candidate, maxClearLine, maxDepth);
+    }
+
+    @Override
+    public boolean check(Field initField, Piece[] pieces, Candidate<T> candidate, int maxClearLine, int maxDepth) {
+        // 残りのミノをキーに格納できないときは記録せずに探索する
+        if (TranspositionKey.MAX_REST_SIZE < pieces.length) {
+            boolean check = checker.check(initField, pieces, candidate, maxClearLine, maxDepth);
+            this.result = check ? checker.getResult() : null;
+            return check;
+        }
+
+        Field freeze = initField.freeze(maxClearLine);
+        int deleteLine = freeze.clearLine();
+
+        this.result = null;
+        Order order = new NormalOrder(freeze, pieces[0], maxClearLine - deleteLine, maxDepth);
+        return search(candidate, pieces, order, maxDepth);
+    }
+
+    private boolean search(Candidate<T> candidate, Piece[] pieces, Order order, int maxDepth) {
+        OperationHistory history = order.getHistory();
+        int depth = history.getNextIndex() + 1;
+
+        TranspositionKey key = TranspositionKey.create(
+                order.getField(), order.getMaxClearLine(), order.getHold(), pieces, Math.min(depth, pieces.length), maxDepth - history.getNextIndex()
+        );
+        if (table.get(key) == TranspositionTable.FAILED)
+            return false;
+
+        boolean isLast = depth == maxDepth;
+        boolean succeed;
+        if (depth < pieces.length) {
+            Piece drawn = pieces[depth];
+            Piece hold = order.getHold();
+            succeed = step(candidate, pieces, drawn, hold, order, isLast, maxDepth)
+                    || (drawn != hold && step(candidate, pieces, hold, drawn, order, isLast, maxDepth));
+        } else {
+            succeed = step(candidate, pieces, order.getHold(), null, order, isLast, maxDepth);
+        }
+
+        // 成功した局面は同じツモ順で再び探索しないため、失敗した局面だけを記録して容量を空けておく
+        if (!succeed)
+            table.set(key, false);
+
+        return succeed;
+    }
+
+    private boolean step(Candidate<T> candidate, Piece[] pieces, Piece drawn, Piece nextHold, Order order, boolean isLast, int maxDepth) {
+        Field currentField = order.getField();
+        int max = order.getMaxClearLine();
+        Metrics.increment(Metrics.Counter.ExpandedOrders);
+
+        long start = Metrics.startTimer();
+        Set<T> candidateList = candidate.search(currentField, drawn, max);
+        Metrics.searched(start, candidateList.size());
+
+        OperationHistory history = order.getHistory();
+        for (T action : candidateList) {
+            Field field = currentField.freeze(max);
+            Mino mino = minoFactory.create(drawn, action.getRotate());
+            field.put(mino, action.getX(), action.getY());
+            int clearLine = field.clearLine();
+            int maxClearLine = max - clearLine;
+
+            if (!validator.validate(field, maxClearLine))
+                continue;
+
+            if (validator.satisfies(field, maxClearLine)) {
+                this.result = new Result(order, drawn, action, nextHold);
+                return true;
+            }
+
+            if (isLast)
+                continue;
+
+            OperationHistory nextHistory = history.recordAndReturnNew(drawn, action);
+            Order nextOrder = new NormalOrder(field, nextHold, maxClearLine, nextHistory);
+            if (search(candidate, pieces, nextOrder, maxDepth))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public Result getResult() {
+        assert result != null;
+        return result;
+    }
+}
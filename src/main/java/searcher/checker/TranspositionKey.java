@@ -0,0 +1,64 @@
+package searcher.checker;
+
+import core.field.Field;
+import core.mino.Piece;
+
+import java.util.Arrays;
+
+// 探索途中の局面を表すキー
+// 結果は「地形・ホールド・残りのミノ・残りの置ける回数・消去できるライン数」だけで決まるため、ツモ順が異なっても共有できる
+class TranspositionKey {
+    // 残りのミノは1つあたり3bitで保持する
+    static final int MAX_REST_SIZE = 21;
+
+    static TranspositionKey create(Field field, int maxClearLine, Piece hold, Piece[] pieces, int nextIndex, int leftDepth) {
+        int restSize = pieces.length - nextIndex;
+        assert 0 <= restSize && restSize <= MAX_REST_SIZE;
+
+        long rest = 0L;
+        for (int index = pieces.length - 1; nextIndex <= index; index--)
+            rest = (rest << 3) | pieces[index].getNumber();
+
+        int boardCount = field.getBoardCount();
+        long[] boards = new long[boardCount];
+        for (int index = 0; index < boardCount; index++)
+            boards[index] = field.getBoard(index);
+
+        int holdNumber = hold != null ? hold.getNumber() : 7;
+        int meta = holdNumber | (maxClearLine << 3) | (restSize << 11) | (leftDepth << 16);
+
+        return new TranspositionKey(boards, rest, meta);
+    }
+
+    private final long[] boards;
+    private final long rest;
+    private final int meta;
+    private final int hashCode;
+
+    private TranspositionKey(long[] boards, long rest, int meta) {
+        this.boards = boards;
+        this.rest = rest;
+        this.meta = meta;
+        this.hashCode = calculateHashCode(boards, rest, meta);
+    }
+
+    private static int calculateHashCode(long[] boards, long rest, int meta) {
+        long value = rest * 31L + meta;
+        for (long board : boards)
+            value = value * 31L + board;
+        return (int) (value ^ (value >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TranspositionKey that = (TranspositionKey) o;
+        return rest == that.rest && meta == that.meta && Arrays.equals(boards, that.boards);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
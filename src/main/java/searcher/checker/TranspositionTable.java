@@ -0,0 +1,91 @@
+package searcher.checker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 探索済みの局面の成功・失敗を記録する表
+ * 複数のスレッドから共有できるように、キーのハッシュごとにロックを分割している
+ * 容量を超えたときは、各ストライプ内で古いものから捨てる
+ */
+public class TranspositionTable {
+    public static final int NO_RESULT = -1;
+    public static final int SUCCEED = 0;
+    public static final int FAILED = 1;
+
+    private static final int DEFAULT_CAPACITY = 1 << 18;
+    private static final int STRIPE_COUNT = 64;
+
+    private static class Stripe extends LinkedHashMap<TranspositionKey, Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TranspositionKey, Boolean> eldest) {
+            return capacity < size();
+        }
+    }
+
+    private final Stripe[] stripes;
+
+    public TranspositionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TranspositionTable(int capacity) {
+        assert 0 < capacity;
+        int stripeCapacity = Math.max(1, capacity / STRIPE_COUNT);
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int index = 0; index < STRIPE_COUNT; index++)
+            stripes[index] = new Stripe(stripeCapacity);
+    }
+
+    private Stripe getStripe(TranspositionKey key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPE_COUNT - 1)];
+    }
+
+    int get(TranspositionKey key) {
+        Stripe stripe = getStripe(key);
+        Boolean result;
+        synchronized (stripe) {
+            result = stripe.get(key);
+        }
+
+        if (result == null)
+            return NO_RESULT;
+
+        return result ? SUCCEED : FAILED;
+    }
+
+    void set(TranspositionKey key, boolean result) {
+        Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            stripe.put(key, result);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+}
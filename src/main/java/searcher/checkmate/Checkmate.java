@@ -12,4 +12,11 @@ public interface Checkmate<T extends Action> {
     List<Result> search(Field initField, List<Piece> pieces, Candidate<T> candidate, int maxClearLine, int maxDepth);
 
     List<Result> search(Field initField, Piece[] pieces, Candidate<T> candidate, int maxClearLine, int maxDepth);
+
+    // ミノを1つずつ渡して探索する。search(pieces) は start -> next(pieces[0]) -> ... -> finish と同じ結果になる
+    CheckmateFrontier start(Field initField, int maxClearLine, int maxDepth);
+
+    CheckmateFrontier next(CheckmateFrontier frontier, Candidate<T> candidate, Piece drawn);
+
+    List<Result> finish(CheckmateFrontier frontier, Candidate<T> candidate);
 }
@@ -0,0 +1,42 @@
+package searcher.checkmate;
+
+import common.datastore.Result;
+import common.datastore.order.Order;
+import core.field.Field;
+
+import java.util.List;
+
+/**
+ * ミノ順の先頭から、いくつかのミノを取り出したところまでの探索の状態
+ * 変更されないため、先頭が共通するミノ順の探索や、他のスレッドで続きを探索するときに使い回せる
+ */
+public class CheckmateFrontier {
+    // 最初の局面 (ライン消去後)
+    final Field field;
+    final int maxClearLine;
+    final int maxDepth;
+
+    // これまでに取り出したミノの数
+    final int count;
+
+    // 次に展開する局面 (ソート済み) と、これまでに見つかった結果
+    final List<Order> orders;
+    final List<Result> results;
+
+    CheckmateFrontier(Field field, int maxClearLine, int maxDepth, int count, List<Order> orders, List<Result> results) {
+        this.field = field;
+        this.maxClearLine = maxClearLine;
+        this.maxDepth = maxDepth;
+        this.count = count;
+        this.orders = orders;
+        this.results = results;
+    }
+
+    CheckmateFrontier next(List<Order> orders, List<Result> results) {
+        return new CheckmateFrontier(field, maxClearLine, maxDepth, count + 1, orders, results);
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
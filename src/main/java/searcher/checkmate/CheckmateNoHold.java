@@ -11,8 +11,9 @@ import common.datastore.order.NormalOrder;
 import common.datastore.order.Order;
 import searcher.common.validator.Validator;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.TreeSet;
 
 public class CheckmateNoHold<T extends Action> implements Checkmate<T> {
     private final CheckmateDataPool dataPool;
@@ -31,25 +32,48 @@ public class CheckmateNoHold<T extends Action> implements Checkmate<T> {
 
     @Override
     public List<Result> search(Field initField, Piece[] pieces, Candidate<T> candidate, int maxClearLine, int maxDepth) {
+        assert maxDepth <= pieces.length;
+        CheckmateFrontier frontier = start(initField, maxClearLine, maxDepth);
+        for (Piece piece : pieces)
+            frontier = next(frontier, candidate, piece);
+        return finish(frontier, candidate);
+    }
+
+    @Override
+    public CheckmateFrontier start(Field initField, int maxClearLine, int maxDepth) {
         Field freeze = initField.freeze(maxClearLine);
         int deleteLine = freeze.clearLine();
+        NormalOrder order = new NormalOrder(freeze, null, maxClearLine - deleteLine, maxDepth);
+        return new CheckmateFrontier(freeze, maxClearLine - deleteLine, maxDepth, 0, Collections.singletonList(order), Collections.emptyList());
+    }
 
-        dataPool.initFirst(new NormalOrder(freeze, null, maxClearLine - deleteLine, maxDepth));
-
-        for (int depth = 0; depth < maxDepth; depth++) {
-            TreeSet<Order> orders = dataPool.getNexts();
+    @Override
+    public CheckmateFrontier next(CheckmateFrontier frontier, Candidate<T> candidate, Piece drawn) {
+        int depth = frontier.count;
 
-            dataPool.initEachDepth();
+        // 必要なミノ数より後ろのミノは使わない
+        if (frontier.maxDepth <= depth)
+            return frontier;
 
-            assert depth < pieces.length;
-            boolean isLast = depth == maxDepth - 1;
+        boolean isLast = depth == frontier.maxDepth - 1;
+        dataPool.initEachDepth();
+        dataPool.resetResults();
+        for (Order order : frontier.orders)
+            searcherCore.stepWithNextNoHold(candidate, drawn, order, isLast);
 
-            for (int count = 0, size = orders.size(); count < size; count++) {
-                Order order = orders.pollFirst();
-                searcherCore.stepWithNextNoHold(candidate, pieces[depth], order, isLast);
-            }
+        List<Result> results = frontier.results;
+        List<Result> additions = dataPool.getResults();
+        if (!additions.isEmpty()) {
+            results = new ArrayList<>(results);
+            results.addAll(additions);
         }
 
-        return dataPool.getResults();
+        return frontier.next(new ArrayList<>(dataPool.getNexts()), results);
+    }
+
+    @Override
+    public List<Result> finish(CheckmateFrontier frontier, Candidate<T> candidate) {
+        assert frontier.maxDepth <= frontier.count;
+        return new ArrayList<>(frontier.results);
     }
-}
\ No newline at end of file
+}
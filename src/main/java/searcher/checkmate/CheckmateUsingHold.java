@@ -11,8 +11,9 @@ import common.datastore.order.NormalOrder;
 import common.datastore.order.Order;
 import searcher.common.validator.Validator;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.TreeSet;
 
 public class CheckmateUsingHold<T extends Action> implements Checkmate<T> {
     private final CheckmateDataPool dataPool;
@@ -31,33 +32,73 @@ public class CheckmateUsingHold<T extends Action> implements Checkmate<T> {
 
     @Override
     public List<Result> search(Field initField, Piece[] pieces, Candidate<T> candidate, int maxClearLine, int maxDepth) {
+        CheckmateFrontier frontier = start(initField, maxClearLine, maxDepth);
+        for (Piece piece : pieces)
+            frontier = next(frontier, candidate, piece);
+        return finish(frontier, candidate);
+    }
+
+    @Override
+    public CheckmateFrontier start(Field initField, int maxClearLine, int maxDepth) {
         Field freeze = initField.freeze(maxClearLine);
         int deleteLine = freeze.clearLine();
+        return new CheckmateFrontier(freeze, maxClearLine - deleteLine, maxDepth, 0, Collections.emptyList(), Collections.emptyList());
+    }
 
-        dataPool.initFirst(new NormalOrder(freeze, pieces[0], maxClearLine - deleteLine, maxDepth));
+    @Override
+    public CheckmateFrontier next(CheckmateFrontier frontier, Candidate<T> candidate, Piece drawn) {
+        int depth = frontier.count;
 
-        for (int depth = 1; depth <= maxDepth; depth++) {
-            TreeSet<Order> orders = dataPool.getNexts();
+        // 最初のミノはホールドに入れた状態からはじめる
+        if (depth == 0) {
+            NormalOrder order = new NormalOrder(frontier.field, drawn, frontier.maxClearLine, frontier.maxDepth);
+            return frontier.next(Collections.singletonList(order), Collections.emptyList());
+        }
 
-            dataPool.initEachDepth();
+        // 必要なミノ数より後ろのミノは使わない
+        if (frontier.maxDepth < depth)
+            return frontier;
 
-            boolean isLast = depth == maxDepth;
+        boolean isLast = depth == frontier.maxDepth;
+        initEachDepth();
+        for (Order order : frontier.orders)
+            searcherCore.stepWithNext(candidate, drawn, order, isLast);
 
-            if (depth < pieces.length) {
-                Piece drawn = pieces[depth];
+        return frontier.next(new ArrayList<>(dataPool.getNexts()), concat(frontier.results, dataPool.getResults()));
+    }
 
-                for (int count = 0, size = orders.size(); count < size; count++) {
-                    Order order = orders.pollFirst();
-                    searcherCore.stepWithNext(candidate, drawn, order, isLast);
-                }
-            } else {
-                for (int count = 0, size = orders.size(); count < size; count++) {
-                    Order order = orders.pollFirst();
-                    searcherCore.stepWhenNoNext(candidate, order, isLast);
-                }
-            }
+    @Override
+    public List<Result> finish(CheckmateFrontier frontier, Candidate<T> candidate) {
+        assert 1 <= frontier.count;
+
+        // ミノがなくなったあとは、ホールドのミノだけを置く
+        List<Order> orders = frontier.orders;
+        List<Result> results = frontier.results;
+        for (int depth = frontier.count; depth <= frontier.maxDepth; depth++) {
+            boolean isLast = depth == frontier.maxDepth;
+            initEachDepth();
+            for (Order order : orders)
+                searcherCore.stepWhenNoNext(candidate, order, isLast);
+
+            orders = new ArrayList<>(dataPool.getNexts());
+            results = concat(results, dataPool.getResults());
         }
 
-        return dataPool.getResults();
+        return new ArrayList<>(results);
+    }
+
+    private void initEachDepth() {
+        dataPool.initEachDepth();
+        dataPool.resetResults();
+    }
+
+    private static List<Result> concat(List<Result> results, List<Result> additions) {
+        if (additions.isEmpty())
+            return results;
+
+        ArrayList<Result> concat = new ArrayList<>(results.size() + additions.size());
+        concat.addAll(results);
+        concat.addAll(additions);
+        return concat;
     }
-}
\ No newline at end of file
+}
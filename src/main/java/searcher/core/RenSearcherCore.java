@@ -10,6 +10,7 @@ import core.field.Field;
 import core.mino.Mino;
 import core.mino.MinoFactory;
 import core.mino.Piece;
+import lib.Metrics;
 import searcher.common.DataPool;
 
 import java.util.Set;
@@ -57,7 +58,11 @@ public class RenSearcherCore<T extends Action> {
     private boolean step(Candidate<T> candidate, Piece drawn, Piece nextHold, RenOrder order, boolean isLast) {
         Field currentField = order.getField();
         int renCount = order.getRenCount();
+        Metrics.increment(Metrics.Counter.ExpandedOrders);
+
+        long start = Metrics.startTimer();
         Set<T> candidateList = candidate.search(currentField, drawn, max);
+        Metrics.searched(start, candidateList.size());
 
         boolean isTerminated = true;
         OperationHistory history = order.getHistory();
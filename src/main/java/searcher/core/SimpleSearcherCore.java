@@ -10,6 +10,7 @@ import core.field.Field;
 import core.mino.Mino;
 import core.mino.MinoFactory;
 import core.mino.Piece;
+import lib.Metrics;
 import searcher.common.DataPool;
 import searcher.common.validator.Validator;
 
@@ -48,7 +49,11 @@ public class SimpleSearcherCore<T extends Action> {
     private void step(Candidate<T> candidate, Piece drawn, Piece nextHold, Order order, boolean isLast) {
         Field currentField = order.getField();
         int max = order.getMaxClearLine();
+        Metrics.increment(Metrics.Counter.ExpandedOrders);
+
+        long start = Metrics.startTimer();
         Set<T> candidateList = candidate.search(currentField, drawn, max);
+        Metrics.searched(start, candidateList.size());
 
         OperationHistory history = order.getHistory();
         for (T action : candidateList) {
@@ -8,28 +8,58 @@ import searcher.pack.separable_mino.SlideXSeparableMino;
 
 import java.util.stream.Stream;
 
+// 列ごとのミノは、BasicSolutionsが保持しているMinoFieldへの参照として記録する
+// MinoFieldは同じ列の解で共有されるため、参照1つがもっとも小さい表現になる
+// SeparableMinos.toIndexでミノをインデックスに変換することもできるが、連結ごとにハッシュの探索が必要になり、
+// 取り出すときにもSeparableMinosが必要になるため、ここでは変換しない
 public class RecursiveMinoFieldMemento implements MinoFieldMemento {
+    private static final int STATE_EMPTY = 0;
+    private static final int STATE_FIRST = 1;
+    private static final int STATE_CONCAT = 2;
+    private static final int STATE_BITS = 2;
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+
     private final MinoField current;
     private final RecursiveMinoFieldMemento parent;
-    private final Boolean isConcat;  // null=0, false=1, true=2
-    private final int size;
+    // 下位2ビットが状態（まだミノがない=0, ミノが1列だけ=1, 2列以上=2）、残りが列数
+    // 解の数だけつくられるため、フィールドを増やさずにひとつにまとめる
+    private final int sizeAndState;
 
     RecursiveMinoFieldMemento(MinoField current, RecursiveMinoFieldMemento parent, Boolean isConcat, int size) {
-        this.isConcat = isConcat;
-        this.size = size;
+        this(current, parent, toState(isConcat), size);
+    }
+
+    private RecursiveMinoFieldMemento(MinoField current, RecursiveMinoFieldMemento parent, int state, int size) {
+        assert 0 <= size && size <= (Integer.MAX_VALUE >>> STATE_BITS);
+        this.sizeAndState = (size << STATE_BITS) | state;
         this.current = current;
         this.parent = parent;
     }
 
+    private static int toState(Boolean isConcat) {
+        if (isConcat == null)
+            return STATE_EMPTY;
+        return isConcat ? STATE_CONCAT : STATE_FIRST;
+    }
+
+    private int getSize() {
+        return sizeAndState >>> STATE_BITS;
+    }
+
+    private int getState() {
+        return sizeAndState & STATE_MASK;
+    }
+
     @Override
     public MinoFieldMemento concat(MinoField minoField) {
+        int size = getSize();
         if (minoField == null) {
-            return new RecursiveMinoFieldMemento(null, this, isConcat, size + 1);
+            return new RecursiveMinoFieldMemento(null, this, getState(), size + 1);
         } else {
-            if (isConcat == null)
-                return new RecursiveMinoFieldMemento(minoField, this, false, size + 1);
+            if (getState() == STATE_EMPTY)
+                return new RecursiveMinoFieldMemento(minoField, this, STATE_FIRST, size + 1);
             else
-                return new RecursiveMinoFieldMemento(minoField, this, true, size + 1);
+                return new RecursiveMinoFieldMemento(minoField, this, STATE_CONCAT, size + 1);
         }
     }
 
@@ -40,6 +70,7 @@ public class RecursiveMinoFieldMemento implements MinoFieldMemento {
 
     @Override
     public PieceCounter getSumBlockCounter() {
+        // フィルターで必要になったときだけ、親をたどって合計する
         long sum = 0L;
         RecursiveMinoFieldMemento target = this;
         do {
@@ -52,19 +83,20 @@ public class RecursiveMinoFieldMemento implements MinoFieldMemento {
 
     @Override
     public Stream<OperationWithKey> getRawOperationsStream() {
-        Stream<OperationWithKey> operations = Stream.empty();
+        // Stream.concatを重ねると深い入れ子になるため、先に要素をまとめる
+        Stream.Builder<OperationWithKey> builder = Stream.builder();
         RecursiveMinoFieldMemento target = this;
         do {
             if (target.current != null)
-                operations = Stream.concat(operations, target.current.getOperationsStream());
+                target.current.getOperationsStream().forEach(builder);
             target = target.parent;
         } while (target != null);
-        return operations;
+        return builder.build();
     }
 
     @Override
     public boolean isConcat() {
-        return isConcat != null ? isConcat : false;
+        return getState() == STATE_CONCAT;
     }
 
     @Override
@@ -74,20 +106,20 @@ public class RecursiveMinoFieldMemento implements MinoFieldMemento {
 
     @Override
     public Stream<SeparableMino> getSeparableMinoStream(int width) {
-        Stream<SeparableMino> operations = Stream.empty();
+        Stream.Builder<SeparableMino> builder = Stream.builder();
         RecursiveMinoFieldMemento target = this;
-        int depth = size - 1;
+        int depth = getSize() - 1;
         do {
-            if (target.current != null)
-                operations = Stream.concat(operations, addSlideX(target.current.getSeparableMinoStream(), width * depth));
+            if (target.current != null) {
+                int slideX = width * depth;
+                target.current.getSeparableMinoStream()
+                        .map(separableMino -> toSlideWrapper(separableMino, slideX))
+                        .forEach(builder);
+            }
             target = target.parent;
             depth--;
         } while (target != null);
-        return operations;
-    }
-
-    private Stream<SeparableMino> addSlideX(Stream<SeparableMino> separableMinos, int slideX) {
-        return separableMinos.map(separableMino -> toSlideWrapper(separableMino, slideX));
+        return builder.build();
     }
 
     private SeparableMino toSlideWrapper(SeparableMino separableMino, int slideX) {
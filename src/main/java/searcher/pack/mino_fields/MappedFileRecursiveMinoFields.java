@@ -0,0 +1,79 @@
+package searcher.pack.mino_fields;
+
+import core.column_field.ColumnField;
+import core.column_field.ColumnFieldFactory;
+import searcher.pack.SeparableMinos;
+import searcher.pack.mino_field.MinoField;
+import searcher.pack.mino_field.RecursiveMinoField;
+import searcher.pack.separable_mino.SeparableMino;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * キャッシュファイル上にエンコードされた手順を、はじめて参照されたときにデコードする
+ * フォーマットは BasicSolutionsFile を参照
+ */
+public class MappedFileRecursiveMinoFields implements RecursiveMinoFields {
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final SeparableMinos separableMinos;
+    // 複数のスレッドから参照されるため、デコードし終えたリストだけが見えるようにする
+    // 同時にデコードされても結果は同じになるため、ロックはしない
+    private volatile List<RecursiveMinoField> result;
+
+    public MappedFileRecursiveMinoFields(ByteBuffer buffer, int offset, SeparableMinos separableMinos) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.separableMinos = separableMinos;
+    }
+
+    @Override
+    public Stream<? extends MinoField> stream() {
+        return recursiveStream();
+    }
+
+    @Override
+    public Stream<RecursiveMinoField> recursiveStream() {
+        List<RecursiveMinoField> result = this.result;
+        if (result == null) {
+            result = decode();
+            this.result = result;
+        }
+        return result.stream();
+    }
+
+    private List<RecursiveMinoField> decode() {
+        List<SeparableMino> minos = separableMinos.getMinos();
+
+        // 位置を変更しないように、絶対位置で読み込む
+        int position = offset;
+        int size = buffer.getInt(position);
+        position += Integer.BYTES;
+
+        ArrayList<RecursiveMinoField> minoFields = new ArrayList<>(size);
+        for (int count = 0; count < size; count++) {
+            ColumnField outerField = ColumnFieldFactory.createField(buffer.getLong(position));
+            position += Long.BYTES;
+
+            int length = buffer.get(position);
+            position += Byte.BYTES;
+
+            // 先頭のミノから順に保存されているため、最後のミノから組み立てる
+            int last = position + (length - 1) * Short.BYTES;
+            SeparableMino lastMino = minos.get(buffer.getShort(last));
+            RecursiveMinoField minoField = new RecursiveMinoField(lastMino, outerField, separableMinos);
+            for (int index = last - Short.BYTES; position <= index; index -= Short.BYTES) {
+                SeparableMino separableMino = minos.get(buffer.getShort(index));
+                minoField = new RecursiveMinoField(separableMino, minoField, outerField, separableMinos);
+            }
+            position += length * Short.BYTES;
+
+            minoFields.add(minoField);
+        }
+
+        return minoFields;
+    }
+}
@@ -0,0 +1,213 @@
+package searcher.pack.solutions;
+
+import common.datastore.MinoOperationWithKey;
+import core.column_field.ColumnField;
+import core.column_field.ColumnFieldFactory;
+import searcher.pack.SeparableMinos;
+import searcher.pack.SizedBit;
+import searcher.pack.mino_field.RecursiveMinoField;
+import searcher.pack.mino_fields.MappedFileRecursiveMinoFields;
+import searcher.pack.mino_fields.RecursiveMinoFields;
+import searcher.pack.separable_mino.SeparableMino;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 基本パターンの計算結果をファイルに保存・読み込みする
+ * 読み込み時はファイルをメモリにマップし、各フィールドの手順は参照されたときにデコードする
+ *
+ * フォーマット (ビッグエンディアン)
+ *   header: magic(int) version(int) width(int) height(int) numOfMinos(int) signature(long) numOfKeys(int)
+ *   index : [key board(long) offset(int)] * numOfKeys
+ *   data  : [numOfMinoFields(int) [outer board(long) length(byte) SeparableMinosのindex(short) * length] * numOfMinoFields] * numOfKeys
+ */
+public class BasicSolutionsFile {
+    private static final int MAGIC = 0x53464253;  // "SFBS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 6 + Long.BYTES;
+    private static final int INDEX_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+
+    public BasicSolutionsFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // ファイルが存在しないとき、または異なる条件で作成されたときは empty を返却
+    public Optional<Map<ColumnField, RecursiveMinoFields>> read(SeparableMinos separableMinos, SizedBit sizedBit) throws IOException {
+        if (!Files.isRegularFile(path))
+            return Optional.empty();
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < HEADER_BYTES)
+            return Optional.empty();
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            return Optional.empty();
+
+        if (buffer.getInt() != sizedBit.getWidth() || buffer.getInt() != sizedBit.getHeight())
+            return Optional.empty();
+
+        List<SeparableMino> minos = separableMinos.getMinos();
+        if (buffer.getInt() != minos.size() || buffer.getLong() != createSignature(minos))
+            return Optional.empty();
+
+        int numOfKeys = buffer.getInt();
+        if (numOfKeys < 0 || buffer.limit() < HEADER_BYTES + (long) INDEX_BYTES * numOfKeys)
+            return Optional.empty();
+
+        // 壊れたファイルをデコード中に読み外さないように、開くときにすべてのデータの範囲を確認する
+        int dataOffset = HEADER_BYTES + INDEX_BYTES * numOfKeys;
+        HashMap<ColumnField, RecursiveMinoFields> solutions = new HashMap<>();
+        for (int count = 0; count < numOfKeys; count++) {
+            ColumnField key = ColumnFieldFactory.createField(buffer.getLong());
+            int offset = buffer.getInt();
+            if (offset < dataOffset || !isValidData(buffer, offset, minos.size()))
+                return Optional.empty();
+            solutions.put(key, new MappedFileRecursiveMinoFields(buffer, offset, separableMinos));
+        }
+
+        return Optional.of(solutions);
+    }
+
+    // offsetから始まるデータが、ファイルの範囲内に収まっていて、正しいミノのindexだけを含むとき true を返却
+    private boolean isValidData(ByteBuffer buffer, int offset, int numOfMinos) {
+        int limit = buffer.limit();
+        if (limit - Integer.BYTES < offset)
+            return false;
+
+        // 位置を変更しないように、絶対位置で読み込む
+        int size = buffer.getInt(offset);
+        if (size < 0)
+            return false;
+
+        long position = (long) offset + Integer.BYTES;
+        for (int count = 0; count < size; count++) {
+            if (limit < position + Long.BYTES + Byte.BYTES)
+                return false;
+            position += Long.BYTES;
+
+            int length = buffer.get((int) position);
+            position += Byte.BYTES;
+            if (length <= 0 || limit < position + (long) length * Short.BYTES)
+                return false;
+
+            for (int index = 0; index < length; index++) {
+                short minoIndex = buffer.getShort((int) position);
+                if (minoIndex < 0 || numOfMinos <= minoIndex)
+                    return false;
+                position += Short.BYTES;
+            }
+        }
+
+        return true;
+    }
+
+    public void write(Map<ColumnField, ? extends RecursiveMinoFields> solutions, SeparableMinos separableMinos, SizedBit sizedBit) throws IOException {
+        List<SeparableMino> minos = separableMinos.getMinos();
+        assert minos.size() <= Short.MAX_VALUE;
+
+        int numOfKeys = solutions.size();
+        long dataOffset = HEADER_BYTES + (long) INDEX_BYTES * numOfKeys;
+
+        // 途中で失敗しても壊れたファイルが残らないように、一時ファイルに書き込んでから置き換える
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // データ部を先に書き込みながら、各フィールドのオフセットを決める
+            // メモリにファイル全体を溜めないように、データ部はそのままファイルに流す
+            channel.position(dataOffset);
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            ByteBuffer index = ByteBuffer.allocate(INDEX_BYTES * numOfKeys);
+            for (Map.Entry<ColumnField, ? extends RecursiveMinoFields> entry : solutions.entrySet()) {
+                long offset = dataOffset + data.size();
+                if (Integer.MAX_VALUE <= offset)
+                    throw new IOException("Solutions file is too large: " + path);
+
+                ColumnField key = entry.getKey();
+                assert key.getBoardCount() == 1;
+                index.putLong(key.getBoard(0));
+                index.putInt((int) offset);
+
+                List<RecursiveMinoField> minoFields = entry.getValue().recursiveStream().collect(Collectors.toList());
+                data.writeInt(minoFields.size());
+                for (RecursiveMinoField minoField : minoFields) {
+                    ColumnField outerField = minoField.getOuterField();
+                    assert outerField.getBoardCount() == 1;
+                    data.writeLong(outerField.getBoard(0));
+
+                    List<SeparableMino> separableMinoList = minoField.getSeparableMinoStream().collect(Collectors.toList());
+                    assert separableMinoList.size() <= Byte.MAX_VALUE;
+                    data.writeByte(separableMinoList.size());
+                    for (SeparableMino separableMino : separableMinoList)
+                        data.writeShort(separableMinos.toIndex(separableMino));
+                }
+            }
+            data.flush();
+
+            // ヘッダーとインデックスは、オフセットが決まってから先頭に書き込む
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(sizedBit.getWidth());
+            header.putInt(sizedBit.getHeight());
+            header.putInt(minos.size());
+            header.putLong(createSignature(minos));
+            header.putInt(numOfKeys);
+            header.flip();
+            index.flip();
+
+            writeFully(channel, header, 0L);
+            writeFully(channel, index, HEADER_BYTES);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+    }
+
+    // ミノの一覧が変わったときにキャッシュを無効にするため、indexの対応をハッシュにする
+    private long createSignature(List<SeparableMino> minos) {
+        long signature = 17L;
+        for (SeparableMino separableMino : minos) {
+            MinoOperationWithKey operation = separableMino.toMinoOperationWithKey();
+            signature = signature * 31L + operation.getPiece().getNumber();
+            signature = signature * 31L + operation.getRotate().getNumber();
+            signature = signature * 31L + operation.getX();
+            signature = signature * 31L + operation.getY();
+            signature = signature * 31L + operation.getNeedDeletedKey();
+            signature = signature * 31L + operation.getUsingKey();
+        }
+        return signature;
+    }
+}
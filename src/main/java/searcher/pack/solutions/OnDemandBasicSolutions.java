@@ -4,6 +4,7 @@ import core.column_field.ColumnField;
 import core.column_field.ColumnFieldFactory;
 import core.column_field.ColumnSmallField;
 import core.field.Field;
+import lib.Metrics;
 import searcher.pack.SeparableMinos;
 import searcher.pack.SizedBit;
 import searcher.pack.calculator.*;
@@ -111,6 +112,13 @@ public class OnDemandBasicSolutions implements BasicSolutions, SolutionsCalculat
 
     @Override
     public RecursiveMinoFields getRecursiveMinoFields(ColumnField columnField) {
+        RecursiveMinoFields minoFields = resultsMap.get(columnField);
+        if (minoFields != null) {
+            Metrics.increment(Metrics.Counter.BasicSolutionsHits);
+            return minoFields;
+        }
+
+        Metrics.increment(Metrics.Counter.BasicSolutionsMisses);
         return resultsMap.computeIfAbsent(columnField, this::addColumnSmallField);
     }
 
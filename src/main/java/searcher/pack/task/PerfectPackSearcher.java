@@ -1,5 +1,6 @@
 package searcher.pack.task;
 
+import concurrent.ResidentExecutors;
 import core.column_field.ColumnField;
 import searcher.pack.InOutPairField;
 import searcher.pack.SizedBit;
@@ -51,7 +52,7 @@ public class PerfectPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<List<Result>> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -65,7 +66,7 @@ public class PerfectPackSearcher implements PackSearcher {
         List<Result> results = submitTask.get();
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return results;
     }
@@ -94,7 +95,7 @@ public class PerfectPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<Boolean> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -112,7 +113,7 @@ public class PerfectPackSearcher implements PackSearcher {
         assert result;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
     }
 
     public <A, R> R collect(Collector<? super Result, A, R> callback) throws InterruptedException, ExecutionException {
@@ -122,7 +123,7 @@ public class PerfectPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<R> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -137,7 +138,7 @@ public class PerfectPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
@@ -149,7 +150,7 @@ public class PerfectPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<Optional<Result>> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -164,7 +165,7 @@ public class PerfectPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
@@ -176,7 +177,7 @@ public class PerfectPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<T> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -191,7 +192,7 @@ public class PerfectPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
@@ -203,7 +204,7 @@ public class PerfectPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<Long> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -218,7 +219,7 @@ public class PerfectPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
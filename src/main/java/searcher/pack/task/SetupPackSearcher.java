@@ -1,5 +1,6 @@
 package searcher.pack.task;
 
+import concurrent.ResidentExecutors;
 import core.column_field.ColumnField;
 import core.field.Field;
 import searcher.pack.InOutPairField;
@@ -55,7 +56,7 @@ public class SetupPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<List<Result>> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -68,7 +69,7 @@ public class SetupPackSearcher implements PackSearcher {
         List<Result> results = submitTask.get();
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return results;
     }
@@ -90,7 +91,7 @@ public class SetupPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<Boolean> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -107,7 +108,7 @@ public class SetupPackSearcher implements PackSearcher {
         assert result;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
     }
 
     public <A, R> R collect(Collector<? super Result, A, R> callback) throws InterruptedException, ExecutionException {
@@ -117,7 +118,7 @@ public class SetupPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<R> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -132,7 +133,7 @@ public class SetupPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
@@ -144,7 +145,7 @@ public class SetupPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<Optional<Result>> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -159,7 +160,7 @@ public class SetupPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
@@ -171,7 +172,7 @@ public class SetupPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<T> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -186,7 +187,7 @@ public class SetupPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
@@ -198,7 +199,7 @@ public class SetupPackSearcher implements PackSearcher {
         PackingTask task = createPackingTask(sizedBit, emptyMemento, innerField);
 
         // 探索
-        ForkJoinPool forkJoinPool = new ForkJoinPool();
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool();
 
         ForkJoinTask<Long> submitTask = forkJoinPool.submit(() -> {
             // Streamは終端操作を実行するまで実際には計算を行わない
@@ -214,7 +215,7 @@ public class SetupPackSearcher implements PackSearcher {
         assert result != null;
 
         // 終了処理
-        forkJoinPool.shutdown();
+        ResidentExecutors.release(forkJoinPool);
 
         return result;
     }
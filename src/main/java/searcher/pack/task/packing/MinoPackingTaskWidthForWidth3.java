@@ -3,6 +3,7 @@ package searcher.pack.task.packing;
 import core.column_field.ColumnField;
 import core.column_field.ColumnFieldFactory;
 import core.column_field.ColumnSmallField;
+import lib.Metrics;
 import searcher.pack.InOutPairField;
 import searcher.pack.SizedBit;
 import searcher.pack.memento.MinoFieldMemento;
@@ -34,6 +35,8 @@ public class MinoPackingTaskWidthForWidth3 implements PackingTask {
 
     @Override
     public Stream<Result> compute() {
+        Metrics.increment(Metrics.Counter.PackingTasks);
+
         if (searcher.isFilled(innerField, index)) {
             // innerFieldが埋まっている
             List<InOutPairField> inOutPairFields = searcher.getInOutPairFields();
@@ -4,6 +4,7 @@ import core.column_field.ColumnField;
 import core.column_field.ColumnFieldFactory;
 import core.column_field.ColumnSmallField;
 import core.field.Field;
+import lib.Metrics;
 import searcher.pack.SeparableMinos;
 import searcher.pack.SizedBit;
 import searcher.pack.connections.StreamColumnFieldConnections;
@@ -49,6 +50,8 @@ public class MinoSetupTaskWidthForWidth3 implements PackingTask {
 
     @Override
     public Stream<Result> compute() {
+        Metrics.increment(Metrics.Counter.PackingTasks);
+
         if (searcher.isFilled(innerField, index)) {
             // innerFieldが埋まっている
             return createNextTasks(null);
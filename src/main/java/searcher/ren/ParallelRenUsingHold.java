@@ -0,0 +1,149 @@
+package searcher.ren;
+
+import common.comparator.RenOrderComparator;
+import common.datastore.RenResult;
+import common.datastore.action.Action;
+import common.datastore.blocks.Pieces;
+import common.datastore.order.RenNormalOrder;
+import common.datastore.order.RenOrder;
+import core.action.candidate.Candidate;
+import core.field.Field;
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import searcher.common.DataPool;
+import searcher.core.RenSearcherCore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * RenUsingHoldの各深さの探索を、複数のスレッドに分割して実行する
+ * 分割したタスクの結果は元の順番でまとめるため、RenUsingHoldと同じ結果を返却する
+ */
+public class ParallelRenUsingHold<T extends Action> {
+    private static final int MAX_FIELD_HEIGHT = 24;
+
+    // 1スレッドあたりのタスク数。タスクごとの処理時間のばらつきを吸収する
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final MinoFactory minoFactory;
+    private final ForkJoinPool forkJoinPool;
+    private final ThreadLocal<? extends Candidate<T>> candidateThreadLocal;
+
+    public ParallelRenUsingHold(MinoFactory minoFactory, ForkJoinPool forkJoinPool, ThreadLocal<? extends Candidate<T>> candidateThreadLocal) {
+        this.minoFactory = minoFactory;
+        this.forkJoinPool = forkJoinPool;
+        this.candidateThreadLocal = candidateThreadLocal;
+    }
+
+    public List<RenResult> check(Field initField, Pieces pieces, int maxDepth) throws ExecutionException, InterruptedException {
+        return check(initField, pieces.getPieceArray(), maxDepth);
+    }
+
+    public List<RenResult> check(Field initField, List<Piece> pieces, int maxDepth) throws ExecutionException, InterruptedException {
+        Piece[] blocks = new Piece[pieces.size()];
+        return check(initField, pieces.toArray(blocks), maxDepth);
+    }
+
+    public List<RenResult> check(Field initField, Piece[] pieces, int maxDepth) throws ExecutionException, InterruptedException {
+        Field freeze = initField.freeze(MAX_FIELD_HEIGHT);
+        freeze.clearLine();
+
+        RenOrderComparator comparator = new RenOrderComparator();
+        TreeSet<RenOrder> nexts = new TreeSet<>(comparator);
+        nexts.add(new RenNormalOrder(freeze, pieces[0], -1, maxDepth));
+
+        ArrayList<RenResult> results = new ArrayList<>();
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            RenOrder[] orders = nexts.toArray(new RenOrder[0]);
+            nexts = new TreeSet<>(comparator);
+
+            boolean isLast = depth == maxDepth;
+            Piece drawn = depth < pieces.length ? pieces[depth] : null;
+
+            List<Task> tasks = createTasks(orders, drawn, isLast);
+            forkJoinPool.submit(() -> {
+                ForkJoinTask.invokeAll(tasks);
+            }).get();
+
+            // 1スレッドで探索したときと同じ順番でまとめる
+            // 同じフィールド・ホールドの状態は、先に見つかったものが残る
+            for (Task task : tasks) {
+                nexts.addAll(task.pool.orders);
+                results.addAll(task.pool.results);
+            }
+        }
+
+        return results.stream()
+                .filter(result -> 0 <= result.getRenCount())
+                .collect(Collectors.toList());
+    }
+
+    private List<Task> createTasks(RenOrder[] orders, Piece drawn, boolean isLast) {
+        int taskCount = forkJoinPool.getParallelism() * TASKS_PER_THREAD;
+        int size = Math.max(1, (orders.length + taskCount - 1) / taskCount);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int from = 0; from < orders.length; from += size) {
+            int to = Math.min(from + size, orders.length);
+            tasks.add(new Task(orders, from, to, drawn, isLast));
+        }
+        return tasks;
+    }
+
+    private class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RenOrder[] orders;
+        private final int from;
+        private final int to;
+        private final Piece drawn;
+        private final boolean isLast;
+        private final ListDataPool pool = new ListDataPool();
+
+        private Task(RenOrder[] orders, int from, int to, Piece drawn, boolean isLast) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+            this.drawn = drawn;
+            this.isLast = isLast;
+        }
+
+        @Override
+        protected void compute() {
+            Candidate<T> candidate = candidateThreadLocal.get();
+            RenSearcherCore<T> searcherCore = new RenSearcherCore<>(minoFactory, pool, MAX_FIELD_HEIGHT);
+
+            if (drawn != null) {
+                for (int index = from; index < to; index++)
+                    searcherCore.stepWithNext(candidate, drawn, orders[index], isLast);
+            } else {
+                for (int index = from; index < to; index++)
+                    searcherCore.stepWhenNoNext(candidate, orders[index], isLast);
+            }
+        }
+    }
+
+    // タスクごとに結果を追加順のまま保持する
+    private static class ListDataPool implements DataPool<RenOrder, RenResult> {
+        private final ArrayList<RenOrder> orders = new ArrayList<>();
+        private final ArrayList<RenResult> results = new ArrayList<>();
+
+        @Override
+        public void addOrder(RenOrder order) {
+            orders.add(order);
+        }
+
+        @Override
+        public void addResult(RenResult result) {
+            results.add(result);
+        }
+    }
+}
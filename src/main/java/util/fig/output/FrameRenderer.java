@@ -0,0 +1,180 @@
+package util.fig.output;
+
+import common.tetfu.TetfuPage;
+import common.tetfu.common.ColorConverter;
+import common.tetfu.common.ColorType;
+import common.tetfu.field.ColoredField;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import core.srs.Rotate;
+import util.fig.Bag;
+import util.fig.generator.FigGenerator;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * ページごとの画像を複数のスレッドで描画して、ページの順番どおりに出力へ渡す
+ * FigGeneratorは1つの画像に描き込むため、スレッドごとに用意する
+ * 描画した画像はプールした画像にコピーして渡し、出力が終わったら使い回す
+ * 描画中と出力待ちのページは、スレッド数の2倍までに抑える
+ */
+class FrameRenderer {
+    interface FrameConsumer {
+        void accept(BufferedImage image) throws IOException;
+    }
+
+    private static final int WINDOW_PER_THREAD = 2;
+
+    private final MinoFactory minoFactory;
+    private final ColorConverter colorConverter;
+    private final Supplier<FigGenerator> figGeneratorSupplier;
+    private final int threads;
+
+    FrameRenderer(MinoFactory minoFactory, ColorConverter colorConverter, Supplier<FigGenerator> figGeneratorSupplier) {
+        this(minoFactory, colorConverter, figGeneratorSupplier, Runtime.getRuntime().availableProcessors());
+    }
+
+    FrameRenderer(MinoFactory minoFactory, ColorConverter colorConverter, Supplier<FigGenerator> figGeneratorSupplier, int threads) {
+        this.minoFactory = minoFactory;
+        this.colorConverter = colorConverter;
+        this.figGeneratorSupplier = figGeneratorSupplier;
+        this.threads = threads;
+    }
+
+    void render(List<TetfuPage> tetfuPages, Bag bag, int nextBoxCount, FrameConsumer consumer) throws IOException {
+        // ネクストとホールドは前のページに依存するため、先に順番に決める
+        List<Frame> frames = new ArrayList<>();
+        for (TetfuPage tetfuPage : tetfuPages) {
+            ColorType colorType = tetfuPage.getColorType();
+            if (ColorType.isMinoBlock(colorType)) {
+                Piece piece = colorConverter.parseToBlock(colorType);
+                bag.use(piece);
+            }
+            frames.add(new Frame(tetfuPage, new ArrayList<>(bag.getNext(nextBoxCount)), bag.getHold()));
+        }
+
+        if (threads <= 1 || frames.size() <= 1) {
+            FigGenerator figGenerator = figGeneratorSupplier.get();
+            for (Frame frame : frames)
+                consumer.accept(draw(figGenerator, frame));
+            return;
+        }
+
+        renderConcurrently(frames, consumer);
+    }
+
+    private void renderConcurrently(List<Frame> frames, FrameConsumer consumer) throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        ThreadLocal<FigGenerator> figGeneratorThreadLocal = ThreadLocal.withInitial(figGeneratorSupplier);
+
+        int window = threads * WINDOW_PER_THREAD;
+        BlockingQueue<BufferedImage> imagePool = new ArrayBlockingQueue<>(window);
+
+        try {
+            // ページの順番に並べて、先頭から出力する
+            Deque<Future<BufferedImage>> futures = new ArrayDeque<>();
+            int submitted = 0;
+            for (; submitted < frames.size() && submitted < window; submitted++)
+                futures.add(submit(executorService, figGeneratorThreadLocal, imagePool, frames.get(submitted)));
+
+            while (!futures.isEmpty()) {
+                BufferedImage image = get(futures.pollFirst());
+                consumer.accept(image);
+                imagePool.offer(image);
+
+                if (submitted < frames.size()) {
+                    futures.add(submit(executorService, figGeneratorThreadLocal, imagePool, frames.get(submitted)));
+                    submitted += 1;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Future<BufferedImage> submit(ExecutorService executorService, ThreadLocal<FigGenerator> figGeneratorThreadLocal, BlockingQueue<BufferedImage> imagePool, Frame frame) {
+        return executorService.submit(() -> {
+            BufferedImage image = draw(figGeneratorThreadLocal.get(), frame);
+
+            // generatorの画像は次のページで書き換えられるため、コピーして渡す
+            BufferedImage copy = imagePool.poll();
+            if (copy == null)
+                copy = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+            image.copyData(copy.getRaster());
+            return copy;
+        });
+    }
+
+    private BufferedImage get(Future<BufferedImage> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private BufferedImage draw(FigGenerator figGenerator, Frame frame) {
+        TetfuPage tetfuPage = frame.tetfuPage;
+
+        // リセット
+        figGenerator.reset();
+
+        // 現在のミノを取得
+        ColorType colorType = tetfuPage.getColorType();
+        Rotate rotate = tetfuPage.getRotate();
+        Mino mino = ColorType.isMinoBlock(colorType) ? minoFactory.create(colorConverter.parseToBlock(colorType), rotate) : null;
+
+        int x = tetfuPage.getX();
+        int y = tetfuPage.getY();
+
+        // フィールドの更新
+        ColoredField field = tetfuPage.getField();
+        if (tetfuPage.isLock()) {
+            figGenerator.updateField(field, mino, x, y);
+        } else {
+            figGenerator.updateField(field, null, 0, 0);
+        }
+
+        // 現在のミノの更新
+        if (ColorType.isMinoBlock(colorType))
+            figGenerator.updateMino(colorType, rotate, x, y);
+
+        // ネクストの更新
+        figGenerator.updateNext(frame.next);
+
+        // ホールドの更新
+        figGenerator.updateHold(frame.hold);
+
+        // 画像の生成
+        return figGenerator.fix();
+    }
+
+    // ページを描画した時点のネクストとホールド
+    private static class Frame {
+        private final TetfuPage tetfuPage;
+        private final List<Piece> next;
+        private final Piece hold;
+
+        private Frame(TetfuPage tetfuPage, List<Piece> next, Piece hold) {
+            this.tetfuPage = tetfuPage;
+            this.next = next;
+            this.hold = hold;
+        }
+    }
+}
@@ -2,12 +2,7 @@ package util.fig.output;
 
 import common.tetfu.TetfuPage;
 import common.tetfu.common.ColorConverter;
-import common.tetfu.common.ColorType;
-import common.tetfu.field.ColoredField;
-import core.mino.Mino;
 import core.mino.MinoFactory;
-import core.mino.Piece;
-import core.srs.Rotate;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -24,21 +19,20 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 public class GifWriter implements FigWriter {
-    private final MinoFactory minoFactory;
-    private final ColorConverter colorConverter;
-    private final FigGenerator figGenerator;
+    private final FrameRenderer frameRenderer;
     private final Bag bag;
     private final int nextBoxCount;
     private final int delay;
     private final File outputFile;
     private final boolean isInfiniteLoop;
 
-    public GifWriter(MinoFactory minoFactory, ColorConverter colorConverter, FigGenerator figGenerator, Bag bag, int nextBoxCount, int delay, File outputFile, boolean isInfiniteLoop) {
-        this.minoFactory = minoFactory;
-        this.colorConverter = colorConverter;
-        this.figGenerator = figGenerator;
+    // FigGeneratorは描画するスレッドごとにつくる
+    public GifWriter(MinoFactory minoFactory, ColorConverter colorConverter, Supplier<FigGenerator> figGeneratorSupplier, Bag bag, int nextBoxCount, int delay, File outputFile, boolean isInfiniteLoop) {
+        this.frameRenderer = new FrameRenderer(minoFactory, colorConverter, figGeneratorSupplier);
         this.bag = bag;
         this.nextBoxCount = nextBoxCount;
         this.delay = delay;
@@ -48,60 +42,23 @@ public class GifWriter implements FigWriter {
 
     @Override
     public void write(List<TetfuPage> tetfuPages) throws IOException {
-        boolean isLoop = isInfiniteLoop;
+        AtomicBoolean isLoop = new AtomicBoolean(isInfiniteLoop);
         try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputFile)) {
             // imageWriterの準備
             ImageWriter imageWriter = getGifImageWriter();
             imageWriter.setOutput(imageOutputStream);
             imageWriter.prepareWriteSequence(null);
 
-            for (TetfuPage tetfuPage : tetfuPages) {
-                // リセット
-                figGenerator.reset();
-
-                // 現在のミノを取得
-                ColorType colorType = tetfuPage.getColorType();
-                Rotate rotate = tetfuPage.getRotate();
-                Mino mino = ColorType.isMinoBlock(colorType) ? minoFactory.create(colorConverter.parseToBlock(colorType), rotate) : null;
-
-                int x = tetfuPage.getX();
-                int y = tetfuPage.getY();
-
-                // フィールドの更新
-                ColoredField field = tetfuPage.getField();
-                if (tetfuPage.isLock()) {
-                    figGenerator.updateField(field, mino, x, y);
-                } else {
-                    figGenerator.updateField(field, null, 0, 0);
-                }
-
-                // ミノを置くかチェック
-                if (ColorType.isMinoBlock(colorType)) {
-                    // 現在のミノの更新
-                    figGenerator.updateMino(colorType, rotate, x, y);
-
-                    // bagの更新
-                    Piece piece = colorConverter.parseToBlock(colorType);
-                    bag.use(piece);
-                }
-
-                // ネクストの更新
-                figGenerator.updateNext(bag.getNext(nextBoxCount));
-
-                // ホールドの更新
-                figGenerator.updateHold(bag.getHold());
-
-                // 画像の生成
-                BufferedImage image = figGenerator.fix();
-
+            // 描画は複数のスレッドで行い、ページの順番どおりに書き込む
+            frameRenderer.render(tetfuPages, bag, nextBoxCount, image -> {
                 // メタデータの作成
-                IIOMetadata metadata = createMetadata(imageWriter, image, delay, isLoop);
+                IIOMetadata metadata = createMetadata(imageWriter, image, delay, isLoop.get());
                 IIOImage iioImage = new IIOImage(image, null, metadata);
                 imageWriter.writeToSequence(iioImage, null);
 
                 // 無限ループの設定は最大1度までで十分
-                isLoop = false;
-            }
+                isLoop.set(false);
+            });
 
             // imageWriterの終了処理
             imageWriter.endWriteSequence();
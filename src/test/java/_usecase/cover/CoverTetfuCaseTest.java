@@ -5,12 +5,15 @@ import _usecase.Log;
 import _usecase.RunnerHelper;
 import _usecase.cover.files.OutputFileHelper;
 import entry.EntryPointMain;
+import entry.cover.CoverBinaryFile;
 import helper.CSVStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -956,5 +959,51 @@ class CoverTetfuCaseTest {
                 assertThat(log.getOutput()).contains(Messages.foundAndSolutions(0, all));
             }
         }
+
+        @Test
+        void caseBinary() throws Exception {
+            String fumen1 = "v115@vhFRQJUGJKJJvMJTNJGBJ";
+            String fumen2 = "v115@vhFRQJPGJKJJGMJTNJ0BJ";
+
+            {
+                String command = String.format("cover -t %s %s -p *!", fumen1, fumen2);
+                Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+                assertThat(log.getReturnCode()).isEqualTo(0);
+            }
+
+            {
+                String command = String.format("cover -t %s %s -p *! -f binary", fumen1, fumen2);
+                Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+                int all = 5040;
+                assertThat(log.getOutput()).contains(Messages.foundSolutions(1680, all, fumen1));
+                assertThat(log.getOutput()).contains(Messages.foundOrSolutions(3108, all));
+            }
+
+            // バイナリ
+            CoverBinaryFile file = CoverBinaryFile.read(Paths.get("output", "cover.bin"));
+            assertThat(file.getLabels()).containsExactly(fumen1, fumen2);
+            assertThat(file.getSequenceSize()).isEqualTo(5040);
+            assertThat(file.countSucceeded(0)).isEqualTo(1680);
+            assertThat(file.countSucceeded(1)).isEqualTo(2240);
+            assertThat(file.countOr()).isEqualTo(3108);
+            assertThat(file.countAnd()).isEqualTo(812);
+
+            // CSVに戻す
+            {
+                String command = "util cover -i output/cover.bin -M csv -o output/cover_from_binary.csv";
+                Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+                assertThat(log.getReturnCode()).isEqualTo(0);
+            }
+
+            assertThat(Files.readAllLines(Paths.get("output", "cover_from_binary.csv")))
+                    .isEqualTo(Files.readAllLines(Paths.get("output", "cover.csv")));
+
+            {
+                String command = "util cover -i output/cover.bin -M summary";
+                Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+                assertThat(log.getOutput()).contains(Messages.foundAndSolutions(812, 5040));
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -63,6 +63,87 @@ class PercentOptionCaseTest extends PercentUseCaseBaseTest {
         assertThat(log.getError()).isEmpty();
     }
 
+    @Test
+    void sample() throws Exception {
+        // ランダムに選んだツモ順で成功確率を推定する
+
+        Field field = FieldFactory.createField("" +
+                "XXXXXXXXX_" +
+                "XXXXXXXXX_" +
+                "__XXXXXXX_" +
+                "__XXXXXXX_"
+        );
+
+        ConfigFileHelper.createFieldFile(field, 4);
+
+        // 必ず成功するツモ順だけのときは、下限が100%に近づくまで続ける
+        String command = "percent -p I,O --hold avoid --sample 5 --seed 1";
+        Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+        assertThat(log.getReturnCode()).isEqualTo(0);
+        assertThat(log.getOutput())
+                .contains("Sampling pattern size (duplicate) = 1")
+                .contains("Sampling seed = 1")
+                .contains("success = 100.00%")
+                .contains("stopped by margin reached");
+
+        assertThat(log.getError()).isEmpty();
+    }
+
+    @Test
+    void stats() throws Exception {
+        // 探索の統計を最後に表示する
+        String tetfu = "v115@9gE8DeG8CeH8BeG8CeA8JeAgH";
+
+        {
+            String command = String.format("percent -t %s -p *p4 --stats", tetfu);
+            Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+            assertThat(log.getReturnCode()).isEqualTo(0);
+            assertThat(log.getOutput())
+                    .contains("success = 61.19% (514/840)")
+                    .contains("# Stats")
+                    .contains("Candidate searches: ")
+                    .contains("Move generation: ");
+            assertThat(log.getError()).isEmpty();
+        }
+        {
+            String command = String.format("percent -t %s --stats json -p *p4", tetfu);
+            Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+            assertThat(log.getReturnCode()).isEqualTo(0);
+            assertThat(log.getOutput())
+                    .contains("success = 61.19% (514/840)")
+                    .contains("{\"counters\":{\"expanded-orders\":")
+                    .doesNotContain("# Stats");
+            assertThat(log.getError()).isEmpty();
+        }
+    }
+
+    @Test
+    void sampleThreshold() throws Exception {
+        // 成功確率が基準を下回ると判定できた時点で終了する
+
+        Field field = FieldFactory.createField("" +
+                "XXXXXXXXX_" +
+                "XXXXXXXXX_" +
+                "__XXXXXXX_" +
+                "__XXXXXXX_"
+        );
+
+        ConfigFileHelper.createFieldFile(field, 4);
+
+        String command = "percent -p [IO]p2 --hold avoid --sample 0.1 --sample-threshold 90 --seed 0";
+        Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+        assertThat(log.getReturnCode()).isEqualTo(0);
+        assertThat(log.getOutput())
+                .contains("stopped by below threshold")
+                .contains("[O, I]");
+
+        assertThat(log.getError()).isEmpty();
+    }
+
     @Test
     void page() throws Exception {
         // ページの指定
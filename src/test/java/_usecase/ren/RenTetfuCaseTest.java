@@ -47,6 +47,46 @@ class RenTetfuCaseTest {
                     .contains("neF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8De?F8DeF8DeF8DeF8DeF8DeF8DeF8DeF8AeL8KeZCYhAFLDmCl?cJSAVDEHBEooRBJoAVB0yjPCvubMCTnPFDsAAAAvhMVtB6t?B/nBWoBToBNnBUoBxnB/oBTnBGoBMnBKoB");
         }
 
+        @Test
+        void case1WithThreads() throws Exception {
+            String fumen = "v115@neF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8De?F8DeF8DeF8DeF8DeF8DeF8DeF8DeF8AeL8KeAgH";
+            String command = String.format("ren -t %s -p tilsojztilsojz -th 2", fumen);
+            Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+            // Log
+            assertThat(log.getOutput())
+                    .contains(Messages.foundSolutions(410))
+                    .contains(Messages.maxRen(13))
+                    .contains("TILSOJZTILSOJZ")
+                    .contains("Threads: 2");
+            assertThat(log.getError()).isEmpty();
+
+            // HTML
+            SetupHTML html = OutputFileHelper.loadRenHTML();
+            assertThat(html.getHtml())
+                    .contains("13 Ren")
+                    .doesNotContain("14 Ren");
+
+            assertThat(html.getFumens())
+                    .hasSize(410)
+                    .contains("neF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8De?F8DeF8DeF8DeF8DeF8DeF8DeF8DeF8AeL8KeZCYhAFLDmCl?cJSAVDEHBEooRBJoAVB0yjPCvubMCTnPFDsAAAAvhMVtB6t?B/nBWoBToBNnBUoBxnB/oBTnBGoBMnBKoB");
+        }
+
+        @Test
+        void case1WithThreadsAvoidHold() throws Exception {
+            // ホールドなしのときは1スレッドで探索する
+            String fumen = "v115@neF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8De?F8DeF8DeF8DeF8DeF8DeF8DeF8DeF8AeL8KeAgH";
+            String command = String.format("ren -t %s -p tilsojztilsojz -th 2 -H avoid", fumen);
+            Log log = RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(command.split(" ")));
+
+            // Log
+            assertThat(log.getOutput())
+                    .contains("Using hold: avoid")
+                    .contains("Threads: 1")
+                    .doesNotContain("Threads: 2");
+            assertThat(log.getError()).isEmpty();
+        }
+
         @Test
         void case2() throws Exception {
             String fumen = "v115@DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8De?F8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8DeF8A?eI8JeAgH";
@@ -0,0 +1,101 @@
+package _usecase.serve;
+
+import _usecase.Log;
+import _usecase.RunnerHelper;
+import concurrent.ResidentExecutors;
+import entry.EntryPointMain;
+import entry.path.ResidentBasicSolutions;
+import entry.percent.ResidentCandidateCaches;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServeCaseTest {
+    private static Log runServe(String... jobs) throws Exception {
+        InputStream inBackup = System.in;
+        try {
+            String input = String.join("\n", jobs) + "\n";
+            System.setIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+            return RunnerHelper.runnerCatchingLog(() -> EntryPointMain.main(new String[]{"serve"}));
+        } finally {
+            System.setIn(inBackup);
+        }
+    }
+
+    @Test
+    void jobs() throws Exception {
+        // 同じプロセスで、複数のジョブを順に実行する
+        String tetfu = "v115@9gE8DeG8CeH8BeG8CeA8JeAgH";
+        Log log = runServe(
+                "{\"id\": 1, \"command\": \"percent\", \"args\": [\"-t\", \"" + tetfu + "\", \"-p\", \"*p4\"]}",
+                "",
+                "{\"id\": \"second\", \"command\": \"percent\", \"args\": \"-t " + tetfu + " -p *p4 -fc 0\"}"
+        );
+
+        assertThat(log.getReturnCode()).isEqualTo(0);
+
+        String[] lines = log.getOutput().split("\n");
+        assertThat(lines).hasSize(2);
+
+        assertThat(lines[0])
+                .startsWith("{\"id\":1,\"output\":\"")
+                .contains("success = 61.19% (514/840)")
+                .contains("\"code\":0,")
+                .contains("\\ndone\\n");
+
+        assertThat(lines[1])
+                .startsWith("{\"id\":\"second\",\"output\":\"")
+                .contains("success = 61.19% (514/840)")
+                .contains("\"code\":0,");
+    }
+
+    @Test
+    void errors() throws Exception {
+        // 不正なジョブは、エラーとして結果を返し、次のジョブを続ける
+        Log log = runServe(
+                "{\"id\": 1, \"command\": ",
+                "{\"id\": 2, \"args\": []}",
+                "{\"id\": 3, \"command\": \"unknown\"}",
+                "{\"id\": 4, \"command\": \"serve\"}",
+                "{\"id\": 5, \"command\": \"percent\", \"args\": [\"-h\"]}"
+        );
+
+        assertThat(log.getReturnCode()).isEqualTo(0);
+
+        String[] lines = log.getOutput().split("\n");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).startsWith("{\"id\":null,\"output\":").contains("\"code\":1,").contains("Invalid JSON");
+        assertThat(lines[1]).startsWith("{\"id\":null,\"output\":").contains("\"code\":1,").contains("Job should have 'command'");
+        assertThat(lines[2]).startsWith("{\"id\":3,\"output\":").contains("\"code\":1,").contains("Invalid type");
+        assertThat(lines[3]).startsWith("{\"id\":4,\"output\":").contains("\"code\":1,").contains("Cannot run serve in serve");
+        assertThat(lines[4]).startsWith("{\"id\":5,\"output\":").contains("\"code\":0,").contains("usage");
+    }
+
+    @Test
+    void shutdown() throws Exception {
+        // shutdownのあとのジョブは実行しない
+        Log log = runServe(
+                "{\"id\": 1, \"command\": \"shutdown\"}",
+                "{\"id\": 2, \"command\": \"percent\", \"args\": [\"-h\"]}"
+        );
+
+        assertThat(log.getReturnCode()).isEqualTo(0);
+        assertThat(log.getOutput().split("\n"))
+                .containsExactly("{\"id\":1,\"output\":\"\",\"code\":0,\"time\":0,\"error\":\"\"}");
+    }
+
+    @Test
+    void residentOnlyWhileServing() throws Exception {
+        // serveが終わったあとは、計算結果をプロセス内に保持しない
+        Log log = runServe("{\"id\": 1, \"command\": \"percent\", \"args\": [\"-h\"]}");
+
+        assertThat(log.getReturnCode()).isEqualTo(0);
+        assertThat(ResidentBasicSolutions.isEnabled()).isFalse();
+        assertThat(ResidentCandidateCaches.isEnabled()).isFalse();
+        assertThat(ResidentExecutors.isEnabled()).isFalse();
+    }
+}
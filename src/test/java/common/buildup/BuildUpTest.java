@@ -47,8 +47,26 @@ import java.util.stream.StreamSupport;
 
 import static core.mino.Piece.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BuildUpTest {
+    @Test
+    void existsValidBuildPatternWithTooManyOperations() {
+        int height = 4;
+        Field field = FieldFactory.createField(height);
+
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        LockedReachable reachable = new LockedReachable(minoFactory, minoShifter, minoRotation, height);
+
+        // 置いた組み合わせをlongのビットで表せない個数
+        MinoOperationWithKey operation = new FullOperationWithKey(minoFactory.create(Piece.O, Rotate.Spawn), 0, 0L, 0L, 0);
+        List<MinoOperationWithKey> operationWithKeys = Collections.nCopies(Long.SIZE, operation);
+        assertThatThrownBy(() -> BuildUp.existsValidBuildPatternWithMemo(field, operationWithKeys, height, reachable))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void cansBuild() {
         Field field = FieldFactory.createField("" +
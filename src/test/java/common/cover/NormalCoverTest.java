@@ -2,8 +2,10 @@ package common.cover;
 
 import common.cover.reachable.ReachableForCoverWrapper;
 import common.datastore.*;
+import common.datastore.blocks.Pieces;
 import common.parser.BlockInterpreter;
 import common.parser.OperationTransform;
+import common.pattern.LoadedPatternGenerator;
 import core.action.reachable.HarddropReachable;
 import core.action.reachable.TSpinOrHarddropReachable;
 import core.field.Field;
@@ -16,6 +18,7 @@ import core.srs.MinoRotation;
 import core.srs.Rotate;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -218,6 +221,53 @@ class NormalCoverTest {
         }
     }
 
+    @Test
+    void canBuildAllSameAsEach() throws Exception {
+        int height = 5;
+        Field field = FieldFactory.createField(height);
+        List<Operation> operationList = Arrays.asList(
+                new SimpleOperation(Piece.I, Rotate.Spawn, 4, 0),
+                new SimpleOperation(Piece.L, Rotate.Right, 0, 1),
+                new SimpleOperation(Piece.Z, Rotate.Spawn, 4, 1),
+                new SimpleOperation(Piece.S, Rotate.Right, 6, 1),
+                new SimpleOperation(Piece.O, Rotate.Spawn, 8, 0),
+                new SimpleOperation(Piece.J, Rotate.Left, 9, 3),
+                new SimpleOperation(Piece.T, Rotate.Reverse, 2, 1)
+        );
+        List<MinoOperationWithKey> operationsWithKey = toMinoOperationWithKey(operationList, field, height);
+        MinoRotation minoRotation = MinoRotation.create();
+        ReachableForCoverWrapper reachable = new ReachableForCoverWrapper(new TSpinOrHarddropReachable(minoFactory, minoShifter, minoRotation, height, 2));
+
+        // 長さの異なるミノ順を混ぜる
+        List<List<Piece>> piecesList = new ArrayList<>();
+        for (String pattern : Arrays.asList("*p7", "*p6", "*,*p7")) {
+            new LoadedPatternGenerator(pattern).blocksStream()
+                    .map(Pieces::getPieces)
+                    .forEach(piecesList::add);
+        }
+
+        for (int maxDepth = 5; maxDepth <= operationsWithKey.size(); maxDepth++) {
+            List<MinoOperationWithKey> operations = operationsWithKey.subList(operationsWithKey.size() - maxDepth, operationsWithKey.size());
+            Field initField = field.freeze(height);
+            for (MinoOperationWithKey operation : operationsWithKey.subList(0, operationsWithKey.size() - maxDepth)) {
+                initField.put(operation.getMino(), operation.getX(), operation.getY());
+            }
+
+            boolean[] results = cover.canBuildAll(initField, operations, piecesList, height, reachable, maxDepth);
+            boolean[] resultsWithHold = cover.canBuildAllWithHold(initField, operations, piecesList, height, reachable, maxDepth);
+
+            for (int index = 0; index < piecesList.size(); index++) {
+                List<Piece> pieces = piecesList.get(index);
+                assertThat(results[index])
+                        .as(pieces.toString())
+                        .isEqualTo(cover.canBuild(initField, operations.stream(), pieces, height, reachable, maxDepth));
+                assertThat(resultsWithHold[index])
+                        .as(pieces.toString())
+                        .isEqualTo(cover.canBuildWithHold(initField, new ArrayList<>(operations).stream(), pieces, height, reachable, maxDepth));
+            }
+        }
+    }
+
     private List<Piece> toPieceList(String str) {
         return BlockInterpreter.parse(str).collect(Collectors.toList());
     }
@@ -0,0 +1,99 @@
+package common.datastore.blocks;
+
+import core.mino.Piece;
+import lib.Randoms;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongPiecesSetTest {
+    @Test
+    void distinguishLength() throws Exception {
+        // Piece.getBlock(0) は0として表されるため、長さが異なっても同じlongになる
+        Piece piece = Piece.getBlock(0);
+        LongPiecesSet set = new LongPiecesSet();
+        assertThat(set.add(new LongPieces(Arrays.asList(piece, piece)))).isTrue();
+        assertThat(set.add(new LongPieces(Arrays.asList(piece, piece, piece)))).isTrue();
+        assertThat(set.add(new LongPieces())).isTrue();
+        assertThat(set.add(new LongPieces(Arrays.asList(piece, piece)))).isFalse();
+
+        assertThat(set).hasSize(3);
+        assertThat(set.contains(new LongPieces(Arrays.asList(piece, piece, piece)))).isTrue();
+        assertThat(set.contains(new LongPieces(Collections.singletonList(piece)))).isFalse();
+        assertThat(set).containsExactlyInAnyOrder(
+                new LongPieces(),
+                new LongPieces(Arrays.asList(piece, piece)),
+                new LongPieces(Arrays.asList(piece, piece, piece))
+        );
+    }
+
+    @Test
+    void maxLength() throws Exception {
+        Randoms randoms = new Randoms();
+        LongPiecesSet set = new LongPiecesSet();
+        for (int count = 0; count < 1000; count++) {
+            List<Piece> pieces = randoms.blocks(22);
+            set.add(new LongPieces(pieces));
+            assertThat(set.contains(new ReadOnlyListPieces(pieces))).isTrue();
+        }
+
+        for (LongPieces pieces : set)
+            assertThat(pieces.getPieces()).hasSize(22);
+    }
+
+    @Test
+    void sameAsHashSet() throws Exception {
+        Randoms randoms = new Randoms();
+        HashSet<LongPieces> expected = new HashSet<>();
+        LongPiecesSet set = new LongPiecesSet();
+        for (int count = 0; count < 100000; count++) {
+            LongPieces pieces = new LongPieces(randoms.blocks(randoms.nextIntClosed(0, 10)));
+            if (randoms.nextBoolean(0.2)) {
+                assertThat(set.remove(pieces)).isEqualTo(expected.remove(pieces));
+            } else {
+                assertThat(set.add(pieces)).isEqualTo(expected.add(pieces));
+            }
+        }
+
+        assertThat(set).hasSameSizeAs(expected);
+        assertThat(set).isEqualTo(expected);
+        assertThat(expected).isEqualTo(set);
+        assertThat(set.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(new LongPiecesSet(expected).containsAll(set)).isTrue();
+    }
+
+    @Test
+    void removeByIterator() throws Exception {
+        Randoms randoms = new Randoms();
+        HashSet<LongPieces> expected = new HashSet<>();
+        LongPiecesSet set = new LongPiecesSet();
+        for (int count = 0; count < 10000; count++) {
+            LongPieces pieces = new LongPieces(randoms.blocks(randoms.nextIntClosed(0, 4)));
+            set.add(pieces);
+            expected.add(pieces);
+        }
+
+        // 削除しながら、すべての要素を1度ずつ返すこと
+        int size = set.size();
+        HashSet<LongPieces> visited = new HashSet<>();
+        Iterator<LongPieces> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            LongPieces pieces = iterator.next();
+            assertThat(visited.add(pieces)).isTrue();
+            if (pieces.getPieces().size() % 2 == 0) {
+                iterator.remove();
+                expected.remove(pieces);
+            }
+        }
+
+        assertThat(visited).hasSize(size);
+        assertThat(set).isEqualTo(expected);
+        assertThat(set).allMatch(pieces -> pieces.getPieces().size() % 2 == 1);
+    }
+}
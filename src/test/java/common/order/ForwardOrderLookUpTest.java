@@ -180,4 +180,25 @@ class ForwardOrderLookUpTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseLongRandom() throws Exception {
+        Randoms randoms = new Randoms();
+        for (int toDepth = 1; toDepth <= 10; toDepth++) {
+            for (int fromDepth = toDepth; fromDepth <= toDepth + 1; fromDepth++) {
+                List<Piece> pieces = randoms.blocks(fromDepth);
+                ForwardOrderLookUp lookUp = new ForwardOrderLookUp(toDepth, fromDepth);
+                List<LongPieces> expected = lookUp.parse(pieces)
+                        .map(LongPieces::new)
+                        .collect(Collectors.toList());
+
+                int depth = lookUp.getToDepth();
+                List<LongPieces> actual = new ArrayList<>();
+                lookUp.parse(new LongPieces(pieces).getLong(), value -> actual.add(LongPieces.fromLong(value, depth)));
+
+                assertThat(depth).isEqualTo(toDepth);
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+    }
+}
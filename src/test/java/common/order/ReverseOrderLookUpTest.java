@@ -7,6 +7,7 @@ import module.LongTest;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -157,4 +158,25 @@ class ReverseOrderLookUpTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseAndExpandLongRandom() throws Exception {
+        Randoms randoms = new Randoms();
+        for (int size = 1; size <= 10; size++) {
+            List<Piece> pieces = randoms.blocks(size);
+            for (int fromDepth = size; fromDepth <= size + 2; fromDepth++) {
+                ReverseOrderLookUp lookUp = new ReverseOrderLookUp(size, fromDepth);
+                List<LongPieces> expected = lookUp.parseAndExpand(pieces)
+                        .map(LongPieces::new)
+                        .collect(Collectors.toList());
+
+                int depth = lookUp.getFromDepth();
+                List<LongPieces> actual = new ArrayList<>();
+                lookUp.parseAndExpand(new LongPieces(pieces).getLong(), value -> actual.add(LongPieces.fromLong(value, depth)));
+
+                assertThat(depth).isEqualTo(fromDepth);
+                assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package common.pattern;
+
+import common.SyntaxException;
+import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.Pieces;
+import core.mino.Piece;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternSamplerTest {
+    @Test
+    void sizeAndDepth() throws SyntaxException {
+        List<String> patterns = Arrays.asList("*p3", "I,[SZ]p2", "T,*,*");
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(patterns);
+        PatternSampler sampler = new PatternSampler(generator);
+
+        assertThat(sampler.getSize()).isEqualTo((double) generator.blocksStream().count());
+        assertThat(sampler.getDepth()).isEqualTo(generator.getDepth());
+    }
+
+    @Test
+    void sampleInPatterns() throws SyntaxException {
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(Arrays.asList("[IO]p2,*p2", "T,[SZ]!,L"));
+        PatternSampler sampler = new PatternSampler(generator);
+
+        Set<LongPieces> expected = generator.blocksStream()
+                .map(Pieces::getPieces)
+                .map(LongPieces::new)
+                .collect(Collectors.toSet());
+
+        Random random = new Random(0L);
+        for (int count = 0; count < 10000; count++) {
+            List<Piece> pieces = sampler.sample(random);
+            assertThat(pieces).hasSize(sampler.getDepth());
+            assertThat(expected).contains(new LongPieces(pieces));
+        }
+    }
+
+    @Test
+    void weightedByDuplicates() throws SyntaxException {
+        // "I" は2回列挙されるため、"O" の2倍の確率で選ばれる
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(Arrays.asList("I", "I", "O"));
+        PatternSampler sampler = new PatternSampler(generator);
+        assertThat(sampler.getSize()).isEqualTo(3.0);
+
+        Random random = new Random(0L);
+        Map<Piece, Integer> counts = new HashMap<>();
+        int max = 30000;
+        for (int count = 0; count < max; count++) {
+            Piece piece = sampler.sample(random).get(0);
+            counts.merge(piece, 1, Integer::sum);
+        }
+
+        assertThat((double) counts.get(Piece.I) / max).isBetween(0.64, 0.69);
+        assertThat((double) counts.get(Piece.O) / max).isBetween(0.31, 0.36);
+    }
+
+    @Test
+    void countPrefix() throws SyntaxException {
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(Arrays.asList("*p4", "[IO]p2,*p2", "T,*p3"));
+        PatternSampler sampler = new PatternSampler(generator);
+
+        // 先頭2ミノで切り詰めたときに、列挙される回数と一致する
+        Map<LongPieces, Integer> expected = new HashMap<>();
+        generator.blocksStream()
+                .map(pieces -> new LongPieces(pieces.getPieces().subList(0, 2)))
+                .forEach(pieces -> expected.merge(pieces, 1, Integer::sum));
+
+        for (Map.Entry<LongPieces, Integer> entry : expected.entrySet())
+            assertThat(sampler.countPrefix(entry.getKey().getPieces())).isEqualTo((double) entry.getValue());
+
+        assertThat(sampler.countPrefix(Arrays.asList(Piece.I, Piece.I))).isEqualTo(0.0);
+    }
+
+    @Test
+    void sampleDistinct() throws SyntaxException {
+        // 重複を除くと、IとOは同じ確率で選ばれる
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(Arrays.asList("I", "I", "O"));
+        PatternSampler sampler = new PatternSampler(generator);
+
+        Random random = new Random(0L);
+        Map<Piece, Integer> counts = new HashMap<>();
+        int max = 30000;
+        for (int count = 0; count < max; count++) {
+            Piece piece = sampler.sampleDistinct(random, 1).get(0);
+            counts.merge(piece, 1, Integer::sum);
+        }
+
+        assertThat((double) counts.get(Piece.I) / max).isBetween(0.48, 0.52);
+        assertThat((double) counts.get(Piece.O) / max).isBetween(0.48, 0.52);
+    }
+
+    @Test
+    void sampleDistinctInTruncatedPatterns() throws SyntaxException {
+        // 2つの行で重複する先頭も、重複を除いた集合から同じ確率で選ばれる
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(Arrays.asList("I,*p3", "*p4"));
+        PatternSampler sampler = new PatternSampler(generator);
+
+        Set<LongPieces> expected = generator.blocksStream()
+                .map(pieces -> new LongPieces(pieces.getPieces().subList(0, 2)))
+                .collect(Collectors.toSet());
+
+        Random random = new Random(0L);
+        Map<LongPieces, Integer> counts = new HashMap<>();
+        int max = 42000;
+        for (int count = 0; count < max; count++) {
+            List<Piece> pieces = sampler.sampleDistinct(random, 2);
+            assertThat(pieces).hasSize(2);
+            counts.merge(new LongPieces(pieces), 1, Integer::sum);
+        }
+
+        assertThat(counts.keySet()).isEqualTo(expected);
+        double mean = (double) max / expected.size();
+        for (int count : counts.values())
+            assertThat((double) count).isBetween(mean * 0.8, mean * 1.2);
+    }
+}
@@ -0,0 +1,94 @@
+package common.tetfu.encorder;
+
+import common.datastore.FullOperationWithKey;
+import common.datastore.MinoOperationWithKey;
+import common.tetfu.Tetfu;
+import common.tetfu.TetfuElement;
+import common.tetfu.common.ColorConverter;
+import common.tetfu.common.ColorType;
+import common.tetfu.field.ColoredField;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.field.KeyOperators;
+import core.mino.Mino;
+import core.mino.MinoFactory;
+import core.srs.Rotate;
+import entry.path.output.OneFumenParser;
+import lib.Randoms;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchFumenEncoderTest {
+    private final MinoFactory minoFactory = new MinoFactory();
+    private final ColorConverter colorConverter = new ColorConverter();
+
+    // 1ページずつTetfuでエンコードする
+    private String encodeByTetfu(List<MinoOperationWithKey> operations, Field field, int maxClearLine, String comment) {
+        OneFumenParser parser = new OneFumenParser(minoFactory, colorConverter);
+        ColoredField coloredField = parser.parseToColoredField(operations, field, maxClearLine);
+        TetfuElement element = new TetfuElement(coloredField, ColorType.Empty, Rotate.Reverse, 0, 0, comment);
+        return new Tetfu(minoFactory, colorConverter).encode(Collections.singletonList(element));
+    }
+
+    @Test
+    void emptyField() {
+        Field field = FieldFactory.createField(4);
+        BatchFumenEncoder encoder = new BatchFumenEncoder(colorConverter, field, 4);
+
+        List<MinoOperationWithKey> operations = Collections.emptyList();
+        assertThat(encoder.encode(operations, "")).isEqualTo(encodeByTetfu(operations, field, 4, ""));
+        assertThat(encoder.encode(operations, "comment")).isEqualTo(encodeByTetfu(operations, field, 4, "comment"));
+    }
+
+    @Test
+    void randomSameAsTetfu() {
+        Randoms randoms = new Randoms();
+        List<String> comments = new ArrayList<>();
+        comments.add("");
+        comments.add("TIJLSZO");
+        comments.add("1 : テスト");
+
+        for (int count = 0; count < 200; count++) {
+            int maxClearLine = randoms.nextIntClosed(4, 8);
+            Field field = randoms.field(maxClearLine, randoms.nextIntClosed(4, 10));
+            BatchFumenEncoder encoder = new BatchFumenEncoder(colorConverter, field, maxClearLine);
+            assertThat(encoder.isSameInit(field, maxClearLine)).isTrue();
+
+            for (int index = 0; index < 20; index++) {
+                List<MinoOperationWithKey> operations = new ArrayList<>();
+                int size = randoms.nextIntClosed(0, 6);
+                for (int operationIndex = 0; operationIndex < size; operationIndex++)
+                    operations.add(createOperation(randoms, maxClearLine));
+
+                String comment = randoms.pick(comments);
+                assertThat(encoder.encode(operations, comment))
+                        .isEqualTo(encodeByTetfu(operations, field, maxClearLine, comment));
+            }
+        }
+    }
+
+    private MinoOperationWithKey createOperation(Randoms randoms, int maxClearLine) {
+        // 消去されるラインは最大2つ。縦のIミノが入る高さは残す
+        int numOfDeletedLines = randoms.nextIntClosed(0, Math.min(2, maxClearLine - 4));
+        long needDeletedKey = 0L;
+        for (int y : randoms.sample(rows(maxClearLine), numOfDeletedLines))
+            needDeletedKey |= KeyOperators.getDeleteBitKey(y);
+
+        Mino mino = minoFactory.create(randoms.block(), randoms.rotate());
+        int x = randoms.nextIntOpen(-mino.getMinX(), 10 - mino.getMaxX());
+        int y = randoms.nextIntOpen(-mino.getMinY(), maxClearLine - numOfDeletedLines - mino.getMaxY());
+        return FullOperationWithKey.create(mino, x, y, needDeletedKey, maxClearLine);
+    }
+
+    private List<Integer> rows(int maxClearLine) {
+        List<Integer> rows = new ArrayList<>();
+        for (int y = 0; y < maxClearLine; y++)
+            rows.add(y);
+        return rows;
+    }
+}
@@ -12,6 +12,10 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +41,15 @@ class ConcurrentVisitedTreeTest {
         assertThat(tree.isSucceed(Arrays.asList(Piece.O, Piece.O, Piece.O))).isEqualTo(ConcurrentVisitedTree.NO_RESULT);
     }
 
+    @Test
+    void successWithAnyPiece() {
+        ConcurrentVisitedTree tree = new ConcurrentVisitedTree();
+        tree.success(Arrays.asList(Piece.I, null, Piece.O));
+        for (Piece piece : Piece.values())
+            assertThat(tree.isSucceed(Arrays.asList(Piece.I, piece, Piece.O))).isEqualTo(ConcurrentVisitedTree.SUCCEED);
+        assertThat(tree.isSucceed(Arrays.asList(Piece.I, Piece.T, Piece.T))).isEqualTo(ConcurrentVisitedTree.NO_RESULT);
+    }
+
     @Test
     void random() throws SyntaxException {
         Randoms randoms = new Randoms();
@@ -119,4 +132,46 @@ class ConcurrentVisitedTreeTest {
             assertThat(isFailed).isTrue();
         }
     }
-}
\ No newline at end of file
+
+    // 複数スレッドから同時に読み書きしても、すべての結果が正しく記録される
+    @Test
+    @LongTest
+    void contention() throws Exception {
+        PatternGenerator generator = new LoadedPatternGenerator("*p7");
+        List<List<Piece>> piecesList = generator.blocksStream()
+                .map(Pieces::getPieces)
+                .collect(Collectors.toList());
+
+        int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        int iterations = 20;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ConcurrentVisitedTree tree = new ConcurrentVisitedTree();
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int offset = thread;
+                int step = threads;
+                tasks.add(() -> {
+                    for (int count = 0; count < iterations; count++) {
+                        for (int index = offset; index < piecesList.size(); index += step) {
+                            List<Piece> pieces = piecesList.get(index);
+                            if (tree.isSucceed(pieces) == ConcurrentVisitedTree.NO_RESULT)
+                                tree.set(index % 2 == 0, pieces);
+                        }
+                    }
+                    return true;
+                });
+            }
+
+            for (Future<Boolean> future : executorService.invokeAll(tasks))
+                assertThat(future.get()).isTrue();
+            executorService.shutdown();
+
+            for (int index = 0; index < piecesList.size(); index++) {
+                int expected = index % 2 == 0 ? ConcurrentVisitedTree.SUCCEED : ConcurrentVisitedTree.FAILED;
+                assertThat(tree.isSucceed(piecesList.get(index))).isEqualTo(expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResidentExecutorsTest {
+    @AfterEach
+    void tearDown() {
+        ResidentExecutors.disable();
+    }
+
+    @Test
+    void shareWhileEnabled() {
+        ResidentExecutors.enable();
+
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool(2);
+        assertThat(ResidentExecutors.getForkJoinPool(2)).isSameAs(forkJoinPool);
+        assertThat(ResidentExecutors.getForkJoinPool(3)).isNotSameAs(forkJoinPool);
+
+        ExecutorService executorService = ResidentExecutors.getFixedThreadPool(2);
+        assertThat(ResidentExecutors.getFixedThreadPool(2)).isSameAs(executorService);
+
+        // 共有しているものは終了させない
+        ResidentExecutors.release(forkJoinPool);
+        ResidentExecutors.release(executorService);
+        assertThat(forkJoinPool.isShutdown()).isFalse();
+        assertThat(executorService.isShutdown()).isFalse();
+
+        // 無効にすると終了させる
+        ResidentExecutors.disable();
+        assertThat(forkJoinPool.isShutdown()).isTrue();
+        assertThat(executorService.isShutdown()).isTrue();
+    }
+
+    @Test
+    void createWhileDisabled() {
+        ForkJoinPool forkJoinPool = ResidentExecutors.getForkJoinPool(2);
+        assertThat(ResidentExecutors.getForkJoinPool(2)).isNotSameAs(forkJoinPool);
+
+        ResidentExecutors.release(forkJoinPool);
+        assertThat(forkJoinPool.isShutdown()).isTrue();
+
+        ResidentExecutors.release(null);
+    }
+}
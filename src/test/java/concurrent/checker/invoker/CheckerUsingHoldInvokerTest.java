@@ -10,6 +10,8 @@ import common.tree.AnalyzeTree;
 import concurrent.LockedCandidateThreadLocal;
 import concurrent.LockedReachableThreadLocal;
 import concurrent.checker.CheckerUsingHoldThreadLocal;
+import concurrent.checker.MemorizedCheckerUsingHoldThreadLocal;
+import concurrent.checker.invoker.prefix.PrefixCheckerUsingHoldInvoker;
 import concurrent.checker.invoker.using_hold.ConcurrentCheckerUsingHoldInvoker;
 import concurrent.checker.invoker.using_hold.SingleCheckerUsingHoldInvoker;
 import core.action.candidate.Candidate;
@@ -29,11 +31,13 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 import searcher.checker.CheckerUsingHold;
+import searcher.checker.TranspositionTable;
 import searcher.common.validator.PerfectValidator;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -58,15 +62,18 @@ class CheckerUsingHoldInvokerTest {
     }
 
     private static final ExecutorService executorService;
+    private static final ForkJoinPool forkJoinPool;
 
     static {
         int core = Runtime.getRuntime().availableProcessors();
         executorService = Executors.newFixedThreadPool(core);
+        forkJoinPool = new ForkJoinPool(core);
     }
 
     @AfterAll
     static void tearDownAll() {
         executorService.shutdown();
+        forkJoinPool.shutdown();
     }
 
     @ParameterizedTest
@@ -370,7 +377,13 @@ class CheckerUsingHoldInvokerTest {
         public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
             IntFunction<ConcurrentCheckerInvoker> concurrentGenerator = this::createConcurrentCheckerUsingHoldInvoker;
             IntFunction<ConcurrentCheckerInvoker> singleGenerator = this::createSingleCheckerUsingHoldInvoker;
-            return Stream.of(Arguments.of(concurrentGenerator), Arguments.of(singleGenerator));
+            IntFunction<ConcurrentCheckerInvoker> memorizedGenerator = this::createMemorizedCheckerUsingHoldInvoker;
+            IntFunction<ConcurrentCheckerInvoker> prefixGenerator = this::createPrefixCheckerUsingHoldInvoker;
+            IntFunction<ConcurrentCheckerInvoker> singlePrefixGenerator = this::createSinglePrefixCheckerUsingHoldInvoker;
+            return Stream.of(
+                    Arguments.of(concurrentGenerator), Arguments.of(singleGenerator), Arguments.of(memorizedGenerator),
+                    Arguments.of(prefixGenerator), Arguments.of(singlePrefixGenerator)
+            );
         }
 
         private ConcurrentCheckerInvoker createConcurrentCheckerUsingHoldInvoker(int maxClearLine) {
@@ -390,5 +403,26 @@ class CheckerUsingHoldInvokerTest {
             CheckerCommonObj commonObj = new CheckerCommonObj(minoFactory, candidateThreadLocal, checkerThreadLocal, reachableThreadLocal);
             return new SingleCheckerUsingHoldInvoker(commonObj);
         }
+
+        private ConcurrentCheckerInvoker createMemorizedCheckerUsingHoldInvoker(int maxClearLine) {
+            MinoFactory minoFactory = new MinoFactory();
+            MemorizedCheckerUsingHoldThreadLocal<Action> checkerThreadLocal = new MemorizedCheckerUsingHoldThreadLocal<>(new TranspositionTable());
+            LockedCandidateThreadLocal candidateThreadLocal = new LockedCandidateThreadLocal(maxClearLine);
+            LockedReachableThreadLocal reachableThreadLocal = new LockedReachableThreadLocal(maxClearLine);
+            CheckerCommonObj commonObj = new CheckerCommonObj(minoFactory, candidateThreadLocal, checkerThreadLocal, reachableThreadLocal);
+            return new ConcurrentCheckerUsingHoldInvoker(executorService, commonObj);
+        }
+
+        private ConcurrentCheckerInvoker createPrefixCheckerUsingHoldInvoker(int maxClearLine) {
+            MinoFactory minoFactory = new MinoFactory();
+            LockedCandidateThreadLocal candidateThreadLocal = new LockedCandidateThreadLocal(maxClearLine);
+            return new PrefixCheckerUsingHoldInvoker(forkJoinPool, minoFactory, candidateThreadLocal);
+        }
+
+        private ConcurrentCheckerInvoker createSinglePrefixCheckerUsingHoldInvoker(int maxClearLine) {
+            MinoFactory minoFactory = new MinoFactory();
+            LockedCandidateThreadLocal candidateThreadLocal = new LockedCandidateThreadLocal(maxClearLine);
+            return new PrefixCheckerUsingHoldInvoker(null, minoFactory, candidateThreadLocal);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package concurrent.checker.invoker.prefix;
+
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.Piece;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailedTableTest {
+    @Test
+    void merge() {
+        PrefixElement root = new PrefixElement();
+        root.add(Arrays.asList(Piece.T, Piece.I));
+        root.add(Arrays.asList(Piece.T, Piece.O));
+        SuffixNode node = SuffixNode.create(root);
+
+        FailedTable table = new FailedTable();
+        State state = new State(FieldFactory.createField(4), Piece.S, 4);
+        assertThat(table.get(node, state)).isNull();
+
+        table.put(node, state, BitSet.valueOf(new long[]{0b01L}));
+        table.put(node, new State(FieldFactory.createField(4), Piece.S, 4), BitSet.valueOf(new long[]{0b10L}));
+        assertThat(table.get(node, state)).isEqualTo(BitSet.valueOf(new long[]{0b11L}));
+
+        // ホールドが異なる局面は別に記録する
+        assertThat(table.get(node, new State(FieldFactory.createField(4), Piece.Z, 4))).isNull();
+    }
+
+    @Test
+    void bounded() {
+        PrefixElement root = new PrefixElement();
+        root.add(Arrays.asList(Piece.T, Piece.I));
+        SuffixNode node = SuffixNode.create(root);
+
+        int capacity = 64;
+        FailedTable table = new FailedTable(capacity);
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 4; y++) {
+                for (Piece hold : Piece.values()) {
+                    Field field = FieldFactory.createField(4);
+                    field.setBlock(x, y);
+                    table.put(node, new State(field, hold, 4), BitSet.valueOf(new long[]{1L}));
+                }
+            }
+        }
+
+        assertThat(table.size()).isLessThanOrEqualTo(capacity);
+    }
+}
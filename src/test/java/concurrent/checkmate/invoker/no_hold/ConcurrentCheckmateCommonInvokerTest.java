@@ -0,0 +1,105 @@
+package concurrent.checkmate.invoker.no_hold;
+
+import common.SyntaxException;
+import common.datastore.Pair;
+import common.datastore.Result;
+import common.datastore.action.Action;
+import common.pattern.LoadedPatternGenerator;
+import common.pattern.PatternGenerator;
+import core.action.candidate.Candidate;
+import core.action.candidate.LockedCandidate;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import searcher.checkmate.Checkmate;
+import searcher.checkmate.CheckmateNoHold;
+import searcher.checkmate.CheckmateUsingHold;
+import searcher.common.validator.PerfectValidator;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentCheckmateCommonInvokerTest {
+    private static final ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @AfterAll
+    static void tearDownAll() {
+        forkJoinPool.shutdown();
+    }
+
+    private void assertSameAsSearch(Supplier<Checkmate<Action>> checkmateSupplier, String marks, String pattern, int maxClearLine, int maxDepth) throws SyntaxException, ExecutionException, InterruptedException {
+        ThreadLocal<Candidate<Action>> candidateThreadLocal = ThreadLocal.withInitial(
+                () -> new LockedCandidate(new MinoFactory(), new MinoShifter(), MinoRotation.create(), maxClearLine)
+        );
+        ThreadLocal<Checkmate<Action>> checkmateThreadLocal = ThreadLocal.withInitial(checkmateSupplier);
+
+        Field field = FieldFactory.createField(marks);
+        PatternGenerator generator = new LoadedPatternGenerator(pattern);
+        List<List<Piece>> searchingPieces = generator.blocksStream()
+                .map(pieces -> pieces.getPieces())
+                .collect(Collectors.toList());
+
+        ConcurrentCheckmateCommonInvoker singleInvoker = new ConcurrentCheckmateCommonInvoker(null, candidateThreadLocal, checkmateThreadLocal);
+        List<Pair<List<Piece>, List<Result>>> singleResults = singleInvoker.search(field, searchingPieces, maxClearLine, maxDepth);
+
+        ConcurrentCheckmateCommonInvoker concurrentInvoker = new ConcurrentCheckmateCommonInvoker(forkJoinPool, candidateThreadLocal, checkmateThreadLocal, 2);
+        List<Pair<List<Piece>, List<Result>>> concurrentResults = concurrentInvoker.search(field, searchingPieces, maxClearLine, maxDepth);
+
+        assertThat(singleResults).hasSize(searchingPieces.size());
+        assertThat(concurrentResults).hasSize(searchingPieces.size());
+
+        Checkmate<Action> checkmate = checkmateSupplier.get();
+        Candidate<Action> candidate = candidateThreadLocal.get();
+        for (int index = 0; index < searchingPieces.size(); index++) {
+            Pair<List<Piece>, List<Result>> single = singleResults.get(index);
+            Pair<List<Piece>, List<Result>> concurrent = concurrentResults.get(index);
+            assertThat(concurrent.getKey()).isEqualTo(single.getKey());
+
+            List<Result> expected = checkmate.search(field, single.getKey(), candidate, maxClearLine, maxDepth);
+            assertThat(single.getValue()).isEqualTo(expected);
+            assertThat(concurrent.getValue()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void usingHold() throws Exception {
+        String marks = "" +
+                "XXXX______" +
+                "XXXX______" +
+                "XXXXXX____" +
+                "XXXXXX____";
+        Supplier<Checkmate<Action>> supplier = () -> new CheckmateUsingHold<>(new MinoFactory(), new PerfectValidator());
+        assertSameAsSearch(supplier, marks, "*p5", 4, 4);
+    }
+
+    @Test
+    void usingHoldShortPieces() throws Exception {
+        // ツモ順が短いときは、ホールドのミノも使う
+        String marks = "" +
+                "XXXXXX____" +
+                "XXXXXX____";
+        Supplier<Checkmate<Action>> supplier = () -> new CheckmateUsingHold<>(new MinoFactory(), new PerfectValidator());
+        assertSameAsSearch(supplier, marks, "[IOSZ]p2", 2, 2);
+    }
+
+    @Test
+    void noHold() throws Exception {
+        String marks = "" +
+                "XXXX______" +
+                "XXXX______" +
+                "XXXXXX____" +
+                "XXXXXX____";
+        Supplier<Checkmate<Action>> supplier = () -> new CheckmateNoHold<>(new MinoFactory(), new PerfectValidator());
+        assertSameAsSearch(supplier, marks, "*p4", 4, 4);
+    }
+}
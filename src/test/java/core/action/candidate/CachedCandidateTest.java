@@ -0,0 +1,67 @@
+package core.action.candidate;
+
+import common.datastore.action.Action;
+import core.action.cache.CandidateCache;
+import core.field.Field;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import lib.Randoms;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedCandidateTest {
+    @Test
+    void random() {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        int height = 4;
+        LockedCandidate lockedCandidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, height);
+
+        CandidateCache<Action> cache = new CandidateCache<>();
+        CachedCandidate<Action> candidate = new CachedCandidate<>(lockedCandidate, cache);
+
+        Randoms randoms = new Randoms();
+        for (int count = 0; count < 100; count++) {
+            Field field = randoms.field(height, 4);
+            for (Piece piece : Piece.values()) {
+                Set<Action> expected = lockedCandidate.search(field, piece, height);
+                assertThat(candidate.search(field, piece, height)).isEqualTo(expected);
+                assertThat(candidate.search(field, piece, height)).isEqualTo(expected);
+            }
+        }
+
+        // ランダムな地形は重複することがあるため、重複したときは1回目からヒットする
+        long missCount = cache.getMissCount();
+        long hitCount = cache.getHitCount();
+        assertThat(missCount + hitCount).isEqualTo(1400L);
+        assertThat(missCount).isBetween(1L, 700L);
+        assertThat(hitCount).isGreaterThanOrEqualTo(700L);
+        assertThat(cache.size()).isEqualTo((int) missCount);
+    }
+
+    @Test
+    void evict() {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        int height = 4;
+        HarddropCandidate harddropCandidate = new HarddropCandidate(minoFactory, minoShifter);
+
+        CandidateCache<Action> cache = new CandidateCache<>(32);
+        CachedCandidate<Action> candidate = new CachedCandidate<>(harddropCandidate, cache);
+
+        Randoms randoms = new Randoms();
+        for (int count = 0; count < 200; count++) {
+            Field field = randoms.field(height, 4);
+            Set<Action> expected = harddropCandidate.search(field, Piece.T, height);
+            assertThat(candidate.search(field, Piece.T, height)).isEqualTo(expected);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+    }
+}
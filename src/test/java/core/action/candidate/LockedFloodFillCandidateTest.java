@@ -0,0 +1,128 @@
+package core.action.candidate;
+
+import common.datastore.action.Action;
+import common.datastore.action.MinimalAction;
+import core.action.reachable.LockedFloodFillReachable;
+import core.action.reachable.LockedReachable;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.*;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+import lib.Coordinates;
+import lib.Randoms;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockedFloodFillCandidateTest {
+    @Test
+    void testSearch1() {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        Candidate<Action> candidate = new LockedFloodFillCandidate(minoFactory, minoShifter, minoRotation);
+
+        String marks = "" +
+                "__________" +
+                "__________" +
+                "____X_____";
+        Field field = FieldFactory.createField(marks);
+
+        Set<Action> actions = candidate.search(field, Piece.T, 4);
+        assertThat(actions.stream().filter((e) -> e.getRotate() == Rotate.Spawn)).hasSize(8);
+        assertThat(actions.stream().filter((e) -> e.getRotate() == Rotate.Right)).hasSize(9);
+        assertThat(actions.stream().filter((e) -> e.getRotate() == Rotate.Reverse)).hasSize(8);
+        assertThat(actions.stream().filter((e) -> e.getRotate() == Rotate.Left)).hasSize(9);
+    }
+
+    @Test
+    void testSearch3() {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        Candidate<Action> candidate = new LockedFloodFillCandidate(minoFactory, minoShifter, minoRotation);
+
+        String marks = "" +
+                "XXXX______" +
+                "XX_XXXXX__" +
+                "X___X_____" +
+                "XX_X______";
+        Field field = FieldFactory.createField(marks);
+
+        Set<Action> actions = candidate.search(field, Piece.T, 4);
+        assertThat(actions)
+                .hasSize(11)
+                .contains(MinimalAction.create(8, 0, Rotate.Spawn))
+                .contains(MinimalAction.create(7, 0, Rotate.Spawn))
+                .contains(MinimalAction.create(6, 0, Rotate.Spawn))
+                .contains(MinimalAction.create(5, 0, Rotate.Spawn))
+                .contains(MinimalAction.create(8, 1, Rotate.Reverse))
+                .contains(MinimalAction.create(7, 1, Rotate.Reverse))
+                .contains(MinimalAction.create(6, 1, Rotate.Reverse))
+                .contains(MinimalAction.create(8, 3, Rotate.Reverse))
+                .contains(MinimalAction.create(9, 1, Rotate.Left))
+                .contains(MinimalAction.create(8, 1, Rotate.Left))
+                .contains(MinimalAction.create(8, 1, Rotate.Right));
+    }
+
+    @Test
+    void randomWithLockedCandidate() {
+        Randoms randoms = new Randoms();
+
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        LockedFloodFillCandidate floodFillCandidate = new LockedFloodFillCandidate(minoFactory, minoShifter, minoRotation);
+
+        for (int count = 0; count < 10000; count++) {
+            int randomHeight = randoms.nextIntClosed(2, 12);
+            int numOfMinos = randoms.nextIntClosed(4, randomHeight * 10 / 4 - 1);
+            Field field = randoms.field(randomHeight, numOfMinos);
+            int height = randomHeight - field.clearLine();
+            Piece piece = randoms.block();
+
+            LockedCandidate candidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, height);
+            Set<Action> expected = candidate.search(field, piece, height);
+
+            Set<Action> actual = floodFillCandidate.search(field, piece, height);
+            assertThat(actual).as(field.toString()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void randomWithLockedReachable() {
+        Randoms randoms = new Randoms();
+
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        MinoRotation minoRotation = MinoRotation.create();
+        LockedFloodFillReachable floodFillReachable = new LockedFloodFillReachable(minoFactory, minoShifter, minoRotation);
+
+        for (int count = 0; count < 1000; count++) {
+            int randomHeight = randoms.nextIntClosed(2, 12);
+            int numOfMinos = randoms.nextIntClosed(4, randomHeight * 10 / 4 - 1);
+            Field field = randoms.field(randomHeight, numOfMinos);
+            int height = randomHeight - field.clearLine();
+            Piece piece = randoms.block();
+
+            LockedReachable reachable = new LockedReachable(minoFactory, minoShifter, minoRotation, height);
+
+            for (Rotate rotate : Rotate.values()) {
+                Mino mino = minoFactory.create(piece, rotate);
+                Coordinates.walk(mino, height)
+                        .filter(coordinate -> field.canPut(mino, coordinate.x, coordinate.y))
+                        .forEach(coordinate -> {
+                            int x = coordinate.x;
+                            int y = coordinate.y;
+                            boolean expected = reachable.checks(field, mino, x, y, height);
+                            assertThat(floodFillReachable.checks(field, mino, x, y, height))
+                                    .as(field.toString() + mino + x + "," + y)
+                                    .isEqualTo(expected);
+                        });
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package core.neighbor;
+
+import core.mino.MinoFactory;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import core.srs.Rotate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NeighborGraphTest {
+    private Neighbors createNeighbors(int maxClearLine) {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoRotation minoRotation = MinoRotation.create();
+        OriginalPieceFactory pieceFactory = new OriginalPieceFactory(maxClearLine + 3);
+        return new Neighbors(minoFactory, minoRotation, pieceFactory);
+    }
+
+    private List<Neighbor> toNeighbors(NeighborGraph graph, NeighborGraph.Edges edges, int index) {
+        ArrayList<Neighbor> neighbors = new ArrayList<>();
+        for (int position = edges.begin(index); position < edges.end(index); position++)
+            neighbors.add(graph.getNeighbor(edges.get(position)));
+        return neighbors;
+    }
+
+    @Test
+    void getIndex() {
+        NeighborGraph graph = new NeighborGraph(createNeighbors(4));
+
+        int index = graph.getIndex(Piece.J, Rotate.Left, 3, 2);
+        assertThat(graph.getPiece(index))
+                .returns(Piece.J, OriginalPiece::getPiece)
+                .returns(Rotate.Left, OriginalPiece::getRotate)
+                .returns(3, OriginalPiece::getX)
+                .returns(2, OriginalPiece::getY);
+        assertThat(graph.getNeighbor(index).getPiece()).isEqualTo(graph.getPiece(index));
+    }
+
+    @Test
+    void sameAsNeighbors() {
+        Neighbors neighbors = createNeighbors(4);
+        NeighborGraph graph = new NeighborGraph(neighbors);
+
+        assertThat(graph.size()).isEqualTo(neighbors.getAll().size());
+        assertThat(graph.getMaxHeight()).isEqualTo(neighbors.getMaxHeight());
+
+        for (int index = 0; index < graph.size(); index++) {
+            OriginalPiece piece = graph.getPiece(index);
+            Neighbor neighbor = neighbors.get(piece.getPiece(), piece.getRotate(), piece.getX(), piece.getY());
+            assertThat(graph.getNeighbor(index)).isEqualTo(neighbor);
+
+            assertThat(toNeighbors(graph, graph.getMovesSources(), index))
+                    .containsExactlyElementsOf(neighbor.getNextMovesSources());
+            assertThat(toNeighbors(graph, graph.getLeftRotateSources(), index))
+                    .containsExactlyElementsOf(neighbor.getNextLeftRotateSources());
+            assertThat(toNeighbors(graph, graph.getRightRotateSources(), index))
+                    .containsExactlyElementsOf(neighbor.getNextRightRotateSources());
+            assertThat(toNeighbors(graph, graph.getLeftRotateDestinations(), index))
+                    .containsExactlyElementsOf(neighbor.getNextLeftRotateDestinations());
+            assertThat(toNeighbors(graph, graph.getRightRotateDestinations(), index))
+                    .containsExactlyElementsOf(neighbor.getNextRightRotateDestinations());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import core.field.Field;
 import core.field.FieldFactory;
 import core.mino.Mino;
 import core.mino.Piece;
+import lib.Randoms;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -1629,4 +1630,49 @@ class MinoRotationTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    // フィールドを直接たどってキックを探す
+    private int[] kicksByPatterns(Field field, Mino before, Mino after, int x, int y, RotateDirection direction) {
+        for (int[] offset : minoRotation.getPatternsFrom(before, direction)) {
+            int toX = x + offset[0];
+            int toY = y + offset[1];
+            if (-after.getMinX() <= toX && toX < 10 - after.getMaxX() && -after.getMinY() <= toY && field.canPut(after, toX, toY))
+                return offset;
+        }
+        return null;
+    }
+
+    @Test
+    void randomSameAsPatterns() {
+        Randoms randoms = new Randoms();
+        List<Field> fields = Arrays.asList(FieldFactory.createSmallField(), FieldFactory.createMiddleField(), FieldFactory.createLargeField());
+        List<Integer> heights = Arrays.asList(6, 12, 24);
+
+        for (int count = 0; count < 1000; count++) {
+            int fieldIndex = randoms.nextIntOpen(fields.size());
+            int height = heights.get(fieldIndex);
+            Field field = fields.get(fieldIndex).freeze();
+
+            // LargeFieldは上端を超える位置を判定できないため、キックしても収まる高さまでにする
+            int maxY = field.getBoardCount() == 4 ? height - 4 : height + 3;
+            for (int y = 0; y < height; y++)
+                for (int x = 0; x < 10; x++)
+                    if (randoms.nextBoolean(0.3))
+                        field.setBlock(x, y);
+
+            for (int index = 0; index < 100; index++) {
+                Mino before = new Mino(randoms.block(), randoms.rotate());
+                int x = randoms.nextIntOpen(-before.getMinX(), 10 - before.getMaxX());
+                int y = randoms.nextIntOpen(-before.getMinY(), maxY);
+                if (!field.canPut(before, x, y))
+                    continue;
+
+                for (RotateDirection direction : RotateDirection.values()) {
+                    Mino after = new Mino(before.getPiece(), before.getRotate().get(direction));
+                    assertThat(minoRotation.getKicks(field, before, after, x, y, direction))
+                            .isSameAs(kicksByPatterns(field, before, after, x, y, direction));
+                }
+            }
+        }
+    }
+}
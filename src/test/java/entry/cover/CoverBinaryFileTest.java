@@ -0,0 +1,108 @@
+package entry.cover;
+
+import common.datastore.blocks.LongPieces;
+import core.mino.Piece;
+import exceptions.FinderParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CoverBinaryFileTest {
+    private static final List<LongPieces> PIECES_LIST = Arrays.asList(
+            new LongPieces(Arrays.asList(Piece.T, Piece.I, Piece.O)),
+            new LongPieces(Arrays.asList(Piece.S, Piece.Z)),
+            new LongPieces(Arrays.asList(Piece.L, Piece.J, Piece.T, Piece.I))
+    );
+
+    private static List<BitSet> createResults() {
+        List<BitSet> results = new ArrayList<>();
+        for (int index = 0; index < PIECES_LIST.size(); index++) {
+            BitSet bitSet = new BitSet();
+            bitSet.set(0, index % 2 == 0);
+            bitSet.set(1, true);
+            results.add(bitSet);
+        }
+        return results;
+    }
+
+    @Test
+    void writeAndRead(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cover.bin");
+        CoverBinaryFile.write(path, Arrays.asList("first", "second"), PIECES_LIST, createResults());
+
+        CoverBinaryFile file = CoverBinaryFile.read(path);
+        assertThat(file.getLabels()).containsExactly("first", "second");
+        assertThat(file.getSequenceSize()).isEqualTo(3);
+        assertThat(file.getPieces(2)).containsExactly(Piece.L, Piece.J, Piece.T, Piece.I);
+        assertThat(file.countSucceeded(0)).isEqualTo(2);
+        assertThat(file.countSucceeded(1)).isEqualTo(3);
+        assertThat(file.countAnd()).isEqualTo(2);
+        assertThat(file.countOr()).isEqualTo(3);
+    }
+
+    @Test
+    void writeAndReadLongLabel(@TempDir Path directory) throws Exception {
+        // バッファより長いラベル
+        char[] chars = new char[100000];
+        Arrays.fill(chars, 'v');
+        String label = new String(chars);
+
+        Path path = directory.resolve("cover.bin");
+        CoverBinaryFile.write(path, Arrays.asList("short", label), PIECES_LIST, createResults());
+
+        CoverBinaryFile file = CoverBinaryFile.read(path);
+        assertThat(file.getLabels()).containsExactly("short", label);
+        assertThat(file.countSucceeded(1)).isEqualTo(3);
+    }
+
+    @Test
+    void readTruncated(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cover.bin");
+        CoverBinaryFile.write(path, Arrays.asList("first", "second"), PIECES_LIST, createResults());
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(FinderParseException.class, () -> CoverBinaryFile.read(path));
+    }
+
+    @Test
+    void readInvalidSequenceCount(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cover.bin");
+        CoverBinaryFile.write(path, Arrays.asList("first", "second"), PIECES_LIST, createResults());
+
+        // ヘッダーのミノ順の数だけ書き換える
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES * 3, Integer.MAX_VALUE);
+        Files.write(path, bytes);
+
+        assertThrows(FinderParseException.class, () -> CoverBinaryFile.read(path));
+    }
+
+    @Test
+    void readInvalidParameterCount(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cover.bin");
+        CoverBinaryFile.write(path, Arrays.asList("first", "second"), PIECES_LIST, createResults());
+
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES * 2, -1);
+        Files.write(path, bytes);
+
+        assertThrows(FinderParseException.class, () -> CoverBinaryFile.read(path));
+    }
+
+    @Test
+    void readNotCoverBinary(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("cover.bin");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        assertThrows(FinderParseException.class, () -> CoverBinaryFile.read(path));
+    }
+}
@@ -0,0 +1,59 @@
+package entry.path;
+
+import core.column_field.ColumnField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searcher.pack.SizedBit;
+import searcher.pack.mino_fields.RecursiveMinoFields;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResidentBasicSolutionsTest {
+    @AfterEach
+    void tearDown() {
+        ResidentBasicSolutions.disable();
+    }
+
+    @Test
+    void reuseUntilFileChanged(@TempDir Path directory) throws IOException {
+        ResidentBasicSolutions.enable();
+
+        Path path = directory.resolve("cache.bin");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        SizedBit sizedBit = new SizedBit(3, 4);
+        Map<ColumnField, RecursiveMinoFields> solutions = Collections.emptyMap();
+        ResidentBasicSolutions.putSolutions(path, sizedBit, solutions);
+        assertThat(ResidentBasicSolutions.getSolutions(path, sizedBit)).containsSame(solutions);
+        assertThat(ResidentBasicSolutions.getSolutions(path, new SizedBit(3, 3))).isEmpty();
+
+        // 同じパスでも、置き換えられたファイルの結果は使わない
+        Files.write(path, new byte[]{1, 2, 3, 4});
+        assertThat(ResidentBasicSolutions.getSolutions(path, sizedBit)).isEmpty();
+
+        ResidentBasicSolutions.putSolutions(path, sizedBit, solutions);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0L));
+        assertThat(ResidentBasicSolutions.getSolutions(path, sizedBit)).isEmpty();
+
+        Files.delete(path);
+        assertThat(ResidentBasicSolutions.getSolutions(path, sizedBit)).isEmpty();
+    }
+
+    @Test
+    void disabled(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("cache.bin");
+        Files.write(path, new byte[]{1, 2, 3});
+
+        SizedBit sizedBit = new SizedBit(3, 4);
+        ResidentBasicSolutions.putSolutions(path, sizedBit, Collections.emptyMap());
+        assertThat(ResidentBasicSolutions.getSolutions(path, sizedBit)).isEmpty();
+    }
+}
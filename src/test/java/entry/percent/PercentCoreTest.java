@@ -9,11 +9,14 @@ import core.field.Field;
 import core.field.FieldFactory;
 import core.mino.MinoFactory;
 import entry.searching_pieces.NormalEnumeratePieces;
+import lib.Metrics;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
 
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -74,6 +77,28 @@ class PercentCoreTest {
         return new PercentCore(executorService, candidateThreadLocal, obj.isUsingHold, reachableThreadLocal, minoFactory);
     }
 
+    private void assertPercentCoreWithPrefixTree(Obj obj, double successPercent) throws Exception {
+        assert obj.isUsingHold;
+
+        PatternGenerator generator = new LoadedPatternGenerator(obj.patterns);
+        NormalEnumeratePieces enumeratePieces = new NormalEnumeratePieces(generator, obj.maxDepth, obj.isUsingHold);
+        Set<LongPieces> blocks = enumeratePieces.enumerate();
+
+        Optional<ForkJoinPool> forkJoinPool = obj.isSingleThread ? Optional.empty() : Optional.of(new ForkJoinPool());
+        LockedCandidateThreadLocal candidateThreadLocal = new LockedCandidateThreadLocal(obj.maxClearLine);
+        MinoFactory minoFactory = new MinoFactory();
+
+        PercentCore percentCore = new PercentCore(forkJoinPool.orElse(null), candidateThreadLocal, minoFactory);
+        Field field = FieldFactory.createField(obj.marks);
+
+        percentCore.run(field, blocks, obj.maxClearLine, obj.maxDepth);
+
+        forkJoinPool.ifPresent(ExecutorService::shutdown);
+
+        assertThat(percentCore.getResultTree().getSuccessPercent()).isEqualTo(successPercent);
+        assertThat(percentCore.getResultPairs()).hasSize(blocks.size());
+    }
+
     @Test
     void invokeUsingHoldJust() throws Exception {
         // Field
@@ -123,6 +148,84 @@ class PercentCoreTest {
         assertPercentCore(obj, 711 / 840.0);
     }
 
+    @Test
+    void invokeUsingHoldJustWithPrefixTree() throws Exception {
+        // Field
+        String marks = "" +
+                "XX________" +
+                "XX________" +
+                "XXX______X" +
+                "XXXXXXX__X" +
+                "XXXXXX___X" +
+                "XXXXXXX_XX" +
+                "";
+        int maxClearLine = 6;
+        int maxDepth = 7;
+        boolean isUsingHold = true;
+        String pattern = "*p7";
+
+        // Source: myself 20170415
+        assertPercentCoreWithPrefixTree(new Obj(marks, maxClearLine, maxDepth, isUsingHold, pattern, false), 5038 / 5040.0);
+        assertPercentCoreWithPrefixTree(new Obj(marks, maxClearLine, maxDepth, isUsingHold, pattern, true), 5038 / 5040.0);
+    }
+
+    @Test
+    void prefixTreeSearchesNoMoreThanEachSequence() throws Throwable {
+        // 成功率が高い地形では、ツモ順ごとの探索は最初の解で打ち切られる
+        // 同じ条件で、ツモ順の木の探索でミノを置ける場所を探す回数がそれ以下であることを確認する
+        String marks = "" +
+                "XX________" +
+                "XX________" +
+                "XXX______X" +
+                "XXXXXXX__X" +
+                "XXXXXX___X" +
+                "XXXXXXX_XX" +
+                "";
+        Obj obj = new Obj(marks, 6, 7, true, "*p7", true);
+
+        long eachSequence = countCandidateSearches(() -> assertPercentCore(obj, 5038 / 5040.0));
+        long prefixTree = countCandidateSearches(() -> assertPercentCoreWithPrefixTree(obj, 5038 / 5040.0));
+
+        assertThat(prefixTree).isLessThanOrEqualTo(eachSequence);
+    }
+
+    private long countCandidateSearches(Executable executable) throws Throwable {
+        Metrics.enable();
+        try {
+            executable.execute();
+            return Metrics.get(Metrics.Counter.CandidateSearches);
+        } finally {
+            Metrics.disable();
+        }
+    }
+
+    @Test
+    void invokeUsingHoldOverWithPrefixTree() throws Exception {
+        // Field
+        String marks = "" +
+                "XX_____XXX" +
+                "XXX____XXX" +
+                "XXXX___XXX" +
+                "XXX____XXX" +
+                "";
+        int maxClearLine = 4;
+        int maxDepth = 4;
+        boolean isUsingHold = true;
+
+        List<String> patterns = Arrays.asList(
+                "I, T, [IOJLSZ]p3",
+                "I, I, [TOJLSZ]p3",
+                "I, O, [TIJLSZ]p3",
+                "I, J, [TIOLSZ]p3",
+                "I, L, [TIOJSZ]p3",
+                "I, S, [TIOJLZ]p3",
+                "I, Z, [TIOJLS]p3"
+        );
+
+        // Source: Nilgiri: https://docs.google.com/spreadsheets/d/1bVY3t_X96xRmUL0qdgB9tViSIGenu6RMKX4RW7qWg8Y/edit#gid=0
+        assertPercentCoreWithPrefixTree(new Obj(marks, maxClearLine, maxDepth, isUsingHold, patterns, false), 711 / 840.0);
+    }
+
     @Test
     void invokeNoHoldJust() throws Exception {
         // Field
@@ -0,0 +1,65 @@
+package entry.percent;
+
+import common.datastore.blocks.LongPieces;
+import common.pattern.LoadedPatternGenerator;
+import common.pattern.PatternSampler;
+import concurrent.LockedCandidateThreadLocal;
+import concurrent.LockedReachableThreadLocal;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.MinoFactory;
+import entry.searching_pieces.NormalEnumeratePieces;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PercentSamplingTest {
+    @Test
+    void estimateMatchesExactWithOverlappingAndTruncatedPatterns() throws Exception {
+        // 最初のミノがIのときだけ成功する
+        String marks = "" +
+                "XXXXXXXXX_" +
+                "XXXXXXXXX_" +
+                "XXXXXXXXX_" +
+                "XXXXXXXXX_" +
+                "";
+        Field field = FieldFactory.createField(marks);
+        int maxClearLine = 4;
+        int maxDepth = 1;
+
+        // 2つの行は重なっていて、どちらも1ミノに切り詰められる
+        // 重複を含めるとIで始まるものが多いが、重複を除くと7種類のうちの1つ
+        List<String> patterns = Arrays.asList("I,*p3", "*p4");
+        LoadedPatternGenerator generator = new LoadedPatternGenerator(patterns);
+
+        LockedCandidateThreadLocal candidateThreadLocal = new LockedCandidateThreadLocal(maxClearLine);
+        LockedReachableThreadLocal reachableThreadLocal = new LockedReachableThreadLocal(maxClearLine);
+        MinoFactory minoFactory = new MinoFactory();
+
+        // すべて列挙したとき
+        Set<LongPieces> blocks = new NormalEnumeratePieces(generator, maxDepth, false).enumerate();
+        PercentCore exactCore = new PercentCore(candidateThreadLocal, false, reachableThreadLocal, minoFactory);
+        exactCore.run(field, blocks, maxClearLine, maxDepth);
+        double exact = exactCore.getResultTree().getSuccessPercent();
+        assertThat(exact).isEqualTo(1.0 / 7.0);
+
+        // ランダムに選んだとき
+        PercentCore samplingCore = new PercentCore(candidateThreadLocal, false, reachableThreadLocal, minoFactory);
+        int failedMaxCount = 3;
+        PercentSampling sampling = new PercentSampling(samplingCore, new PatternSampler(generator), 0.99, maxDepth, 0.02, -1.0, new Random(0L), failedMaxCount);
+        sampling.run(field, maxClearLine, maxDepth);
+
+        assertThat(sampling.getStopReason()).isEqualTo(PercentSampling.StopReason.Margin);
+        assertThat(sampling.getLower()).isLessThanOrEqualTo(exact);
+        assertThat(sampling.getUpper()).isGreaterThanOrEqualTo(exact);
+        assertThat(sampling.getEstimate()).isBetween(exact - 0.02, exact + 0.02);
+
+        // 失敗したミノ列は上限までしか記録しない
+        assertThat(sampling.getFailedPieces()).hasSize(failedMaxCount);
+    }
+}
@@ -290,4 +290,43 @@ class PercentSettingParserTest {
             assertField(settings.getField(), expectedField);
         });
     }
+
+    @Test
+    void testSample() throws Exception {
+        String fieldPath = ClassLoader.getSystemResource("field/2line.txt").getPath();
+        String commands = String.format("-fp %s -p *p7 --sample 0.5 --sample-confidence 99 --sample-threshold 80 --seed 123", fieldPath);
+
+        PercentSettingParser entryPoint = new PercentSettingParser(PercentOptions.create(), new DefaultParser());
+        Optional<PercentSettings> parse = entryPoint.parse(Arrays.asList(commands.split(" ")));
+
+        assertThat(parse).isPresent();
+        parse.ifPresent(settings -> {
+            assertThat(settings)
+                    .returns(true, PercentSettings::isSampling)
+                    .returns(0.5, PercentSettings::getSampleMargin)
+                    .returns(99.0, PercentSettings::getSampleConfidence)
+                    .returns(true, PercentSettings::isUsingSampleThreshold)
+                    .returns(80.0, PercentSettings::getSampleThreshold)
+                    .returns(true, PercentSettings::isUsingSampleSeed)
+                    .returns(123L, PercentSettings::getSampleSeed);
+        });
+    }
+
+    @Test
+    void testSampleDefault() throws Exception {
+        String fieldPath = ClassLoader.getSystemResource("field/2line.txt").getPath();
+        String commands = String.format("-fp %s -p *p7", fieldPath);
+
+        PercentSettingParser entryPoint = new PercentSettingParser(PercentOptions.create(), new DefaultParser());
+        Optional<PercentSettings> parse = entryPoint.parse(Arrays.asList(commands.split(" ")));
+
+        assertThat(parse).isPresent();
+        parse.ifPresent(settings -> {
+            assertThat(settings)
+                    .returns(false, PercentSettings::isSampling)
+                    .returns(95.0, PercentSettings::getSampleConfidence)
+                    .returns(false, PercentSettings::isUsingSampleThreshold)
+                    .returns(false, PercentSettings::isUsingSampleSeed);
+        });
+    }
 }
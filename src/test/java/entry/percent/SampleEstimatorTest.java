@@ -0,0 +1,18 @@
+package entry.percent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampleEstimatorTest {
+    @Test
+    void forCheck() {
+        // 確認した回数が増えるほど区間は広くなる
+        double first = SampleEstimator.forCheck(0.95, 1).halfWidth(500, 1000);
+        double second = SampleEstimator.forCheck(0.95, 2).halfWidth(500, 1000);
+        double tenth = SampleEstimator.forCheck(0.95, 10).halfWidth(500, 1000);
+        assertThat(first).isGreaterThan(new SampleEstimator(0.95).halfWidth(500, 1000));
+        assertThat(second).isGreaterThan(first);
+        assertThat(tenth).isGreaterThan(second);
+    }
+}
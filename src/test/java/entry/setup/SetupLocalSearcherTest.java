@@ -0,0 +1,203 @@
+package entry.setup;
+
+import common.buildup.BuildUpStream;
+import common.datastore.MinoOperationWithKey;
+import common.datastore.PieceCounter;
+import common.iterable.CombinationIterable;
+import common.pattern.LoadedPatternGenerator;
+import common.pattern.PatternGenerator;
+import concurrent.LockedReachableThreadLocal;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.Rotate;
+import entry.path.BuildUpListUpThreadLocal;
+import entry.setup.filters.SetupTemp;
+import org.junit.jupiter.api.Test;
+import searcher.pack.separable_mino.AllMinoFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SetupLocalSearcherTest {
+    private static final int MAX_HEIGHT = 4;
+
+    private final MinoFactory minoFactory = new MinoFactory();
+    private final MinoShifter minoShifter = new MinoShifter();
+    private final List<FieldOperationWithKey> allMinos = new AllMinoFactory(minoFactory, minoShifter, 10, MAX_HEIGHT, Long.MAX_VALUE).create().stream()
+            .map(FieldOperationWithKey::new)
+            .collect(Collectors.toList());
+    private final EnumMap<Piece, List<FieldOperationWithKey>> minoEachPieceMap = createMinoEachPieceMap(allMinos);
+    private final ThreadLocal<BuildUpStream> buildUpStreamThreadLocal = new BuildUpListUpThreadLocal(new LockedReachableThreadLocal(MAX_HEIGHT), MAX_HEIGHT);
+
+    private final Field initField = FieldFactory.createField("" +
+            "____XXXXXX" +
+            "____XXXXXX" +
+            "____XXXXXX" +
+            "____XXXXXX"
+    );
+
+    private static EnumMap<Piece, List<FieldOperationWithKey>> createMinoEachPieceMap(List<FieldOperationWithKey> allMinos) {
+        EnumMap<Piece, List<FieldOperationWithKey>> minoEachPieceMap = new EnumMap<>(Piece.class);
+        for (Piece piece : Piece.values()) {
+            List<FieldOperationWithKey> minos = allMinos.stream()
+                    .filter(mino -> mino.getPiece() == piece)
+                    .collect(Collectors.toList());
+            minoEachPieceMap.put(piece, minos);
+        }
+        return minoEachPieceMap;
+    }
+
+    private MinoOperationWithKey operation(Piece piece, Rotate rotate, int x, int y) {
+        return allMinos.stream()
+                .map(FieldOperationWithKey::getOperation)
+                .filter(operation -> operation.getPiece() == piece && operation.getRotate() == rotate)
+                .filter(operation -> operation.getX() == x && operation.getY() == y && operation.getNeedDeletedKey() == 0L)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    private List<List<MinoOperationWithKey>> createSeeds() {
+        return Arrays.asList(
+                Collections.singletonList(operation(Piece.I, Rotate.Spawn, 1, 0)),
+                Collections.singletonList(operation(Piece.O, Rotate.Spawn, 0, 0)),
+                Arrays.asList(operation(Piece.I, Rotate.Spawn, 1, 0), operation(Piece.O, Rotate.Spawn, 0, 1))
+        );
+    }
+
+    @Test
+    void noHold() throws Exception {
+        PatternGenerator generator = new LoadedPatternGenerator("[IO]!,*p2");
+        Field notFilledField = FieldFactory.createField(MAX_HEIGHT);
+        assertSameAsSequential(generator, notFilledField, 4, createSeeds());
+    }
+
+    @Test
+    void hold() throws Exception {
+        PatternGenerator generator = new LoadedPatternGenerator("[IO]!,*p3");
+        Field notFilledField = FieldFactory.createField(MAX_HEIGHT);
+        assertSameAsSequential(generator, notFilledField, 4, createSeeds());
+    }
+
+    @Test
+    void nPieces() throws Exception {
+        PatternGenerator generator = new LoadedPatternGenerator("[IO]!,*p5");
+        Field notFilledField = FieldFactory.createField("" +
+                "XX________" +
+                "__________" +
+                "__________" +
+                "__________"
+        );
+        assertSameAsSequential(generator, notFilledField, 3, createSeeds());
+    }
+
+    @Test
+    void deadEndsKeepReachableSolutions() throws Exception {
+        // 同じ局面に何度もたどり着くように、同じ解を繰り返して探索する
+        PatternGenerator generator = new LoadedPatternGenerator("[IO]!,*p3");
+        Field notFilledField = FieldFactory.createField(MAX_HEIGHT);
+        List<List<MinoOperationWithKey>> seeds = new ArrayList<>();
+        for (int count = 0; count < 3; count++)
+            seeds.addAll(createSeeds());
+
+        SetupLocalSearcher searcher = new SetupLocalSearcher(generator, minoEachPieceMap, buildUpStreamThreadLocal, initField, notFilledField, MAX_HEIGHT, 4);
+        List<String> actual = new ArrayList<>();
+        searcher.search(seeds, setupTemp -> Optional.of(toKey(setupTemp)), actual::add);
+
+        assertThat(searcher.getNumOfDeadEnds()).isGreaterThan(0);
+        assertThat(actual).containsExactlyElementsOf(searchSequentially(generator, notFilledField, 4, seeds));
+    }
+
+    private void assertSameAsSequential(PatternGenerator generator, Field notFilledField, int numOfPieces, List<List<MinoOperationWithKey>> seeds) {
+        List<String> expected = searchSequentially(generator, notFilledField, numOfPieces, seeds);
+        assertThat(expected).isNotEmpty();
+
+        SetupLocalSearcher searcher = new SetupLocalSearcher(generator, minoEachPieceMap, buildUpStreamThreadLocal, initField, notFilledField, MAX_HEIGHT, numOfPieces);
+        List<String> actual = new ArrayList<>();
+        searcher.search(seeds, setupTemp -> Optional.of(toKey(setupTemp)), actual::add);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    private String toKey(SetupTemp setupTemp) {
+        return setupTemp.getSolution().stream()
+                .map(operation -> String.format("%s-%s(%d,%d)@%d", operation.getPiece(), operation.getRotate(), operation.getX(), operation.getY(), operation.getNeedDeletedKey()))
+                .collect(Collectors.joining(","));
+    }
+
+    // 並列化する前の、1スレッドで再帰する探索
+    private List<String> searchSequentially(PatternGenerator generator, Field notFilledField, int numOfPieces, List<List<MinoOperationWithKey>> seeds) {
+        List<String> results = new ArrayList<>();
+        for (List<MinoOperationWithKey> operationWithKeys : seeds) {
+            PieceCounter pieceCounter = new PieceCounter(operationWithKeys.stream().map(MinoOperationWithKey::getPiece));
+            int numOfUsedPieces = pieceCounter.getBlocks().size();
+
+            if (numOfPieces < numOfUsedPieces)
+                continue;
+
+            if (numOfPieces == numOfUsedPieces) {
+                results.add(toKey(new SetupTemp(operationWithKeys, MAX_HEIGHT)));
+                continue;
+            }
+
+            Field field = initField.freeze(MAX_HEIGHT);
+            for (MinoOperationWithKey operation : operationWithKeys) {
+                Field pieceField = FieldFactory.createField(MAX_HEIGHT);
+                pieceField.put(operation.getMino(), operation.getX(), operation.getY());
+                pieceField.insertWhiteLineWithKey(operation.getNeedDeletedKey());
+                field.merge(pieceField);
+            }
+            field.merge(notFilledField);
+
+            int needNumOfPieces = numOfPieces - numOfUsedPieces;
+            generator.blockCountersStream()
+                    .flatMap(allUsablePieceCounter -> {
+                        PieceCounter noUsedPieceCounter = allUsablePieceCounter.removeAndReturnNew(pieceCounter);
+                        CombinationIterable<Piece> iterable = new CombinationIterable<>(noUsedPieceCounter.getBlocks(), needNumOfPieces);
+                        return StreamSupport.stream(iterable.spliterator(), false)
+                                .map(LinkedList::new)
+                                .peek(pieces -> pieces.sort(Comparator.comparing(Piece::getNumber)))
+                                .flatMap(pieces -> localSearch(operationWithKeys, field, pieces, null, 0).stream());
+                    })
+                    .map(solution -> toKey(new SetupTemp(operationWithKeys, solution, MAX_HEIGHT)))
+                    .forEachOrdered(results::add);
+        }
+        return results;
+    }
+
+    private List<List<MinoOperationWithKey>> localSearch(List<MinoOperationWithKey> operationWithKeys, Field field, LinkedList<Piece> pieces, Piece prev, int prevUsingIndex) {
+        List<List<MinoOperationWithKey>> results = new ArrayList<>();
+
+        Piece piece = pieces.pollFirst();
+        List<FieldOperationWithKey> minos = minoEachPieceMap.get(piece);
+        int startIndex = prev == piece ? prevUsingIndex + 1 : 0;
+        for (int index = startIndex; index < minos.size(); index++) {
+            FieldOperationWithKey fieldOperationWithKey = minos.get(index);
+            Field minoField = fieldOperationWithKey.getField();
+            if (!field.canMerge(minoField))
+                continue;
+
+            LinkedList<MinoOperationWithKey> newOperations = new LinkedList<>(operationWithKeys);
+            newOperations.add(fieldOperationWithKey.getOperation());
+
+            if (pieces.isEmpty()) {
+                BuildUpStream buildUpStream = buildUpStreamThreadLocal.get();
+                buildUpStream.existsValidBuildPattern(initField, newOperations)
+                        .findFirst()
+                        .ifPresent(results::add);
+            } else {
+                Field freeze = field.freeze(MAX_HEIGHT);
+                freeze.merge(minoField);
+                results.addAll(localSearch(newOperations, freeze, pieces, piece, index));
+            }
+        }
+        pieces.addFirst(piece);
+
+        return results;
+    }
+}
@@ -0,0 +1,74 @@
+package lib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsTest {
+    @AfterEach
+    void tearDown() {
+        Metrics.disable();
+    }
+
+    @Test
+    void disabled() {
+        Metrics.enable();
+        Metrics.disable();
+
+        Metrics.increment(Metrics.Counter.ExpandedOrders);
+        Metrics.searched(Metrics.startTimer(), 10);
+
+        assertThat(Metrics.get(Metrics.Counter.ExpandedOrders)).isEqualTo(0L);
+        assertThat(Metrics.get(Metrics.Counter.CandidateActions)).isEqualTo(0L);
+        assertThat(Metrics.getCount(Metrics.Timer.MoveGeneration)).isEqualTo(0L);
+    }
+
+    @Test
+    void countOnMultiThreads() {
+        Metrics.enable();
+
+        IntStream.range(0, 10000).parallel().forEach(index -> {
+            Metrics.increment(Metrics.Counter.ExpandedOrders);
+            Metrics.searched(Metrics.startTimer(), 3);
+        });
+
+        assertThat(Metrics.get(Metrics.Counter.ExpandedOrders)).isEqualTo(10000L);
+        assertThat(Metrics.get(Metrics.Counter.CandidateSearches)).isEqualTo(10000L);
+        assertThat(Metrics.get(Metrics.Counter.CandidateActions)).isEqualTo(30000L);
+        assertThat(Metrics.getCount(Metrics.Timer.MoveGeneration)).isEqualTo(10000L);
+
+        // 有効にし直すと0から集計する
+        Metrics.enable();
+        assertThat(Metrics.get(Metrics.Counter.ExpandedOrders)).isEqualTo(0L);
+    }
+
+    @Test
+    void toJson() {
+        Metrics.enable();
+        Metrics.add(Metrics.Counter.PackingTasks, 5L);
+
+        assertThat(Metrics.toJson())
+                .startsWith("{\"counters\":{\"expanded-orders\":0,")
+                .contains("\"packing-tasks\":5")
+                .contains("\"timers\":{\"run\":{\"count\":0,\"millis\":0},");
+    }
+
+    @Test
+    void timers() {
+        Metrics.enable();
+        Metrics.stopTimer(Metrics.Timer.Validation, Metrics.startTimer());
+        Metrics.stopTimer(Metrics.Timer.BuildUp, Metrics.startTimer());
+        Metrics.stopTimer(Metrics.Timer.BuildUp, Metrics.startTimer());
+
+        assertThat(Metrics.getCount(Metrics.Timer.Validation)).isEqualTo(1L);
+        assertThat(Metrics.getCount(Metrics.Timer.BuildUp)).isEqualTo(2L);
+        assertThat(Metrics.getCount(Metrics.Timer.Output)).isEqualTo(0L);
+        assertThat(Metrics.toJson())
+                .contains("\"validation\":{\"count\":1,")
+                .contains("\"build-up\":{\"count\":2,")
+                .contains("\"output\":{\"count\":0,\"millis\":0}");
+    }
+}
@@ -0,0 +1,124 @@
+package searcher.checker;
+
+import common.ResultHelper;
+import common.buildup.BuildUp;
+import common.datastore.MinoOperationWithKey;
+import common.datastore.Operation;
+import common.datastore.Operations;
+import common.datastore.Result;
+import common.datastore.action.Action;
+import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.Pieces;
+import common.order.OrderLookup;
+import common.order.StackOrder;
+import common.parser.OperationTransform;
+import common.pattern.LoadedPatternGenerator;
+import core.action.candidate.Candidate;
+import core.action.candidate.LockedCandidate;
+import core.action.reachable.LockedReachable;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import lib.Randoms;
+import org.junit.jupiter.api.Test;
+import searcher.common.validator.PerfectValidator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemorizedCheckerUsingHoldTest {
+    private final MinoFactory minoFactory = new MinoFactory();
+    private final MinoShifter minoShifter = new MinoShifter();
+    private final MinoRotation minoRotation = MinoRotation.create();
+    private final PerfectValidator validator = new PerfectValidator();
+
+    private void assertResult(Result result, Field field, int maxClearLine, LockedReachable reachable, List<Piece> blocks) {
+        // Check blocks is same
+        List<Piece> resultPieces = ResultHelper.createOperationStream(result)
+                .map(Operation::getPiece)
+                .collect(Collectors.toList());
+        Piece lastHoldPiece = result.getLastHold();
+        HashSet<LongPieces> pieces = OrderLookup.reverseBlocks(resultPieces, blocks.size()).stream()
+                .map(StackOrder::toStream)
+                .map(stream -> stream.map(block -> block != null ? block : lastHoldPiece))
+                .map(LongPieces::new)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        assertThat(pieces).contains(new LongPieces(blocks));
+
+        // Check can build result
+        Operations operations = new Operations(ResultHelper.createOperationStream(result));
+        List<MinoOperationWithKey> operationWithKeys = OperationTransform.parseToOperationWithKeys(field, operations, minoFactory, maxClearLine);
+        assertThat(BuildUp.cansBuild(field, operationWithKeys, maxClearLine, reachable)).isTrue();
+    }
+
+    @Test
+    void sameAsCheckerUsingHold() throws Exception {
+        int maxClearLine = 4;
+        int maxDepth = 6;
+
+        Field field = FieldFactory.createField("" +
+                "X_________" +
+                "X___X_____" +
+                "XXXXXXX___" +
+                "XXXXXX____"
+        );
+
+        Candidate<Action> candidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, maxClearLine);
+        LockedReachable reachable = new LockedReachable(minoFactory, minoShifter, minoRotation, maxClearLine);
+
+        TranspositionTable table = new TranspositionTable();
+        MemorizedCheckerUsingHold<Action> memorizedChecker = new MemorizedCheckerUsingHold<>(minoFactory, validator, table);
+        CheckerUsingHold<Action> checker = new CheckerUsingHold<>(minoFactory, validator);
+
+        List<Pieces> piecesList = new LoadedPatternGenerator("*p7").blocksStream().collect(Collectors.toList());
+        int success = 0;
+        for (Pieces pieces : piecesList) {
+            List<Piece> blocks = pieces.getPieces();
+            boolean expected = checker.check(field, blocks, candidate, maxClearLine, maxDepth);
+            boolean actual = memorizedChecker.check(field, blocks, candidate, maxClearLine, maxDepth);
+            assertThat(actual).as(blocks.toString()).isEqualTo(expected);
+
+            if (actual) {
+                assertResult(memorizedChecker.getResult(), field, maxClearLine, reachable, blocks);
+                success += 1;
+            }
+        }
+
+        // Source: CheckerUsingHoldInvokerTest.testSearch3
+        assertThat(success).isEqualTo(4736);
+        assertThat(table.size()).isGreaterThan(0);
+    }
+
+    @Test
+    void randomWithSmallTable() throws Exception {
+        Randoms randoms = new Randoms();
+
+        // 容量が小さく、記録が捨てられても結果は変わらない
+        TranspositionTable table = new TranspositionTable(64);
+        MemorizedCheckerUsingHold<Action> memorizedChecker = new MemorizedCheckerUsingHold<>(minoFactory, validator, table);
+        CheckerUsingHold<Action> checker = new CheckerUsingHold<>(minoFactory, validator);
+
+        for (int count = 0; count < 20; count++) {
+            int maxClearLine = randoms.nextIntClosed(2, 4);
+            int maxDepth = randoms.nextIntClosed(2, 4);
+            Field field = randoms.field(maxClearLine, maxDepth);
+            Candidate<Action> candidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, maxClearLine);
+
+            for (int index = 0; index < 20; index++) {
+                List<Piece> blocks = randoms.blocks(maxDepth + 1);
+                boolean expected = checker.check(field, blocks, candidate, maxClearLine, maxDepth);
+                boolean actual = memorizedChecker.check(field, blocks, candidate, maxClearLine, maxDepth);
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+
+        assertThat(table.size()).isLessThanOrEqualTo(64);
+    }
+}
@@ -0,0 +1,127 @@
+package searcher.pack.solutions;
+
+import core.column_field.ColumnField;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searcher.pack.SeparableMinos;
+import searcher.pack.SizedBit;
+import searcher.pack.mino_field.MinoField;
+import searcher.pack.mino_fields.RecursiveMinoFields;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BasicSolutionsFileTest {
+    @Test
+    void writeAndRead3x3(@TempDir Path directory) throws IOException {
+        assertWriteAndRead(new SizedBit(3, 3), directory.resolve("3x3.bin"));
+    }
+
+    @Test
+    void writeAndRead2x4(@TempDir Path directory) throws IOException {
+        assertWriteAndRead(new SizedBit(2, 4), directory.resolve("cache/2x4.bin"));
+    }
+
+    @Test
+    void readOtherSize(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("cache.bin");
+
+        SizedBit sizedBit = new SizedBit(3, 2);
+        SeparableMinos separableMinos = createSeparableMinos(sizedBit);
+        Map<ColumnField, RecursiveMinoFields> solutions = new BasicSolutionsCalculator(separableMinos, sizedBit).calculate();
+
+        BasicSolutionsFile file = new BasicSolutionsFile(path);
+        file.write(solutions, separableMinos, sizedBit);
+
+        SizedBit otherSizedBit = new SizedBit(3, 3);
+        assertThat(file.read(createSeparableMinos(otherSizedBit), otherSizedBit)).isEmpty();
+    }
+
+    @Test
+    void readNotExists(@TempDir Path directory) throws IOException {
+        SizedBit sizedBit = new SizedBit(3, 2);
+        BasicSolutionsFile file = new BasicSolutionsFile(directory.resolve("not-exists.bin"));
+        assertThat(file.read(createSeparableMinos(sizedBit), sizedBit)).isEmpty();
+    }
+
+    @Test
+    void readTruncated(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("cache.bin");
+
+        SizedBit sizedBit = new SizedBit(3, 2);
+        SeparableMinos separableMinos = createSeparableMinos(sizedBit);
+        Map<ColumnField, RecursiveMinoFields> solutions = new BasicSolutionsCalculator(separableMinos, sizedBit).calculate();
+
+        BasicSolutionsFile file = new BasicSolutionsFile(path);
+        file.write(solutions, separableMinos, sizedBit);
+
+        // インデックスは残したまま、データ部の末尾を切り詰める
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThat(file.read(separableMinos, sizedBit)).isEmpty();
+    }
+
+    @Test
+    void readInvalidOffset(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("cache.bin");
+
+        SizedBit sizedBit = new SizedBit(3, 2);
+        SeparableMinos separableMinos = createSeparableMinos(sizedBit);
+        Map<ColumnField, RecursiveMinoFields> solutions = new BasicSolutionsCalculator(separableMinos, sizedBit).calculate();
+
+        BasicSolutionsFile file = new BasicSolutionsFile(path);
+        file.write(solutions, separableMinos, sizedBit);
+
+        // 最初のインデックスのオフセットを、ファイルの外に書き換える
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES * 6 + Long.BYTES + Long.BYTES, bytes.length);
+        Files.write(path, bytes);
+
+        assertThat(file.read(separableMinos, sizedBit)).isEmpty();
+    }
+
+    private void assertWriteAndRead(SizedBit sizedBit, Path path) throws IOException {
+        SeparableMinos separableMinos = createSeparableMinos(sizedBit);
+        Map<ColumnField, RecursiveMinoFields> expected = new BasicSolutionsCalculator(separableMinos, sizedBit).calculate();
+
+        BasicSolutionsFile file = new BasicSolutionsFile(path);
+        file.write(expected, separableMinos, sizedBit);
+
+        Optional<Map<ColumnField, RecursiveMinoFields>> optional = file.read(createSeparableMinos(sizedBit), sizedBit);
+        assertThat(optional).isPresent();
+
+        Map<ColumnField, RecursiveMinoFields> actual = optional.get();
+        assertThat(actual.keySet()).isEqualTo(expected.keySet());
+
+        for (Map.Entry<ColumnField, RecursiveMinoFields> entry : expected.entrySet()) {
+            Set<MinoField> expectedMinoFields = entry.getValue().stream().collect(Collectors.toSet());
+            Set<MinoField> actualMinoFields = actual.get(entry.getKey()).stream().collect(Collectors.toSet());
+            assertThat(actualMinoFields).isEqualTo(expectedMinoFields);
+
+            for (MinoField minoField : actualMinoFields) {
+                MinoField expectedMinoField = expectedMinoFields.stream().filter(minoField::equals).findFirst().orElseThrow(AssertionError::new);
+                assertThat(minoField.getOuterField()).isEqualTo(expectedMinoField.getOuterField());
+                assertThat(minoField.getMaxIndex()).isEqualTo(expectedMinoField.getMaxIndex());
+                assertThat(minoField.getPieceCounter()).isEqualTo(expectedMinoField.getPieceCounter());
+            }
+        }
+    }
+
+    private static SeparableMinos createSeparableMinos(SizedBit sizedBit) {
+        MinoFactory minoFactory = new MinoFactory();
+        MinoShifter minoShifter = new MinoShifter();
+        return SeparableMinos.createSeparableMinos(minoFactory, minoShifter, sizedBit);
+    }
+}
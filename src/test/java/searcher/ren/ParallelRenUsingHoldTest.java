@@ -0,0 +1,76 @@
+package searcher.ren;
+
+import common.datastore.RenResult;
+import common.datastore.action.Action;
+import common.datastore.blocks.LongPieces;
+import common.datastore.blocks.Pieces;
+import concurrent.LockedCandidateThreadLocal;
+import core.action.candidate.LockedCandidate;
+import core.field.Field;
+import core.field.FieldFactory;
+import core.mino.MinoFactory;
+import core.mino.MinoShifter;
+import core.mino.Piece;
+import core.srs.MinoRotation;
+import lib.Randoms;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelRenUsingHoldTest {
+    private final MinoFactory minoFactory = new MinoFactory();
+    private final MinoShifter minoShifter = new MinoShifter();
+    private final MinoRotation minoRotation = MinoRotation.create();
+
+    @Test
+    void sameAsSingleThread() throws Exception {
+        Field field = FieldFactory.createField("" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXX_______" +
+                "XXXXXXX__X" +
+                "XXXXXXX__X" +
+                "XXXXXXX__X" +
+                "XXXXXXX__X", 24
+        );
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            Randoms randoms = new Randoms();
+            for (int count = 0; count < 10; count++) {
+                List<Piece> pieces = randoms.blocks(10);
+                assertSameResults(forkJoinPool, field, new LongPieces(pieces));
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private void assertSameResults(ForkJoinPool forkJoinPool, Field field, Pieces pieces) throws Exception {
+        LockedCandidate candidate = new LockedCandidate(minoFactory, minoShifter, minoRotation, 24);
+        RenUsingHold<Action> renUsingHold = new RenUsingHold<>(minoFactory);
+        List<RenResult> expected = renUsingHold.check(field, pieces, candidate, pieces.getPieces().size());
+
+        ParallelRenUsingHold<Action> parallelRenUsingHold = new ParallelRenUsingHold<>(minoFactory, forkJoinPool, new LockedCandidateThreadLocal(24));
+        List<RenResult> actual = parallelRenUsingHold.check(field, pieces, pieces.getPieces().size());
+
+        assertThat(toStrings(actual)).isEqualTo(toStrings(expected));
+    }
+
+    private List<String> toStrings(List<RenResult> results) {
+        return results.stream()
+                .map(result -> result.getRenCount() + ":" + result.getRenOrder().getHistory().getOperationStream()
+                        .map(operation -> String.format("%s-%s-%d-%d", operation.getPiece(), operation.getRotate(), operation.getX(), operation.getY()))
+                        .collect(Collectors.joining(",")))
+                .collect(Collectors.toList());
+    }
+}